@@ -0,0 +1,22 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.BSplineControlPoints;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/** Measures B-spline fitting ({@link BSplineControlPoints#points()}). */
+public class BSplineControlPointsBenchmark {
+    /**
+     * Computes the B-spline control points of a stroke sample.
+     *
+     * @param stroke the stroke sample to fit
+     * @return the B-spline control points of {@code stroke}
+     */
+    @Benchmark
+    public List<Vector2> points(final StrokeSample stroke) {
+        return new BSplineControlPoints(stroke.sample()).points();
+    }
+}
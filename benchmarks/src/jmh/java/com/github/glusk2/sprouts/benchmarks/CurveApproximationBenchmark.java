@@ -0,0 +1,80 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Path;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.AdaptiveCurveApproximation;
+import com.github.glusk2.sprouts.core.geom.BezierCurve;
+import com.github.glusk2.sprouts.core.geom.CachedCurve;
+import com.github.glusk2.sprouts.core.geom.Curve;
+import com.github.glusk2.sprouts.core.geom.CurveApproximation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures curve flattening ({@link CurveApproximation#points()} and
+ * {@link AdaptiveCurveApproximation#points()}).
+ * <p>
+ * The splines are fitted once, during setup, so that only the flattening
+ * itself is measured.
+ */
+@State(Scope.Benchmark)
+public class CurveApproximationBenchmark {
+    /** The flatness tolerance of the adaptive approximation. */
+    private static final float FLATNESS_TOLERANCE = .5f;
+    /** The maximum segment length of the adaptive approximation. */
+    private static final float MAX_SEGMENT_LENGTH = 40f;
+
+    /**
+     * The number of segments per spline; {@code 5} is used while a move is
+     * being drawn, {@code 100} is the default.
+     */
+    @Param({"5", "100"})
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int segmentsPerSpline;
+
+    /** The curve to flatten. */
+    private Curve<Path<Vector2>> curve;
+
+    /**
+     * Fits the splines of the stroke sample.
+     *
+     * @param stroke the stroke sample to fit
+     */
+    @Setup
+    public void setUp(final StrokeSample stroke) {
+        curve = new CachedCurve(new BezierCurve(stroke.sample()));
+        curve.splines();
+    }
+
+    /**
+     * Flattens the curve into a polyline.
+     *
+     * @return the points of the flattened curve
+     */
+    @Benchmark
+    public List<Vector2> points() {
+        return new CurveApproximation(curve, segmentsPerSpline).points();
+    }
+
+    /**
+     * Flattens the curve into a polyline with the flatness tolerance used
+     * while a move is being drawn.
+     *
+     * @return the points of the flattened curve
+     */
+    @Benchmark
+    public List<Vector2> adaptivePoints() {
+        return
+            new AdaptiveCurveApproximation(
+                curve,
+                FLATNESS_TOLERANCE,
+                MAX_SEGMENT_LENGTH
+            ).points();
+    }
+}
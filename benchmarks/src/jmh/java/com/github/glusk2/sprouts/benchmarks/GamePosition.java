@@ -0,0 +1,271 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.NearestSproutSearch;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsInitialState;
+import com.github.glusk2.sprouts.core.comb.SproutsStateAfterMove;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.moves.MiddleSprout;
+import com.github.glusk2.sprouts.core.moves.Move;
+import com.github.glusk2.sprouts.core.moves.SubmoveElement;
+import com.github.glusk2.sprouts.core.moves.SubmoveHead;
+import com.github.glusk2.sprouts.core.moves.SubmoveSequence;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A game position, parameterized by the number of sprouts and by how far the
+ * game has progressed.
+ * <p>
+ * The position is played through the real move pipeline: every move joins
+ * two neighbouring sprouts on the initial circle with an arc that bulges
+ * away from the circle centre, and places the middle sprout on top of the
+ * arc. Such moves are always legal and never cross each other, so any
+ * {@code progress} can be reached for any number of {@code sprouts}.
+ * <p>
+ * Besides the position itself, this object prepares the <em>next</em> move
+ * so that benchmarks can measure how expensive it is to evaluate and apply
+ * it.
+ */
+@State(Scope.Benchmark)
+public class GamePosition {
+    /** The distance between neighbouring sprouts on the initial circle. */
+    private static final float SPROUT_SPACING = 20f;
+    /** The thickness of the moves drawn. */
+    private static final float MOVE_THICKNESS = 1f;
+    /** The distance between two consecutive stroke points. */
+    private static final float STROKE_STEP = MOVE_THICKNESS;
+    /** The height of the move arc, relative to {@code SPROUT_SPACING}. */
+    private static final float ARC_HEIGHT = .75f;
+    /**
+     * Mirrors the scaling that {@link SproutsInitialState} applies to the
+     * minimal game bounds dimension.
+     */
+    private static final float DIMENSION_SCALE = .6f;
+    /** Full circle, in degrees. */
+    private static final int FULL_CIRCLE = 360;
+
+    /** The number of sprouts in the initial state. */
+    @Param({"5", "20", "50", "100"})
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int sprouts;
+
+    /**
+     * The fraction of the moves (of all that this fixture can play) that
+     * have already been played.
+     */
+    @Param({"0", "0.5", "0.9"})
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public float progress;
+
+    /** The game bounds rectangle. */
+    private Rectangle gameBounds;
+    /** The materialized game position. */
+    private SproutsGameState state;
+    /** The origin of the next move. */
+    private Vertex nextOrigin;
+    /** The stroke of the next move. */
+    private Polyline nextStroke;
+    /** The position at which the middle sprout of the next move is placed. */
+    private Vector2 nextMiddleSprout;
+
+    /** Plays the moves that lead to the benchmarked position. */
+    @Setup
+    public void setUp() {
+        float radius = SPROUT_SPACING * sprouts / (2 * (float) Math.PI);
+        float side = 2 * radius / DIMENSION_SCALE + 2 * SPROUT_SPACING;
+        gameBounds = new Rectangle(0, 0, side, side);
+
+        SproutsGameState current =
+            materialized(new SproutsInitialState(sprouts, gameBounds));
+        int played = Math.round(progress * (sprouts - 2));
+        for (int i = 0; i <= played; i++) {
+            nextOrigin =
+                new NearestSproutSearch(current, sproutPosition(i)).result();
+            nextStroke = stroke(i, nextOrigin);
+            List<Vector2> points = nextStroke.points();
+            nextMiddleSprout = points.get(points.size() / 2);
+            if (i < played) {
+                Move move = move(current);
+                current =
+                    materialized(
+                        new SproutsStateAfterMove(
+                            current,
+                            move,
+                            new MiddleSprout(
+                                move,
+                                nextMiddleSprout,
+                                MOVE_THICKNESS
+                            )
+                        )
+                    );
+            }
+        }
+        state = current;
+    }
+
+    /**
+     * Returns the benchmarked game position.
+     * <p>
+     * The returned state has its edges materialized; it holds no reference
+     * to the states that preceded it.
+     *
+     * @return the benchmarked game position
+     */
+    public SproutsGameState state() {
+        return state;
+    }
+
+    /**
+     * Returns the origin sprout of the next move.
+     *
+     * @return the origin sprout of the next move
+     */
+    public Vertex nextOrigin() {
+        return nextOrigin;
+    }
+
+    /**
+     * Returns the stroke of the next move.
+     *
+     * @return the stroke of the next move
+     */
+    public Polyline nextStroke() {
+        return nextStroke;
+    }
+
+    /**
+     * Builds a new, not yet evaluated, next move.
+     * <p>
+     * Submoves cache their evaluation, so every benchmark invocation needs a
+     * fresh instance.
+     *
+     * @return a new instance of the next move
+     */
+    public Move nextMove() {
+        return move(state);
+    }
+
+    /**
+     * Builds a new middle sprout for {@code move}.
+     *
+     * @param move the move to place the middle sprout on
+     * @return a new middle sprout for {@code move}
+     */
+    public MiddleSprout nextMiddleSprout(final Move move) {
+        return new MiddleSprout(move, nextMiddleSprout, MOVE_THICKNESS);
+    }
+
+    /**
+     * Builds a new head submove of the next move, drawn in {@code current}.
+     *
+     * @param current the state to draw the submove in
+     * @return a new head submove of the next move
+     */
+    public SubmoveElement nextSubmove(final SproutsGameState current) {
+        return
+            new SubmoveElement(
+                nextOrigin,
+                nextStroke,
+                current,
+                2 * MOVE_THICKNESS,
+                gameBounds
+            );
+    }
+
+    /**
+     * Builds a new next move, drawn in {@code current}.
+     *
+     * @param current the state to draw the move in
+     * @return a new next move
+     */
+    private Move move(final SproutsGameState current) {
+        return new SubmoveSequence(new SubmoveHead(nextSubmove(current)));
+    }
+
+    /**
+     * Computes the position of the {@code i}-th sprout on the initial circle.
+     *
+     * @param i the sprout index
+     * @return the approximate position of the {@code i}-th sprout
+     */
+    private Vector2 sproutPosition(final int i) {
+        return polar(i, 0);
+    }
+
+    /**
+     * Computes a point at angular sprout index {@code t} and height
+     * {@code height} above the initial circle.
+     *
+     * @param t the (fractional) sprout index
+     * @param height the distance from the initial circle, away from its
+     *               centre
+     * @return the point at the given polar coordinates
+     */
+    private Vector2 polar(final float t, final float height) {
+        Vector2 center = gameBounds.getCenter(new Vector2());
+        float radius =
+            DIMENSION_SCALE
+          * Math.min(gameBounds.getWidth(), gameBounds.getHeight()) / 2;
+        return
+            center.add(
+                new Vector2(radius + height, 0).rotate(
+                    t / sprouts * FULL_CIRCLE
+                )
+            );
+    }
+
+    /**
+     * Builds the stroke that joins sprout {@code i} with sprout
+     * {@code i + 1}.
+     * <p>
+     * The stroke does not end exactly in the destination sprout; the
+     * submove snaps to it once the stroke gets close enough.
+     *
+     * @param i the index of the origin sprout
+     * @param origin the origin sprout
+     * @return a stroke from sprout {@code i} to sprout {@code i + 1}
+     */
+    private Polyline stroke(final int i, final Vertex origin) {
+        float arcLength = 2 * SPROUT_SPACING;
+        int steps = (int) (arcLength / STROKE_STEP);
+        List<Vector2> points = new ArrayList<>(steps + 1);
+        points.add(origin.position());
+        for (int k = 1; k <= steps; k++) {
+            float t = 1f * k / steps;
+            points.add(
+                polar(
+                    i + t,
+                    ARC_HEIGHT * SPROUT_SPACING
+                  * (float) Math.sin(Math.PI * t)
+                )
+            );
+        }
+        return new Polyline.WrappedList(points);
+    }
+
+    /**
+     * Evaluates the edges of {@code gameState} and wraps them into a new state
+     * that does not reference its predecessors.
+     *
+     * @param gameState the state to materialize
+     * @return a materialized copy of {@code gameState}
+     */
+    private static SproutsGameState materialized(
+        final SproutsGameState gameState
+    ) {
+        Set<SproutsEdge> edges = gameState.edges();
+        return () -> edges;
+    }
+}
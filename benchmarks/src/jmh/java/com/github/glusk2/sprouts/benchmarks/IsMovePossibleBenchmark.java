@@ -0,0 +1,19 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import com.github.glusk2.sprouts.core.comb.IsMovePossible;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/** Measures the end-of-game check ({@link IsMovePossible#check()}). */
+public class IsMovePossibleBenchmark {
+    /**
+     * Checks whether there is a move left in the game position.
+     *
+     * @param position the game position to check
+     * @return {@code true} if a move is still possible
+     */
+    @Benchmark
+    public boolean check(final GamePosition position) {
+        return new IsMovePossible(position.state()).check();
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.PerpDistSimpl;
+import com.github.glusk2.sprouts.core.geom.StreamingSimplifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Measures stroke simplification ({@link PerpDistSimpl} and
+ * {@link StreamingSimplifier}).
+ */
+public class SimplificationBenchmark {
+    /** The simplification tolerance. */
+    private static final float TOLERANCE = 6f;
+
+    /**
+     * Simplifies a stroke sample with the perpendicular distance
+     * simplification.
+     *
+     * @param stroke the stroke sample to simplify
+     * @return the simplified stroke sample
+     */
+    @Benchmark
+    public List<Vector2> perpendicularDistance(final StrokeSample stroke) {
+        return new PerpDistSimpl(stroke.sample(), TOLERANCE).points();
+    }
+
+    /**
+     * Simplifies a stroke sample with a fresh streaming simplifier.
+     *
+     * @param stroke the stroke sample to simplify
+     * @return the simplified stroke sample
+     */
+    @Benchmark
+    public List<Vector2> streaming(final StrokeSample stroke) {
+        return
+            new StreamingSimplifier(TOLERANCE).simplify(
+                stroke.sample().points()
+            );
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.Set;
+
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsFaces;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/** Measures face extraction ({@link SproutsFaces#faces()}). */
+public class SproutsFacesBenchmark {
+    /**
+     * Extracts the faces of a game position.
+     * <p>
+     * {@code SproutsFaces} caches its faces, so a new instance is built on
+     * every invocation.
+     *
+     * @param position the game position to extract the faces of
+     * @return the faces of {@code position}
+     */
+    @Benchmark
+    public Set<Set<SproutsEdge>> faces(final GamePosition position) {
+        return new SproutsFaces(position.state().edges()).faces();
+    }
+}
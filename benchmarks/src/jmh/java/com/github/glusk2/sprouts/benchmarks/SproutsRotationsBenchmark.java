@@ -0,0 +1,60 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsRotations;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures {@link SproutsRotations#next(SproutsEdge)}. */
+@State(Scope.Benchmark)
+public class SproutsRotationsBenchmark {
+    /** The local rotations around the origin of the next move. */
+    private SproutsRotations rotations;
+    /** The first segment of the next move, as a directed edge. */
+    private SproutsEdge hook;
+
+    /**
+     * Collects the edges around the origin of the next move.
+     *
+     * @param position the game position to collect the edges from
+     */
+    @Setup
+    public void setUp(final GamePosition position) {
+        Vertex origin = position.nextOrigin();
+        SortedSet<SproutsEdge> edges = new TreeSet<>();
+        for (SproutsEdge edge : position.state().edges()) {
+            if (edge.from().equals(origin)) {
+                edges.add(edge);
+            }
+        }
+        rotations = new SproutsRotations(edges);
+        hook =
+            new SproutsEdge(
+                true,
+                new Polyline.WrappedList(
+                    position.nextStroke().points().subList(0, 2)
+                ),
+                origin.color(),
+                origin.color()
+            );
+    }
+
+    /**
+     * Finds the edge that follows the first segment of the next move in the
+     * rotations around its origin.
+     *
+     * @return the edge after the first segment of the next move
+     */
+    @Benchmark
+    public SproutsEdge next() {
+        return rotations.next(hook);
+    }
+}
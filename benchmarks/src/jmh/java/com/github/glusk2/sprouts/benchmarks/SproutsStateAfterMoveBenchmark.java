@@ -0,0 +1,30 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.Set;
+
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsStateAfterMove;
+import com.github.glusk2.sprouts.core.moves.Move;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/** Measures move application ({@link SproutsStateAfterMove#edges()}). */
+public class SproutsStateAfterMoveBenchmark {
+    /**
+     * Applies the next move, together with its middle sprout, to the game
+     * position.
+     *
+     * @param position the game position to apply the move to
+     * @return the edges of the state after the move
+     */
+    @Benchmark
+    public Set<SproutsEdge> edges(final GamePosition position) {
+        Move move = position.nextMove();
+        return
+            new SproutsStateAfterMove(
+                position.state(),
+                move,
+                position.nextMiddleSprout(move)
+            ).edges();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A wavy stroke sample, as it would be collected from touch drag events.
+ * <p>
+ * The cost of the geometric hot paths depends on the length of the stroke
+ * and not on the game position, so this fixture is parameterized by the
+ * number of sample points instead.
+ */
+@State(Scope.Benchmark)
+public class StrokeSample {
+    /** The distance between two consecutive sample points. */
+    private static final float SAMPLE_STEP = 3f;
+    /** The amplitude of the stroke wave. */
+    private static final float AMPLITUDE = 40f;
+    /** The number of sample points per stroke wave. */
+    private static final float WAVELENGTH = 25f;
+
+    /** The number of sample points. */
+    @Param({"16", "128", "1024"})
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int sampleSize;
+
+    /** The sample points. */
+    private Polyline sample;
+
+    /** Generates the sample points. */
+    @Setup
+    public void setUp() {
+        List<Vector2> points = new ArrayList<>(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            points.add(
+                new Vector2(
+                    i * SAMPLE_STEP,
+                    AMPLITUDE
+                  * (float) Math.sin(2 * Math.PI * i / WAVELENGTH)
+                )
+            );
+        }
+        sample = new Polyline.WrappedList(points);
+    }
+
+    /**
+     * Returns the sample points.
+     *
+     * @return the sample points
+     */
+    public Polyline sample() {
+        return sample;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.glusk2.sprouts.benchmarks;
+
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Measures submove evaluation
+ * ({@link com.github.glusk2.sprouts.core.moves.SubmoveElement#asEdge()}).
+ */
+public class SubmoveElementBenchmark {
+    /**
+     * Evaluates the head submove of the next move.
+     *
+     * @param position the game position to draw the submove in
+     * @return the submove as a directed edge
+     */
+    @Benchmark
+    public SproutsEdge asEdge(final GamePosition position) {
+        return position.nextSubmove(position.state()).asEdge();
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * JMH harnesses for the combinatorial and geometric hot paths of the Sprouts
+ * core.
+ * <p>
+ * Run them with {@code ./gradlew benchmarks:jmh}; pass
+ * {@code -PjmhInclude=<regex>} to run a subset.
+ */
+package com.github.glusk2.sprouts.benchmarks;
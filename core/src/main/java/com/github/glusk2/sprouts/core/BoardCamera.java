@@ -0,0 +1,193 @@
+package com.github.glusk2.sprouts.core;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * The camera that looks at the game world through the game board.
+ * <p>
+ * The game world (the area where the moves are drawn) can be larger than
+ * the game board on the screen; the camera can zoom in on any part of the
+ * world and pan across it, but it can't zoom out further than to show the
+ * whole world, nor leave it. An {@link OrthographicCamera} whose viewport
+ * is the size of the board tracks the position and the zoom.
+ * <p>
+ * {@link #transform()} maps the world to the stage coordinates of the board
+ * and {@link #toWorld(Vector2)} maps back.
+ */
+public final class BoardCamera {
+    /**
+     * The minimum zoom; the camera can zoom in up to four times past the
+     * natural size of the world.
+     */
+    private static final float MIN_ZOOM = 1 / 4f;
+
+    /** The game board, in stage coordinates. */
+    private final Rectangle board;
+    /** The game world. */
+    private final Rectangle world;
+    /** The camera; its viewport is the size of {@code board}. */
+    private final OrthographicCamera camera;
+    /** The world to stage transform. */
+    private final Matrix4 transform = new Matrix4();
+
+    /**
+     * Creates a new camera that shows the whole {@code world}.
+     *
+     * @param board the game board, in stage coordinates
+     * @param world the game world
+     */
+    public BoardCamera(final Rectangle board, final Rectangle world) {
+        this.board = board;
+        this.world = world;
+        this.camera = new OrthographicCamera(board.width, board.height);
+        reset();
+    }
+
+    /** Zooms out to show the whole world. */
+    public void reset() {
+        Vector2 center = world.getCenter(new Vector2());
+        camera.position.set(center.x, center.y, 0);
+        camera.zoom = maxZoom();
+        update();
+    }
+
+    /**
+     * Returns the zoom; the number of world units shown per stage unit.
+     *
+     * @return the zoom
+     */
+    public float zoom() {
+        return camera.zoom;
+    }
+
+    /**
+     * Zooms and pans, so that {@code worldPoint} is shown at
+     * {@code stagePoint}. The zoom and the position are limited so that the
+     * camera stays inside the world.
+     *
+     * @param worldPoint the world point to show
+     * @param stagePoint the stage point to show {@code worldPoint} at
+     * @param zoom the new zoom
+     */
+    public void show(
+        final Vector2 worldPoint,
+        final Vector2 stagePoint,
+        final float zoom
+    ) {
+        camera.zoom = MathUtils.clamp(zoom, MIN_ZOOM, maxZoom());
+        Vector2 center = board.getCenter(new Vector2());
+        camera.position.set(
+            clampCoordinate(
+                worldPoint.x - (stagePoint.x - center.x) * camera.zoom,
+                world.x,
+                world.width,
+                board.width
+            ),
+            clampCoordinate(
+                worldPoint.y - (stagePoint.y - center.y) * camera.zoom,
+                world.y,
+                world.height,
+                board.height
+            ),
+            0
+        );
+        update();
+    }
+
+    /**
+     * Checks whether a stage point is on the board.
+     *
+     * @param stagePoint the point in stage coordinates
+     * @return {@code true} if {@code stagePoint} is on the board
+     */
+    public boolean isOnBoard(final Vector2 stagePoint) {
+        return board.contains(stagePoint);
+    }
+
+    /**
+     * Maps a stage point on the board to the game world.
+     *
+     * @param stagePoint the point in stage coordinates
+     * @return a new vector with the point in world coordinates
+     */
+    public Vector2 toWorld(final Vector2 stagePoint) {
+        Vector2 center = board.getCenter(new Vector2());
+        Vector3 point =
+            new Vector3(
+                (stagePoint.x - center.x) / (board.width / 2),
+                (stagePoint.y - center.y) / (board.height / 2),
+                0
+            ).prj(camera.invProjectionView);
+        return new Vector2(point.x, point.y);
+    }
+
+    /**
+     * Returns the transform that maps the game world to the stage
+     * coordinates of the board.
+     *
+     * @return the world to stage transform; not to be modified
+     */
+    public Matrix4 transform() {
+        return transform;
+    }
+
+    /**
+     * Returns the zoom at which the whole world fits the board.
+     *
+     * @return the maximum zoom
+     */
+    private float maxZoom() {
+        return
+            Math.max(
+                1,
+                Math.max(
+                    world.width / board.width,
+                    world.height / board.height
+                )
+            );
+    }
+
+    /**
+     * Limits a coordinate of the camera position, so that the view stays
+     * inside the world; if the view is larger than the world, the world is
+     * centered.
+     *
+     * @param position the camera position coordinate
+     * @param worldMin the world minimum coordinate
+     * @param worldSize the world size
+     * @param boardSize the board size
+     * @return the limited coordinate
+     */
+    private float clampCoordinate(
+        final float position,
+        final float worldMin,
+        final float worldSize,
+        final float boardSize
+    ) {
+        float half = boardSize * camera.zoom / 2;
+        if (2 * half >= worldSize) {
+            return worldMin + worldSize / 2;
+        }
+        return
+            MathUtils.clamp(
+                position,
+                worldMin + half,
+                worldMin + worldSize - half
+            );
+    }
+
+    /** Updates the camera matrices and the world to stage transform. */
+    private void update() {
+        camera.update();
+        Vector2 center = board.getCenter(new Vector2());
+        transform
+            .setToTranslation(center.x, center.y, 0)
+            .scale(board.width / 2, board.height / 2, 1)
+            .mul(camera.combined);
+    }
+}
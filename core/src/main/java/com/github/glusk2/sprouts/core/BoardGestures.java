@@ -0,0 +1,170 @@
+package com.github.glusk2.sprouts.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.input.GestureDetector;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.github.glusk2.sprouts.core.snapshots.TouchEventSnapshooter;
+
+/**
+ * Zooms and pans the game board with two fingers (pinch) or with the mouse
+ * wheel.
+ * <p>
+ * This input processor is placed in front of the stage. A single finger
+ * still draws the Moves; once a second finger touches the screen, the
+ * Move being drawn is discarded and the touch events of both fingers are
+ * kept from the stage until the pinch ends.
+ */
+public final class BoardGestures extends GestureDetector {
+    /** The zoom factor per mouse wheel step. */
+    private static final float SCROLL_ZOOM = 1.25f;
+
+    /** The viewport of the stage. */
+    private final Viewport viewport;
+    /** The camera to zoom and pan. */
+    private final BoardCamera view;
+
+    /**
+     * Creates new board gestures.
+     *
+     * @param viewport the viewport of the stage
+     * @param view the camera to zoom and pan
+     * @param snapshooter the listener that draws the Moves
+     */
+    public BoardGestures(
+        final Viewport viewport,
+        final BoardCamera view,
+        final TouchEventSnapshooter snapshooter
+    ) {
+        super(new Pinch(viewport, view, snapshooter));
+        this.viewport = viewport;
+        this.view = view;
+    }
+
+    /**
+     * Zooms in or out around the mouse pointer, if it is over the board.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean scrolled(final int amount) {
+        Vector2 stagePoint =
+            viewport.unproject(
+                new Vector2(Gdx.input.getX(), Gdx.input.getY())
+            );
+        if (!view.isOnBoard(stagePoint)) {
+            return false;
+        }
+        view.show(
+            view.toWorld(stagePoint),
+            stagePoint,
+            view.zoom() * (float) Math.pow(SCROLL_ZOOM, amount)
+        );
+        return true;
+    }
+
+    /** The listener that zooms and pans the camera with two fingers. */
+    private static final class Pinch extends GestureAdapter {
+        /** The viewport of the stage. */
+        private final Viewport viewport;
+        /** The camera to zoom and pan. */
+        private final BoardCamera view;
+        /** The listener that draws the Moves. */
+        private final TouchEventSnapshooter snapshooter;
+
+        /**
+         * The world point between the fingers when the pinch started, or
+         * {@code null} if there is no pinch in progress.
+         */
+        private Vector2 worldCenter;
+        /** The camera zoom when the pinch started. */
+        private float startZoom;
+
+        /**
+         * Creates a new pinch listener.
+         *
+         * @param viewport the viewport of the stage
+         * @param view the camera to zoom and pan
+         * @param snapshooter the listener that draws the Moves
+         */
+        Pinch(
+            final Viewport viewport,
+            final BoardCamera view,
+            final TouchEventSnapshooter snapshooter
+        ) {
+            this.viewport = viewport;
+            this.view = view;
+            this.snapshooter = snapshooter;
+        }
+
+        /**
+         * Discards the Move being drawn when the second finger touches the
+         * screen, and keeps the touch from the stage.
+         * <p>
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean touchDown(
+            final float x,
+            final float y,
+            final int pointer,
+            final int button
+        ) {
+            if (pointer == 0) {
+                return false;
+            }
+            snapshooter.cancel();
+            worldCenter = null;
+            return true;
+        }
+
+        /**
+         * Keeps the world point that was between the fingers when the pinch
+         * started between them, at the zoom scaled by how much the fingers
+         * have spread.
+         * <p>
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean pinch(
+            final Vector2 initialPointer1,
+            final Vector2 initialPointer2,
+            final Vector2 pointer1,
+            final Vector2 pointer2
+        ) {
+            Vector2 initial1 = toStage(initialPointer1);
+            Vector2 initial2 = toStage(initialPointer2);
+            Vector2 current1 = toStage(pointer1);
+            Vector2 current2 = toStage(pointer2);
+            if (worldCenter == null) {
+                worldCenter =
+                    view.toWorld(initial1.cpy().lerp(initial2, 1 / 2f));
+                startZoom = view.zoom();
+            }
+            float distance = current1.dst(current2);
+            if (distance > 0) {
+                view.show(
+                    worldCenter,
+                    current1.cpy().lerp(current2, 1 / 2f),
+                    startZoom * initial1.dst(initial2) / distance
+                );
+            }
+            return true;
+        }
+
+        @Override
+        public void pinchStop() {
+            worldCenter = null;
+        }
+
+        /**
+         * Maps a screen point to the stage.
+         *
+         * @param screenPoint the point in screen coordinates
+         * @return a new vector with the point in stage coordinates
+         */
+        private Vector2 toStage(final Vector2 screenPoint) {
+            return viewport.unproject(screenPoint.cpy());
+        }
+    }
+}
@@ -5,10 +5,19 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 import com.github.glusk2.sprouts.core.snapshots.Snapshooter;
 
-/** The Sprouts game board. */
+/**
+ * The Sprouts game board.
+ * <p>
+ * The board shows the game world through a {@link BoardCamera}, clipped to
+ * the bounds of {@code this} actor.
+ */
 public final class GameBoard extends Actor {
     /** The thickness of {@code this} game board border. */
     private static final float BORDER_THICKNESS = 5f;
@@ -26,20 +35,30 @@ public final class GameBoard extends Actor {
     /** The "camera" of {@code this} GameBoard. */
     private Snapshooter camera;
 
+    /** The camera that looks at the game world through the board. */
+    private final BoardCamera view;
+    /** The renderer transform to restore after the game world is drawn. */
+    private final Matrix4 stageTransform = new Matrix4();
+    /** The clip rectangle of the board, in window coordinates. */
+    private final Rectangle scissors = new Rectangle();
+
     /**
-     * Constructs a new {@code GameBoard} by specifying the {@code renderer}
-     * and the {@code camera}.
+     * Constructs a new {@code GameBoard} by specifying the {@code renderer},
+     * the {@code camera} and the {@code view}.
      *
      * @param renderer the {@code ShapeRenderer} object used to draw
      *                 {@code this} game board
      * @param camera the "camera" of {@code this} GameBoard
+     * @param view the camera that looks at the game world through the board
      */
     public GameBoard(
         final Snapshooter camera,
-        final ShapeRenderer renderer
+        final ShapeRenderer renderer,
+        final BoardCamera view
     ) {
         this.camera = camera;
         this.renderer = renderer;
+        this.view = view;
     }
 
     @Override
@@ -53,7 +72,24 @@ public final class GameBoard extends Actor {
         renderer.rect(getX(), getY(), getWidth(), getHeight());
         renderer.end();
 
+        ScissorStack.calculateScissors(
+            getStage().getCamera(),
+            batch.getTransformMatrix(),
+            new Rectangle(getX(), getY(), getWidth(), getHeight()),
+            scissors
+        );
+        boolean clipped = ScissorStack.pushScissors(scissors);
+        stageTransform.set(renderer.getTransformMatrix());
+        renderer.setTransformMatrix(view.transform());
+
+        long start = FrameProfiler.start();
         camera.snapshot().render(renderer);
+        FrameProfiler.stop(FrameProfiler.Section.RENDERING, start);
+
+        renderer.setTransformMatrix(stageTransform);
+        if (clipped) {
+            ScissorStack.popScissors();
+        }
 
         batch.begin();
     }
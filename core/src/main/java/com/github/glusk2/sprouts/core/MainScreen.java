@@ -1,12 +1,15 @@
 package com.github.glusk2.sprouts.core;
 
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Event;
 import com.badlogic.gdx.scenes.scene2d.EventListener;
@@ -15,26 +18,29 @@ import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
-import com.badlogic.gdx.scenes.scene2d.ui.Slider;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.VerticalGroup;
 import com.badlogic.gdx.scenes.scene2d.ui.Window;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsInitialState;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 import com.github.glusk2.sprouts.core.snapshots.BeforeMove;
+import com.github.glusk2.sprouts.core.snapshots.SnapshotHistory;
 import com.github.glusk2.sprouts.core.snapshots.TouchEventSnapshooter;
 
 /**
  * The main screen of the application with the toolbar and the game board.
+ * <p>
+ * Games with more than {@link SproutCountSlider#NORMAL_BOARD_MAX} sprouts
+ * are played on a large board: a world larger than the board, in
+ * proportion to the number of sprouts, that is zoomed and panned with
+ * {@link BoardGestures}. The move thickness stays the same, so that the
+ * Moves are as easy to draw when zoomed in as on a normal board.
  */
 public final class MainScreen extends ScreenAdapter {
-    /** Starting sprouts slider minimum value. */
-    private static final int SLIDER_MIN = 2;
-    /** Starting sprouts slider maximum value. */
-    private static final int SLIDER_MAX = 7;
-    /** Starting sprouts slider step value. */
-    private static final int SLIDER_STEP = 1;
-
     /** The spacing between the elements in a toolbar. */
     private static final int TOOLBAR_CELL_SPACING = 10;
     /** The padding of the toolbar row. */
@@ -91,6 +97,30 @@ public final class MainScreen extends ScreenAdapter {
      */
     private ToggleSwitch playerTurn = new ToggleSwitch(false);
 
+    /**
+     * The cached rendering of the committed game state.
+     * <p>
+     * On Android, the state is rendered to a texture, so that low-end GPUs
+     * only have to composite it; elsewhere, it is redrawn from a mesh.
+     */
+    private final StateLayer stateLayer;
+
+    /**
+     * The single-threaded executor that evaluates the Moves while they are
+     * being drawn, off the render thread.
+     */
+    private final AsyncExecutor moveExecutor =
+        new AsyncExecutor(1, "move-evaluation");
+
+    /**
+     * The game saved when {@code this} screen is paused. If present when
+     * {@code this} screen is shown, the saved game is resumed.
+     */
+    private final SavedGame savedGame;
+
+    /** The listener that tracks the game board Snapshots. */
+    private TouchEventSnapshooter gameBoardListener;
+
     /**
      * Constructs a new {@code MainScreen} of the Game by specifying the
      * {@code game}, {@code viewport}, {@code renderer} and the
@@ -107,19 +137,29 @@ public final class MainScreen extends ScreenAdapter {
      * @param renderer the {@code ShapeRenderer} object used to draw the game
      *                 board
      * @param numOfSprouts the number of starting sprouts to generate
+     * @param savedGame the game saved when {@code this} screen is paused;
+     *                  if present, it is resumed instead of starting a new
+     *                  game
      */
     public MainScreen(
         final Game game,
         final Viewport viewport,
         final float minDimensionRatio,
         final ShapeRenderer renderer,
-        final int numOfSprouts
+        final int numOfSprouts,
+        final SavedGame savedGame
     ) {
         this.game = game;
         this.viewport = viewport;
         this.minDimensionRatio = minDimensionRatio;
         this.renderer = renderer;
         this.numOfSprouts = numOfSprouts;
+        this.savedGame = savedGame;
+        if (Gdx.app.getType() == ApplicationType.Android) {
+            this.stateLayer = new StateTexture(new StateMesh(), viewport);
+        } else {
+            this.stateLayer = new StateMesh();
+        }
     }
 
     /**
@@ -135,6 +175,11 @@ public final class MainScreen extends ScreenAdapter {
     public void show() {
         stage = new Stage(viewport);
 
+        if (savedGame.isPresent()) {
+            numOfSprouts = savedGame.numOfSprouts();
+            playerTurn = new ToggleSwitch(savedGame.playerTurn());
+        }
+
         Skin skin =
             new Skin(
                 Gdx.files.internal("default/skin/uiskin.json")
@@ -143,22 +188,15 @@ public final class MainScreen extends ScreenAdapter {
         final Label sliderLabel = new Label("" + numOfSprouts, skin);
         sliderLabel.setColor(Color.BLACK);
 
-        final Slider slider =
-            new Slider(
-                SLIDER_MIN,
-                SLIDER_MAX,
-                SLIDER_STEP,
-                false,
-                skin
-            );
+        final SproutCountSlider slider = new SproutCountSlider(skin);
         slider.addListener(new EventListener() {
             @Override
             public boolean handle(final Event event) {
-                sliderLabel.setText("" + (int) slider.getValue());
+                sliderLabel.setText("" + slider.sprouts());
                 return true;
             }
         });
-        slider.setValue(numOfSprouts);
+        slider.setSprouts(numOfSprouts);
 
         TextButton resetButton =
             new TextButton(
@@ -166,7 +204,14 @@ public final class MainScreen extends ScreenAdapter {
                 skin
             );
         resetButton.addListener(
-            new ResetDialog(game, renderer, minDimensionRatio, stage, slider)
+            new ResetDialog(
+                game,
+                renderer,
+                minDimensionRatio,
+                stage,
+                slider,
+                savedGame
+            )
         );
 
         TextButton helpButton =
@@ -256,6 +301,43 @@ public final class MainScreen extends ScreenAdapter {
             }
         );
 
+        TextButton undoButton = new TextButton("Undo", skin);
+        TextButton redoButton = new TextButton("Redo", skin);
+
+        final PerfOverlay perfOverlay = new PerfOverlay(skin);
+        perfOverlay.setColor(Color.DARK_GRAY);
+        perfOverlay.setVisible(FrameProfiler.isEnabled());
+        TextButton statsToggle =
+            new TextButton(
+                "Show stats",
+                skin
+            );
+        statsToggle.addListener(
+            new InputListener() {
+                @Override
+                public boolean touchDown(
+                    final InputEvent event,
+                    final float x,
+                    final float y,
+                    final int pointer,
+                    final int button
+                ) {
+                    boolean enable = !FrameProfiler.isEnabled();
+                    FrameProfiler.setEnabled(enable);
+                    perfOverlay.setVisible(enable);
+                    if (enable) {
+                        statsToggle.setText("Hide stats");
+                        // Keep frames coming, so that the stats stay fresh
+                        Gdx.graphics.setContinuousRendering(true);
+                    } else {
+                        statsToggle.setText("Show stats");
+                        Gdx.graphics.setContinuousRendering(false);
+                    }
+                    return true;
+                }
+            }
+        );
+
         final Label playerTurnLabel =
             new Label(
                 "Player " + (playerTurn.state() ? 2 : 1) + " on the move!",
@@ -264,9 +346,12 @@ public final class MainScreen extends ScreenAdapter {
         Table toolbar = new Table().pad(TOOLBAR_PADDING).left();
         toolbar.add(helpButton).space(TOOLBAR_CELL_SPACING);
         toolbar.add(resetButton).space(TOOLBAR_CELL_SPACING);
+        toolbar.add(undoButton).space(TOOLBAR_CELL_SPACING);
+        toolbar.add(redoButton).space(TOOLBAR_CELL_SPACING);
         toolbar.add(sliderLabel).space(TOOLBAR_CELL_SPACING);
         toolbar.add(slider).space(TOOLBAR_CELL_SPACING);
         toolbar.add(cobwebToggle).space(TOOLBAR_CELL_SPACING);
+        toolbar.add(statsToggle).space(TOOLBAR_CELL_SPACING);
         int firstRowColumnNumber = toolbar.getCells().size;
         toolbar.row();
         toolbar.add(playerTurnLabel).space(TOOLBAR_CELL_SPACING)
@@ -283,22 +368,88 @@ public final class MainScreen extends ScreenAdapter {
                 - toolbar.getHeight()
                 - ROOT_ROW_SPACING
             );
-        TouchEventSnapshooter gameBoardListener =
+        // A large board is drawn in a larger world, viewed through the
+        // board camera
+        float worldScale =
+            Math.max(
+                1,
+                (float) numOfSprouts / SproutCountSlider.NORMAL_BOARD_MAX
+            );
+        Rectangle worldBounds =
+            new Rectangle(gameBounds)
+                .setSize(
+                    worldScale * gameBounds.width,
+                    worldScale * gameBounds.height
+                )
+                .setCenter(gameBounds.getCenter(new Vector2()));
+        final BoardCamera boardCamera =
+            new BoardCamera(gameBounds, worldBounds);
+        SproutsGameState initialState =
+            new SproutsInitialState(numOfSprouts, worldBounds);
+        if (savedGame.isPresent()) {
+            initialState = savedGame.state();
+        }
+        gameBoardListener =
             new TouchEventSnapshooter(
                 new BeforeMove(
+                    initialState,
                     Math.min(
                         gameBounds.getWidth(),
                         gameBounds.getHeight()
                     ) / minDimensionRatio,
                     CIRCLE_SEGMENT_COUNT,
-                    (int) slider.getValue(),
-                    gameBounds,
+                    worldBounds,
                     displayCobweb,
                     playerTurn,
-                    playerTurnLabel
-                )
+                    playerTurnLabel,
+                    stateLayer,
+                    moveExecutor
+                ),
+                new SnapshotHistory(playerTurn),
+                boardCamera::toWorld
             );
-        Actor gameBoard = new GameBoard(gameBoardListener, renderer);
+        undoButton.addListener(
+            new InputListener() {
+                @Override
+                public boolean touchDown(
+                    final InputEvent event,
+                    final float x,
+                    final float y,
+                    final int pointer,
+                    final int button
+                ) {
+                    if (gameBoardListener.undo()) {
+                        playerTurnLabel.setText(
+                            "Player " + (playerTurn.state() ? 2 : 1)
+                          + " on the move!"
+                        );
+                    }
+                    return true;
+                }
+            }
+        );
+        redoButton.addListener(
+            new InputListener() {
+                @Override
+                public boolean touchDown(
+                    final InputEvent event,
+                    final float x,
+                    final float y,
+                    final int pointer,
+                    final int button
+                ) {
+                    if (gameBoardListener.redo()) {
+                        playerTurnLabel.setText(
+                            "Player " + (playerTurn.state() ? 2 : 1)
+                          + " on the move!"
+                        );
+                    }
+                    return true;
+                }
+            }
+        );
+        Actor gameBoard =
+            new GameBoard(gameBoardListener, renderer, boardCamera);
         gameBoard.setBounds(
             gameBounds.getX(),
             gameBounds.getY(),
@@ -319,11 +470,27 @@ public final class MainScreen extends ScreenAdapter {
 
         stage.addActor(rootLayout);
 
-        Gdx.input.setInputProcessor(stage);
+        perfOverlay.setPosition(
+            gameBounds.getX() + TOOLBAR_PADDING,
+            gameBounds.getY() + TOOLBAR_PADDING
+        );
+        stage.addActor(perfOverlay);
+
+        Gdx.input.setInputProcessor(
+            new InputMultiplexer(
+                new BoardGestures(
+                    stage.getViewport(),
+                    boardCamera,
+                    gameBoardListener
+                ),
+                stage
+            )
+        );
     }
 
     @Override
     public void render(final float delta) {
+        FrameProfiler.frame();
         Gdx.gl.glClearColor(1, 1, 1, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
@@ -335,6 +502,33 @@ public final class MainScreen extends ScreenAdapter {
     @Override
     public void resize(final int width, final int height) {
         stage.getViewport().update(width, height, true);
+        stateLayer.invalidate();
+    }
+
+    /**
+     * Saves the game in progress, so that it can be resumed if the
+     * application is killed while paused.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void pause() {
+        savedGame.save(
+            gameBoardListener.snapshot().gameState(),
+            numOfSprouts,
+            playerTurn.state()
+        );
+    }
+
+    /**
+     * Redraws the game state layer, whose texture may have been lost with
+     * the graphics context while paused.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void resume() {
+        stateLayer.invalidate();
     }
 
     @Override
@@ -345,5 +539,7 @@ public final class MainScreen extends ScreenAdapter {
     @Override
     public void dispose() {
         stage.dispose();
+        stateLayer.dispose();
+        moveExecutor.dispose();
     }
 }
@@ -0,0 +1,83 @@
+package com.github.glusk2.sprouts.core;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler.Counter;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler.Section;
+
+/**
+ * A label that shows the {@link FrameProfiler} data of the last frame.
+ * <p>
+ * The text is only updated while the profiler is enabled.
+ */
+public final class PerfOverlay extends Label {
+    /** The frame time percentiles shown. */
+    private static final int[] PERCENTILES = {50, 90, 99};
+    /** Hundredths of a millisecond per millisecond. */
+    private static final int HUNDREDTHS = 100;
+    /** Hundredths of a millisecond per tenth of a millisecond. */
+    private static final int HUNDREDTHS_PER_TENTH = 10;
+
+    /** The text buffer, reused between frames. */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Creates a new, empty overlay.
+     *
+     * @param skin the skin to draw the text with
+     */
+    public PerfOverlay(final Skin skin) {
+        super("", skin);
+    }
+
+    @Override
+    public void act(final float delta) {
+        super.act(delta);
+        if (!FrameProfiler.isEnabled()) {
+            return;
+        }
+        text.setLength(0);
+        text.append("frame ms");
+        for (int p : PERCENTILES) {
+            text.append("  p").append(p).append(' ');
+            append(FrameProfiler.frameTimePercentile(p));
+        }
+        for (Section section : Section.values()) {
+            text.append('\n').append(name(section)).append(" ms ");
+            append(FrameProfiler.millis(section));
+        }
+        for (Counter counter : Counter.values()) {
+            text.append('\n')
+                .append(name(counter))
+                .append(' ')
+                .append(FrameProfiler.count(counter));
+        }
+        setText(text);
+        pack();
+    }
+
+    /**
+     * Appends {@code millis} to the text, rounded to two decimals.
+     *
+     * @param millis the time to append, in milliseconds
+     */
+    private void append(final float millis) {
+        int rounded = Math.round(millis * HUNDREDTHS);
+        text.append(rounded / HUNDREDTHS).append('.');
+        if (rounded % HUNDREDTHS < HUNDREDTHS_PER_TENTH) {
+            text.append('0');
+        }
+        text.append(rounded % HUNDREDTHS);
+    }
+
+    /**
+     * Returns a lowercase, human readable name of an enum constant.
+     *
+     * @param constant an enum constant
+     * @return a human readable name of {@code constant}
+     */
+    private static String name(final Enum<?> constant) {
+        return constant.name().toLowerCase().replace('_', ' ');
+    }
+}
@@ -8,7 +8,6 @@ import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
-import com.badlogic.gdx.scenes.scene2d.ui.Slider;
 
 /**
  * A "New game" button's InputListener.
@@ -30,7 +29,9 @@ public final class ResetDialog extends InputListener {
     /** The stage to "pin" the "reset game" Dialog to. */
     private final Stage stage;
     /** The slider to pick the number of sprouts for the new game with. */
-    private final Slider slider;
+    private final SproutCountSlider slider;
+    /** The saved game, discarded once the reset is confirmed. */
+    private final SavedGame savedGame;
 
     /**
      * Creates a "New game" button InputListener.
@@ -45,19 +46,23 @@ public final class ResetDialog extends InputListener {
      * @param stage the stage to "pin" the "reset game" Dialog to
      * @param slider the slider to pick the number of sprouts for the new game
      *               with
+     * @param savedGame the saved game, discarded once the reset is
+     *                  confirmed
      */
     public ResetDialog(
         final Game game,
         final ShapeRenderer renderer,
         final float minDimensionRatio,
         final Stage stage,
-        final Slider slider
+        final SproutCountSlider slider,
+        final SavedGame savedGame
     ) {
         this.game = game;
         this.renderer = renderer;
         this.minDimensionRatio = minDimensionRatio;
         this.stage = stage;
         this.slider = slider;
+        this.savedGame = savedGame;
     }
 
     /**
@@ -81,13 +86,15 @@ public final class ResetDialog extends InputListener {
                 if (obj instanceof Boolean) {
                     Boolean reset = (Boolean) obj;
                     if (reset) {
+                        savedGame.discard();
                         game.setScreen(
                             new MainScreen(
                                 game,
                                 stage.getViewport(),
                                 minDimensionRatio,
                                 renderer,
-                                (int) slider.getValue()
+                                slider.sprouts(),
+                                savedGame
                             )
                         );
                     }
@@ -0,0 +1,174 @@
+package com.github.glusk2.sprouts.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsSavedState;
+import com.github.glusk2.sprouts.core.comb.SproutsStateRecord;
+
+/**
+ * An in-progress game, saved to a file when the application is paused, so
+ * that it can be resumed after the application is restarted (for example,
+ * after Android kills it in the background).
+ * <p>
+ * The file stores the number of starting sprouts, the player turn and a
+ * {@link SproutsStateRecord} of the committed game state, so the game is
+ * resumed without playing any Moves. The whole file is written with a
+ * single call, to keep pausing fast.
+ * <p>
+ * The game is saved to local storage; where there is none (in a browser),
+ * the game is not saved.
+ */
+public final class SavedGame {
+    /** The name of the local file to save the game to. */
+    private final String fileName;
+
+    /** The number of starting sprouts of the saved game. */
+    private int numOfSprouts;
+    /** The player turn of the saved game. */
+    private boolean playerTurn;
+    /** The state of the saved game, or {@code null} if not read yet. */
+    private SproutsGameState state;
+
+    /**
+     * Creates a new saved game, stored in a local file.
+     *
+     * @param fileName the name of the local file to save the game to
+     */
+    public SavedGame(final String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Saves a game, replacing the previously saved one.
+     * <p>
+     * A game that can't be saved is lost; the error is logged.
+     *
+     * @param gameState the committed game state
+     * @param startingSprouts the number of starting sprouts
+     * @param turn the player turn; {@code true} if it's "Player 2"'s turn
+     */
+    public void save(
+        final SproutsGameState gameState,
+        final int startingSprouts,
+        final boolean turn
+    ) {
+        if (!Gdx.files.isLocalStorageAvailable()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(startingSprouts);
+            out.writeBoolean(turn);
+            new SproutsStateRecord(gameState).writeTo(out);
+            file().writeBytes(bytes.toByteArray(), false);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("SavedGame", "Can't save the game.", e);
+        }
+    }
+
+    /**
+     * Deletes the saved game, if any.
+     */
+    public void discard() {
+        state = null;
+        if (Gdx.files.isLocalStorageAvailable() && file().exists()) {
+            file().delete();
+        }
+    }
+
+    /**
+     * Checks whether there is a saved game that can be resumed.
+     * <p>
+     * A saved game that can't be read is discarded.
+     *
+     * @return {@code true} if there is a saved game
+     */
+    public boolean isPresent() {
+        if (state != null) {
+            return true;
+        }
+        if (!Gdx.files.isLocalStorageAvailable() || !file().exists()) {
+            return false;
+        }
+        try {
+            DataInputStream in =
+                new DataInputStream(
+                    new ByteArrayInputStream(file().readBytes())
+                );
+            numOfSprouts = in.readInt();
+            playerTurn = in.readBoolean();
+            SproutsGameState saved = new SproutsSavedState(in);
+            saved.edges();
+            state = saved;
+            return true;
+        } catch (
+            IOException | IllegalArgumentException | GdxRuntimeException e
+        ) {
+            Gdx.app.error("SavedGame", "Can't read the saved game.", e);
+            discard();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of starting sprouts of the saved game.
+     *
+     * @return the number of starting sprouts
+     * @throws IllegalStateException if there is no saved game
+     */
+    public int numOfSprouts() {
+        requirePresent();
+        return numOfSprouts;
+    }
+
+    /**
+     * Returns the player turn of the saved game.
+     *
+     * @return {@code true} if it's "Player 2"'s turn
+     * @throws IllegalStateException if there is no saved game
+     */
+    public boolean playerTurn() {
+        requirePresent();
+        return playerTurn;
+    }
+
+    /**
+     * Returns the committed game state of the saved game.
+     *
+     * @return the saved game state
+     * @throws IllegalStateException if there is no saved game
+     */
+    public SproutsGameState state() {
+        requirePresent();
+        return state;
+    }
+
+    /**
+     * Returns the local file to save the game to.
+     *
+     * @return the local file to save the game to
+     */
+    private FileHandle file() {
+        return Gdx.files.local(fileName);
+    }
+
+    /**
+     * Checks that there is a saved game.
+     *
+     * @throws IllegalStateException if there is no saved game
+     */
+    private void requirePresent() {
+        if (!isPresent()) {
+            throw new IllegalStateException("There is no saved game.");
+        }
+    }
+}
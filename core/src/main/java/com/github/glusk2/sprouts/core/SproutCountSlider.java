@@ -0,0 +1,74 @@
+package com.github.glusk2.sprouts.core;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Slider;
+
+/**
+ * The slider that picks the number of starting sprouts.
+ * <p>
+ * The first positions pick a normal board, one sprout at a time, up to
+ * {@link #NORMAL_BOARD_MAX} sprouts. The positions after that pick a large
+ * board, {@link #LARGE_BOARD_STEP} sprouts at a time, up to
+ * {@link #LARGE_BOARD_MAX} sprouts.
+ */
+public final class SproutCountSlider extends Slider {
+    /** The minimum number of sprouts. */
+    static final int MIN = 2;
+    /** The maximum number of sprouts on a normal board. */
+    static final int NORMAL_BOARD_MAX = 7;
+    /** The number of sprouts between the large board positions. */
+    static final int LARGE_BOARD_STEP = 5;
+    /** The maximum number of sprouts on a large board. */
+    static final int LARGE_BOARD_MAX = 100;
+
+    /**
+     * Creates a new slider.
+     *
+     * @param skin the skin to style the slider with
+     */
+    public SproutCountSlider(final Skin skin) {
+        super(
+            MIN,
+            position(LARGE_BOARD_MAX),
+            1,
+            false,
+            skin
+        );
+    }
+
+    /**
+     * Returns the number of sprouts picked.
+     *
+     * @return the number of sprouts
+     */
+    public int sprouts() {
+        int position = (int) getValue();
+        if (position <= NORMAL_BOARD_MAX) {
+            return position;
+        }
+        return (position - NORMAL_BOARD_MAX + 1) * LARGE_BOARD_STEP;
+    }
+
+    /**
+     * Picks a number of sprouts; on a large board, the number is rounded
+     * down to a step.
+     *
+     * @param sprouts the number of sprouts
+     */
+    public void setSprouts(final int sprouts) {
+        setValue(position(sprouts));
+    }
+
+    /**
+     * Returns the slider position of a number of sprouts.
+     *
+     * @param sprouts the number of sprouts
+     * @return the slider position
+     */
+    private static int position(final int sprouts) {
+        if (sprouts <= NORMAL_BOARD_MAX) {
+            return sprouts;
+        }
+        return sprouts / LARGE_BOARD_STEP + NORMAL_BOARD_MAX - 1;
+    }
+}
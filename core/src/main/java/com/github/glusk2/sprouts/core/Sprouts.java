@@ -5,7 +5,13 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 
-/** Sprouts main application class. */
+/**
+ * Sprouts main application class.
+ * <p>
+ * The game in progress is saved when the application is paused (the pause
+ * is passed on to the current screen) and resumed when the application is
+ * created again, for example after Android kills it in the background.
+ */
 public final class Sprouts extends Game {
     /**
      * Pre-set width of the game surface that contains the UI bar and the
@@ -48,6 +54,8 @@ public final class Sprouts extends Game {
     private static final float SMALL_SCREEN_DIVISOR = 35;
     /** The number of sprouts displayed in the game shown on app start. */
     private static final int NUM_OF_PRESET_SPROUTS = 2;
+    /** The local file that the game in progress is saved to. */
+    private static final String SAVED_GAME_FILE = "sprouts.sav";
     /** Application screen width in pixels. */
     private final int screenWidth;
     /** Application screen height in pixels. */
@@ -86,7 +94,8 @@ public final class Sprouts extends Game {
                 new FitViewport(GAME_WIDTH, GAME_HEIGHT),
                 minDimensionRatio,
                 renderer,
-                NUM_OF_PRESET_SPROUTS
+                NUM_OF_PRESET_SPROUTS,
+                new SavedGame(SAVED_GAME_FILE)
             )
         );
     }
@@ -0,0 +1,45 @@
+package com.github.glusk2.sprouts.core;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+
+/**
+ * A cached rendering of the committed game state.
+ * <p>
+ * A layer is shared by all the Snapshots of a game. It renders the same
+ * image as {@link SproutsGameState#render(ShapeRenderer, float, int,
+ * boolean)}, but only redoes the work when a different state (or a
+ * different set of rendering parameters) is rendered, or after
+ * {@link #invalidate()}. States are compared by identity, so the states
+ * rendered with a layer must not change.
+ */
+public interface StateLayer extends Disposable {
+    /**
+     * Renders {@code state}, rebuilding the layer first if {@code state} or
+     * any of the rendering parameters have changed since the last call.
+     * <p>
+     * {@code renderer} is only used for its projection and transform
+     * matrices and must not be drawing when this method is called.
+     *
+     * @param renderer the renderer whose matrices to render with
+     * @param state the game state to render
+     * @param thickness the thickness of edges and the radius of vertices
+     * @param circleSegmentCount the number of segments for the circles drawn
+     * @param displayCobweb if {@code true}, display cobweb vertices and edges
+     */
+    void render(
+        ShapeRenderer renderer,
+        SproutsGameState state,
+        float thickness,
+        int circleSegmentCount,
+        boolean displayCobweb
+    );
+
+    /**
+     * Discards the cached rendering, so that the next call to
+     * {@link #render(ShapeRenderer, SproutsGameState, float, int, boolean)}
+     * rebuilds it.
+     */
+    void invalidate();
+}
@@ -0,0 +1,281 @@
+package com.github.glusk2.sprouts.core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ImmediateModeRenderer20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.FloatArray;
+import com.github.glusk2.sprouts.core.comb.IsAliveSprout;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.TriangleBuffer;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
+
+/**
+ * A cached, GPU resident copy of a rendered game state.
+ * <p>
+ * The state is tessellated into a static {@link Mesh} the first time it is
+ * rendered and the mesh is redrawn, with a single draw call, until a
+ * different state (or a different set of rendering parameters) is rendered.
+ * The result looks the same as
+ * {@link SproutsGameState#render(ShapeRenderer, float, int, boolean)}, but
+ * the cost of a frame no longer grows with the number of moves played.
+ * <p>
+ * Only the edges and vertices in and around the view (the area that the
+ * renderer matrices project onto the screen) are tessellated, tested by
+ * their bounding boxes, so a zoomed-in view of a large board only draws
+ * what is visible. The tessellated area extends past the view on every
+ * side, so that panning and zooming in reuse the mesh for a while.
+ */
+public final class StateMesh implements StateLayer {
+    /** The name of the combined projection and transform matrix uniform. */
+    private static final String PROJ_MODEL_VIEW = "u_projModelView";
+    /**
+     * The margin around the view that is tessellated as well, in view
+     * widths (heights).
+     */
+    private static final float CULL_MARGIN = .5f;
+    /**
+     * The maximum ratio between the tessellated area and the view, in
+     * width (height), at which the mesh is reused.
+     */
+    private static final float MAX_OVERDRAW = 2 * (1 + 2 * CULL_MARGIN);
+
+    /** The tessellated state. */
+    private final TriangleBuffer triangles = new TriangleBuffer();
+    /** The combined projection and transform matrix. */
+    private final Matrix4 projModelView = new Matrix4();
+    /** The inverse of {@code projModelView}. */
+    private final Matrix4 inverse = new Matrix4();
+    /** The area of the state in view. */
+    private final Rectangle visibleArea = new Rectangle();
+    /** The area of the state that {@code triangles} cover. */
+    private final Rectangle cachedArea = new Rectangle();
+
+    /** The game state that {@code triangles} hold. */
+    private SproutsGameState cachedState;
+    /** The edge thickness that {@code triangles} were built with. */
+    private float cachedThickness;
+    /** The circle segment count that {@code triangles} were built with. */
+    private int cachedSegmentCount;
+    /** The cobweb flag that {@code triangles} were built with. */
+    private boolean cachedDisplayCobweb;
+
+    /** The uploaded {@code triangles}, or {@code null} if not created yet. */
+    private Mesh mesh;
+    /** The shader to draw {@code mesh} with. */
+    private ShaderProgram shader;
+
+    @Override
+    public void render(
+        final ShapeRenderer renderer,
+        final SproutsGameState state,
+        final float thickness,
+        final int circleSegmentCount,
+        final boolean displayCobweb
+    ) {
+        projModelView
+            .set(renderer.getProjectionMatrix())
+            .mul(renderer.getTransformMatrix());
+        updateVisibleArea();
+        if (
+            state != cachedState
+         || thickness != cachedThickness
+         || circleSegmentCount != cachedSegmentCount
+         || displayCobweb != cachedDisplayCobweb
+         || !isCovered()
+        ) {
+            cachedArea.set(
+                visibleArea.x - CULL_MARGIN * visibleArea.width,
+                visibleArea.y - CULL_MARGIN * visibleArea.height,
+                (1 + 2 * CULL_MARGIN) * visibleArea.width,
+                (1 + 2 * CULL_MARGIN) * visibleArea.height
+            );
+            tessellate(state, thickness, circleSegmentCount, displayCobweb);
+            upload();
+            cachedState = state;
+            cachedThickness = thickness;
+            cachedSegmentCount = circleSegmentCount;
+            cachedDisplayCobweb = displayCobweb;
+        }
+        if (triangles.vertexCount() == 0) {
+            return;
+        }
+        shader.begin();
+        shader.setUniformMatrix(PROJ_MODEL_VIEW, projModelView);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, triangles.vertexCount());
+        shader.end();
+    }
+
+    /**
+     * Sets {@code visibleArea} to the area that {@code projModelView}
+     * projects onto the screen.
+     */
+    private void updateVisibleArea() {
+        inverse.set(projModelView).inv();
+        Vector3 min = new Vector3(-1, -1, 0).mul(inverse);
+        Vector3 max = new Vector3(1, 1, 0).mul(inverse);
+        visibleArea.set(
+            Math.min(min.x, max.x),
+            Math.min(min.y, max.y),
+            Math.abs(max.x - min.x),
+            Math.abs(max.y - min.y)
+        );
+    }
+
+    /**
+     * Checks whether {@code triangles} cover the view and are not much
+     * larger than it.
+     *
+     * @return {@code true} if the tessellated area can be reused
+     */
+    private boolean isCovered() {
+        return
+            cachedArea.contains(visibleArea)
+         && cachedArea.width <= MAX_OVERDRAW * visibleArea.width
+         && cachedArea.height <= MAX_OVERDRAW * visibleArea.height;
+    }
+
+    /**
+     * Tessellates the part of {@code state} in {@code cachedArea} into
+     * {@code triangles}, in the same order as
+     * {@link SproutsGameState#render(ShapeRenderer, float, int, boolean)}
+     * draws it.
+     *
+     * @param state the game state to tessellate
+     * @param thickness the thickness of edges and the radius of vertices
+     * @param circleSegmentCount the number of segments for the circles drawn
+     * @param displayCobweb if {@code true}, include cobweb vertices and edges
+     */
+    private void tessellate(
+        final SproutsGameState state,
+        final float thickness,
+        final int circleSegmentCount,
+        final boolean displayCobweb
+    ) {
+        triangles.clear();
+        Rectangle area =
+            new Rectangle(
+                cachedArea.x - thickness,
+                cachedArea.y - thickness,
+                cachedArea.width + 2 * thickness,
+                cachedArea.height + 2 * thickness
+            );
+        Set<SproutsEdge> drawnEdges = new HashSet<>();
+        for (SproutsEdge edge : state.edges()) {
+            if (!displayCobweb && edge.color().equals(Color.RED)) {
+                continue;
+            }
+            if (!isInArea(edge.bounds(), area)) {
+                continue;
+            }
+            if (!drawnEdges.contains(edge)) {
+                FrameProfiler.count(FrameProfiler.Counter.EDGES, 1);
+                triangles
+                    .color(edge.color())
+                    .polyline(edge.polyline(), thickness, circleSegmentCount);
+                drawnEdges.add(edge);
+                drawnEdges.add(edge.reversed());
+            }
+        }
+        IsAliveSprout isAlive = new IsAliveSprout(state);
+        for (Vertex v : state.vertices()) {
+            if (!displayCobweb && v.color().equals(Color.RED)) {
+                continue;
+            }
+            Vector2 position = v.position();
+            if (!area.contains(position)) {
+                continue;
+            }
+            triangles
+                .color(v.color())
+                .circle(position, thickness, circleSegmentCount);
+            if (isAlive.test(v)) {
+                triangles.color(Color.WHITE);
+            } else {
+                triangles.color(Color.GRAY);
+            }
+            triangles.circle(position, thickness / 2, circleSegmentCount);
+        }
+    }
+
+    /**
+     * Checks whether a bounding box is in (or overlaps) an area.
+     *
+     * @param bounds the bounding box, possibly of zero width or height
+     * @param area the area
+     * @return {@code true} if {@code bounds} and {@code area} have a point
+     *         in common
+     */
+    private static boolean isInArea(
+        final Rectangle bounds,
+        final Rectangle area
+    ) {
+        return
+            bounds.x <= area.x + area.width
+         && bounds.x + bounds.width >= area.x
+         && bounds.y <= area.y + area.height
+         && bounds.y + bounds.height >= area.y;
+    }
+
+    /**
+     * Uploads {@code triangles} to {@code mesh}, creating or growing the
+     * mesh (and creating the shader) as needed.
+     */
+    private void upload() {
+        if (shader == null) {
+            shader =
+                ImmediateModeRenderer20.createDefaultShader(false, true, 0);
+        }
+        int vertexCount = triangles.vertexCount();
+        if (mesh == null || mesh.getMaxVertices() < vertexCount) {
+            if (mesh != null) {
+                mesh.dispose();
+            }
+            mesh =
+                new Mesh(
+                    true,
+                    Math.max(1, 2 * vertexCount),
+                    0,
+                    new VertexAttribute(
+                        Usage.Position,
+                        2,
+                        ShaderProgram.POSITION_ATTRIBUTE
+                    ),
+                    VertexAttribute.ColorPacked()
+                );
+        }
+        FloatArray vertices = triangles.vertices();
+        mesh.setVertices(vertices.items, 0, vertices.size);
+    }
+
+    @Override
+    public void invalidate() {
+        cachedState = null;
+    }
+
+    @Override
+    public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+        cachedState = null;
+    }
+}
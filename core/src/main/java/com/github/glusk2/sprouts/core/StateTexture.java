@@ -0,0 +1,202 @@
+package com.github.glusk2.sprouts.core;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+
+/**
+ * A game state layer that is rendered to a texture.
+ * <p>
+ * The state is drawn once, by the {@code content} layer, into a
+ * {@link FrameBuffer} of the same size (in pixels) as the {@code viewport}
+ * and every frame after that only composites the texture over the board.
+ * This keeps the per-frame cost down to a single textured quad, which
+ * matters on low-end GPUs where even a single, large mesh is expensive to
+ * redraw.
+ * <p>
+ * The texture is redrawn when a different state (or a different set of
+ * rendering parameters) is rendered, when the board is zoomed or panned
+ * (the renderer transform changes), or after {@link #invalidate()}, which
+ * should be called whenever the viewport is resized. The texture covers the
+ * viewport, so it is composited with the renderer projection alone.
+ */
+public final class StateTexture implements StateLayer {
+    /** The layer that draws the state into the texture. */
+    private final StateLayer content;
+    /** The viewport that the texture covers. */
+    private final Viewport viewport;
+
+    /** The game state that the texture holds. */
+    private SproutsGameState cachedState;
+    /** The edge thickness that the texture was drawn with. */
+    private float cachedThickness;
+    /** The circle segment count that the texture was drawn with. */
+    private int cachedSegmentCount;
+    /** The cobweb flag that the texture was drawn with. */
+    private boolean cachedDisplayCobweb;
+    /** The renderer transform that the texture was drawn with. */
+    private final Matrix4 cachedTransform = new Matrix4();
+    /** The transform to composite the texture with. */
+    private final Matrix4 identity = new Matrix4();
+
+    /** The texture frame buffer, or {@code null} if not created yet. */
+    private FrameBuffer frameBuffer;
+    /** The batch to composite the texture with. */
+    private SpriteBatch batch;
+
+    /**
+     * Creates a new texture layer of the {@code viewport} size.
+     *
+     * @param content the layer that draws the state into the texture
+     * @param viewport the viewport that the texture covers
+     */
+    public StateTexture(final StateLayer content, final Viewport viewport) {
+        this.content = content;
+        this.viewport = viewport;
+    }
+
+    @Override
+    public void render(
+        final ShapeRenderer renderer,
+        final SproutsGameState state,
+        final float thickness,
+        final int circleSegmentCount,
+        final boolean displayCobweb
+    ) {
+        int width = viewport.getScreenWidth();
+        int height = viewport.getScreenHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (
+            state != cachedState
+         || thickness != cachedThickness
+         || circleSegmentCount != cachedSegmentCount
+         || displayCobweb != cachedDisplayCobweb
+         || !Arrays.equals(
+                cachedTransform.val,
+                renderer.getTransformMatrix().val
+            )
+        ) {
+            redraw(
+                renderer,
+                state,
+                thickness,
+                circleSegmentCount,
+                displayCobweb
+            );
+            cachedState = state;
+            cachedThickness = thickness;
+            cachedSegmentCount = circleSegmentCount;
+            cachedDisplayCobweb = displayCobweb;
+            cachedTransform.set(renderer.getTransformMatrix());
+        }
+
+        if (batch == null) {
+            batch = new SpriteBatch(1);
+        }
+        Camera camera = viewport.getCamera();
+        float worldWidth = viewport.getWorldWidth();
+        float worldHeight = viewport.getWorldHeight();
+        batch.setProjectionMatrix(renderer.getProjectionMatrix());
+        batch.setTransformMatrix(identity);
+        batch.begin();
+        // Frame buffer textures are upside down; v == 0 is the bottom row
+        batch.draw(
+            frameBuffer.getColorBufferTexture(),
+            camera.position.x - worldWidth / 2,
+            camera.position.y - worldHeight / 2,
+            worldWidth,
+            worldHeight,
+            0,
+            0,
+            1,
+            1
+        );
+        batch.end();
+    }
+
+    /**
+     * Redraws {@code state} into the texture, (re)creating the frame buffer
+     * if the viewport size has changed.
+     *
+     * @param renderer the renderer whose matrices to render with
+     * @param state the game state to render
+     * @param thickness the thickness of edges and the radius of vertices
+     * @param circleSegmentCount the number of segments for the circles drawn
+     * @param displayCobweb if {@code true}, display cobweb vertices and edges
+     */
+    private void redraw(
+        final ShapeRenderer renderer,
+        final SproutsGameState state,
+        final float thickness,
+        final int circleSegmentCount,
+        final boolean displayCobweb
+    ) {
+        int width = viewport.getScreenWidth();
+        int height = viewport.getScreenHeight();
+        if (
+            frameBuffer == null
+         || frameBuffer.getWidth() != width
+         || frameBuffer.getHeight() != height
+        ) {
+            if (frameBuffer != null) {
+                frameBuffer.dispose();
+            }
+            frameBuffer =
+                new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        }
+        // The board clip rectangle is in window coordinates, which don't
+        // apply to the frame buffer
+        boolean clipped = Gdx.gl.glIsEnabled(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        content.render(
+            renderer,
+            state,
+            thickness,
+            circleSegmentCount,
+            displayCobweb
+        );
+        frameBuffer.end(
+            viewport.getScreenX(),
+            viewport.getScreenY(),
+            width,
+            height
+        );
+        if (clipped) {
+            Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        cachedState = null;
+        content.invalidate();
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+        if (batch != null) {
+            batch.dispose();
+            batch = null;
+        }
+        content.dispose();
+        cachedState = null;
+    }
+}
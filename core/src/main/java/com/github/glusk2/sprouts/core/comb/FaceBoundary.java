@@ -0,0 +1,99 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The boundary of a graph face as a closed walk of directed edges.
+ * <p>
+ * {@link SproutsFaces#faces()} returns faces as unordered sets of directed
+ * edges. This class orders them into the walk that
+ * {@link SproutsFaces} follows when it builds a face: after an edge
+ * {@code e} comes the first edge that follows {@code e.reversed()} in the
+ * local rotations around {@code e.to()}.
+ * <p>
+ * The face always lies on the <em>left</em> side of the walk. A vertex may
+ * occur on the walk more than once (for example when the walk goes around a
+ * tree).
+ */
+public final class FaceBoundary {
+    /** A set of directed edges that represent a graph face. */
+    private final Set<SproutsEdge> face;
+
+    /** A cached value of {@link #walk()}. */
+    private List<SproutsEdge> walkCache;
+
+    /**
+     * Creates a new face boundary from a set of directed edges.
+     *
+     * @param face a set of directed edges that represent a graph face (see
+     *             {@link SproutsFaces#faces()})
+     */
+    public FaceBoundary(final Set<SproutsEdge> face) {
+        this.face = face;
+    }
+
+    /**
+     * Returns the directed edges of the face, ordered as a closed walk.
+     * <p>
+     * The first edge of the walk is arbitrary; the edge after the last one
+     * is the first one.
+     *
+     * @return an unmodifiable list of the face edges, ordered as a closed
+     *         walk
+     * @throws IllegalArgumentException if the edges do not form a single
+     *                                  closed walk
+     */
+    public List<SproutsEdge> walk() {
+        if (walkCache != null) {
+            return walkCache;
+        }
+        if (face.isEmpty()) {
+            walkCache = Collections.emptyList();
+            return walkCache;
+        }
+        Map<Vertex, SortedSet<SproutsEdge>> outgoing = new HashMap<>();
+        for (SproutsEdge edge : face) {
+            SortedSet<SproutsEdge> rotation = outgoing.get(edge.from());
+            if (rotation == null) {
+                rotation = new TreeSet<>();
+                outgoing.put(edge.from(), rotation);
+            }
+            rotation.add(edge);
+        }
+        SproutsEdge first = face.iterator().next();
+        List<SproutsEdge> walk = new ArrayList<>(face.size());
+        Set<SproutsEdge> visited = new HashSet<>();
+        SproutsEdge next = first;
+        do {
+            if (!visited.add(next)) {
+                throw new IllegalArgumentException(
+                    "The edges do not form a single closed walk."
+                );
+            }
+            walk.add(next);
+            SproutsEdge rev = next.reversed();
+            SortedSet<SproutsEdge> rotation = outgoing.get(rev.from());
+            if (rotation == null) {
+                throw new IllegalArgumentException(
+                    "The edges do not form a closed walk."
+                );
+            }
+            next = new SproutsRotations(rotation).next(rev);
+        } while (!next.equals(first));
+        if (walk.size() != face.size()) {
+            throw new IllegalArgumentException(
+                "The edges do not form a single closed walk."
+            );
+        }
+        walkCache = Collections.unmodifiableList(walk);
+        return walkCache;
+    }
+}
@@ -0,0 +1,404 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Orientation;
+
+/**
+ * A point location index that finds the face of a game state that contains
+ * a point.
+ * <p>
+ * The index is a slab decomposition of the edge segments: the plane is cut
+ * into vertical slabs at the {@code x} coordinates of the segment
+ * endpoints, and the segments that cross a slab are kept ordered from the
+ * bottom up. The point lies in the face above the first segment below it.
+ * The ordered segments of the slabs are versions of a persistent search
+ * tree, built in a single sweep from left to right; each version shares all
+ * but {@code O(log n)} nodes with the previous one. A query takes two
+ * binary searches, {@code O(log n)} in the number of segments {@code n},
+ * and the index takes {@code O(n log n)} memory.
+ * <p>
+ * The index is built on the first query, from the faces of
+ * {@link SproutsFaces}. The state must be connected, as every Sprouts state
+ * is (the cobweb edges connect the drawing); the points that no segment
+ * lies below are in the outer face. The point location is exact (see
+ * {@link Orientation}); a point on an edge is located in either one of the
+ * faces that the edge separates.
+ */
+public final class FaceLocation {
+    /** The seed of the search tree node priorities. */
+    private static final long PRIORITY_SEED = 0x5EED;
+
+    /** The state to locate the faces of. */
+    private final SproutsGameState state;
+
+    /** The slab boundaries, in ascending order. */
+    private float[] slabs;
+    /**
+     * The segments that cross each slab; {@code versions[i]} is the search
+     * tree of the slab right of {@code slabs[i]}.
+     */
+    private Node[] versions;
+    /** The outer face, or {@code null} if the state has no edges. */
+    private Set<SproutsEdge> outerFace;
+
+    /**
+     * Creates a new face location index of {@code state}.
+     *
+     * @param state the state to locate the faces of
+     */
+    public FaceLocation(final SproutsGameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns the face that contains {@code point}.
+     *
+     * @param point the point to locate
+     * @return the face that contains {@code point} as a set of directed
+     *         edges (see {@link SproutsFaces#faces()}); an empty set if the
+     *         state has no edges
+     */
+    public Set<SproutsEdge> faceAt(final Vector2 point) {
+        if (slabs == null) {
+            build();
+        }
+        if (outerFace == null) {
+            return Collections.emptySet();
+        }
+        int slab = Arrays.binarySearch(slabs, point.x);
+        if (slab < 0) {
+            slab = -slab - 2;
+        }
+        if (slab < 0) {
+            return outerFace;
+        }
+        Segment below = null;
+        Node node = versions[slab];
+        while (node != null) {
+            Segment segment = node.segment;
+            if (new Orientation(segment.p, segment.q, point).intValue() < 0) {
+                node = node.left;
+            } else {
+                below = segment;
+                node = node.right;
+            }
+        }
+        if (below == null) {
+            return outerFace;
+        }
+        return below.faceAbove;
+    }
+
+    /**
+     * Builds the index in a sweep from left to right.
+     */
+    private void build() {
+        List<Segment> segments = segments();
+        List<Segment> byLeft = new ArrayList<>(segments);
+        Collections.sort(byLeft, (s, t) -> Float.compare(s.p.x, t.p.x));
+        List<Segment> byRight = new ArrayList<>(segments);
+        Collections.sort(byRight, (s, t) -> Float.compare(s.q.x, t.q.x));
+
+        float[] xs = new float[2 * segments.size()];
+        int count = 0;
+        for (Segment segment : segments) {
+            xs[count++] = segment.p.x;
+            xs[count++] = segment.q.x;
+        }
+        Arrays.sort(xs);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || xs[i] != xs[distinct - 1]) {
+                xs[distinct++] = xs[i];
+            }
+        }
+
+        Random priorities = new Random(PRIORITY_SEED);
+        Node[] trees = new Node[distinct];
+        Node root = null;
+        int left = 0;
+        int right = 0;
+        for (int i = 0; i < distinct; i++) {
+            while (right < byRight.size() && byRight.get(right).q.x == xs[i]) {
+                root = delete(root, byRight.get(right++));
+            }
+            while (left < byLeft.size() && byLeft.get(left).p.x == xs[i]) {
+                root =
+                    insert(root, byLeft.get(left++), priorities.nextInt());
+            }
+            trees[i] = root;
+        }
+        this.versions = trees;
+        this.slabs = Arrays.copyOf(xs, distinct);
+        if (distinct > 0) {
+            // Nothing lies below the lowest segment of the leftmost slab
+            Node lowest = trees[0];
+            while (lowest.left != null) {
+                lowest = lowest.left;
+            }
+            outerFace = lowest.segment.faceBelow;
+        }
+    }
+
+    /**
+     * Returns the segments of the edges, without the vertical ones; the
+     * faces on either side of a vertical segment are told apart by the
+     * segments next to it.
+     *
+     * @return the edge segments that are not vertical
+     */
+    private List<Segment> segments() {
+        Map<SproutsEdge, Set<SproutsEdge>> faceOf = new HashMap<>();
+        Set<SproutsEdge> edges = state.edges();
+        for (Set<SproutsEdge> face : new SproutsFaces(edges).faces()) {
+            for (SproutsEdge edge : face) {
+                faceOf.put(edge, face);
+            }
+        }
+        // The face of a directed edge lies on its left
+        List<Segment> segments = new ArrayList<>();
+        for (SproutsEdge edge : edges) {
+            if (!edge.isPositive()) {
+                continue;
+            }
+            Set<SproutsEdge> left = faceOf.get(edge);
+            Set<SproutsEdge> right = faceOf.get(edge.reversed());
+            List<Vector2> points = edge.polyline().points();
+            for (int i = 0; i < points.size() - 1; i++) {
+                Vector2 from = points.get(i);
+                Vector2 to = points.get(i + 1);
+                if (from.x < to.x) {
+                    segments.add(new Segment(from, to, left, right));
+                } else if (from.x > to.x) {
+                    segments.add(new Segment(to, from, right, left));
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Compares two segments that cross the same slab, by height.
+     * <p>
+     * The segments don't cross, so the one whose {@code x} range contains
+     * the left endpoint of the other tells which one is higher.
+     *
+     * @param s the first segment
+     * @param t the second segment
+     * @return a negative number if {@code s} is below {@code t}, a positive
+     *         number if it is above and {@code 0} if they are the same
+     *         segment
+     */
+    private static int compare(final Segment s, final Segment t) {
+        if (s == t) {
+            return 0;
+        }
+        if (s.p.x < t.p.x) {
+            return -side(s, t);
+        }
+        return side(t, s);
+    }
+
+    /**
+     * Tells on which side of {@code t} the segment {@code s} is, where the
+     * left endpoint of {@code s} lies in the {@code x} range of {@code t}.
+     *
+     * @param t the segment to compare with
+     * @param s the segment to compare
+     * @return {@code 1} if {@code s} is above {@code t}, else {@code -1}
+     */
+    private static int side(final Segment t, final Segment s) {
+        int side = new Orientation(t.p, t.q, s.p).intValue();
+        if (side == 0) {
+            // A shared endpoint
+            side = new Orientation(t.p, t.q, s.q).intValue();
+        }
+        if (side > 0) {
+            return 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts a segment into a search tree.
+     *
+     * @param node the root of the tree
+     * @param segment the segment to insert
+     * @param priority the priority of the new node
+     * @return the root of the new tree
+     */
+    private static Node insert(
+        final Node node,
+        final Segment segment,
+        final int priority
+    ) {
+        if (node == null || priority > node.priority) {
+            Node[] split = split(node, segment);
+            return new Node(segment, priority, split[0], split[1]);
+        }
+        if (compare(segment, node.segment) < 0) {
+            return node.withLeft(insert(node.left, segment, priority));
+        }
+        return node.withRight(insert(node.right, segment, priority));
+    }
+
+    /**
+     * Splits a search tree into the segments below and above
+     * {@code segment}.
+     *
+     * @param node the root of the tree
+     * @param segment the segment to split at
+     * @return the roots of the lower and the upper tree
+     */
+    private static Node[] split(final Node node, final Segment segment) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(segment, node.segment) < 0) {
+            Node[] split = split(node.left, segment);
+            split[1] = node.withLeft(split[1]);
+            return split;
+        }
+        Node[] split = split(node.right, segment);
+        split[0] = node.withRight(split[0]);
+        return split;
+    }
+
+    /**
+     * Deletes a segment from a search tree.
+     *
+     * @param node the root of the tree
+     * @param segment the segment to delete
+     * @return the root of the new tree
+     */
+    private static Node delete(final Node node, final Segment segment) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(segment, node.segment);
+        if (order == 0) {
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            return node.withLeft(delete(node.left, segment));
+        }
+        return node.withRight(delete(node.right, segment));
+    }
+
+    /**
+     * Merges two search trees, where all the segments of {@code lower} are
+     * below the segments of {@code upper}.
+     *
+     * @param lower the root of the lower tree
+     * @param upper the root of the upper tree
+     * @return the root of the merged tree
+     */
+    private static Node merge(final Node lower, final Node upper) {
+        if (lower == null) {
+            return upper;
+        }
+        if (upper == null) {
+            return lower;
+        }
+        if (lower.priority > upper.priority) {
+            return lower.withRight(merge(lower.right, upper));
+        }
+        return upper.withLeft(merge(lower, upper.left));
+    }
+
+    /** A non-vertical edge segment and the faces on either side of it. */
+    private static final class Segment {
+        /** The left endpoint. */
+        private final Vector2 p;
+        /** The right endpoint. */
+        private final Vector2 q;
+        /** The face above the segment. */
+        private final Set<SproutsEdge> faceAbove;
+        /** The face below the segment. */
+        private final Set<SproutsEdge> faceBelow;
+
+        /**
+         * Creates a new segment.
+         *
+         * @param p the left endpoint
+         * @param q the right endpoint
+         * @param faceAbove the face above the segment
+         * @param faceBelow the face below the segment
+         */
+        Segment(
+            final Vector2 p,
+            final Vector2 q,
+            final Set<SproutsEdge> faceAbove,
+            final Set<SproutsEdge> faceBelow
+        ) {
+            this.p = p;
+            this.q = q;
+            this.faceAbove = faceAbove;
+            this.faceBelow = faceBelow;
+        }
+    }
+
+    /**
+     * An immutable node of a persistent search tree of segments, ordered
+     * from the bottom up; a treap, balanced by random node priorities.
+     */
+    private static final class Node {
+        /** The segment of this node. */
+        private final Segment segment;
+        /** The priority of this node, higher than that of its children. */
+        private final int priority;
+        /** The subtree of the lower segments. */
+        private final Node left;
+        /** The subtree of the higher segments. */
+        private final Node right;
+
+        /**
+         * Creates a new node.
+         *
+         * @param segment the segment of this node
+         * @param priority the priority of this node
+         * @param left the subtree of the lower segments
+         * @param right the subtree of the higher segments
+         */
+        Node(
+            final Segment segment,
+            final int priority,
+            final Node left,
+            final Node right
+        ) {
+            this.segment = segment;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Returns a copy of this node with a different lower subtree.
+         *
+         * @param newLeft the new subtree of the lower segments
+         * @return a new node
+         */
+        Node withLeft(final Node newLeft) {
+            return new Node(segment, priority, newLeft, right);
+        }
+
+        /**
+         * Returns a copy of this node with a different higher subtree.
+         *
+         * @param newRight the new subtree of the higher segments
+         * @return a new node
+         */
+        Node withRight(final Node newRight) {
+            return new Node(segment, priority, left, newRight);
+        }
+    }
+}
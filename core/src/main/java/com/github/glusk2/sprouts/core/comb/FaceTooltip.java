@@ -0,0 +1,66 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.Set;
+
+/**
+ * The tooltip of the face in which the first Submove of a Move is drawn,
+ * shared by all the Snapshots that draw the same Move.
+ * <p>
+ * The face depends only on the first edge after the Submove around the
+ * Move origin (see {@link SproutsFaces#next(SproutsEdge)}). The faces of
+ * the state are built the first time they are needed and the tooltip is
+ * only rebuilt when the Submove crosses into another face, so a redraw of
+ * the tooltip while the Submove stays in one face does no face work.
+ * <p>
+ * This object is not thread safe; it is used by the render thread only.
+ */
+public final class FaceTooltip {
+    /** The state before the Move. */
+    private final SproutsGameState stateBeforeMove;
+    /** The origin of the Move. */
+    private final Vertex moveOrigin;
+    /** The faces of {@code stateBeforeMove}. */
+    private final SproutsFaces faces;
+
+    /** The edge that determines the face of the cached tooltip. */
+    private SproutsEdge cachedNext;
+    /** The cached tooltip, or {@code null} if not built yet. */
+    private SproutsGameState cachedTooltip;
+
+    /**
+     * Creates a new face tooltip.
+     *
+     * @param stateBeforeMove the state before the Move
+     * @param moveOrigin the origin of the Move
+     */
+    public FaceTooltip(
+        final SproutsGameState stateBeforeMove,
+        final Vertex moveOrigin
+    ) {
+        this.stateBeforeMove = stateBeforeMove;
+        this.moveOrigin = moveOrigin;
+        this.faces = new SproutsFaces(stateBeforeMove.edges());
+    }
+
+    /**
+     * Returns the tooltip of the face in which {@code submove} is drawn.
+     * <p>
+     * The same tooltip is returned for as long as the Submove stays in the
+     * same face.
+     *
+     * @param submove the first Submove of the Move (see
+     *             {@link com.github.glusk2.sprouts.core.moves.Submove#asEdge()
+     *             Submove.asEdge()}); it need not be completed
+     * @return the tooltip of the face in which {@code submove} is drawn
+     */
+    public SproutsGameState of(final SproutsEdge submove) {
+        SproutsEdge next = faces.next(submove);
+        if (cachedTooltip == null || !next.equals(cachedNext)) {
+            final Set<SproutsEdge> face = faces.drawnIn(submove);
+            cachedNext = next;
+            cachedTooltip =
+                new SproutsTooltip(stateBeforeMove, () -> face, moveOrigin);
+        }
+        return cachedTooltip;
+    }
+}
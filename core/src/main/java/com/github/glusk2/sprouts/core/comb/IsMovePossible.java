@@ -2,25 +2,62 @@ package com.github.glusk2.sprouts.core.comb;
 
 import java.util.Set;
 
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
 import com.github.glusk2.sprouts.core.util.Check;
 
-/** A check that tests whether a Move is possible in {@code gameState}. */
+/**
+ * A check that tests whether a Move is possible in {@code gameState}.
+ * <p>
+ * The faces of {@code gameState} are either told apart by its cobweb (see
+ * {@link SproutsFaces}) or, if the game bounds are given, by a
+ * triangulation of its Move edges (see {@link TriangulatedFaces}), which
+ * doesn't depend on the cobweb.
+ */
 public final class IsMovePossible implements Check {
+    /** Maximum sprout lives. */
+    private static final int MAXIMUM_SPROUT_LIVES = 3;
 
     /** The graph to check for valid Moves. */
     private final SproutsGameState gameState;
+    /**
+     * The bounds of {@code gameState}, or {@code null} if the faces are
+     * told apart by the cobweb.
+     */
+    private final Rectangle gameBounds;
 
     /**
-     * Creates a new Check by specifying the {@code gameState}.
+     * Creates a new Check by specifying the {@code gameState}. The faces
+     * are told apart by the cobweb.
      *
      * @param gameState the graph to check for valid Moves
      */
     public IsMovePossible(final SproutsGameState gameState) {
+        this(gameState, null);
+    }
+
+    /**
+     * Creates a new Check by specifying the {@code gameState} and the
+     * {@code gameBounds}. The faces are told apart by a triangulation of
+     * the Move edges.
+     *
+     * @param gameState the graph to check for valid Moves
+     * @param gameBounds the bounds of the {@code gameState}; all the edges
+     *                   and vertices lie inside of them
+     */
+    public IsMovePossible(
+        final SproutsGameState gameState,
+        final Rectangle gameBounds
+    ) {
         this.gameState = gameState;
+        this.gameBounds = gameBounds;
     }
 
     @Override
     public boolean check() {
+        if (gameBounds != null) {
+            return checkTriangulatedFaces();
+        }
         Set<Set<SproutsEdge>> faces =
             new SproutsFaces(gameState.edges()).faces();
         for (Set<SproutsEdge> face : faces) {
@@ -30,4 +67,26 @@ public final class IsMovePossible implements Check {
         }
         return false;
     }
+
+    /**
+     * Checks whether there is a face with at least two lives among its
+     * sprouts, with the faces told apart by a triangulation.
+     *
+     * @return {@code true} if a Move is possible
+     */
+    private boolean checkTriangulatedFaces() {
+        TriangulatedFaces faces = new TriangulatedFaces(gameState, gameBounds);
+        for (Set<Vertex> sprouts : faces.sprouts()) {
+            int faceLives = 0;
+            for (Vertex v : sprouts) {
+                faceLives +=
+                    MAXIMUM_SPROUT_LIVES
+                  - new VertexDegree(v, gameState, Color.BLACK).intValue();
+            }
+            if (faceLives >= 2) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
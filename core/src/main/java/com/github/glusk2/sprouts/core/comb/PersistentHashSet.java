@@ -0,0 +1,517 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable hash set that shares structure with the sets that it was
+ * derived from.
+ * <p>
+ * The elements are stored in a hash array mapped trie: every trie level
+ * consumes {@value #BITS} bits of the element hash and keeps only the
+ * non-empty branches. {@link #plus(Object)} and {@link #minus(Object)}
+ * return a new set that copies only the nodes on the path to the changed
+ * element, {@code O(log32 n)} of them, and shares all the other nodes with
+ * {@code this} set. A sequence of sets that differ by a few elements each
+ * therefore takes memory in proportion to the differences, not to the
+ * number of sets times their size.
+ * <p>
+ * The set does not support the mutating {@link java.util.Set} methods.
+ *
+ * @param <E> the type of the set elements
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+    /** The number of hash bits consumed per trie level. */
+    private static final int BITS = 5;
+    /** The mask of the hash bits consumed per trie level. */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** The empty set. */
+    private static final PersistentHashSet<?> EMPTY =
+        new PersistentHashSet<Object>(null, 0);
+
+    /** The trie root, or {@code null} if {@code this} set is empty. */
+    private final Node root;
+    /** The number of elements. */
+    private final int size;
+
+    /**
+     * Creates a new set.
+     *
+     * @param root the trie root, or {@code null} if the set is empty
+     * @param size the number of elements
+     */
+    private PersistentHashSet(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @param <E> the type of the set elements
+     * @return the empty set
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    /**
+     * Returns a set with all the {@code elements}.
+     *
+     * @param elements the set elements
+     * @param <E> the type of the set elements
+     * @return a set with all the {@code elements}
+     */
+    public static <E> PersistentHashSet<E> of(
+        final Iterable<? extends E> elements
+    ) {
+        PersistentHashSet<E> result = empty();
+        for (E element : elements) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a set with the elements of {@code this} set and
+     * {@code element}.
+     *
+     * @param element the element to add
+     * @return {@code this} set if it already contains {@code element}, else
+     *         a new set
+     */
+    public PersistentHashSet<E> plus(final E element) {
+        int hash = hash(element);
+        if (root == null) {
+            return
+                new PersistentHashSet<E>(
+                    new Node(bit(hash, 0), new Object[] {element}),
+                    1
+                );
+        }
+        Node newRoot = root.plus(element, hash, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashSet<E>(newRoot, size + 1);
+    }
+
+    /**
+     * Returns a set with the elements of {@code this} set, except
+     * {@code element}.
+     *
+     * @param element the element to remove
+     * @return {@code this} set if it doesn't contain {@code element}, else
+     *         a new set
+     */
+    public PersistentHashSet<E> minus(final Object element) {
+        if (root == null) {
+            return this;
+        }
+        Object newRoot = root.minus(element, hash(element), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        if (newRoot == null) {
+            return empty();
+        }
+        if (isElement(newRoot)) {
+            // A single element left
+            Object single = newRoot;
+            return
+                new PersistentHashSet<E>(
+                    new Node(bit(hash(single), 0), new Object[] {single}),
+                    1
+                );
+        }
+        return new PersistentHashSet<E>((Node) newRoot, size - 1);
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (root == null) {
+            return false;
+        }
+        return root.contains(o, hash(o), 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new TrieIterator<E>(root);
+    }
+
+    /**
+     * Returns the spread hash code of {@code o}.
+     *
+     * @param o the object to hash
+     * @return the spread hash code of {@code o}
+     */
+    private static int hash(final Object o) {
+        int h = o.hashCode();
+        return h ^ (h >>> (2 * Byte.SIZE));
+    }
+
+    /**
+     * Checks whether a trie slot holds a set element.
+     * <p>
+     * Collision buckets are never moved from the bottom trie level, so that
+     * only the elements with the same hash ever reach a bucket.
+     *
+     * @param slot the trie slot
+     * @return {@code true} if {@code slot} is neither a node nor a bucket
+     */
+    private static boolean isElement(final Object slot) {
+        return !(slot instanceof Node) && !(slot instanceof Collision);
+    }
+
+    /**
+     * Returns the bitmap bit of {@code hash} at trie level {@code shift}.
+     *
+     * @param hash the element hash
+     * @param shift the number of the hash bits consumed by the upper levels
+     * @return the bitmap bit of {@code hash}
+     */
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Builds the smallest subtrie with two distinct elements.
+     *
+     * @param a the first element
+     * @param hashA the hash of {@code a}
+     * @param b the second element
+     * @param hashB the hash of {@code b}
+     * @param shift the number of the hash bits consumed by the upper levels
+     * @return a subtrie with {@code a} and {@code b}
+     */
+    private static Object pair(
+        final Object a,
+        final int hashA,
+        final Object b,
+        final int hashB,
+        final int shift
+    ) {
+        if (shift >= Integer.SIZE) {
+            return new Collision(new Object[] {a, b});
+        }
+        int bitA = bit(hashA, shift);
+        int bitB = bit(hashB, shift);
+        if (bitA == bitB) {
+            return
+                new Node(
+                    bitA,
+                    new Object[] {pair(a, hashA, b, hashB, shift + BITS)}
+                );
+        }
+        if (((hashA >>> shift) & MASK) < ((hashB >>> shift) & MASK)) {
+            return new Node(bitA | bitB, new Object[] {a, b});
+        }
+        return new Node(bitA | bitB, new Object[] {b, a});
+    }
+
+    /**
+     * A trie node. Its slots hold elements, child nodes or collision
+     * buckets, one per set bit of the bitmap, in the bit order.
+     */
+    private static final class Node {
+        /** The bitmap of the non-empty branches. */
+        private final int bitmap;
+        /** The non-empty branches. */
+        private final Object[] slots;
+
+        /**
+         * Creates a new node.
+         *
+         * @param bitmap the bitmap of the non-empty branches
+         * @param slots the non-empty branches
+         */
+        Node(final int bitmap, final Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        /**
+         * Returns the slot index of the branch {@code bit}.
+         *
+         * @param bit the branch bit
+         * @return the slot index of the branch
+         */
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        /**
+         * Checks whether the subtrie contains {@code o}.
+         *
+         * @param o the element to look for
+         * @param hash the hash of {@code o}
+         * @param shift the number of the hash bits consumed by the upper
+         *              levels
+         * @return {@code true} if the subtrie contains {@code o}
+         */
+        boolean contains(final Object o, final int hash, final int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return false;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Node) {
+                return ((Node) slot).contains(o, hash, shift + BITS);
+            }
+            if (slot instanceof Collision) {
+                return ((Collision) slot).indexOf(o) >= 0;
+            }
+            return slot.equals(o);
+        }
+
+        /**
+         * Returns the subtrie with {@code element} added.
+         *
+         * @param element the element to add
+         * @param hash the hash of {@code element}
+         * @param shift the number of the hash bits consumed by the upper
+         *              levels
+         * @return {@code this} if it already contains {@code element}, else
+         *         a new node
+         */
+        Node plus(final Object element, final int hash, final int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = element;
+                System.arraycopy(
+                    slots, index, newSlots, index + 1, slots.length - index
+                );
+                return new Node(bitmap | bit, newSlots);
+            }
+            Object slot = slots[index];
+            Object newSlot;
+            if (slot instanceof Node) {
+                newSlot = ((Node) slot).plus(element, hash, shift + BITS);
+            } else if (slot instanceof Collision) {
+                newSlot = ((Collision) slot).plus(element);
+            } else if (slot.equals(element)) {
+                newSlot = slot;
+            } else {
+                newSlot =
+                    pair(slot, hash(slot), element, hash, shift + BITS);
+            }
+            if (newSlot == slot) {
+                return this;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[index] = newSlot;
+            return new Node(bitmap, newSlots);
+        }
+
+        /**
+         * Returns the subtrie with {@code element} removed.
+         *
+         * @param element the element to remove
+         * @param hash the hash of {@code element}
+         * @param shift the number of the hash bits consumed by the upper
+         *              levels
+         * @return {@code this} if it doesn't contain {@code element}, a new
+         *         node, a single element if only one is left, or
+         *         {@code null} if none is left
+         */
+        Object minus(final Object element, final int hash, final int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object slot = slots[index];
+            Object newSlot;
+            if (slot instanceof Node) {
+                newSlot = ((Node) slot).minus(element, hash, shift + BITS);
+            } else if (slot instanceof Collision) {
+                newSlot = ((Collision) slot).minus(element);
+            } else if (slot.equals(element)) {
+                newSlot = null;
+            } else {
+                newSlot = slot;
+            }
+            if (newSlot == slot) {
+                return this;
+            }
+            if (newSlot != null) {
+                if (slots.length == 1 && isElement(newSlot)) {
+                    // Pull a lone element up a level
+                    return newSlot;
+                }
+                Object[] newSlots = slots.clone();
+                newSlots[index] = newSlot;
+                return new Node(bitmap, newSlots);
+            }
+            if (slots.length == 1) {
+                return null;
+            }
+            if (slots.length == 2 && isElement(slots[1 - index])) {
+                return slots[1 - index];
+            }
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(
+                slots, index + 1, newSlots, index, newSlots.length - index
+            );
+            return new Node(bitmap & ~bit, newSlots);
+        }
+    }
+
+    /** The elements with the same hash. */
+    private static final class Collision {
+        /** The elements. */
+        private final Object[] elements;
+
+        /**
+         * Creates a new collision bucket.
+         *
+         * @param elements the elements with the same hash
+         */
+        Collision(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * Returns the index of {@code o} in {@code this} bucket.
+         *
+         * @param o the element to look for
+         * @return the index of {@code o}, or {@code -1} if not found
+         */
+        int indexOf(final Object o) {
+            for (int i = 0; i < elements.length; i++) {
+                if (elements[i].equals(o)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the bucket with {@code element} added.
+         *
+         * @param element the element to add
+         * @return {@code this} if it already contains {@code element}, else
+         *         a new bucket
+         */
+        Collision plus(final Object element) {
+            if (indexOf(element) >= 0) {
+                return this;
+            }
+            Object[] newElements = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, newElements, 0, elements.length);
+            newElements[elements.length] = element;
+            return new Collision(newElements);
+        }
+
+        /**
+         * Returns the bucket with {@code element} removed.
+         *
+         * @param element the element to remove
+         * @return {@code this} if it doesn't contain {@code element}, a new
+         *         bucket, or the single element if only one is left
+         */
+        Object minus(final Object element) {
+            int index = indexOf(element);
+            if (index < 0) {
+                return this;
+            }
+            if (elements.length == 2) {
+                return elements[1 - index];
+            }
+            Object[] newElements = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(
+                elements,
+                index + 1,
+                newElements,
+                index,
+                newElements.length - index
+            );
+            return new Collision(newElements);
+        }
+    }
+
+    /**
+     * A depth-first iterator over the trie elements.
+     *
+     * @param <E> the type of the set elements
+     */
+    private static final class TrieIterator<E> implements Iterator<E> {
+        /** The slot arrays of the nodes on the current path. */
+        private final List<Object[]> arrays = new ArrayList<>();
+        /** The next slot index in each array of {@code arrays}. */
+        private final List<Integer> indices = new ArrayList<>();
+        /** The next element, or {@code null} if there is none. */
+        private Object next;
+
+        /**
+         * Creates a new iterator.
+         *
+         * @param root the trie root, or {@code null} if the set is empty
+         */
+        TrieIterator(final Node root) {
+            if (root != null) {
+                arrays.add(root.slots);
+                indices.add(0);
+            }
+            advance();
+        }
+
+        /** Finds the next element. */
+        private void advance() {
+            next = null;
+            while (next == null && !arrays.isEmpty()) {
+                int top = arrays.size() - 1;
+                Object[] slots = arrays.get(top);
+                int index = indices.get(top);
+                if (index == slots.length) {
+                    arrays.remove(top);
+                    indices.remove(top);
+                    continue;
+                }
+                indices.set(top, index + 1);
+                Object slot = slots[index];
+                if (slot instanceof Node) {
+                    arrays.add(((Node) slot).slots);
+                    indices.add(0);
+                } else if (slot instanceof Collision) {
+                    arrays.add(((Collision) slot).elements);
+                    indices.add(0);
+                } else {
+                    next = slot;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            E result = (E) next;
+            advance();
+            return result;
+        }
+    }
+}
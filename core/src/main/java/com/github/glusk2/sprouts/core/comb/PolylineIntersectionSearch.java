@@ -5,6 +5,7 @@ import java.util.List;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.IsSegmentCrossing;
 import com.github.glusk2.sprouts.core.geom.Polyline;
 
 /**
@@ -13,6 +14,10 @@ import com.github.glusk2.sprouts.core.geom.Polyline;
  * <p>
  * The {@code result()} is returned as a Vertex with the provided
  * {@code intersectionColor}.
+ * <p>
+ * Whether the segments cross is decided exactly (see
+ * {@link IsSegmentCrossing}); only the intersection point itself is
+ * computed in floating point.
  */
 public final class PolylineIntersectionSearch implements VertexSearch {
     /** The first line segment boundary. */
@@ -75,7 +80,13 @@ public final class PolylineIntersectionSearch implements VertexSearch {
         Vector2 intersection = new Vector2();
         for (int i = 1; i < points.size(); i++) {
             boolean intersects =
-                Intersector.intersectSegments(
+                new IsSegmentCrossing(
+                    p0,
+                    p1,
+                    points.get(i - 1),
+                    points.get(i)
+                ).check()
+             && Intersector.intersectLines(
                     p0,
                     p1,
                     points.get(i - 1),
@@ -2,21 +2,32 @@ package com.github.glusk2.sprouts.core.comb;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.LatticePoint;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
-/** Read-only, struct-like Vertex implementation. */
+/**
+ * Read-only, struct-like Vertex implementation.
+ * <p>
+ * The position is snapped to a {@link LatticePoint}, so vertices are
+ * compared and hashed by exact integer coordinates and positions that
+ * differ only by {@code float} rounding name the same vertex. Only the
+ * vertex is snapped: {@link #position()} need not be exactly the end point
+ * of the polylines that meet at it.
+ */
 public final class PresetVertex implements Vertex {
     /** The default Vertex color. */
     private static final Color DEFAULT_COLOR = Color.BLACK;
     /** The color of {@code this} Vertex. */
     private final Color color;
-    /** Position of {@code this} Vertex in a 2-dimensional space. */
-    private final Vector2 position;
+    /** Position of {@code this} Vertex, snapped to the lattice. */
+    private final LatticePoint position;
 
     /**
      * Constructs a new Vertex with the specified position and the default
      * color.
      *
-     * @param position position of the Vertex in a 2-dimensional space
+     * @param position position of the Vertex in a 2-dimensional space; the
+     *                 position is snapped to the lattice
      */
     public PresetVertex(final Vector2 position) {
         this(DEFAULT_COLOR, position);
@@ -26,14 +37,16 @@ public final class PresetVertex implements Vertex {
      * Constructs a new Vertex with specified color and position.
      *
      * @param color color of the Vertex
-     * @param position position of the Vertex in a 2-dimensional space
+     * @param position position of the Vertex in a 2-dimensional space; the
+     *                 position is snapped to the lattice
      */
     public PresetVertex(
         final Color color,
         final Vector2 position
     ) {
         this.color = color;
-        this.position = position.cpy();
+        this.position = new LatticePoint(position);
+        FrameProfiler.count(FrameProfiler.Counter.ALLOCATIONS, 1);
     }
 
     @Override
@@ -43,7 +56,7 @@ public final class PresetVertex implements Vertex {
 
     @Override
     public Vector2 position() {
-        return position.cpy();
+        return position.position();
     }
 
     /**
@@ -68,7 +81,7 @@ public final class PresetVertex implements Vertex {
 
     @Override
     public int hashCode() {
-        int h1 = PresetVertex.vector2HashCode(position());
+        int h1 = position.hashCode();
         int h2 = color.hashCode();
         return h1 ^ ((h2 >>> Short.SIZE) | (h2 << Short.SIZE));
     }
@@ -82,8 +95,12 @@ public final class PresetVertex implements Vertex {
             return false;
         }
         Vertex that = (Vertex) obj;
-        return
-            color.equals(that.color())
-            && position.equals(that.position());
+        if (!color.equals(that.color())) {
+            return false;
+        }
+        if (that instanceof PresetVertex) {
+            return position.equals(((PresetVertex) that).position);
+        }
+        return position.equals(new LatticePoint(that.position()));
     }
 }
@@ -3,8 +3,11 @@ package com.github.glusk2.sprouts.core.comb;
 import java.util.List;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Orientation;
 import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
 /**
  * A directed edge from vertex {@code from()} to {@code to()}.
@@ -15,6 +18,8 @@ import com.github.glusk2.sprouts.core.geom.Polyline;
  * {@link #isPositive()} for more info.
  * <p>
  * Directed edges with the same origin ({@code from()}) can be compared.
+ * The comparison is decided by an exact {@link Orientation}, so the order of
+ * edges around a vertex stays consistent for nearly collinear edges.
  */
 public final class SproutsEdge implements Comparable<SproutsEdge> {
     /**
@@ -30,6 +35,8 @@ public final class SproutsEdge implements Comparable<SproutsEdge> {
     private final Color toColor;
     /** The color of this edge. */
     private final Color edgeColor;
+    /** A cached value of {@link #bounds()}. */
+    private Rectangle boundsCache;
 
     /**
      * Creates a red edge has a positive direction.
@@ -97,6 +104,7 @@ public final class SproutsEdge implements Comparable<SproutsEdge> {
         this.fromColor = fromColor;
         this.toColor = toColor;
         this.edgeColor = edgeColor;
+        FrameProfiler.count(FrameProfiler.Counter.ALLOCATIONS, 1);
     }
 
     /**
@@ -144,6 +152,33 @@ public final class SproutsEdge implements Comparable<SproutsEdge> {
         return this.polyline;
     }
 
+    /**
+     * Returns the bounding box of the polyline that represents this edge.
+     * <p>
+     * The bounding box is computed once; it is used to skip the edges
+     * outside of the view when rendering.
+     *
+     * @return the bounding box of this edge; not to be modified
+     */
+    public Rectangle bounds() {
+        if (boundsCache == null) {
+            List<Vector2> points = polyline.points();
+            Vector2 first = points.get(0);
+            float minX = first.x;
+            float minY = first.y;
+            float maxX = first.x;
+            float maxY = first.y;
+            for (Vector2 point : points) {
+                minX = Math.min(minX, point.x);
+                minY = Math.min(minY, point.y);
+                maxX = Math.max(maxX, point.x);
+                maxY = Math.max(maxY, point.y);
+            }
+            boundsCache = new Rectangle(minX, minY, maxX - minX, maxY - minY);
+        }
+        return boundsCache;
+    }
+
     /**
      * Reverses this edge and returns the result as a new edge.
      *
@@ -213,10 +248,11 @@ public final class SproutsEdge implements Comparable<SproutsEdge> {
         Vector2 aT = that.secondPointInPositiveDirection();
 
         if (vT.equals(v)) {
-            Vector2 p1 = a.cpy().sub(v);
-            Vector2 p2 = aT.cpy().sub(v);
-            int result = (int) Math.signum(p1.crs(p2));
-            if (result == 0 && p1.hasOppositeDirection(p2)) {
+            int result = new Orientation(v, a, aT).intValue();
+            if (
+                result == 0
+             && a.cpy().sub(v).hasOppositeDirection(aT.cpy().sub(v))
+            ) {
                 return 1;
             }
             return result;
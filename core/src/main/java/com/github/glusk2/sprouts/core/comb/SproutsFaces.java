@@ -9,6 +9,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import com.badlogic.gdx.graphics.Color;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
 /** Faces of a graph. */
 public final class SproutsFaces {
@@ -78,6 +79,7 @@ public final class SproutsFaces {
         if (faceCache != null) {
             return faceCache;
         }
+        long start = FrameProfiler.start();
         if (rotationsCache == null) {
             rotationsCache = this.makeRotations();
         }
@@ -103,9 +105,34 @@ public final class SproutsFaces {
             }
         }
         faceCache = faces;
+        FrameProfiler.stop(FrameProfiler.Section.FACE_EXTRACTION, start);
+        FrameProfiler.count(FrameProfiler.Counter.FACES, faces.size());
         return faces;
     }
 
+    /**
+     * Returns the first directed edge <em>after</em> the {@code submove} in
+     * the local rotations of its origin.
+     * <p>
+     * The face in which the {@code submove} is drawn (see
+     * {@link #drawnIn(SproutsEdge)}) is the face that contains this edge, so
+     * two submoves with the same {@code next} edge are drawn in the same
+     * face. Unlike {@link #drawnIn(SproutsEdge)}, this method doesn't build
+     * the faces.
+     *
+     * @param submove A submove in the game of sprouts (see
+     *             {@link com.github.glusk2.sprouts.core.moves.Submove#asEdge()
+     *             Submove.asEdge()}).
+     *             The submove need not be completed.
+     * @return the first edge after {@code submove} around its origin
+     */
+    public SproutsEdge next(final SproutsEdge submove) {
+        if (rotationsCache == null) {
+            rotationsCache = this.makeRotations();
+        }
+        return rotationsCache.get(submove.from()).next(submove);
+    }
+
     /**
      * Returns the face in which the {@code submove} is drawn.
      * <p>
@@ -128,13 +155,9 @@ public final class SproutsFaces {
      * the graph whose faces are represented by {@code this} object
      */
     public Set<SproutsEdge> drawnIn(final SproutsEdge submove) {
-        if (rotationsCache == null) {
-            rotationsCache = this.makeRotations();
-        }
-        Map<Vertex, SproutsRotations> rotations = rotationsCache;
         Set<Set<SproutsEdge>> faces = this.faces();
 
-        SproutsEdge next = rotations.get(submove.from()).next(submove);
+        SproutsEdge next = this.next(submove);
         for (Set<SproutsEdge> face : faces) {
             if (face.contains(next)) {
                 return face;
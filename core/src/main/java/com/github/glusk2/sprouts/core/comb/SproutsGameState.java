@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.github.glusk2.sprouts.core.geom.PolylineBatch;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
 /** The graph representation of a sprouts game position. */
 @FunctionalInterface
@@ -57,6 +58,7 @@ public interface SproutsGameState {
                 continue;
             }
             if (!drawnEdges.contains(edge)) {
+                FrameProfiler.count(FrameProfiler.Counter.EDGES, 1);
                 new PolylineBatch(
                     edge.polyline(),
                     edge.color(),
@@ -6,6 +6,7 @@ import java.util.Set;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.LatticePoint;
 import com.github.glusk2.sprouts.core.geom.Polyline;
 
 /**
@@ -67,11 +68,13 @@ public final class SproutsInitialState implements SproutsGameState {
         Vector2[] vertices = new Vector2[numOfSprouts];
         for (int i = 0; i < numOfSprouts; i++) {
             vertices[i] =
-                center.cpy().add(
-                    clockPointer.cpy().rotate(
-                        1f * i / numOfSprouts * FULL_CIRCLE
+                new LatticePoint(
+                    center.cpy().add(
+                        clockPointer.cpy().rotate(
+                            1f * i / numOfSprouts * FULL_CIRCLE
+                        )
                     )
-                );
+                ).position();
         }
 
         for (int i = 0; i < numOfSprouts - 1; i++) {
@@ -0,0 +1,602 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.github.glusk2.sprouts.core.geom.BarycentricLayout;
+import com.github.glusk2.sprouts.core.geom.ForceDirectedLayout;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * Sprouts Laid Out State.
+ * <p>
+ * A state that draws the position described by a position string (see
+ * {@link SproutsPositionString}) inside of {@code gameBounds}.
+ * <p>
+ * The position is first made connected: in every region that touches more
+ * than one boundary, the boundaries are joined with cobweb edges. Then every
+ * Move edge is cut into {@value #BENDS} + 1 pieces, and every face is
+ * triangulated with a node on the inner side of each piece and one in the
+ * middle. The result is a simple triangulation of the sphere, so its
+ * barycentric layout (see {@link BarycentricLayout}) is a plane drawing
+ * that keeps the rotation at every vertex, with a triangle of the outer
+ * region as the outer face. The Move edges are smoothed by moving their
+ * bends towards the middle of their neighbors, as long as the triangulation
+ * stays valid. Finally, the helper nodes are dropped and the sprouts and
+ * the bends are spread out over {@code gameBounds} by a force-directed
+ * layout that keeps the drawing plane (see {@link ForceDirectedLayout}).
+ * <p>
+ * All the vertex and bend positions lie on the lattice (see
+ * {@link com.github.glusk2.sprouts.core.geom.LatticePoint}). A position
+ * with a hundred sprouts is drawn in a few tens of milliseconds.
+ */
+public final class SproutsLaidOutState implements SproutsGameState {
+    /** The number of bends of every Move edge. */
+    private static final int BENDS = 3;
+    /** The number of times the bends are moved to smooth the edges. */
+    private static final int RELAX_ROUNDS = 16;
+    /** The margin of the drawing, relative to the game bounds. */
+    private static final float MARGIN = .05f;
+    /** The maximum number of line ends at a sprout. */
+    private static final int MAX_DEGREE = 3;
+    /** The number of nodes of a triangle. */
+    private static final int SIDES = 3;
+
+    /** The position string to draw. */
+    private final String position;
+    /** The game bounds rectangle. */
+    private final Rectangle gameBounds;
+
+    /** A cached value of {@link #edges()}. */
+    private Set<SproutsEdge> edgeCache;
+
+    /**
+     * Creates a new state that draws {@code position} inside of
+     * {@code gameBounds}.
+     *
+     * @param position the position string to draw
+     * @param gameBounds the game bounds rectangle
+     */
+    public SproutsLaidOutState(
+        final String position,
+        final Rectangle gameBounds
+    ) {
+        this.position = position;
+        this.gameBounds = gameBounds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A position of a single sprout has no edges, like the initial state of
+     * a single sprout.
+     *
+     * @throws IllegalArgumentException if the position string is malformed,
+     *                                  doesn't describe a plane drawing, has
+     *                                  a sprout with more than three line
+     *                                  ends, or is too dense to draw at the
+     *                                  lattice resolution
+     */
+    @Override
+    public Set<SproutsEdge> edges() {
+        if (edgeCache != null) {
+            return edgeCache;
+        }
+        Embedding embedding = new Embedding(position);
+        Set<SproutsEdge> edges = new HashSet<>();
+        if (embedding.next.size > 0) {
+            edges = draw(embedding);
+        }
+        edgeCache = Collections.unmodifiableSet(edges);
+        return edgeCache;
+    }
+
+    /**
+     * Draws a connected embedding.
+     *
+     * @param embedding the embedding to draw
+     * @return the edges of the drawing
+     */
+    private Set<SproutsEdge> draw(final Embedding embedding) {
+        int vertexCount = embedding.vertexCount;
+        int moveEdges = embedding.moveEdges;
+        int dartCount = embedding.next.size;
+        int nodeCount = vertexCount + moveEdges * BENDS;
+
+        // Triangulate the faces
+        IntArray triangles = new IntArray();
+        int outerTriangle = -1;
+        boolean[] visited = new boolean[dartCount];
+        IntArray walk = new IntArray();
+        for (int first = 0; first < dartCount; first++) {
+            if (visited[first]) {
+                continue;
+            }
+            walk.clear();
+            boolean isOuter = false;
+            int dart = first;
+            do {
+                visited[dart] = true;
+                isOuter |= dart == embedding.outerDart;
+                addPieces(embedding, dart, walk);
+                dart = embedding.next.get(dart);
+            } while (dart != first);
+
+            int k = walk.size;
+            int center = nodeCount + k;
+            int faceStart = triangles.size;
+            for (int i = 0; i < k; i++) {
+                int a = walk.get(i);
+                int b = walk.get((i + 1) % k);
+                int side = nodeCount + i;
+                int nextSide = nodeCount + (i + 1) % k;
+                triangles.addAll(a, b, side);
+                triangles.addAll(side, b, nextSide);
+                if (k > 2) {
+                    triangles.addAll(center, side, nextSide);
+                }
+            }
+            if (isOuter && k > 2) {
+                outerTriangle = faceStart + 2 * SIDES;
+            } else if (isOuter) {
+                outerTriangle = faceStart;
+            }
+            nodeCount += k;
+            if (k > 2) {
+                nodeCount++;
+            }
+        }
+
+        Rectangle bounds =
+            new Rectangle(
+                gameBounds.x + gameBounds.width * MARGIN,
+                gameBounds.y + gameBounds.height * MARGIN,
+                gameBounds.width * (1 - 2 * MARGIN),
+                gameBounds.height * (1 - 2 * MARGIN)
+            );
+        BarycentricLayout layout = new BarycentricLayout(nodeCount, triangles);
+        layout.layOut(outerTriangle, bounds);
+        for (int round = 0; round < RELAX_ROUNDS; round++) {
+            for (int e = 0; e < moveEdges; e++) {
+                int previous = embedding.tail.get(2 * e);
+                for (int i = 0; i < BENDS; i++) {
+                    int following = embedding.tail.get(2 * e + 1);
+                    if (i < BENDS - 1) {
+                        following = bend(embedding, e, i + 1);
+                    }
+                    layout.relax(bend(embedding, e, i), previous, following);
+                    previous = bend(embedding, e, i);
+                }
+            }
+        }
+        Vector2[] positions = new Vector2[vertexCount + moveEdges * BENDS];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = layout.position(i);
+        }
+
+        // Spread the drawing out, without the helper nodes
+        IntArray segments = new IntArray();
+        boolean[] isBend = new boolean[positions.length];
+        for (int e = 0; e < embedding.next.size / 2; e++) {
+            int previous = embedding.tail.get(2 * e);
+            for (int i = 0; e < moveEdges && i < BENDS; i++) {
+                segments.addAll(previous, bend(embedding, e, i));
+                previous = bend(embedding, e, i);
+                isBend[previous] = true;
+            }
+            segments.addAll(previous, embedding.tail.get(2 * e + 1));
+        }
+        ForceDirectedLayout spread =
+            new ForceDirectedLayout(positions, segments, isBend);
+        spread.layOut(bounds);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = spread.position(i);
+        }
+        return edges(embedding, positions);
+    }
+
+    /**
+     * Appends the nodes of the pieces of a dart, from its tail up to (but
+     * not including) its head.
+     *
+     * @param embedding the embedding
+     * @param dart the dart
+     * @param walk the nodes of the face walk to append to
+     */
+    private static void addPieces(
+        final Embedding embedding,
+        final int dart,
+        final IntArray walk
+    ) {
+        walk.add(embedding.tail.get(dart));
+        int edge = dart / 2;
+        if (edge >= embedding.moveEdges) {
+            return;
+        }
+        for (int i = 0; i < BENDS; i++) {
+            if (dart % 2 == 0) {
+                walk.add(bend(embedding, edge, i));
+            } else {
+                walk.add(bend(embedding, edge, BENDS - 1 - i));
+            }
+        }
+    }
+
+    /**
+     * Returns the node of a bend of a Move edge.
+     *
+     * @param embedding the embedding
+     * @param edge the Move edge
+     * @param index the index of the bend, counted in the positive direction
+     * @return the node of the bend
+     */
+    private static int bend(
+        final Embedding embedding,
+        final int edge,
+        final int index
+    ) {
+        return embedding.vertexCount + edge * BENDS + index;
+    }
+
+    /**
+     * Returns the edges of the drawing.
+     *
+     * @param embedding the embedding
+     * @param positions the node positions
+     * @return the edges, in both directions
+     */
+    private static Set<SproutsEdge> edges(
+        final Embedding embedding,
+        final Vector2[] positions
+    ) {
+        Set<SproutsEdge> edges = new HashSet<>();
+        for (int e = 0; e < embedding.next.size / 2; e++) {
+            Vector2 from = positions[embedding.tail.get(2 * e)];
+            Vector2 to = positions[embedding.tail.get(2 * e + 1)];
+            SproutsEdge edge;
+            if (e < embedding.moveEdges) {
+                List<Vector2> points = new ArrayList<>();
+                points.add(from);
+                for (int i = 0; i < BENDS; i++) {
+                    points.add(positions[bend(embedding, e, i)]);
+                }
+                points.add(to);
+                edge =
+                    new SproutsEdge(
+                        true,
+                        new Polyline.WrappedList(points),
+                        Color.BLACK, Color.BLACK
+                    );
+            } else {
+                edge =
+                    new SproutsEdge(
+                        new Polyline.WrappedList(from, to),
+                        Color.BLACK, Color.BLACK
+                    );
+            }
+            edges.add(edge);
+            edges.add(edge.reversed());
+        }
+        return edges;
+    }
+
+    /**
+     * The combinatorial embedding of a position, made connected with
+     * cobweb edges.
+     * <p>
+     * The edges are numbered from {@code 0}; the darts (directed edges) of
+     * edge {@code e} are {@code 2e} in the positive direction and
+     * {@code 2e + 1} in the negative one. The Move edges come first, then
+     * the cobweb edges.
+     */
+    private static final class Embedding {
+        /** The next dart of the face walk of each dart. */
+        private final IntArray next = new IntArray();
+        /** The vertex at the tail of each dart. */
+        private final IntArray tail = new IntArray();
+        /** The number of vertices. */
+        private int vertexCount;
+        /** The number of Move edges. */
+        private int moveEdges;
+        /** A dart in the outer region, or {@code -1} if there are none. */
+        private int outerDart = -1;
+
+        /** The regions of the boundaries. */
+        private final IntArray boundaryRegions = new IntArray();
+        /**
+         * The first dart of each boundary, or {@code -1 - v} for a boundary
+         * of a single sprout {@code v}.
+         */
+        private final IntArray boundaryDarts = new IntArray();
+        /** The number of regions. */
+        private int regionCount;
+
+        /**
+         * Parses, checks and connects the embedding of {@code position}.
+         *
+         * @param position the position string
+         */
+        Embedding(final String position) {
+            parse(position);
+            checkPlanarity();
+            connect();
+        }
+
+        /**
+         * Parses the position string into face walks.
+         *
+         * @param position the position string
+         */
+        private void parse(final String position) {
+            List<IntArray> walks = new ArrayList<>();
+            String[] regions = position.trim().split("\\}", -1);
+            for (int r = 0; r < regions.length; r++) {
+                for (String boundary : regions[r].split("\\.", -1)) {
+                    IntArray darts = new IntArray();
+                    String trimmed = boundary.trim();
+                    if (!trimmed.equals("0")) {
+                        for (String token : trimmed.split("\\s+")) {
+                            darts.add(dart(token));
+                        }
+                    }
+                    boundaryRegions.add(r);
+                    walks.add(darts);
+                }
+            }
+            regionCount = regions.length;
+
+            for (IntArray darts : walks) {
+                for (int i = 0; i < darts.size; i++) {
+                    moveEdges = Math.max(moveEdges, darts.get(i) / 2 + 1);
+                }
+            }
+            next.setSize(2 * moveEdges);
+            boolean[] seen = new boolean[2 * moveEdges];
+            for (IntArray darts : walks) {
+                for (int i = 0; i < darts.size; i++) {
+                    int dart = darts.get(i);
+                    if (seen[dart]) {
+                        throw new IllegalArgumentException(
+                            "An edge is listed twice in the same direction."
+                        );
+                    }
+                    seen[dart] = true;
+                    next.set(dart, darts.get((i + 1) % darts.size));
+                }
+            }
+            for (boolean isSeen : seen) {
+                if (!isSeen) {
+                    throw new IllegalArgumentException(
+                        "An edge is not listed in both directions."
+                    );
+                }
+            }
+
+            // The darts around a vertex follow each other in the walks
+            for (int d = 0; d < 2 * moveEdges; d++) {
+                tail.add(-1);
+            }
+            for (int d = 0; d < 2 * moveEdges; d++) {
+                if (tail.get(d) >= 0) {
+                    continue;
+                }
+                int dart = d;
+                int degree = 0;
+                do {
+                    tail.set(dart, vertexCount);
+                    dart = next.get(dart ^ 1);
+                    degree++;
+                } while (dart != d);
+                if (degree > MAX_DEGREE) {
+                    throw new IllegalArgumentException(
+                        "A sprout has more than three line ends."
+                    );
+                }
+                vertexCount++;
+            }
+            for (IntArray darts : walks) {
+                if (darts.size == 0) {
+                    boundaryDarts.add(-1 - vertexCount++);
+                } else {
+                    boundaryDarts.add(darts.get(0));
+                }
+            }
+        }
+
+        /**
+         * Parses a dart: an edge number from {@code 1} up, negative if the
+         * dart runs against the edge direction.
+         *
+         * @param token the dart token
+         * @return the dart
+         */
+        private static int dart(final String token) {
+            int value;
+            try {
+                value = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                    "Not an edge number: \"" + token + "\".", e
+                );
+            }
+            if (value == 0) {
+                throw new IllegalArgumentException(
+                    "A sprout alone must make up the whole boundary."
+                );
+            }
+            if (value > 0) {
+                return 2 * (value - 1);
+            }
+            return 2 * (-value - 1) + 1;
+        }
+
+        /**
+         * Checks that every connected component is drawn on the sphere and
+         * that the regions and the components nest like in a plane
+         * drawing.
+         */
+        private void checkPlanarity() {
+            int[] component = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                component[v] = v;
+            }
+            for (int d = 0; d < next.size; d += 2) {
+                int a = find(component, tail.get(d));
+                int b = find(component, tail.get(d + 1));
+                component[a] = b;
+            }
+            // Euler's formula, per component
+            int[] euler = new int[vertexCount];
+            int components = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                euler[find(component, v)]++;
+                if (find(component, v) == v) {
+                    components++;
+                }
+            }
+            for (int d = 0; d < next.size; d += 2) {
+                euler[find(component, tail.get(d))]--;
+            }
+            // The regions and the components make up a tree, with an edge
+            // for every boundary
+            int[] tree = new int[regionCount + vertexCount];
+            for (int i = 0; i < tree.length; i++) {
+                tree[i] = i;
+            }
+            for (int b = 0; b < boundaryDarts.size; b++) {
+                int c = find(component, boundaryVertex(b));
+                euler[c]++;
+                int x = find(tree, boundaryRegions.get(b));
+                int y = find(tree, regionCount + c);
+                if (x == y) {
+                    throw new IllegalArgumentException(
+                        "The regions don't nest like in a plane drawing."
+                    );
+                }
+                tree[x] = y;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                if (find(component, v) == v && euler[v] != 2) {
+                    throw new IllegalArgumentException(
+                        "The position can't be drawn in the plane."
+                    );
+                }
+            }
+            if (boundaryDarts.size != regionCount + components - 1) {
+                throw new IllegalArgumentException(
+                    "The regions don't nest like in a plane drawing."
+                );
+            }
+        }
+
+        /**
+         * Returns a vertex of a boundary.
+         *
+         * @param boundary the boundary
+         * @return the vertex
+         */
+        private int boundaryVertex(final int boundary) {
+            int dart = boundaryDarts.get(boundary);
+            if (dart < 0) {
+                return -1 - dart;
+            }
+            return tail.get(dart);
+        }
+
+        /**
+         * Finds the representative of a union-find set.
+         *
+         * @param parent the union-find parents
+         * @param element the element
+         * @return the representative of the set of {@code element}
+         */
+        private static int find(final int[] parent, final int element) {
+            int root = element;
+            while (parent[root] != root) {
+                root = parent[root];
+            }
+            int current = element;
+            while (parent[current] != root) {
+                int up = parent[current];
+                parent[current] = root;
+                current = up;
+            }
+            return root;
+        }
+
+        /**
+         * Joins the boundaries of every region with cobweb edges, in a path
+         * from its first walk to the other boundaries, like the cobweb of
+         * the initial state.
+         * <p>
+         * An edge is inserted into a corner of the region at each end: the
+         * corner between a dart and the next one around the region, or the
+         * lone sprout itself.
+         */
+        private void connect() {
+            int[] previous = new int[next.size];
+            for (int d = 0; d < next.size; d++) {
+                previous[next.get(d)] = d;
+            }
+            // The corner of each boundary, the darts into and out of it
+            int[] into = new int[boundaryDarts.size];
+            int[] outOf = new int[boundaryDarts.size];
+            for (int b = 0; b < boundaryDarts.size; b++) {
+                outOf[b] = boundaryDarts.get(b);
+                into[b] = -1;
+                if (outOf[b] >= 0) {
+                    into[b] = previous[outOf[b]];
+                }
+            }
+            for (int r = 0; r < regionCount; r++) {
+                int first = -1;
+                for (int b = 0; b < boundaryDarts.size; b++) {
+                    if (
+                        boundaryRegions.get(b) == r
+                     && (first < 0 || boundaryDarts.get(first) < 0)
+                    ) {
+                        first = b;
+                    }
+                }
+                int regionDart = outOf[first];
+                int last = first;
+                for (int b = 0; b < boundaryDarts.size; b++) {
+                    if (b == first || boundaryRegions.get(b) != r) {
+                        continue;
+                    }
+                    int x = next.size;
+                    next.addAll(-1, -1);
+                    tail.addAll(boundaryVertex(last), boundaryVertex(b));
+                    if (into[last] >= 0) {
+                        next.set(into[last], x);
+                        next.set(x + 1, outOf[last]);
+                    } else {
+                        next.set(x + 1, x);
+                    }
+                    if (into[b] >= 0) {
+                        next.set(into[b], x + 1);
+                        next.set(x, outOf[b]);
+                    } else {
+                        next.set(x, x + 1);
+                        outOf[b] = x + 1;
+                    }
+                    into[b] = x;
+                    if (regionDart < 0) {
+                        regionDart = x;
+                    }
+                    last = b;
+                }
+                if (r == 0) {
+                    outerDart = regionDart;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Sprouts game state whose edges share structure with the state before
+ * it.
+ * <p>
+ * Every committed Move yields a state with a complete set of edges, most of
+ * which are the edges of the previous state. This state stores its edges in
+ * a {@link PersistentHashSet} that is derived from the edges of
+ * {@code previousState} by removing the edges that are not carried over
+ * to {@code nextState} as the same objects and adding the new ones, so
+ * that a history of committed states takes memory in proportion to the
+ * changes, not to the number of states times the board size.
+ * <p>
+ * The edges are computed once, on the first call to {@link #edges()};
+ * afterwards {@code previousState} and {@code nextState} are released.
+ */
+public final class SproutsPersistentState implements SproutsGameState {
+    /** The state before {@code this} one, until the edges are computed. */
+    private SproutsGameState previousState;
+    /** The state to share structure with, until the edges are computed. */
+    private SproutsGameState nextState;
+    /** A cached value of {@link #edges()}. */
+    private PersistentHashSet<SproutsEdge> cachedEdges;
+
+    /**
+     * Creates a new persistent state with the same edges as {@code state},
+     * that shares no structure.
+     *
+     * @param state the state to copy the edges from
+     */
+    public SproutsPersistentState(final SproutsGameState state) {
+        this(() -> PersistentHashSet.<SproutsEdge>empty(), state);
+    }
+
+    /**
+     * Creates a new persistent state with the same edges as
+     * {@code nextState}, that shares structure with {@code previousState}.
+     *
+     * @param previousState the state before {@code nextState}
+     * @param nextState the state to copy the edges from
+     */
+    public SproutsPersistentState(
+        final SproutsGameState previousState,
+        final SproutsGameState nextState
+    ) {
+        this.previousState = previousState;
+        this.nextState = nextState;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Synchronized, because the state can be read by the render thread and
+     * the Move evaluation thread at the same time, and the first call
+     * releases {@code previousState} and {@code nextState}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized Set<SproutsEdge> edges() {
+        if (cachedEdges != null) {
+            return cachedEdges;
+        }
+        Set<SproutsEdge> previous = previousState.edges();
+        Set<SproutsEdge> next = nextState.edges();
+
+        PersistentHashSet<SproutsEdge> edges;
+        if (previous instanceof PersistentHashSet) {
+            edges = (PersistentHashSet<SproutsEdge>) previous;
+        } else {
+            edges = PersistentHashSet.of(previous);
+        }
+        // Edges are equal if they leave the same vertex in the same
+        // direction, so an edge that is split, joined or compacted equals
+        // the edge that it replaces; only the very same edge is kept
+        Map<SproutsEdge, SproutsEdge> kept = new IdentityHashMap<>();
+        for (SproutsEdge edge : next) {
+            kept.put(edge, edge);
+        }
+        for (SproutsEdge edge : previous) {
+            if (!kept.containsKey(edge)) {
+                edges = edges.minus(edge);
+            }
+        }
+        for (SproutsEdge edge : next) {
+            edges = edges.plus(edge);
+        }
+
+        cachedEdges = edges;
+        previousState = null;
+        nextState = null;
+        return cachedEdges;
+    }
+}
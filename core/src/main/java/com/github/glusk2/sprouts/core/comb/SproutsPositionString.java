@@ -0,0 +1,310 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * The position string of a Sprouts game state.
+ * <p>
+ * The string describes the position without its geometry: the sprouts, the
+ * Move edges and the way they are embedded in the plane. The cobweb is left
+ * out, and so are the cobweb vertices on the Move edges. It lists the
+ * regions (faces) of the drawing, separated by <code>'&#125;'</code>,
+ * starting with the outer one. A region lists its boundaries, separated
+ * by {@code '.'}: a boundary is the closed walk around one connected part
+ * of the drawing, with the region on its left, written as the edges it
+ * passes, separated by spaces. The edges are numbered from {@code 1} in
+ * the order in which they first appear, and an edge number is negative
+ * where the walk passes the edge in the other direction. A sprout that
+ * stands alone in a region is written as {@code 0}.
+ * <p>
+ * For example, <code>1 2&#125;-2 -1.0</code> is a position of two sprouts,
+ * after a Move that has joined the first sprout with itself, around
+ * nothing: the two halves of the Move enclose a region, and the other
+ * sprout lies in the outer region.
+ * <p>
+ * The regions, the boundaries and the walks are ordered by the position of
+ * the first sprout and edge they pass, so the string doesn't depend on the
+ * order in which the state lists its edges. See
+ * {@link SproutsLaidOutState} to draw a position string.
+ */
+public final class SproutsPositionString {
+    /** Orders the directed edges by origin, then by direction. */
+    private static final Comparator<SproutsEdge> EDGE_ORDER =
+        (e, f) -> compare(
+            e.from().position(),
+            secondPoint(e),
+            f.from().position(),
+            secondPoint(f)
+        );
+
+    /** The state to describe. */
+    private final SproutsGameState state;
+
+    /**
+     * Creates a new position string of {@code state}.
+     *
+     * @param state the state to describe
+     */
+    public SproutsPositionString(final SproutsGameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns the position string.
+     *
+     * @return the position string
+     */
+    @Override
+    public String toString() {
+        Set<SproutsEdge> edges = state.edges();
+        if (edges.isEmpty()) {
+            return "0";
+        }
+        Map<SproutsEdge, Set<SproutsEdge>> regionOf = new HashMap<>();
+        for (Set<SproutsEdge> face : new SproutsFaces(edges).faces()) {
+            for (SproutsEdge edge : face) {
+                regionOf.put(edge, face);
+            }
+        }
+
+        Map<Set<SproutsEdge>, List<Boundary>> regions =
+            new IdentityHashMap<>();
+        for (Boundary boundary : boundaries(edges)) {
+            Set<SproutsEdge> region = regionOf.get(boundary.first);
+            if (!regions.containsKey(region)) {
+                regions.put(region, new ArrayList<>());
+            }
+            regions.get(region).add(boundary);
+        }
+        Set<SproutsEdge> outer = new FaceLocation(state).faceAt(outside());
+
+        List<List<Boundary>> ordered = new ArrayList<>();
+        for (Map.Entry<Set<SproutsEdge>, List<Boundary>> region
+            : regions.entrySet()) {
+            List<Boundary> boundaries = region.getValue();
+            Collections.sort(boundaries);
+            if (region.getKey().equals(outer)) {
+                ordered.add(0, boundaries);
+            } else {
+                ordered.add(boundaries);
+            }
+        }
+        Collections.sort(
+            ordered.subList(1, ordered.size()),
+            (a, b) -> a.get(0).compareTo(b.get(0))
+        );
+
+        StringBuilder result = new StringBuilder();
+        Map<SproutsEdge, Integer> numbers = new HashMap<>();
+        for (List<Boundary> region : ordered) {
+            if (result.length() > 0) {
+                result.append('}');
+            }
+            for (int b = 0; b < region.size(); b++) {
+                if (b > 0) {
+                    result.append('.');
+                }
+                region.get(b).appendTo(result, numbers);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the boundaries of the drawing without the cobweb.
+     *
+     * @param edges the edges of the state
+     * @return the walks around the Move edges and the sprouts that have
+     *         none
+     */
+    private List<Boundary> boundaries(final Set<SproutsEdge> edges) {
+        Set<SproutsEdge> moveEdges = new HashSet<>();
+        for (SproutsEdge edge : edges) {
+            if (edge.color().equals(Color.BLACK)) {
+                moveEdges.add(edge);
+            }
+        }
+        // Join the Move edges at the cobweb vertices
+        List<SproutsEdge> darts =
+            new ArrayList<>(
+                new SproutsStateWithoutCobwebVertices(
+                    () -> moveEdges
+                ).edges()
+            );
+        Collections.sort(darts, EDGE_ORDER);
+
+        List<Boundary> boundaries = new ArrayList<>();
+        SproutsFaces faces = new SproutsFaces(new HashSet<>(darts));
+        Set<SproutsEdge> walked = new HashSet<>();
+        Set<Vertex> connected = new HashSet<>();
+        for (SproutsEdge first : darts) {
+            connected.add(first.from());
+            if (walked.contains(first)) {
+                continue;
+            }
+            List<SproutsEdge> walk = new ArrayList<>();
+            SproutsEdge dart = first;
+            do {
+                walked.add(dart);
+                walk.add(dart);
+                dart = faces.next(dart.reversed());
+            } while (!dart.equals(first));
+            boundaries.add(new Boundary(first, walk));
+        }
+        for (SproutsEdge edge : edges) {
+            Vertex from = edge.from();
+            if (
+                from.color().equals(Color.BLACK)
+             && !connected.contains(from)
+            ) {
+                connected.add(from);
+                boundaries.add(new Boundary(edge, null));
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Returns a point outside of the drawing.
+     *
+     * @return a point below and left of all the edges
+     */
+    private Vector2 outside() {
+        Vector2 point = new Vector2(Float.MAX_VALUE, Float.MAX_VALUE);
+        for (SproutsEdge edge : state.edges()) {
+            point.x = Math.min(point.x, edge.bounds().x);
+            point.y = Math.min(point.y, edge.bounds().y);
+        }
+        return point.sub(1, 1);
+    }
+
+    /**
+     * Returns the second point of a directed edge.
+     *
+     * @param edge the edge
+     * @return the polyline point next to the origin of {@code edge}
+     */
+    private static Vector2 secondPoint(final SproutsEdge edge) {
+        List<Vector2> points = edge.polyline().points();
+        if (edge.isPositive()) {
+            return points.get(1);
+        }
+        return points.get(points.size() - 2);
+    }
+
+    /**
+     * Compares two pairs of points, coordinate by coordinate.
+     *
+     * @param a the first point of the first pair
+     * @param b the second point of the first pair
+     * @param c the first point of the second pair
+     * @param d the second point of the second pair
+     * @return a negative number, zero or a positive number if the first
+     *         pair is less than, equal to or greater than the second
+     */
+    private static int compare(
+        final Vector2 a,
+        final Vector2 b,
+        final Vector2 c,
+        final Vector2 d
+    ) {
+        int order = Float.compare(a.x, c.x);
+        if (order == 0) {
+            order = Float.compare(a.y, c.y);
+        }
+        if (order == 0) {
+            order = Float.compare(b.x, d.x);
+        }
+        if (order == 0) {
+            order = Float.compare(b.y, d.y);
+        }
+        return order;
+    }
+
+    /** A boundary of a region. */
+    private static final class Boundary implements Comparable<Boundary> {
+        /**
+         * The first directed edge of the walk, or an edge of the cobweb
+         * from the sprout that stands alone.
+         */
+        private final SproutsEdge first;
+        /** The walk, or {@code null} for a sprout that stands alone. */
+        private final List<SproutsEdge> walk;
+
+        /**
+         * Creates a new boundary.
+         *
+         * @param first the first directed edge of the walk, or an edge of
+         *              the cobweb from the sprout that stands alone
+         * @param walk the walk, or {@code null} for a sprout that stands
+         *             alone
+         */
+        Boundary(final SproutsEdge first, final List<SproutsEdge> walk) {
+            this.first = first;
+            this.walk = walk;
+        }
+
+        /**
+         * Appends this boundary to a position string.
+         *
+         * @param result the position string to append to
+         * @param numbers the numbers of the edges written so far, by the
+         *                direction in which they were first written
+         */
+        void appendTo(
+            final StringBuilder result,
+            final Map<SproutsEdge, Integer> numbers
+        ) {
+            if (walk == null) {
+                result.append('0');
+                return;
+            }
+            for (int i = 0; i < walk.size(); i++) {
+                if (i > 0) {
+                    result.append(' ');
+                }
+                SproutsEdge dart = walk.get(i);
+                Integer number = numbers.get(dart.reversed());
+                if (number != null) {
+                    result.append(-number);
+                } else {
+                    number = numbers.size() + 1;
+                    numbers.put(dart, number);
+                    result.append(number);
+                }
+            }
+        }
+
+        /**
+         * Orders the boundaries by the position of their first sprout, a
+         * sprout alone before the walks from it.
+         * <p>
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(final Boundary that) {
+            Vector2 p = this.first.from().position();
+            Vector2 q = that.first.from().position();
+            Vector2 pNext = p;
+            Vector2 qNext = q;
+            if (this.walk != null) {
+                pNext = secondPoint(this.first);
+            }
+            if (that.walk != null) {
+                qNext = secondPoint(that.first);
+            }
+            return compare(p, pNext, q, qNext);
+        }
+    }
+}
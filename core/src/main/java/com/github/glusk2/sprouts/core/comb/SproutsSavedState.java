@@ -0,0 +1,138 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * A Sprouts game state read back from a {@link SproutsStateRecord}.
+ * <p>
+ * The edges are read as they were recorded, on the first call to
+ * {@link #edges()}; no Moves are played. An edge and its reverse share
+ * their polyline, as they did in the recorded state.
+ */
+public final class SproutsSavedState implements SproutsGameState {
+    /** The record data, until the edges are read. */
+    private DataInputStream in;
+    /** A cached value of {@link #edges()}. */
+    private Set<SproutsEdge> cachedEdges;
+
+    /**
+     * Creates a new state from a state record.
+     *
+     * @param record the record bytes
+     */
+    public SproutsSavedState(final byte[] record) {
+        this(new ByteArrayInputStream(record));
+    }
+
+    /**
+     * Creates a new state from a state record stream. The stream is read,
+     * on first use, up to the end of the record and is not closed.
+     *
+     * @param in the record stream
+     */
+    public SproutsSavedState(final InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Synchronized, because the state can be read by the render thread and
+     * the Move evaluation thread at the same time.
+     *
+     * @throws IllegalArgumentException if the record is malformed
+     * @throws IllegalStateException if the record can't be read
+     */
+    @Override
+    public synchronized Set<SproutsEdge> edges() {
+        if (cachedEdges != null) {
+            return cachedEdges;
+        }
+        try {
+            cachedEdges = Collections.unmodifiableSet(readEdges());
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("The record is truncated.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read the record.", e);
+        }
+        in = null;
+        return cachedEdges;
+    }
+
+    /**
+     * Reads the edges from the record.
+     *
+     * @return the recorded edges
+     * @throws IOException if the record can't be read
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    private Set<SproutsEdge> readEdges() throws IOException {
+        if (in.readInt() != SproutsStateRecord.MAGIC) {
+            throw new IllegalArgumentException("Not a state record.");
+        }
+        int version = in.readUnsignedByte();
+        if (version != SproutsStateRecord.VERSION) {
+            throw
+                new IllegalArgumentException(
+                    "Unsupported record version: " + version
+                );
+        }
+        List<Color> colors = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            colors.add(
+                new Color(
+                    in.readFloat(),
+                    in.readFloat(),
+                    in.readFloat(),
+                    in.readFloat()
+                )
+            );
+        }
+        List<Polyline> polylines = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            int size = in.readInt();
+            List<Vector2> points = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                points.add(new Vector2(in.readFloat(), in.readFloat()));
+            }
+            polylines.add(new Polyline.WrappedList(points));
+        }
+        int size = in.readInt();
+        Set<SproutsEdge> edges = new HashSet<>(2 * size);
+        for (int i = 0; i < size; i++) {
+            try {
+                Polyline polyline = polylines.get(in.readInt());
+                boolean positive = in.readUnsignedByte() == 1;
+                edges.add(
+                    new SproutsEdge(
+                        positive,
+                        polyline,
+                        colors.get(in.readUnsignedByte()),
+                        colors.get(in.readUnsignedByte()),
+                        colors.get(in.readUnsignedByte())
+                    )
+                );
+            } catch (IndexOutOfBoundsException e) {
+                throw
+                    new IllegalArgumentException(
+                        "Edge " + i + " refers to a missing item.",
+                        e
+                    );
+            }
+        }
+        return edges;
+    }
+}
@@ -17,6 +17,9 @@ import com.github.glusk2.sprouts.core.moves.Submove;
  * Afterwards, one has to check whether there
  * are any red (cobweb) points with no red (cobweb) edges. If so,
  * remove them.
+ * <p>
+ * Finally, the new edges are compacted, see
+ * {@link SproutsStateWithCompactedEdges}.
  */
 public final class SproutsStateAfterMove implements SproutsGameState {
     /** The state before {@code this} one. */
@@ -25,12 +28,15 @@ public final class SproutsStateAfterMove implements SproutsGameState {
     private final Move move;
     /** The middle sprout to place on the {@code move}. */
     private final MiddleSprout middleSprout;
+    /** The tolerance to compact the new edges to. */
+    private final float tolerance;
 
     /** A cached value of {@link #edges()}. */
     private Set<SproutsEdge> cachedEdges = null;
 
     /**
-     * Creates a new Sprouts state after a Move.
+     * Creates a new Sprouts state after a Move, without compacting the new
+     * edges.
      *
      * @param previousState the state before {@code this} one
      * @param move the move to draw in {@code previousState}
@@ -40,10 +46,30 @@ public final class SproutsStateAfterMove implements SproutsGameState {
         final SproutsGameState previousState,
         final Move move,
         final MiddleSprout middleSprout
+    ) {
+        this(previousState, move, middleSprout, 0);
+    }
+
+    /**
+     * Creates a new Sprouts state after a Move.
+     *
+     * @param previousState the state before {@code this} one
+     * @param move the move to draw in {@code previousState}
+     * @param middleSprout the middle sprout to place on the {@code move}
+     * @param tolerance the tolerance to compact the new edges to (see
+     *                  {@link SproutsStateWithCompactedEdges}); if not
+     *                  positive, the new edges are not compacted
+     */
+    public SproutsStateAfterMove(
+        final SproutsGameState previousState,
+        final Move move,
+        final MiddleSprout middleSprout,
+        final float tolerance
     ) {
         this.previousState = previousState;
         this.move = move;
         this.middleSprout = middleSprout;
+        this.tolerance = tolerance;
     }
 
     @Override
@@ -74,7 +100,15 @@ public final class SproutsStateAfterMove implements SproutsGameState {
         SproutsGameState simplified =
             new SproutsStateWithoutCobwebVertices(stateAfterMiddleSprout);
 
-        cachedEdges = Collections.unmodifiableSet(simplified.edges());
+        // 4. Compact the new edges
+        SproutsGameState compacted =
+            new SproutsStateWithCompactedEdges(
+                previousState,
+                simplified,
+                tolerance
+            );
+
+        cachedEdges = Collections.unmodifiableSet(compacted.edges());
         return cachedEdges;
     }
 }
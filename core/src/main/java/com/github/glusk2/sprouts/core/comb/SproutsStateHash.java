@@ -0,0 +1,115 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.List;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A 64 bit hash of the edges of a Sprouts game state.
+ * <p>
+ * The hash covers the exact coordinates of every polyline point, the edge
+ * directions and all the colors, and doesn't depend on the order of the
+ * edges. Two peers that play the same Moves from the same state compute
+ * the same hash, so comparing the hashes after every Move detects a peer
+ * that has diverged.
+ */
+public final class SproutsStateHash extends Number {
+    /** The multiplier that combines the hashed items of an edge. */
+    private static final long ITEM_MULTIPLIER = 0x100000001B3L;
+    /** The first multiplier of the edge hash finalizer. */
+    private static final long MIX_MULTIPLIER_1 = 0xBF58476D1CE4E5B9L;
+    /** The second multiplier of the edge hash finalizer. */
+    private static final long MIX_MULTIPLIER_2 = 0x94D049BB133111EBL;
+    /** The first shift of the edge hash finalizer. */
+    private static final int MIX_SHIFT_1 = 30;
+    /** The second shift of the edge hash finalizer. */
+    private static final int MIX_SHIFT_2 = 27;
+    /** The third shift of the edge hash finalizer. */
+    private static final int MIX_SHIFT_3 = 31;
+
+    /** The state to hash. */
+    private final SproutsGameState state;
+
+    /**
+     * Creates a new state hash.
+     *
+     * @param state the state to hash
+     */
+    public SproutsStateHash(final SproutsGameState state) {
+        this.state = state;
+    }
+
+    @Override
+    public double doubleValue() {
+        return this.longValue();
+    }
+    @Override
+    public float floatValue() {
+        return this.longValue();
+    }
+    @Override
+    public int intValue() {
+        return (int) this.longValue();
+    }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The edge hashes are mixed and added up, so that the order of the edges
+     * doesn't matter.
+     */
+    @Override
+    public long longValue() {
+        long hash = 0;
+        for (SproutsEdge edge : state.edges()) {
+            hash += mix(edgeHash(edge));
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a single edge.
+     *
+     * @param edge the edge to hash
+     * @return the edge hash
+     */
+    private static long edgeHash(final SproutsEdge edge) {
+        long hash = 1;
+        if (edge.isPositive()) {
+            hash = 2;
+        }
+        hash = hash * ITEM_MULTIPLIER + colorHash(edge.from().color());
+        hash = hash * ITEM_MULTIPLIER + colorHash(edge.to().color());
+        hash = hash * ITEM_MULTIPLIER + colorHash(edge.color());
+        List<Vector2> points = edge.polyline().points();
+        for (Vector2 point : points) {
+            hash = hash * ITEM_MULTIPLIER + Float.floatToIntBits(point.x);
+            hash = hash * ITEM_MULTIPLIER + Float.floatToIntBits(point.y);
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a color.
+     *
+     * @param color the color to hash
+     * @return the color hash
+     */
+    private static long colorHash(final Color color) {
+        return Color.rgba8888(color);
+    }
+
+    /**
+     * Scrambles the bits of an edge hash, so that the sum of the edge hashes
+     * is well distributed.
+     *
+     * @param value the edge hash
+     * @return the scrambled edge hash
+     */
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> MIX_SHIFT_3);
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * A binary record of a materialized Sprouts game state.
+ * <p>
+ * Unlike a game record (see
+ * {@link com.github.glusk2.sprouts.core.sim.GameRecord}), this record
+ * stores the edges of the state as they are, so the state is read back
+ * with {@link SproutsSavedState} without playing any Moves. The record is
+ * laid out as follows, big-endian:
+ * <pre>
+ * int     magic, "SPRS"
+ * byte    version
+ * int     c, the number of colors
+ * float   c times: the color r, g, b, a
+ * int     p, the number of polylines
+ * polyline p times: int n, the number of points, and n times: float x, y
+ * int     e, the number of edges
+ * edge    e times: int polyline index, byte direction (1 - positive),
+ *         byte from color index, byte to color index, byte edge color index
+ * </pre>
+ * An edge and its reverse share their polyline, so every polyline is
+ * written once. The coordinates are written exactly, because the vertices
+ * are told apart by their positions.
+ */
+public final class SproutsStateRecord {
+    /** The record magic number, "SPRS". */
+    static final int MAGIC = 0x53505253;
+    /** The record format version. */
+    static final int VERSION = 1;
+
+    /** The state to record. */
+    private final SproutsGameState state;
+
+    /**
+     * Creates a new record of {@code state}.
+     *
+     * @param state the state to record
+     */
+    public SproutsStateRecord(final SproutsGameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Writes this record to {@code out}. The stream is not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if {@code out} can't be written to
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        Set<SproutsEdge> edges = state.edges();
+        List<Color> colors = new ArrayList<>();
+        Map<Polyline, Integer> polylines = new IdentityHashMap<>();
+        List<Polyline> polylineOrder = new ArrayList<>();
+        for (SproutsEdge edge : edges) {
+            addColor(colors, edge.from().color());
+            addColor(colors, edge.to().color());
+            addColor(colors, edge.color());
+            if (!polylines.containsKey(edge.polyline())) {
+                polylines.put(edge.polyline(), polylineOrder.size());
+                polylineOrder.add(edge.polyline());
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(colors.size());
+        for (Color color : colors) {
+            data.writeFloat(color.r);
+            data.writeFloat(color.g);
+            data.writeFloat(color.b);
+            data.writeFloat(color.a);
+        }
+        data.writeInt(polylineOrder.size());
+        for (Polyline polyline : polylineOrder) {
+            List<Vector2> points = polyline.points();
+            data.writeInt(points.size());
+            for (Vector2 point : points) {
+                data.writeFloat(point.x);
+                data.writeFloat(point.y);
+            }
+        }
+        data.writeInt(edges.size());
+        for (SproutsEdge edge : edges) {
+            data.writeInt(polylines.get(edge.polyline()));
+            if (edge.isPositive()) {
+                data.writeByte(1);
+            } else {
+                data.writeByte(0);
+            }
+            data.writeByte(colors.indexOf(edge.from().color()));
+            data.writeByte(colors.indexOf(edge.to().color()));
+            data.writeByte(colors.indexOf(edge.color()));
+        }
+        data.flush();
+    }
+
+    /**
+     * Returns the bytes of this record.
+     *
+     * @return the record bytes
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Adds {@code color} to {@code colors}, unless it is already there.
+     *
+     * @param colors the distinct colors
+     * @param color the color to add
+     */
+    private static void addColor(final List<Color> colors, final Color color) {
+        if (!colors.contains(color)) {
+            colors.add(color);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.IsSegmentCrossing;
+import com.github.glusk2.sprouts.core.geom.Orientation;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * Sprouts State With Compacted Edges.
+ * <p>
+ * A state that re-simplifies the polylines of the edges that {@code state}
+ * adds to {@code previousState} - the edges of the last Move and the edges
+ * joined at the removed cobweb vertices - and returns the result as a new
+ * state. The edges of {@code previousState} have been compacted before, so
+ * they are left as they are.
+ * <p>
+ * The polylines are simplified with the Douglas-Peucker algorithm: a run of
+ * points is replaced by a single segment if all of them lie within
+ * {@code tolerance} of it and the segment doesn't cross, touch or overlap
+ * any other edge segment. No point is moved, and the second and the
+ * second to last point of every polyline are kept, so the edge order
+ * around the vertices (see {@link SproutsEdge#compareTo(SproutsEdge)})
+ * doesn't change.
+ * <p>
+ * A new segment never sweeps over a vertex or an edge: the drawing is
+ * connected, so anything in between the segment and the points it
+ * replaces would have to cross one or the other. The segments are checked
+ * against the edges of {@code state} before any of them are compacted, so
+ * the result doesn't depend on the order of the edges.
+ */
+public final class SproutsStateWithCompactedEdges implements SproutsGameState {
+    /** The minimum number of points in a polyline that can be compacted. */
+    private static final int MIN_POLYLINE_SIZE = 5;
+
+    /** The state before the edges to compact were added. */
+    private final SproutsGameState previousState;
+    /** The state with the edges to compact. */
+    private final SproutsGameState state;
+    /** The maximum distance between a removed point and the new segment. */
+    private final float tolerance;
+
+    /**
+     * Creates a new state with compacted edges by wrapping {@code state}.
+     *
+     * @param previousState the state before the edges to compact were added
+     * @param state the state with the edges to compact
+     * @param tolerance the maximum distance between a removed polyline point
+     *                  and the segment that replaces it; if not positive,
+     *                  the edges are left as they are
+     */
+    public SproutsStateWithCompactedEdges(
+        final SproutsGameState previousState,
+        final SproutsGameState state,
+        final float tolerance
+    ) {
+        this.previousState = previousState;
+        this.state = state;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Set<SproutsEdge> edges() {
+        Set<SproutsEdge> edges = state.edges();
+        if (tolerance <= 0) {
+            return edges;
+        }
+        Map<SproutsEdge, List<Vector2>> previousPoints = new HashMap<>();
+        for (SproutsEdge edge : previousState.edges()) {
+            if (edge.isPositive()) {
+                previousPoints.put(edge, edge.polyline().points());
+            }
+        }
+        List<SproutsEdge> positive = new ArrayList<>();
+        List<SproutsEdge> fresh = new ArrayList<>();
+        for (SproutsEdge edge : edges) {
+            if (!edge.isPositive()) {
+                continue;
+            }
+            positive.add(edge);
+            List<Vector2> points = edge.polyline().points();
+            if (
+                points.size() >= MIN_POLYLINE_SIZE
+             && !points.equals(previousPoints.get(edge))
+            ) {
+                fresh.add(edge);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return edges;
+        }
+
+        Set<SproutsEdge> compacted = new HashSet<>(edges);
+        for (SproutsEdge edge : fresh) {
+            List<Vector2> points = edge.polyline().points();
+            List<Vector2> obstacles = obstacles(edge, positive);
+            boolean[] keep = new boolean[points.size()];
+            keep[0] = true;
+            keep[1] = true;
+            keep[points.size() - 2] = true;
+            keep[points.size() - 1] = true;
+            simplify(points, 1, points.size() - 2, keep, obstacles);
+
+            List<Vector2> kept = new ArrayList<>();
+            for (int i = 0; i < points.size(); i++) {
+                if (keep[i]) {
+                    kept.add(points.get(i));
+                }
+            }
+            if (kept.size() == points.size()) {
+                continue;
+            }
+            SproutsEdge shorter =
+                new SproutsEdge(
+                    true,
+                    new Polyline.WrappedList(kept),
+                    edge.from().color(),
+                    edge.to().color(),
+                    edge.color()
+                );
+            compacted.remove(edge);
+            compacted.remove(edge.reversed());
+            compacted.add(shorter);
+            compacted.add(shorter.reversed());
+        }
+        return compacted;
+    }
+
+    /**
+     * Returns the segments of the other edges that lie in the bounding box of
+     * {@code edge}; the segments that replace the points of {@code edge} lie
+     * in it too.
+     *
+     * @param edge the edge to compact
+     * @param positive the positive edges of the state
+     * @return the segment endpoints, two per segment
+     */
+    private static List<Vector2> obstacles(
+        final SproutsEdge edge,
+        final List<SproutsEdge> positive
+    ) {
+        Rectangle bounds = edge.bounds();
+        List<Vector2> obstacles = new ArrayList<>();
+        for (SproutsEdge other : positive) {
+            if (other == edge || !other.bounds().overlaps(bounds)) {
+                continue;
+            }
+            List<Vector2> points = other.polyline().points();
+            for (int i = 0; i < points.size() - 1; i++) {
+                obstacles.add(points.get(i));
+                obstacles.add(points.get(i + 1));
+            }
+        }
+        return obstacles;
+    }
+
+    /**
+     * Marks the points between {@code first} and {@code last} to keep.
+     *
+     * @param points the polyline points
+     * @param first the index of the first point of the run, which is kept
+     * @param last the index of the last point of the run, which is kept
+     * @param keep the points to keep
+     * @param obstacles the segments of the other edges
+     */
+    private void simplify(
+        final List<Vector2> points,
+        final int first,
+        final int last,
+        final boolean[] keep,
+        final List<Vector2> obstacles
+    ) {
+        if (last - first < 2) {
+            return;
+        }
+        Vector2 a = points.get(first);
+        Vector2 b = points.get(last);
+        int farthest = first + 1;
+        float maxDistance = -1;
+        for (int i = first + 1; i < last; i++) {
+            float distance =
+                Intersector.distanceSegmentPoint(a, b, points.get(i));
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                farthest = i;
+            }
+        }
+        if (
+            maxDistance <= tolerance
+         && isClear(points, first, last, obstacles)
+        ) {
+            return;
+        }
+        keep[farthest] = true;
+        simplify(points, first, farthest, keep, obstacles);
+        simplify(points, farthest, last, keep, obstacles);
+    }
+
+    /**
+     * Checks whether the segment from {@code points.get(first)} to
+     * {@code points.get(last)} can replace the points in between: whether
+     * it doesn't meet any other segment, of this edge or the others.
+     *
+     * @param points the polyline points
+     * @param first the index of the first point of the segment
+     * @param last the index of the last point of the segment
+     * @param obstacles the segments of the other edges
+     * @return {@code true} if the segment can replace the points
+     */
+    private static boolean isClear(
+        final List<Vector2> points,
+        final int first,
+        final int last,
+        final List<Vector2> obstacles
+    ) {
+        Vector2 a = points.get(first);
+        Vector2 b = points.get(last);
+        if (a.equals(b)) {
+            return false;
+        }
+        for (int i = 0; i < obstacles.size(); i += 2) {
+            if (meets(a, b, obstacles.get(i), obstacles.get(i + 1))) {
+                return false;
+            }
+        }
+        for (int i = 0; i < points.size() - 1; i++) {
+            if (i >= first - 1 && i <= last) {
+                continue;
+            }
+            if (meets(a, b, points.get(i), points.get(i + 1))) {
+                return false;
+            }
+        }
+        // The segments next to it share an endpoint; they must not fold
+        // back over it
+        return
+            !isFoldedBack(a, b, points.get(first - 1))
+         && !isFoldedBack(b, a, points.get(last + 1));
+    }
+
+    /**
+     * Checks whether segments {@code p0-p1} and {@code q0-q1} cross, touch
+     * or overlap.
+     *
+     * @param p0 the first endpoint of the first segment
+     * @param p1 the second endpoint of the first segment
+     * @param q0 the first endpoint of the second segment
+     * @param q1 the second endpoint of the second segment
+     * @return {@code true} if the segments have a point in common
+     */
+    private static boolean meets(
+        final Vector2 p0,
+        final Vector2 p1,
+        final Vector2 q0,
+        final Vector2 q1
+    ) {
+        if (new IsSegmentCrossing(p0, p1, q0, q1).check()) {
+            return true;
+        }
+        if (
+            new Orientation(p0, p1, q0).intValue() != 0
+         || new Orientation(p0, p1, q1).intValue() != 0
+        ) {
+            return false;
+        }
+        // All four points are collinear; compare the projections on the
+        // axis along which the first segment is longer
+        if (Math.abs(p1.x - p0.x) >= Math.abs(p1.y - p0.y)) {
+            return
+                Math.max(Math.min(p0.x, p1.x), Math.min(q0.x, q1.x))
+             <= Math.min(Math.max(p0.x, p1.x), Math.max(q0.x, q1.x));
+        }
+        return
+            Math.max(Math.min(p0.y, p1.y), Math.min(q0.y, q1.y))
+         <= Math.min(Math.max(p0.y, p1.y), Math.max(q0.y, q1.y));
+    }
+
+    /**
+     * Checks whether the segment from {@code a} to {@code neighbor} lies on
+     * top of the segment from {@code a} to {@code b}.
+     *
+     * @param a the shared endpoint
+     * @param b the other endpoint of the new segment
+     * @param neighbor the other endpoint of the neighboring segment
+     * @return {@code true} if the segments overlap
+     */
+    private static boolean isFoldedBack(
+        final Vector2 a,
+        final Vector2 b,
+        final Vector2 neighbor
+    ) {
+        return
+            new Orientation(a, b, neighbor).intValue() == 0
+         && (b.x - a.x) * (neighbor.x - a.x)
+          + (b.y - a.y) * (neighbor.y - a.y) > 0;
+    }
+}
@@ -27,6 +27,9 @@ public final class SproutsTooltip implements SproutsGameState {
     /** The origin of the move. */
     private final Vertex moveOrigin;
 
+    /** A cached value of {@link #vertices()}. */
+    private Set<Vertex> vertexCache;
+
     /**
      * Creates a new tooltip state by providing the move and state
      * before move.
@@ -49,10 +52,27 @@ public final class SproutsTooltip implements SproutsGameState {
      * Returns all living sprouts (with respect to {@code stateBeforeMove})
      * that are on the {@code face}.
      *
+     * <p>
+     * The sprouts are found once; the result is cached, so that the redraws
+     * of {@code this} tooltip don't repeat the search.
+     *
      * @return a set of tooltip sprouts in which a move can finnish
      */
     @Override
     public Set<Vertex> vertices() {
+        if (vertexCache == null) {
+            vertexCache = findVertices();
+        }
+        return vertexCache;
+    }
+
+    /**
+     * Finds all living sprouts (with respect to {@code stateBeforeMove})
+     * that are on the {@code face}.
+     *
+     * @return a set of tooltip sprouts in which a move can finnish
+     */
+    private Set<Vertex> findVertices() {
         return face.vertices().stream()
             .filter(v -> v.color().equals(Color.BLACK))
             .filter(v -> {
@@ -0,0 +1,156 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.ConstrainedTriangulation;
+
+/**
+ * The faces of a game state, told apart by a constrained triangulation of
+ * its Move edges rather than by the cobweb.
+ * <p>
+ * The sprouts and the segments of the Move edge polylines are inserted
+ * into a {@link ConstrainedTriangulation}; the cobweb edges and vertices
+ * are left out. Each region of the triangulation is a face of the drawing,
+ * whether the drawing is connected or not, and a sprout that stands alone
+ * in a face is a vertex of that face's triangles. So two points are in the
+ * same face if they are in the same region, and the sprouts of a face are
+ * the sprouts among the vertices of its triangles.
+ * <p>
+ * The triangulation is built from scratch on the first query; it is not
+ * carried over from the state before the Move.
+ * <p>
+ * This is a check in addition to the cobweb, not a replacement for it: the
+ * cobweb edges and vertices are still kept in every state, and the Move
+ * validation, the face tooltip and the random games still tell the faces
+ * apart by the cobweb (see {@link SproutsFaces}). Only the end of game
+ * check (see {@link IsMovePossible}) uses these faces.
+ */
+public final class TriangulatedFaces {
+    /** The color of the sprouts and the Move edges. */
+    private static final Color MOVE_COLOR = Color.BLACK;
+
+    /** The state to triangulate. */
+    private final SproutsGameState state;
+    /** The bounds of the state. */
+    private final Rectangle gameBounds;
+
+    /** The triangulation, or {@code null} if not built yet. */
+    private ConstrainedTriangulation triangulation;
+    /** The sprouts, by position. */
+    private Map<Vector2, Vertex> sprouts;
+
+    /**
+     * Creates new faces of {@code state}.
+     *
+     * @param state the state to triangulate
+     * @param gameBounds the bounds of the state; all the edges and vertices
+     *                   lie inside of them
+     */
+    public TriangulatedFaces(
+        final SproutsGameState state,
+        final Rectangle gameBounds
+    ) {
+        this.state = state;
+        this.gameBounds = gameBounds;
+    }
+
+    /**
+     * Checks whether two points are in the same face.
+     *
+     * @param a the first point
+     * @param b the second point
+     * @return {@code true} if {@code a} and {@code b} are in the same face
+     */
+    public boolean isInSameFace(final Vector2 a, final Vector2 b) {
+        ConstrainedTriangulation faces = triangulation();
+        return faces.region(a) == faces.region(b);
+    }
+
+    /**
+     * Returns the sprouts of the face that contains {@code point}: the
+     * sprouts on its boundary and the ones that stand alone inside it.
+     *
+     * @param point a point inside the face
+     * @return the sprouts of the face
+     */
+    public Set<Vertex> sprouts(final Vector2 point) {
+        return sprouts(triangulation().region(point));
+    }
+
+    /**
+     * Returns the sprouts of every face.
+     *
+     * @return the sprouts of every face, one Set per face
+     */
+    public List<Set<Vertex>> sprouts() {
+        int count = triangulation().regionCount();
+        List<Set<Vertex>> result = new ArrayList<>(count);
+        for (int region = 0; region < count; region++) {
+            result.add(sprouts(region));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sprouts of a region of the triangulation.
+     *
+     * @param region the region of the triangulation
+     * @return the sprouts of the face that {@code region} covers
+     */
+    private Set<Vertex> sprouts(final int region) {
+        List<Vector2> positions = triangulation().vertices(region);
+        Set<Vertex> result = new HashSet<>();
+        for (Vector2 position : positions) {
+            Vertex sprout = sprouts.get(position);
+            if (sprout != null) {
+                result.add(sprout);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the triangulation, building it if needed.
+     *
+     * @return the triangulation of the sprouts and Move edges
+     */
+    private ConstrainedTriangulation triangulation() {
+        if (triangulation != null) {
+            return triangulation;
+        }
+        ConstrainedTriangulation result =
+            new ConstrainedTriangulation(gameBounds);
+        Map<Vector2, Vertex> positions = new HashMap<>();
+        for (Vertex vertex : state.vertices()) {
+            if (vertex.color().equals(MOVE_COLOR)) {
+                positions.put(vertex.position(), vertex);
+                result.insert(vertex.position());
+            }
+        }
+        for (SproutsEdge edge : state.edges()) {
+            if (!edge.isPositive() || !edge.color().equals(MOVE_COLOR)) {
+                continue;
+            }
+            // The sprouts sit at the positions of the edge end vertices,
+            // which need not be the exact end points of the polyline
+            List<Vector2> points = edge.polyline().points();
+            Vector2 from = edge.from().position();
+            for (int i = 1; i < points.size() - 1; i++) {
+                result.insert(from, points.get(i));
+                from = points.get(i);
+            }
+            result.insert(from, edge.to().position());
+        }
+        sprouts = positions;
+        triangulation = result;
+        return result;
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.math.Bezier;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Path;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Polyline approximation of a curve, with as many points as the curvature
+ * needs.
+ * <p>
+ * Unlike {@link CurveApproximation}, which divides each spline into a fixed
+ * number of segments, this approximation keeps splitting a spline in half
+ * until every piece is flat, that is, until no point of the piece is more
+ * than {@code tolerance} away from the line segment between its ends, and
+ * no longer than {@code maxSegmentLength}. Straight spans take as few
+ * segments as the length limit allows, tight bends as many as they need.
+ * <p>
+ * {@link Bezier} splines are split with the de Casteljau algorithm and a
+ * piece is flat if its control points are within {@code tolerance} of the
+ * chord, which bounds the distance of the whole piece. Other splines are
+ * split in the parameter space and tested at the piece midpoint.
+ * <p>
+ * Unlike {@link CurveApproximation}, the approximation includes the end
+ * point of the last spline, so that the polyline ends where the curve does.
+ */
+public final class AdaptiveCurveApproximation implements Polyline {
+    /**
+     * The maximum number of times that a spline is split in half.
+     * <p>
+     * Bounds the number of segments per spline to {@code 2^MAX_DEPTH}.
+     */
+    private static final int MAX_DEPTH = 10;
+    /**
+     * The minimum number of times that a non-Bezier spline is split in
+     * half, so that an S-shaped piece is not mistaken for a flat one.
+     */
+    private static final int MIN_PATH_DEPTH = 2;
+
+    /** The curve to approximate as a polyline. */
+    private final Curve<Path<Vector2>> curve;
+    /** The maximum distance between the curve and the polyline. */
+    private final float tolerance;
+    /** The maximum length of a polyline segment. */
+    private final float maxSegmentLength;
+
+    /**
+     * Builds a new AdaptiveCurveApproximation with the specified flatness
+     * tolerance and no limit on the segment length.
+     *
+     * @param curve the curve to approximate as a polyline
+     * @param tolerance the maximum distance between the curve and the
+     *                  polyline
+     */
+    public AdaptiveCurveApproximation(
+        final Curve<Path<Vector2>> curve,
+        final float tolerance
+    ) {
+        this(curve, tolerance, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Builds a new AdaptiveCurveApproximation with the specified flatness
+     * tolerance and segment length limit.
+     * <p>
+     * The length limit keeps the points dense enough for the consumers that
+     * test the polyline points (rather than the segments) against other
+     * objects, such as the sprout glue radius test in
+     * {@link com.github.glusk2.sprouts.core.moves.SubmoveElement}.
+     *
+     * @param curve the curve to approximate as a polyline
+     * @param tolerance the maximum distance between the curve and the
+     *                  polyline
+     * @param maxSegmentLength the maximum length of a polyline segment
+     */
+    public AdaptiveCurveApproximation(
+        final Curve<Path<Vector2>> curve,
+        final float tolerance,
+        final float maxSegmentLength
+    ) {
+        this.curve = curve;
+        this.tolerance = tolerance;
+        this.maxSegmentLength = maxSegmentLength;
+    }
+
+    @Override
+    public List<Vector2> points() {
+        List<Vector2> result = new ArrayList<Vector2>();
+        for (Path<Vector2> spline : curve.splines()) {
+            // The start of a spline is the end of the previous one
+            if (spline instanceof Bezier) {
+                Bezier<Vector2> bezier = (Bezier<Vector2>) spline;
+                Vector2[] controlPoints =
+                    new Vector2[bezier.points.size];
+                for (int i = 0; i < controlPoints.length; i++) {
+                    controlPoints[i] = bezier.points.get(i);
+                }
+                if (result.isEmpty()) {
+                    result.add(controlPoints[0].cpy());
+                }
+                flatten(controlPoints, 0, result);
+            } else {
+                Vector2 start = spline.valueAt(new Vector2(), 0);
+                Vector2 end = spline.valueAt(new Vector2(), 1);
+                if (result.isEmpty()) {
+                    result.add(start);
+                }
+                flatten(spline, 0, start, 1, end, 0, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends the ends of the flat pieces of a Bezier spline to
+     * {@code result}, in order.
+     *
+     * @param controlPoints the control points of the spline piece
+     * @param depth the number of times that the piece has been split
+     * @param result the list to append the piece ends to
+     */
+    private void flatten(
+        final Vector2[] controlPoints,
+        final int depth,
+        final List<Vector2> result
+    ) {
+        int n = controlPoints.length;
+        if (depth >= MAX_DEPTH || isFlat(controlPoints)) {
+            result.add(controlPoints[n - 1].cpy());
+            return;
+        }
+        // de Casteljau: the left half takes the first point of each row,
+        // the right half the last one
+        Vector2[] left = new Vector2[n];
+        Vector2[] right = new Vector2[n];
+        Vector2[] row = controlPoints.clone();
+        for (int level = 0; level < n; level++) {
+            left[level] = row[0];
+            right[n - 1 - level] = row[n - 1 - level];
+            Vector2[] next = new Vector2[n - 1 - level];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = row[i].cpy().lerp(row[i + 1], 1 / 2f);
+            }
+            row = next;
+        }
+        flatten(left, depth + 1, result);
+        flatten(right, depth + 1, result);
+    }
+
+    /**
+     * Checks whether all the control points of a Bezier spline piece are
+     * within {@code tolerance} of the line segment between its ends, and
+     * the segment is no longer than {@code maxSegmentLength}.
+     *
+     * @param controlPoints the control points of the spline piece
+     * @return {@code true} if the piece is flat
+     */
+    private boolean isFlat(final Vector2[] controlPoints) {
+        Vector2 start = controlPoints[0];
+        Vector2 end = controlPoints[controlPoints.length - 1];
+        if (start.dst(end) > maxSegmentLength) {
+            return false;
+        }
+        for (int i = 1; i < controlPoints.length - 1; i++) {
+            float distance =
+                Intersector.distanceSegmentPoint(
+                    start,
+                    end,
+                    controlPoints[i]
+                );
+            if (distance > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the ends of the flat pieces of a generic spline to
+     * {@code result}, in order.
+     *
+     * @param spline the spline to flatten
+     * @param t0 the parameter of the piece start
+     * @param start the piece start
+     * @param t1 the parameter of the piece end
+     * @param end the piece end
+     * @param depth the number of times that the piece has been split
+     * @param result the list to append the piece ends to
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void flatten(
+        final Path<Vector2> spline,
+        final float t0,
+        final Vector2 start,
+        final float t1,
+        final Vector2 end,
+        final int depth,
+        final List<Vector2> result
+    ) {
+        float t = (t0 + t1) / 2;
+        Vector2 middle = spline.valueAt(new Vector2(), t);
+        if (
+            depth >= MAX_DEPTH
+         || depth >= MIN_PATH_DEPTH
+         && start.dst(end) <= maxSegmentLength
+         && Intersector.distanceSegmentPoint(start, end, middle) <= tolerance
+        ) {
+            result.add(end);
+            return;
+        }
+        flatten(spline, t0, start, t, middle, depth + 1, result);
+        flatten(spline, t, middle, t1, end, depth + 1, result);
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * An incremental B-Spline control points fitter.
+ * <p>
+ * Computes the same control points as {@link BSplineControlPoints}, but
+ * keeps the forward elimination coefficients of the tridiagonal system
+ * between calls. When the next sample shares a prefix with the previous one
+ * (a sample that is being drawn only grows at the end, or changes its last
+ * few points), only the rows of the changed tail are eliminated again and
+ * the back substitution stops as soon as the solution no longer changes.
+ * The influence of a changed row drops by a factor of about
+ * {@code 2 + sqrt(3)} per row, so a call costs {@code O(1)} amortized
+ * instead of {@code O(n)}.
+ * <p>
+ * The shared prefix is found by comparing the sample points by identity,
+ * from the end: if the point at index {@code i} is the same object as in
+ * the previous sample, all the points before it are assumed to be the same
+ * as well. This holds for samples that are built by appending points to a
+ * list (and for their {@link StreamingSimplifier} simplifications).
+ * <p>
+ * The scratch buffers are reused between calls. This class is not
+ * <em>thread-safe</em>.
+ *
+ * @see <a href="http://www.math.ucla.edu/%7Ebaker/149.1.02w/handouts/dd_splines.pdf">UCLA splines handout</a>
+ */
+public final class BSplineFitter {
+    /**
+     * The minimal sample size.
+     * <p>
+     * If {@code sample.size() < MIN_SAMPLE_SIZE} then B-Spline control
+     * points are not computed. {@code sample} gets returned instead.
+     */
+    private static final int MIN_SAMPLE_SIZE = 3;
+    /** The diagonal of the "1 4 1 matrix". */
+    private static final double DIAGONAL = 4;
+    /** The sample point weight on the right-hand side. */
+    private static final double SAMPLE_WEIGHT = 6;
+    /**
+     * The change of the solution below which the back substitution stops.
+     * <p>
+     * Well below the float precision of the returned points.
+     */
+    private static final double EPSILON = 1e-6;
+    /** The initial capacity of the scratch buffers. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The points of the last fitted sample. */
+    private Vector2[] points = new Vector2[INITIAL_CAPACITY];
+    /** The number of points of the last fitted sample. */
+    private int size;
+    /**
+     * The eliminated upper diagonal, {@code c'}. It doesn't depend on the
+     * sample; {@code c'[0] = 1/4, c'[i] = 1 / (4 - c'[i - 1])}.
+     */
+    private double[] upper = new double[INITIAL_CAPACITY];
+    /** The number of computed {@code upper} coefficients. */
+    private int upperSize;
+    /** The eliminated right-hand side, {@code d'}, x coordinates. */
+    private double[] rhsX = new double[INITIAL_CAPACITY];
+    /** The eliminated right-hand side, {@code d'}, y coordinates. */
+    private double[] rhsY = new double[INITIAL_CAPACITY];
+    /** The solution x coordinates. */
+    private double[] solutionX = new double[INITIAL_CAPACITY];
+    /** The solution y coordinates. */
+    private double[] solutionY = new double[INITIAL_CAPACITY];
+    /** The fitted control points. */
+    private final List<Vector2> controlPoints = new ArrayList<>();
+
+    /**
+     * Fits the B-Spline control points of {@code sample}.
+     * <p>
+     * The returned list is an unmodifiable view of the control points,
+     * which changes with the next call to this method.
+     *
+     * @param sample the sample points; a random access list
+     * @return the B-Spline control points of {@code sample}, or
+     *         {@code sample} itself if it has less than 3 points
+     */
+    public List<Vector2> fit(final List<Vector2> sample) {
+        int length = sample.size();
+        int prefix = Math.min(size, length);
+        while (prefix > 0 && sample.get(prefix - 1) != points[prefix - 1]) {
+            prefix--;
+        }
+        int oldUnknowns = size - 2;
+        ensureCapacity(length);
+        for (int i = prefix; i < length; i++) {
+            points[i] = sample.get(i);
+        }
+        size = length;
+        if (length < MIN_SAMPLE_SIZE) {
+            controlPoints.clear();
+            return sample;
+        }
+
+        // The unknowns are the inner control points 1..n-1, the row i
+        // involves the sample point i + 1 and the last row the end point
+        int unknowns = length - 2;
+        int first =
+            Math.max(
+                0,
+                Math.min(prefix - 1, Math.min(oldUnknowns, unknowns) - 1)
+            );
+        if (prefix == length && oldUnknowns == unknowns) {
+            return Collections.unmodifiableList(controlPoints);
+        }
+        for (int i = first; i < unknowns; i++) {
+            double dx = SAMPLE_WEIGHT * points[i + 1].x;
+            double dy = SAMPLE_WEIGHT * points[i + 1].y;
+            if (i == 0) {
+                dx -= points[0].x;
+                dy -= points[0].y;
+            }
+            if (i == unknowns - 1) {
+                dx -= points[length - 1].x;
+                dy -= points[length - 1].y;
+            }
+            double denominator = DIAGONAL;
+            if (i > 0) {
+                denominator -= upper[i - 1];
+                dx -= rhsX[i - 1];
+                dy -= rhsY[i - 1];
+            }
+            rhsX[i] = dx / denominator;
+            rhsY[i] = dy / denominator;
+        }
+
+        int last = 0;
+        for (int i = unknowns - 1; i >= 0; i--) {
+            double x = rhsX[i];
+            double y = rhsY[i];
+            if (i < unknowns - 1) {
+                x -= upper[i] * solutionX[i + 1];
+                y -= upper[i] * solutionY[i + 1];
+            }
+            boolean settled =
+                i < first
+             && Math.abs(x - solutionX[i]) < EPSILON
+             && Math.abs(y - solutionY[i]) < EPSILON;
+            solutionX[i] = x;
+            solutionY[i] = y;
+            if (settled) {
+                last = i;
+                break;
+            }
+        }
+
+        while (controlPoints.size() > unknowns + 2) {
+            controlPoints.remove(controlPoints.size() - 1);
+        }
+        while (controlPoints.size() < unknowns + 2) {
+            controlPoints.add(null);
+        }
+        controlPoints.set(0, points[0]);
+        for (int i = last; i < unknowns; i++) {
+            controlPoints.set(
+                i + 1,
+                new Vector2((float) solutionX[i], (float) solutionY[i])
+            );
+        }
+        controlPoints.set(unknowns + 1, points[length - 1]);
+        return Collections.unmodifiableList(controlPoints);
+    }
+
+    /**
+     * Grows the scratch buffers to fit a sample of {@code length} points
+     * and computes the missing {@code upper} coefficients.
+     *
+     * @param length the number of sample points
+     */
+    private void ensureCapacity(final int length) {
+        if (points.length < length) {
+            int capacity = Math.max(length, 2 * points.length);
+            points = Arrays.copyOf(points, capacity);
+            upper = Arrays.copyOf(upper, capacity);
+            rhsX = Arrays.copyOf(rhsX, capacity);
+            rhsY = Arrays.copyOf(rhsY, capacity);
+            solutionX = Arrays.copyOf(solutionX, capacity);
+            solutionY = Arrays.copyOf(solutionY, capacity);
+        }
+        for (; upperSize < length; upperSize++) {
+            double denominator = DIAGONAL;
+            if (upperSize > 0) {
+                denominator -= upper[upperSize - 1];
+            }
+            upper[upperSize] = 1 / denominator;
+        }
+    }
+}
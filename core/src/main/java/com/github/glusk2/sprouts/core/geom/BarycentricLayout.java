@@ -0,0 +1,494 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A barycentric (Tutte) layout of a triangulation of the sphere, on the
+ * lattice of {@link LatticePoint}.
+ * <p>
+ * The three nodes of one triangle become the corners of the outer face, and
+ * every other node is placed at the average of its neighbors. The nodes of
+ * a simple triangulation placed this way form a plane straight-line drawing
+ * (Tutte's spring theorem), but the nodes crowd together exponentially fast
+ * away from the outer face, so much that a triangle can fall in between the
+ * lattice points. So the layout starts from a drawing that is valid on the
+ * lattice by construction, the shift method of de Fraysseix, Pach and
+ * Pollack on a canonical ordering of the nodes, and then moves each node
+ * towards its barycentric position only as far as all the triangles around
+ * it stay counterclockwise. Where the lattice is fine enough, the result is
+ * the barycentric drawing; where it isn't, the nodes stop short of it.
+ * <p>
+ * The barycentric positions are the solution of a sparse, symmetric
+ * positive definite linear system, solved with the Jacobi preconditioned
+ * conjugate gradient method. The layout takes {@code O(n^1.5)} time for
+ * {@code n} nodes, on average.
+ */
+public final class BarycentricLayout {
+    /** The relative residual at which the solver stops. */
+    private static final double RESIDUAL = 1e-9;
+    /** The maximum number of solver iterations, per node. */
+    private static final int ITERATIONS_PER_NODE = 4;
+    /** The number of times the nodes are moved towards their targets. */
+    private static final int ROUNDS = 16;
+    /** The number of steps in which a move is halved before it's dropped. */
+    private static final int HALVING_STEPS = 6;
+    /** The number of nodes of a triangle. */
+    private static final int SIDES = 3;
+
+    /** The node triples of the triangles, counterclockwise. */
+    private final int[] triangles;
+    /**
+     * The start of the neighbors and the triangles of each node in
+     * {@code neighbors} and {@code nodeTriangles}; a node has as many of
+     * one as of the other.
+     */
+    private final int[] neighborStart;
+    /** The neighbors of each node. */
+    private final int[] neighbors;
+    /** The triangles around each node. */
+    private final int[] nodeTriangles;
+
+    /** The fixed-point x coordinates of the nodes. */
+    private final long[] xs;
+    /** The fixed-point y coordinates of the nodes. */
+    private final long[] ys;
+    /** The nodes of the outer face. */
+    private final boolean[] pinned;
+
+    /**
+     * Creates a new layout.
+     * <p>
+     * The triangles must form a simple triangulation of the sphere: every
+     * directed side appears in exactly one triangle, and the opposite side
+     * in another one.
+     *
+     * @param nodeCount the number of nodes
+     * @param triangles the node triples of the triangles, in
+     *                  counterclockwise order
+     */
+    public BarycentricLayout(final int nodeCount, final IntArray triangles) {
+        this.triangles = triangles.toArray();
+        this.xs = new long[nodeCount];
+        this.ys = new long[nodeCount];
+        this.pinned = new boolean[nodeCount];
+
+        int[] start = new int[nodeCount + 1];
+        for (int node : this.triangles) {
+            start[node + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] list = new int[start[nodeCount]];
+        int[] around = new int[start[nodeCount]];
+        int[] fill = new int[nodeCount];
+        for (int t = 0; t < this.triangles.length; t++) {
+            int node = this.triangles[t];
+            int first = t - t % SIDES;
+            list[start[node] + fill[node]] =
+                this.triangles[first + (t + 1) % SIDES];
+            around[start[node] + fill[node]] = first;
+            fill[node]++;
+        }
+        this.neighborStart = start;
+        this.neighbors = list;
+        this.nodeTriangles = around;
+    }
+
+    /**
+     * Lays out the nodes inside of {@code bounds}, with a triangle as the
+     * outer face.
+     * <p>
+     * The first node of the triangle becomes the top corner of the outer
+     * face, the second one the bottom right and the third one the bottom
+     * left corner.
+     *
+     * @param outer the index of the first node of the outer triangle in the
+     *              triangle list
+     * @param bounds the bounds of the layout
+     * @throws IllegalArgumentException if the lattice inside of
+     *                                  {@code bounds} is too coarse for the
+     *                                  triangulation
+     */
+    public void layOut(final int outer, final Rectangle bounds) {
+        int top = triangles[outer];
+        int right = triangles[outer + 1];
+        int left = triangles[outer + 2];
+        pinned[top] = true;
+        pinned[right] = true;
+        pinned[left] = true;
+        shift(canonicalOrder(left, right, top), bounds);
+
+        double[] targetX = new double[xs.length];
+        double[] targetY = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            targetX[i] = xs[i];
+            targetY[i] = ys[i];
+        }
+        solve(targetX);
+        solve(targetY);
+        long[] startX = xs.clone();
+        long[] startY = ys.clone();
+        for (int round = 1; round <= ROUNDS; round++) {
+            double t = (double) round / ROUNDS;
+            for (int i = 0; i < xs.length; i++) {
+                if (!pinned[i]) {
+                    double x = startX[i] + t * (targetX[i] - startX[i]);
+                    double y = startY[i] + t * (targetY[i] - startY[i]);
+                    move(i, Math.round(x) - xs[i], Math.round(y) - ys[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the position of a node.
+     *
+     * @param node the node
+     * @return a new vector with the position of the node, on the lattice
+     */
+    public Vector2 position(final int node) {
+        return new LatticePoint((int) xs[node], (int) ys[node]).position();
+    }
+
+    /**
+     * Moves a node towards the midpoint of two others, as far as the
+     * triangles around it stay counterclockwise.
+     * <p>
+     * A node that moves this way stays in the same place in the drawing, so
+     * relaxing the inner nodes of a path smooths it out.
+     *
+     * @param node the node to move
+     * @param a the first node
+     * @param b the second node
+     */
+    public void relax(final int node, final int a, final int b) {
+        move(
+            node,
+            (xs[a] + xs[b]) / 2 - xs[node],
+            (ys[a] + ys[b]) / 2 - ys[node]
+        );
+    }
+
+    /**
+     * Orders the nodes canonically.
+     * <p>
+     * In a canonical ordering, every node after the first three lies on the
+     * outer face of the nodes up to it, and its neighbors among the nodes
+     * before it form a path on the outer face of those. The nodes are
+     * peeled off the outer face, starting from the top corner, always taking
+     * a node without chords: without neighbors on the outer face besides
+     * the two next to it.
+     *
+     * @param left the bottom left corner, the first node of the order
+     * @param right the bottom right corner, the second node of the order
+     * @param top the top corner, the last node of the order
+     * @return the nodes in canonical order
+     */
+    private int[] canonicalOrder(
+        final int left,
+        final int right,
+        final int top
+    ) {
+        int n = xs.length;
+        boolean[] onOuter = new boolean[n];
+        boolean[] removed = new boolean[n];
+        int[] outerNeighbors = new int[n];
+        onOuter[left] = true;
+        onOuter[right] = true;
+        onOuter[top] = true;
+        outerNeighbors[left] = 2;
+        outerNeighbors[right] = 2;
+        outerNeighbors[top] = 2;
+
+        int[] order = new int[n];
+        order[0] = left;
+        order[1] = right;
+        IntArray candidates = new IntArray();
+        candidates.add(top);
+        for (int k = n - 1; k > 1; k--) {
+            int node = candidates.pop();
+            while (
+                removed[node]
+             || outerNeighbors[node] != 2
+             || node == left
+             || node == right
+            ) {
+                node = candidates.pop();
+            }
+            order[k] = node;
+            removed[node] = true;
+            for (
+                int i = neighborStart[node];
+                i < neighborStart[node + 1];
+                i++
+            ) {
+                int neighbor = neighbors[i];
+                if (removed[neighbor]) {
+                    continue;
+                }
+                candidates.add(neighbor);
+                if (onOuter[neighbor]) {
+                    outerNeighbors[neighbor]--;
+                    continue;
+                }
+                onOuter[neighbor] = true;
+                for (
+                    int j = neighborStart[neighbor];
+                    j < neighborStart[neighbor + 1];
+                    j++
+                ) {
+                    int other = neighbors[j];
+                    if (!removed[other] && onOuter[other]) {
+                        outerNeighbors[neighbor]++;
+                        outerNeighbors[other]++;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Places the nodes with the shift method, on a grid that is then
+     * stretched to fit {@code bounds}.
+     * <p>
+     * Every node is placed above its neighbors among the nodes before it,
+     * where the {@code 45} degree slopes from the outermost two meet; the
+     * nodes in between them and the ones to the right are shifted right to
+     * make room, together with the nodes under them. A shift is recorded at
+     * the top node only and added up at the end.
+     *
+     * @param order the nodes in canonical order
+     * @param bounds the bounds of the layout
+     * @throws IllegalArgumentException if the lattice inside of
+     *                                  {@code bounds} is coarser than the
+     *                                  grid
+     */
+    private void shift(final int[] order, final Rectangle bounds) {
+        int n = order.length;
+        long[] offset = new long[n];
+        int[] under = new int[n];
+        int[] next = new int[n];
+        boolean[] placed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            under[i] = -1;
+        }
+        // The first triangle, with the outer face path left, third, right
+        xs[order[1]] = 2;
+        xs[order[2]] = 1;
+        ys[order[2]] = 1;
+        next[order[0]] = order[2];
+        next[order[2]] = order[1];
+        next[order[1]] = -1;
+        placed[order[0]] = true;
+        placed[order[1]] = true;
+        placed[order[2]] = true;
+
+        for (int k = SIDES; k < n; k++) {
+            int node = order[k];
+            int from = -1;
+            int to = -1;
+            for (
+                int i = neighborStart[node];
+                i < neighborStart[node + 1];
+                i++
+            ) {
+                int neighbor = neighbors[i];
+                if (!placed[neighbor]) {
+                    continue;
+                }
+                long x = xs[neighbor] + offset[neighbor];
+                if (from < 0 || x < xs[from] + offset[from]) {
+                    from = neighbor;
+                }
+                if (to < 0 || x > xs[to] + offset[to]) {
+                    to = neighbor;
+                }
+            }
+            for (int c = next[from]; c != to; c = next[c]) {
+                offset[c]++;
+                under[c] = node;
+            }
+            for (int c = to; c >= 0; c = next[c]) {
+                offset[c] += 2;
+            }
+            long fromX = xs[from] + offset[from];
+            long toX = xs[to] + offset[to];
+            xs[node] = (fromX + toX + ys[to] - ys[from]) / 2;
+            ys[node] = (toX - fromX + ys[to] + ys[from]) / 2;
+            next[from] = node;
+            next[node] = to;
+            placed[node] = true;
+        }
+        // A node is under the nodes after it in the order
+        for (int k = n - 1; k >= 0; k--) {
+            int node = order[k];
+            if (under[node] >= 0) {
+                offset[node] += offset[under[node]];
+            }
+            xs[node] += offset[node];
+        }
+
+        long minX = (long) Math.ceil(bounds.x / LatticePoint.SPACING);
+        long minY = (long) Math.ceil(bounds.y / LatticePoint.SPACING);
+        long width =
+            (long) Math.floor(
+                (bounds.x + bounds.width) / LatticePoint.SPACING
+            ) - minX;
+        long height =
+            (long) Math.floor(
+                (bounds.y + bounds.height) / LatticePoint.SPACING
+            ) - minY;
+        long gridWidth = 2 * (n - 2);
+        long gridHeight = n - 2;
+        long scaleX = width / gridWidth;
+        long scaleY = height / gridHeight;
+        if (scaleX < 1 || scaleY < 1) {
+            throw new IllegalArgumentException(
+                "The triangulation is too large to lay out in the bounds."
+            );
+        }
+        minX += (width - scaleX * gridWidth) / 2;
+        minY += (height - scaleY * gridHeight) / 2;
+        for (int i = 0; i < n; i++) {
+            xs[i] = minX + xs[i] * scaleX;
+            ys[i] = minY + ys[i] * scaleY;
+        }
+    }
+
+    /**
+     * Solves one coordinate of the barycentric positions, starting from the
+     * given coordinates.
+     *
+     * @param coordinates the coordinates of all the nodes; the ones of the
+     *                    nodes that are not pinned are overwritten
+     */
+    private void solve(final double[] coordinates) {
+        int n = coordinates.length;
+        double[] residual = new double[n];
+        double[] direction = new double[n];
+        double[] product = new double[n];
+        double[] preconditioned = new double[n];
+        double norm = 0;
+        double rz = 0;
+        for (int i = 0; i < n; i++) {
+            if (pinned[i]) {
+                continue;
+            }
+            int degree = neighborStart[i + 1] - neighborStart[i];
+            double sum = 0;
+            for (int j = neighborStart[i]; j < neighborStart[i + 1]; j++) {
+                sum += coordinates[neighbors[j]];
+            }
+            residual[i] = sum - degree * coordinates[i];
+            norm += Math.abs(residual[i]);
+            preconditioned[i] = residual[i] / degree;
+            direction[i] = preconditioned[i];
+            rz += residual[i] * preconditioned[i];
+        }
+        int maxIterations = ITERATIONS_PER_NODE * n;
+        for (int k = 0; k < maxIterations && norm > 0; k++) {
+            double dAd = 0;
+            for (int i = 0; i < n; i++) {
+                if (pinned[i]) {
+                    continue;
+                }
+                int degree = neighborStart[i + 1] - neighborStart[i];
+                double sum = 0;
+                for (int j = neighborStart[i]; j < neighborStart[i + 1]; j++) {
+                    if (!pinned[neighbors[j]]) {
+                        sum += direction[neighbors[j]];
+                    }
+                }
+                product[i] = degree * direction[i] - sum;
+                dAd += direction[i] * product[i];
+            }
+            if (dAd <= 0) {
+                return;
+            }
+            double alpha = rz / dAd;
+            double residualNorm = 0;
+            double rzNext = 0;
+            for (int i = 0; i < n; i++) {
+                if (pinned[i]) {
+                    continue;
+                }
+                int degree = neighborStart[i + 1] - neighborStart[i];
+                coordinates[i] += alpha * direction[i];
+                residual[i] -= alpha * product[i];
+                residualNorm += Math.abs(residual[i]);
+                preconditioned[i] = residual[i] / degree;
+                rzNext += residual[i] * preconditioned[i];
+            }
+            if (residualNorm <= RESIDUAL * norm) {
+                return;
+            }
+            double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                if (!pinned[i]) {
+                    direction[i] = preconditioned[i] + beta * direction[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a node by an offset, or a part of it, as far as the triangles
+     * around it stay counterclockwise.
+     * <p>
+     * The node first tries to move all the way, then half the way and so on
+     * a few times.
+     *
+     * @param node the node to move
+     * @param dx the fixed-point x offset
+     * @param dy the fixed-point y offset
+     */
+    private void move(final int node, final long dx, final long dy) {
+        long fromX = xs[node];
+        long fromY = ys[node];
+        long stepX = dx;
+        long stepY = dy;
+        for (
+            int step = 0;
+            step < HALVING_STEPS && (stepX != 0 || stepY != 0);
+            step++
+        ) {
+            xs[node] = fromX + stepX;
+            ys[node] = fromY + stepY;
+            if (isAroundCounterclockwise(node)) {
+                return;
+            }
+            stepX /= 2;
+            stepY /= 2;
+        }
+        xs[node] = fromX;
+        ys[node] = fromY;
+    }
+
+    /**
+     * Checks whether the triangles around a node are counterclockwise.
+     *
+     * @param node the node
+     * @return {@code true} if all the triangles around {@code node} are
+     *         counterclockwise
+     */
+    private boolean isAroundCounterclockwise(final int node) {
+        for (int i = neighborStart[node]; i < neighborStart[node + 1]; i++) {
+            int t = nodeTriangles[i];
+            int a = triangles[t];
+            int b = triangles[t + 1];
+            int c = triangles[t + 2];
+            long area =
+                (xs[b] - xs[a]) * (ys[c] - ys[a])
+              - (ys[b] - ys[a]) * (xs[c] - xs[a]);
+            if (area <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,868 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * An incremental constrained Delaunay triangulation.
+ * <p>
+ * Points and constraint segments are inserted one at a time. A point is
+ * located with a walk from the last triangle visited and inserted with
+ * Lawson flips; a segment is recovered by flipping the edges that it
+ * crosses (Sloan's method), after which the Delaunay property is restored
+ * around it. A segment that passes through a vertex is split at the
+ * vertex. The constraint edges split the triangles into regions, see
+ * {@link #region(Vector2)}.
+ * <p>
+ * The orientation tests are exact (see {@link Orientation}), so the
+ * triangulation is always valid. The in-circle test is evaluated in
+ * {@code double} and an edge is only flipped if the test is certain, so
+ * near-degenerate inputs may leave an edge that is not quite Delaunay.
+ * <p>
+ * The triangulation covers a rectangle larger than the bounds passed to
+ * the constructor; the points must lie within it.
+ */
+public final class ConstrainedTriangulation {
+    /** The number of vertices, edges and neighbors of a triangle. */
+    private static final int SIDES = 3;
+    /** The relative error bound of the {@code double} in-circle test. */
+    private static final double INCIRCLE_ERROR_BOUND = 0x1p-48;
+    /** The seed of the walk edge order. */
+    private static final int WALK_SEED = 0x2545F491;
+    /** The first shift of the walk random number generator. */
+    private static final int XORSHIFT_1 = 13;
+    /** The second shift of the walk random number generator. */
+    private static final int XORSHIFT_2 = 17;
+    /** The third shift of the walk random number generator. */
+    private static final int XORSHIFT_3 = 5;
+
+    /** The vertex positions; the first four are the corners of the hull. */
+    private final List<Vector2> points = new ArrayList<>();
+    /**
+     * A triangle incident to each vertex, so that the triangles around a
+     * vertex can be visited.
+     */
+    private final IntArray vertexTriangle = new IntArray();
+    /** The vertices of the triangles, three per triangle, ccw. */
+    private final IntArray vertices = new IntArray();
+    /**
+     * The neighbors of the triangles, three per triangle; the neighbor
+     * {@code i} lies across the edge opposite vertex {@code i}, {@code -1}
+     * on the hull.
+     */
+    private final IntArray neighbors = new IntArray();
+    /** Whether the edge opposite each vertex of a triangle is constrained. */
+    private final BooleanArray constrained = new BooleanArray();
+
+    /** The triangle where the next walk starts. */
+    private int last;
+    /** The state of the walk random number generator. */
+    private int random = WALK_SEED;
+    /** The region of each triangle, or {@code null} if not labeled yet. */
+    private int[] regions;
+
+    /**
+     * Creates a new triangulation with no points.
+     *
+     * @param bounds the bounds of the points to insert; the triangulation
+     *               covers a margin around them as well
+     */
+    public ConstrainedTriangulation(final Rectangle bounds) {
+        float margin = Math.max(bounds.width, bounds.height) + 1;
+        float left = bounds.x - margin;
+        float bottom = bounds.y - margin;
+        float right = bounds.x + bounds.width + margin;
+        float top = bounds.y + bounds.height + margin;
+        points.add(new Vector2(left, bottom));
+        points.add(new Vector2(right, bottom));
+        points.add(new Vector2(right, top));
+        points.add(new Vector2(left, top));
+        addTriangle(0, 1, 2);
+        addTriangle(0, 2, 2 + 1);
+        neighbors.set(1, 1);
+        neighbors.set(SIDES + 2, 0);
+        vertexTriangle.addAll(0, 0, 0, 1);
+    }
+
+    /**
+     * Inserts a point.
+     *
+     * @param point the point to insert
+     * @return the vertex index of {@code point}; the index of the existing
+     *         vertex if there already is a vertex at {@code point}
+     * @throws IllegalArgumentException if {@code point} lies outside of the
+     *                                  triangulation
+     */
+    public int insert(final Vector2 point) {
+        int t = locate(point);
+        for (int i = 0; i < SIDES; i++) {
+            if (points.get(vertex(t, i)).equals(point)) {
+                return vertex(t, i);
+            }
+        }
+        regions = null;
+        int p = points.size();
+        points.add(point);
+        vertexTriangle.add(t);
+        IntArray legalize = new IntArray();
+        int edge = -1;
+        for (int i = 0; i < SIDES; i++) {
+            if (orientation(t, i, point) == 0) {
+                edge = i;
+            }
+        }
+        if (edge < 0) {
+            splitTriangle(t, p, legalize);
+        } else {
+            splitEdge(t, edge, p, legalize);
+        }
+        while (legalize.size > 0) {
+            int code = legalize.pop();
+            legalize(code / SIDES, code % SIDES, legalize);
+        }
+        return p;
+    }
+
+    /**
+     * Inserts a constraint segment, along with its endpoints.
+     *
+     * @param from the first endpoint
+     * @param to the second endpoint
+     * @throws IllegalArgumentException if the segment crosses a constraint
+     *                                  segment inserted before, or lies
+     *                                  outside of the triangulation
+     */
+    public void insert(final Vector2 from, final Vector2 to) {
+        int a = insert(from);
+        int b = insert(to);
+        regions = null;
+        while (a != b) {
+            a = constrain(a, b);
+        }
+    }
+
+    /**
+     * Returns the number of inserted points, without the hull corners.
+     *
+     * @return the number of inserted points
+     */
+    public int size() {
+        return points.size() - SIDES - 1;
+    }
+
+    /**
+     * Returns the region of the triangulation that contains {@code point}.
+     * <p>
+     * A region is a set of triangles connected across edges that are not
+     * constrained; the regions are numbered from {@code 0}, and the region
+     * that touches the hull is {@code 0}. A point on an edge or a vertex is
+     * in the region of either one of the triangles that share it.
+     *
+     * @param point the point to locate
+     * @return the region that contains {@code point}
+     * @throws IllegalArgumentException if {@code point} lies outside of the
+     *                                  triangulation
+     */
+    public int region(final Vector2 point) {
+        return regions()[locate(point)];
+    }
+
+    /**
+     * Returns the number of regions of the triangulation.
+     *
+     * @return the number of regions; the regions are numbered from
+     *         {@code 0}, see {@link #region(Vector2)}
+     */
+    public int regionCount() {
+        int count = 0;
+        for (int label : regions()) {
+            count = Math.max(count, label + 1);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the positions of the vertices of the triangles of a region.
+     * <p>
+     * These are the vertices on the boundary of the region and the
+     * vertices that stand alone inside it.
+     *
+     * @param region the region, see {@link #region(Vector2)}
+     * @return the vertex positions of the region, without the hull corners
+     */
+    public List<Vector2> vertices(final int region) {
+        int[] labels = regions();
+        boolean[] added = new boolean[points.size()];
+        List<Vector2> result = new ArrayList<>();
+        for (int t = 0; t < labels.length; t++) {
+            if (labels[t] != region) {
+                continue;
+            }
+            for (int i = 0; i < SIDES; i++) {
+                int v = vertex(t, i);
+                if (v > SIDES && !added[v]) {
+                    added[v] = true;
+                    result.add(points.get(v));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Labels the triangles with their regions, by a flood fill that stops
+     * at the constrained edges.
+     *
+     * @return the region of each triangle
+     */
+    private int[] regions() {
+        if (regions != null) {
+            return regions;
+        }
+        int count = vertices.size / SIDES;
+        int[] labels = new int[count];
+        Arrays.fill(labels, -1);
+        IntArray stack = new IntArray();
+        int next = 0;
+        for (int start = 0; start < count; start++) {
+            if (labels[start] >= 0) {
+                continue;
+            }
+            labels[start] = next;
+            stack.add(start);
+            while (stack.size > 0) {
+                int t = stack.pop();
+                for (int i = 0; i < SIDES; i++) {
+                    int n = neighbor(t, i);
+                    if (n >= 0 && labels[n] < 0 && !isConstrained(t, i)) {
+                        labels[n] = next;
+                        stack.add(n);
+                    }
+                }
+            }
+            next++;
+        }
+        regions = labels;
+        return labels;
+    }
+
+    /**
+     * Finds the triangle that contains {@code point} with a walk from the
+     * last triangle found.
+     * <p>
+     * The edges of each triangle are tried in a random order, so that the
+     * walk can't go round in circles.
+     *
+     * @param point the point to locate
+     * @return the triangle that contains {@code point}, or one of the
+     *         triangles that share the edge or the vertex that it lies on
+     * @throws IllegalArgumentException if {@code point} lies outside of the
+     *                                  triangulation
+     */
+    private int locate(final Vector2 point) {
+        int t = last;
+        int next = t;
+        while (next >= 0) {
+            t = next;
+            next = -1;
+            int first = nextRandom() % SIDES;
+            for (int k = 0; k < SIDES && next < 0; k++) {
+                int i = (first + k) % SIDES;
+                if (orientation(t, i, point) < 0) {
+                    next = neighbor(t, i);
+                    if (next < 0) {
+                        throw new IllegalArgumentException(
+                            "The point lies outside of the triangulation."
+                        );
+                    }
+                }
+            }
+        }
+        last = t;
+        return t;
+    }
+
+    /**
+     * Returns the next number of the walk random number generator, a
+     * xorshift generator.
+     *
+     * @return a non-negative random number
+     */
+    private int nextRandom() {
+        random ^= random << XORSHIFT_1;
+        random ^= random >>> XORSHIFT_2;
+        random ^= random << XORSHIFT_3;
+        return random & Integer.MAX_VALUE;
+    }
+
+    /**
+     * Makes {@code a-c} a constrained edge, where {@code c} is either
+     * {@code b} or the vertex closest to {@code a} that the segment
+     * {@code a-b} passes through.
+     *
+     * @param a the first endpoint
+     * @param b the second endpoint
+     * @return {@code c}
+     * @throws IllegalArgumentException if the segment crosses a constrained
+     *                                  edge
+     */
+    private int constrain(final int a, final int b) {
+        Vector2 pa = points.get(a);
+        Vector2 pb = points.get(b);
+
+        // Find the triangle around a that the segment leaves through
+        int t = vertexTriangle.get(a);
+        int k = indexOf(t, a);
+        while (true) {
+            int right = vertex(t, (k + 1) % SIDES);
+            int left = vertex(t, (k + 2) % SIDES);
+            if (right == b || left == b) {
+                setConstrained(a, b);
+                return b;
+            }
+            int c = Math.max(onSegment(pa, pb, right), onSegment(pa, pb, left));
+            if (c >= 0) {
+                setConstrained(a, c);
+                return c;
+            }
+            if (
+                new Orientation(pa, points.get(right), pb).intValue() > 0
+             && new Orientation(pa, pb, points.get(left)).intValue() > 0
+            ) {
+                break;
+            }
+            t = neighbor(t, (k + 1) % SIDES);
+            k = indexOf(t, a);
+        }
+
+        // Walk along the segment to its end or to the first vertex on it,
+        // collecting the crossed edges, the right endpoint first
+        IntArray crossed = new IntArray();
+        int c = -1;
+        while (c < 0) {
+            if (isConstrained(t, k)) {
+                throw new IllegalArgumentException(
+                    "The segment crosses a constraint."
+                );
+            }
+            int right = vertex(t, (k + 1) % SIDES);
+            int left = vertex(t, (k + 2) % SIDES);
+            crossed.add(right, left);
+            int n = neighbor(t, k);
+            int j = indexOfNeighbor(n, t);
+            int w = vertex(n, j);
+            int side = new Orientation(pa, pb, points.get(w)).intValue();
+            if (side == 0) {
+                c = w;
+            } else if (side > 0) {
+                // w is left of the segment, so the segment leaves through
+                // right-w, the edge opposite left
+                k = indexOf(n, left);
+            } else {
+                k = indexOf(n, right);
+            }
+            t = n;
+        }
+        Vector2 pc = points.get(c);
+
+        // Flip the crossed edges away
+        IntArray created = new IntArray();
+        int skipped = 0;
+        while (crossed.size > 0) {
+            int u = crossed.removeIndex(0);
+            int v = crossed.removeIndex(0);
+            int edge = findEdge(u, v);
+            int s = edge / SIDES;
+            int i = edge % SIDES;
+            int p = vertex(s, i);
+            int n = neighbor(s, i);
+            int q = vertex(n, indexOfNeighbor(n, s));
+            if (!isConvex(p, u, q, v)) {
+                crossed.add(u, v);
+                skipped++;
+                if (skipped > crossed.size / 2) {
+                    throw new IllegalStateException("Programming error!");
+                }
+                continue;
+            }
+            skipped = 0;
+            flip(s, i);
+            if (
+                new Orientation(pa, pc, points.get(p)).intValue()
+                    * new Orientation(pa, pc, points.get(q)).intValue() < 0
+            ) {
+                crossed.add(p, q);
+            } else {
+                created.add(p, q);
+            }
+        }
+        setConstrained(a, c);
+
+        // Restore the Delaunay property around the constraint
+        boolean flipped = true;
+        while (flipped) {
+            flipped = false;
+            for (int j = 0; j < created.size; j += 2) {
+                int u = created.get(j);
+                int v = created.get(j + 1);
+                int edge = findEdge(u, v);
+                int s = edge / SIDES;
+                int i = edge % SIDES;
+                if (isConstrained(s, i) || !isIllegal(s, i)) {
+                    continue;
+                }
+                int n = neighbor(s, i);
+                created.set(j, vertex(s, i));
+                created.set(j + 1, vertex(n, indexOfNeighbor(n, s)));
+                flip(s, i);
+                flipped = true;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Returns {@code v}, a neighbor of {@code a}, if it lies on the segment
+     * {@code a-b}.
+     * <p>
+     * The edge {@code a-v} contains no vertices, so {@code v} lies on the
+     * segment if it is on the same line and on the same side of {@code a}
+     * as {@code b}.
+     *
+     * @param a the first endpoint
+     * @param b the second endpoint
+     * @param v the vertex
+     * @return {@code v} if it lies on the segment, else {@code -1}
+     */
+    private int onSegment(final Vector2 a, final Vector2 b, final int v) {
+        Vector2 point = points.get(v);
+        if (
+            new Orientation(a, b, point).intValue() == 0
+         && ((double) point.x - a.x) * ((double) b.x - a.x)
+          + ((double) point.y - a.y) * ((double) b.y - a.y) > 0
+        ) {
+            return v;
+        }
+        return -1;
+    }
+
+    /**
+     * Splits a triangle into three at a new vertex inside it.
+     *
+     * @param t the triangle
+     * @param p the new vertex
+     * @param legalize collects the edges to legalize
+     */
+    private void splitTriangle(
+        final int t,
+        final int p,
+        final IntArray legalize
+    ) {
+        int v0 = vertex(t, 0);
+        int v1 = vertex(t, 1);
+        int v2 = vertex(t, 2);
+        int n0 = neighbor(t, 0);
+        int n1 = neighbor(t, 1);
+        int n2 = neighbor(t, 2);
+        boolean c0 = isConstrained(t, 0);
+        boolean c1 = isConstrained(t, 1);
+        boolean c2 = isConstrained(t, 2);
+        int t1 = addTriangle(p, v2, v0);
+        int t2 = addTriangle(p, v0, v1);
+        setTriangle(t, p, v1, v2, n0, t1, t2, c0, false, false);
+        setTriangle(t1, p, v2, v0, n1, t2, t, c1, false, false);
+        setTriangle(t2, p, v0, v1, n2, t, t1, c2, false, false);
+        replaceNeighbor(n1, t, t1);
+        replaceNeighbor(n2, t, t2);
+        vertexTriangle.set(v0, t1);
+        vertexTriangle.set(v1, t);
+        vertexTriangle.set(v2, t);
+        vertexTriangle.set(p, t);
+        legalize.addAll(t * SIDES, t1 * SIDES, t2 * SIDES);
+    }
+
+    /**
+     * Splits the two triangles that share an edge into four at a new vertex
+     * on the edge.
+     *
+     * @param t the triangle
+     * @param i the edge of {@code t}
+     * @param p the new vertex
+     * @param legalize collects the edges to legalize
+     */
+    private void splitEdge(
+        final int t,
+        final int i,
+        final int p,
+        final IntArray legalize
+    ) {
+        int a = vertex(t, i);
+        int e1 = vertex(t, (i + 1) % SIDES);
+        int e2 = vertex(t, (i + 2) % SIDES);
+        int na1 = neighbor(t, (i + 2) % SIDES);
+        int na2 = neighbor(t, (i + 1) % SIDES);
+        boolean ca1 = isConstrained(t, (i + 2) % SIDES);
+        boolean ca2 = isConstrained(t, (i + 1) % SIDES);
+        boolean split = isConstrained(t, i);
+        int s = neighbor(t, i);
+        int j = indexOfNeighbor(s, t);
+        int b = vertex(s, j);
+        int nb1 = neighbor(s, (j + 1) % SIDES);
+        int nb2 = neighbor(s, (j + 2) % SIDES);
+        boolean cb1 = isConstrained(s, (j + 1) % SIDES);
+        boolean cb2 = isConstrained(s, (j + 2) % SIDES);
+        int t2 = addTriangle(a, p, e2);
+        int s2 = addTriangle(b, p, e1);
+        setTriangle(t, a, e1, p, s2, t2, na1, split, false, ca1);
+        setTriangle(t2, a, p, e2, s, na2, t, split, ca2, false);
+        setTriangle(s, b, e2, p, t2, s2, nb2, split, false, cb2);
+        setTriangle(s2, b, p, e1, t, nb1, s, split, cb1, false);
+        replaceNeighbor(na2, t, t2);
+        replaceNeighbor(nb1, s, s2);
+        vertexTriangle.set(a, t);
+        vertexTriangle.set(e1, t);
+        vertexTriangle.set(e2, s);
+        vertexTriangle.set(b, s);
+        vertexTriangle.set(p, t);
+        legalize.addAll(
+            t * SIDES + 2,
+            t2 * SIDES + 1,
+            s * SIDES + 2,
+            s2 * SIDES + 1
+        );
+    }
+
+    /**
+     * Flips the edge {@code i} of the triangle {@code t}, unless it is
+     * Delaunay or constrained, and queues the edges that may have become
+     * illegal.
+     *
+     * @param t the triangle
+     * @param i the edge of {@code t}
+     * @param legalize collects the edges to legalize
+     */
+    private void legalize(final int t, final int i, final IntArray legalize) {
+        int s = neighbor(t, i);
+        if (s < 0 || isConstrained(t, i) || !isIllegal(t, i)) {
+            return;
+        }
+        flip(t, i);
+        legalize.add(t * SIDES);
+        legalize.add(s * SIDES + 2);
+    }
+
+    /**
+     * Checks whether the edge {@code i} of the triangle {@code t} is not
+     * Delaunay: the opposite vertex of the neighbor lies inside the
+     * circumcircle of {@code t}, and the two triangles form a convex
+     * quadrilateral.
+     *
+     * @param t the triangle
+     * @param i the edge of {@code t}
+     * @return {@code true} if the edge should be flipped
+     */
+    private boolean isIllegal(final int t, final int i) {
+        int n = neighbor(t, i);
+        int q = vertex(n, indexOfNeighbor(n, t));
+        Vector2 a = points.get(vertex(t, 0));
+        Vector2 b = points.get(vertex(t, 1));
+        Vector2 c = points.get(vertex(t, 2));
+        Vector2 d = points.get(q);
+        double adx = (double) a.x - d.x;
+        double ady = (double) a.y - d.y;
+        double bdx = (double) b.x - d.x;
+        double bdy = (double) b.y - d.y;
+        double cdx = (double) c.x - d.x;
+        double cdy = (double) c.y - d.y;
+        double alift = adx * adx + ady * ady;
+        double blift = bdx * bdx + bdy * bdy;
+        double clift = cdx * cdx + cdy * cdy;
+        double bc = bdx * cdy - cdx * bdy;
+        double ca = cdx * ady - adx * cdy;
+        double ab = adx * bdy - bdx * ady;
+        double det = alift * bc + blift * ca + clift * ab;
+        double permanent =
+            (Math.abs(bdx * cdy) + Math.abs(cdx * bdy)) * alift
+          + (Math.abs(cdx * ady) + Math.abs(adx * cdy)) * blift
+          + (Math.abs(adx * bdy) + Math.abs(bdx * ady)) * clift;
+        return
+            det > INCIRCLE_ERROR_BOUND * permanent
+         && isConvex(
+                vertex(t, i),
+                vertex(t, (i + 1) % SIDES),
+                q,
+                vertex(t, (i + 2) % SIDES)
+            );
+    }
+
+    /**
+     * Checks whether the quadrilateral {@code p, u, q, v} is strictly
+     * convex, so that its diagonal {@code u-v} can be flipped to
+     * {@code p-q}.
+     *
+     * @param p the first vertex
+     * @param u the second vertex
+     * @param q the third vertex
+     * @param v the fourth vertex
+     * @return {@code true} if the diagonals cross
+     */
+    private boolean isConvex(
+        final int p,
+        final int u,
+        final int q,
+        final int v
+    ) {
+        Vector2 pp = points.get(p);
+        Vector2 pq = points.get(q);
+        return
+            new Orientation(pp, pq, points.get(u)).intValue()
+                * new Orientation(pp, pq, points.get(v)).intValue() < 0;
+    }
+
+    /**
+     * Flips the edge {@code i} of the triangle {@code t}: the two triangles
+     * that share the edge are replaced with the two triangles that share the
+     * other diagonal of their quadrilateral.
+     * <p>
+     * If {@code p} is the vertex {@code i} of {@code t}, {@code t} becomes
+     * the triangle with {@code p} at vertex {@code 0}, and its neighbor
+     * becomes the triangle with {@code p} at vertex {@code 2}.
+     *
+     * @param t the triangle
+     * @param i the edge of {@code t}
+     */
+    private void flip(final int t, final int i) {
+        int p = vertex(t, i);
+        int e1 = vertex(t, (i + 1) % SIDES);
+        int e2 = vertex(t, (i + 2) % SIDES);
+        int a = neighbor(t, (i + 2) % SIDES);
+        int b = neighbor(t, (i + 1) % SIDES);
+        boolean ca = isConstrained(t, (i + 2) % SIDES);
+        boolean cb = isConstrained(t, (i + 1) % SIDES);
+        int s = neighbor(t, i);
+        int j = indexOfNeighbor(s, t);
+        int q = vertex(s, j);
+        int c = neighbor(s, (j + 1) % SIDES);
+        int d = neighbor(s, (j + 2) % SIDES);
+        boolean cc = isConstrained(s, (j + 1) % SIDES);
+        boolean cd = isConstrained(s, (j + 2) % SIDES);
+        setTriangle(t, p, e1, q, c, s, a, cc, false, ca);
+        setTriangle(s, q, e2, p, b, t, d, cb, false, cd);
+        replaceNeighbor(b, t, s);
+        replaceNeighbor(c, s, t);
+        vertexTriangle.set(p, t);
+        vertexTriangle.set(e1, t);
+        vertexTriangle.set(q, t);
+        vertexTriangle.set(e2, s);
+    }
+
+    /**
+     * Returns the edge between two vertices.
+     *
+     * @param u the first vertex
+     * @param v the second vertex
+     * @return {@code t * 3 + i}, where {@code i} is the edge of the triangle
+     *         {@code t} between {@code u} and {@code v}
+     */
+    private int findEdge(final int u, final int v) {
+        // Around a hull corner, the triangles are visited in both directions
+        for (int turn = 1; turn <= 2; turn++) {
+            int t = vertexTriangle.get(u);
+            int first = t;
+            do {
+                int k = indexOf(t, u);
+                if (vertex(t, (k + 1) % SIDES) == v) {
+                    return t * SIDES + (k + 2) % SIDES;
+                }
+                if (vertex(t, (k + 2) % SIDES) == v) {
+                    return t * SIDES + (k + 1) % SIDES;
+                }
+                t = neighbor(t, (k + turn) % SIDES);
+            } while (t != first && t >= 0);
+        }
+        throw new IllegalStateException("Programming error!");
+    }
+
+    /**
+     * Marks the edge between two vertices as constrained, on both sides.
+     *
+     * @param u the first vertex
+     * @param v the second vertex
+     */
+    private void setConstrained(final int u, final int v) {
+        int edge = findEdge(u, v);
+        int t = edge / SIDES;
+        int i = edge % SIDES;
+        constrained.set(edge, true);
+        int n = neighbor(t, i);
+        constrained.set(n * SIDES + indexOfNeighbor(n, t), true);
+    }
+
+    /**
+     * Returns the orientation of {@code point} with respect to the edge
+     * {@code i} of the triangle {@code t}.
+     *
+     * @param t the triangle
+     * @param i the edge
+     * @param point the point
+     * @return {@code 1} if {@code point} is on the inner side of the edge,
+     *         {@code -1} if it is on the outer side, {@code 0} if on the
+     *         edge line
+     */
+    private int orientation(final int t, final int i, final Vector2 point) {
+        return
+            new Orientation(
+                points.get(vertex(t, (i + 1) % SIDES)),
+                points.get(vertex(t, (i + 2) % SIDES)),
+                point
+            ).intValue();
+    }
+
+    /**
+     * Returns the vertex {@code i} of the triangle {@code t}.
+     *
+     * @param t the triangle
+     * @param i the vertex of the triangle, {@code 0}, {@code 1} or
+     *          {@code 2}
+     * @return the vertex index
+     */
+    private int vertex(final int t, final int i) {
+        return vertices.get(t * SIDES + i);
+    }
+
+    /**
+     * Returns the neighbor of the triangle {@code t} across the edge
+     * {@code i}.
+     *
+     * @param t the triangle
+     * @param i the edge of the triangle
+     * @return the neighbor, or {@code -1} on the hull
+     */
+    private int neighbor(final int t, final int i) {
+        return neighbors.get(t * SIDES + i);
+    }
+
+    /**
+     * Checks whether the edge {@code i} of the triangle {@code t} is
+     * constrained.
+     *
+     * @param t the triangle
+     * @param i the edge of the triangle
+     * @return {@code true} if the edge is constrained
+     */
+    private boolean isConstrained(final int t, final int i) {
+        return constrained.get(t * SIDES + i);
+    }
+
+    /**
+     * Returns the position of a vertex in a triangle.
+     *
+     * @param t the triangle
+     * @param v the vertex
+     * @return {@code i}, such that {@code v} is the vertex {@code i} of
+     *         {@code t}
+     */
+    private int indexOf(final int t, final int v) {
+        for (int i = 0; i < SIDES; i++) {
+            if (vertex(t, i) == v) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Programming error!");
+    }
+
+    /**
+     * Returns the edge of a triangle across which a neighbor lies.
+     *
+     * @param t the triangle
+     * @param n the neighbor
+     * @return {@code i}, such that {@code n} is the neighbor {@code i} of
+     *         {@code t}
+     */
+    private int indexOfNeighbor(final int t, final int n) {
+        for (int i = 0; i < SIDES; i++) {
+            if (neighbor(t, i) == n) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Programming error!");
+    }
+
+    /**
+     * Adds a new triangle with no neighbors.
+     *
+     * @param v0 the first vertex
+     * @param v1 the second vertex
+     * @param v2 the third vertex
+     * @return the new triangle
+     */
+    private int addTriangle(final int v0, final int v1, final int v2) {
+        int t = vertices.size / SIDES;
+        vertices.addAll(v0, v1, v2);
+        neighbors.addAll(-1, -1, -1);
+        constrained.addAll(false, false, false);
+        return t;
+    }
+
+    /**
+     * Sets the vertices, neighbors and constrained edges of a triangle.
+     *
+     * @param t the triangle
+     * @param v0 the first vertex
+     * @param v1 the second vertex
+     * @param v2 the third vertex
+     * @param n0 the neighbor opposite {@code v0}
+     * @param n1 the neighbor opposite {@code v1}
+     * @param n2 the neighbor opposite {@code v2}
+     * @param c0 whether the edge opposite {@code v0} is constrained
+     * @param c1 whether the edge opposite {@code v1} is constrained
+     * @param c2 whether the edge opposite {@code v2} is constrained
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void setTriangle(
+        final int t,
+        final int v0,
+        final int v1,
+        final int v2,
+        final int n0,
+        final int n1,
+        final int n2,
+        final boolean c0,
+        final boolean c1,
+        final boolean c2
+    ) {
+        int base = t * SIDES;
+        vertices.set(base, v0);
+        vertices.set(base + 1, v1);
+        vertices.set(base + 2, v2);
+        neighbors.set(base, n0);
+        neighbors.set(base + 1, n1);
+        neighbors.set(base + 2, n2);
+        constrained.set(base, c0);
+        constrained.set(base + 1, c1);
+        constrained.set(base + 2, c2);
+    }
+
+    /**
+     * Replaces a neighbor of a triangle.
+     *
+     * @param t the triangle, or {@code -1} for none
+     * @param old the old neighbor
+     * @param replacement the new neighbor
+     */
+    private void replaceNeighbor(
+        final int t,
+        final int old,
+        final int replacement
+    ) {
+        if (t >= 0) {
+            neighbors.set(t * SIDES + indexOfNeighbor(t, old), replacement);
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A force-directed layout of a plane straight-line drawing, on the lattice
+ * of {@link LatticePoint}, that keeps the drawing plane.
+ * <p>
+ * The nodes repel each other, the segments pull their endpoints together,
+ * the nodes of a polyline are pulled towards the middle of their two
+ * neighbors and all the nodes are pulled gently towards the middle of the
+ * bounds (Fruchterman and Reingold). The moves shrink as the layout cools
+ * down, and every move is cut short so that no node can run into a
+ * segment: a node moves less than half of the way towards a segment, and
+ * the segment less than half of the way towards the node (the PrEd
+ * algorithm of Bertault). So the segments never cross and the edge order
+ * around every node stays the same.
+ * <p>
+ * Only the nodes and the segments that are close enough to limit each
+ * other's moves are compared, by binning the nodes in a grid, and the nodes
+ * only repel the others up to a few times their ideal distance. A round
+ * takes {@code O(n)} time for {@code n} nodes that are spread out evenly.
+ */
+public final class ForceDirectedLayout {
+    /** The number of rounds of moves. */
+    private static final int ROUNDS = 40;
+    /**
+     * The ideal distance between the nodes, relative to the square root of
+     * the area per node.
+     */
+    private static final double IDEAL_DISTANCE = .5;
+    /** The distance up to which the nodes repel, in ideal distances. */
+    private static final double REPULSION_REACH = 4;
+    /** The pull towards the middle of the neighbors of a polyline node. */
+    private static final double STRAIGHTENING = .5;
+    /** The pull towards the middle of the bounds. */
+    private static final double GRAVITY = .005;
+    /**
+     * The minimum size of a grid cell, relative to the distance within
+     * which a segment limits a move; large enough that the cells around
+     * the points sampled every half a cell along a segment cover it.
+     */
+    private static final double CELL_REACH = 1.5;
+    /** The maximum number of grid cells across the bounds. */
+    private static final int GRID_SIZE = 64;
+
+    /** The fixed-point x coordinates of the nodes. */
+    private final long[] xs;
+    /** The fixed-point y coordinates of the nodes. */
+    private final long[] ys;
+    /** The endpoint pairs of the segments. */
+    private final int[] segments;
+    /** The first neighbor of each polyline node, or {@code -1}. */
+    private final int[] previous;
+    /** The second neighbor of each polyline node, or {@code -1}. */
+    private final int[] following;
+
+    /** The x coordinate of the grid origin. */
+    private long gridX;
+    /** The y coordinate of the grid origin. */
+    private long gridY;
+    /** The size of a grid cell. */
+    private double cellSize;
+    /** The number of grid columns. */
+    private int columns;
+    /** The number of grid rows. */
+    private int rows;
+    /** The start of the nodes of each cell in {@code cellNodes}. */
+    private int[] cellStart;
+    /** The nodes, by cell. */
+    private int[] cellNodes;
+    /** The last segment that visited each cell. */
+    private int[] visited;
+
+    /**
+     * Creates a new layout of a plane drawing.
+     * <p>
+     * The nodes must lie on the lattice and the segments mustn't cross,
+     * touch or overlap, except at their endpoints. A polyline node must
+     * be an endpoint of exactly two segments.
+     *
+     * @param positions the positions of the nodes
+     * @param segments the node pairs of the segments
+     * @param polyline whether each node is an inner node of a polyline
+     */
+    public ForceDirectedLayout(
+        final Vector2[] positions,
+        final IntArray segments,
+        final boolean[] polyline
+    ) {
+        int n = positions.length;
+        this.xs = new long[n];
+        this.ys = new long[n];
+        for (int i = 0; i < n; i++) {
+            LatticePoint point = new LatticePoint(positions[i]);
+            xs[i] = point.x();
+            ys[i] = point.y();
+        }
+        this.segments = segments.toArray();
+        this.previous = new int[n];
+        this.following = new int[n];
+        Arrays.fill(previous, -1);
+        Arrays.fill(following, -1);
+        for (int s = 0; s < this.segments.length; s += 2) {
+            int a = this.segments[s];
+            int b = this.segments[s + 1];
+            if (polyline[a]) {
+                link(a, b);
+            }
+            if (polyline[b]) {
+                link(b, a);
+            }
+        }
+    }
+
+    /**
+     * Adds a neighbor of a polyline node.
+     *
+     * @param node the polyline node
+     * @param neighbor the neighbor
+     */
+    private void link(final int node, final int neighbor) {
+        if (previous[node] < 0) {
+            previous[node] = neighbor;
+        } else {
+            following[node] = neighbor;
+        }
+    }
+
+    /**
+     * Lays out the nodes inside of {@code bounds}.
+     *
+     * @param bounds the bounds of the layout, around all the nodes
+     */
+    public void layOut(final Rectangle bounds) {
+        int n = xs.length;
+        long minX = (long) Math.ceil(bounds.x / LatticePoint.SPACING);
+        long minY = (long) Math.ceil(bounds.y / LatticePoint.SPACING);
+        long maxX =
+            (long) Math.floor((bounds.x + bounds.width) / LatticePoint.SPACING);
+        long maxY =
+            (long) Math.floor(
+                (bounds.y + bounds.height) / LatticePoint.SPACING
+            );
+        double extent = Math.max(maxX - minX, maxY - minY);
+        double k =
+            IDEAL_DISTANCE
+          * Math.sqrt((double) (maxX - minX) * (maxY - minY) / n);
+
+        double[] dispX = new double[n];
+        double[] dispY = new double[n];
+        double[] scale = new double[n];
+        for (int round = 0; round < ROUNDS; round++) {
+            double temperature = k * (1 - (double) round / ROUNDS);
+            Arrays.fill(dispX, 0);
+            Arrays.fill(dispY, 0);
+            repel(k, extent, dispX, dispY);
+            for (int s = 0; s < segments.length; s += 2) {
+                int a = segments[s];
+                int b = segments[s + 1];
+                double dx = xs[a] - xs[b];
+                double dy = ys[a] - ys[b];
+                double force = Math.sqrt(dx * dx + dy * dy) / k;
+                dispX[a] -= dx * force;
+                dispY[a] -= dy * force;
+                dispX[b] += dx * force;
+                dispY[b] += dy * force;
+            }
+            for (int i = 0; i < n; i++) {
+                if (following[i] >= 0) {
+                    int a = previous[i];
+                    int b = following[i];
+                    dispX[i] += STRAIGHTENING * ((xs[a] + xs[b]) / 2.0 - xs[i]);
+                    dispY[i] += STRAIGHTENING * ((ys[a] + ys[b]) / 2.0 - ys[i]);
+                }
+                double gx = (minX + maxX) / 2.0 - xs[i];
+                double gy = (minY + maxY) / 2.0 - ys[i];
+                double force = GRAVITY * Math.sqrt(gx * gx + gy * gy) / k;
+                dispX[i] += gx * force;
+                dispY[i] += gy * force;
+            }
+
+            for (int i = 0; i < n; i++) {
+                double length =
+                    Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+                scale[i] = 1;
+                if (length > temperature) {
+                    scale[i] = temperature / length;
+                }
+                scale[i] =
+                    bound(scale[i], dispX[i], minX - xs[i], maxX - xs[i]);
+                scale[i] =
+                    bound(scale[i], dispY[i], minY - ys[i], maxY - ys[i]);
+            }
+            // A segment limits the moves of the nodes closer to it than
+            // twice the longest move
+            double reach = 2 * (temperature + 1);
+            index(Math.max(CELL_REACH * reach, extent / GRID_SIZE));
+            for (int s = 0; s < segments.length; s += 2) {
+                separate(s, reach, dispX, dispY, scale);
+            }
+            for (int i = 0; i < n; i++) {
+                xs[i] += Math.round(dispX[i] * scale[i]);
+                ys[i] += Math.round(dispY[i] * scale[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds the repulsive forces between the nodes.
+     *
+     * @param k the ideal distance between the nodes
+     * @param extent the larger side of the bounds
+     * @param dispX the x displacements to add to
+     * @param dispY the y displacements to add to
+     */
+    private void repel(
+        final double k,
+        final double extent,
+        final double[] dispX,
+        final double[] dispY
+    ) {
+        double reach = REPULSION_REACH * k;
+        index(Math.max(reach, extent / GRID_SIZE));
+        for (int i = 0; i < xs.length; i++) {
+            int column = column(xs[i]);
+            int row = row(ys[i]);
+            for (
+                int r = Math.max(0, row - 1);
+                r <= Math.min(rows - 1, row + 1);
+                r++
+            ) {
+                for (
+                    int c = Math.max(0, column - 1);
+                    c <= Math.min(columns - 1, column + 1);
+                    c++
+                ) {
+                    int cell = r * columns + c;
+                    for (
+                        int m = cellStart[cell];
+                        m < cellStart[cell + 1];
+                        m++
+                    ) {
+                        int j = cellNodes[m];
+                        if (j <= i) {
+                            continue;
+                        }
+                        double dx = xs[i] - xs[j];
+                        double dy = ys[i] - ys[j];
+                        double distance2 = dx * dx + dy * dy;
+                        if (distance2 >= reach * reach) {
+                            continue;
+                        }
+                        double force = k * k / distance2;
+                        dispX[i] += dx * force;
+                        dispY[i] += dy * force;
+                        dispX[j] -= dx * force;
+                        dispY[j] -= dy * force;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Limits the moves of a segment and the nodes around it so that none of
+     * the nodes can reach the segment.
+     * <p>
+     * The move of a node towards the nearest point of the segment, and the
+     * moves of the endpoints away from the node, must be shorter than half
+     * of the distance between them, less the rounding to the lattice.
+     *
+     * @param segment the index of the first endpoint of the segment in
+     *                {@code segments}
+     * @param reach the distance within which the segment limits the moves
+     * @param dispX the x displacements
+     * @param dispY the y displacements
+     * @param scale the move scale factors to limit
+     */
+    private void separate(
+        final int segment,
+        final double reach,
+        final double[] dispX,
+        final double[] dispY,
+        final double[] scale
+    ) {
+        int a = segments[segment];
+        int b = segments[segment + 1];
+        double abx = xs[b] - xs[a];
+        double aby = ys[b] - ys[a];
+        double length2 = abx * abx + aby * aby;
+        double inverse = 1 / length2;
+        double reach2 = reach * reach;
+        int steps = (int) Math.ceil(2 * Math.sqrt(length2) / cellSize);
+        for (int step = 0; step <= steps; step++) {
+            int column = column(Math.round(xs[a] + abx * step / steps));
+            int row = row(Math.round(ys[a] + aby * step / steps));
+            for (
+                int r = Math.max(0, row - 1);
+                r <= Math.min(rows - 1, row + 1);
+                r++
+            ) {
+                for (
+                    int c = Math.max(0, column - 1);
+                    c <= Math.min(columns - 1, column + 1);
+                    c++
+                ) {
+                    int cell = r * columns + c;
+                    if (visited[cell] == segment) {
+                        continue;
+                    }
+                    visited[cell] = segment;
+                    for (
+                        int m = cellStart[cell];
+                        m < cellStart[cell + 1];
+                        m++
+                    ) {
+                        int v = cellNodes[m];
+                        double avx = xs[v] - xs[a];
+                        double avy = ys[v] - ys[a];
+                        double t = (avx * abx + avy * aby) * inverse;
+                        if (t < 0) {
+                            t = 0;
+                        } else if (t > 1) {
+                            t = 1;
+                        }
+                        // From the node to the nearest point of the segment
+                        double nx = t * abx - avx;
+                        double ny = t * aby - avy;
+                        double distance2 = nx * nx + ny * ny;
+                        if (distance2 >= reach2 || v == a || v == b) {
+                            continue;
+                        }
+                        double distance = Math.sqrt(distance2);
+                        double limit = distance / 2 - 1;
+                        nx /= distance;
+                        ny /= distance;
+                        double toward = dispX[v] * nx + dispY[v] * ny;
+                        double awayA = -dispX[a] * nx - dispY[a] * ny;
+                        double awayB = -dispX[b] * nx - dispY[b] * ny;
+                        scale[v] = limit(scale[v], toward, limit);
+                        scale[a] = limit(scale[a], awayA, limit);
+                        scale[b] = limit(scale[b], awayB, limit);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bins the nodes in a grid.
+     *
+     * @param size the minimum size of a grid cell
+     */
+    private void index(final double size) {
+        int n = xs.length;
+        long left = Long.MAX_VALUE;
+        long bottom = Long.MAX_VALUE;
+        long right = Long.MIN_VALUE;
+        long top = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            left = Math.min(left, xs[i]);
+            bottom = Math.min(bottom, ys[i]);
+            right = Math.max(right, xs[i]);
+            top = Math.max(top, ys[i]);
+        }
+        gridX = left;
+        gridY = bottom;
+        cellSize = size;
+        columns = (int) ((right - left) / size) + 1;
+        rows = (int) ((top - bottom) / size) + 1;
+
+        int[] cells = new int[n];
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < n; i++) {
+            cells[i] = row(ys[i]) * columns + column(xs[i]);
+            cellStart[cells[i] + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        cellNodes = new int[n];
+        int[] fill = new int[columns * rows];
+        for (int i = 0; i < n; i++) {
+            cellNodes[cellStart[cells[i]] + fill[cells[i]]++] = i;
+        }
+        visited = new int[columns * rows];
+        Arrays.fill(visited, -1);
+    }
+
+    /**
+     * Returns the grid column of an x coordinate.
+     *
+     * @param x the x coordinate
+     * @return the column
+     */
+    private int column(final long x) {
+        return (int) Math.max(0, Math.min(columns - 1, (x - gridX) / cellSize));
+    }
+
+    /**
+     * Returns the grid row of a y coordinate.
+     *
+     * @param y the y coordinate
+     * @return the row
+     */
+    private int row(final long y) {
+        return (int) Math.max(0, Math.min(rows - 1, (y - gridY) / cellSize));
+    }
+
+    /**
+     * Limits a move scale factor so that the move goes less than
+     * {@code limit} in some direction.
+     *
+     * @param scale the scale factor
+     * @param toward the length of the whole move in the direction
+     * @param limit the distance to stay within
+     * @return the limited scale factor
+     */
+    private static double limit(
+        final double scale,
+        final double toward,
+        final double limit
+    ) {
+        if (toward <= 0) {
+            return scale;
+        }
+        if (limit <= 0) {
+            return 0;
+        }
+        return Math.min(scale, limit / toward);
+    }
+
+    /**
+     * Limits a move scale factor so that the move stays inside of an
+     * interval, along one axis.
+     *
+     * @param scale the scale factor
+     * @param disp the whole move along the axis
+     * @param low the distance to the low end of the interval, at most 0
+     * @param high the distance to the high end of the interval, at least 0
+     * @return the limited scale factor
+     */
+    private static double bound(
+        final double scale,
+        final double disp,
+        final double low,
+        final double high
+    ) {
+        double result = scale;
+        if (disp > 0) {
+            result = Math.min(result, Math.max(0, high - 1) / disp);
+        } else if (disp < 0) {
+            result = Math.min(result, Math.min(0, low + 1) / disp);
+        }
+        return Math.max(0, result);
+    }
+
+    /**
+     * Returns the position of a node.
+     *
+     * @param node the node
+     * @return a new vector with the position of the node, on the lattice
+     */
+    public Vector2 position(final int node) {
+        return new LatticePoint((int) xs[node], (int) ys[node]).position();
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.util.Check;
+
+/**
+ * This class represents a check that tests whether two line segments
+ * cross or touch.
+ * <p>
+ * The check is decided by four exact {@link Orientation}s, so it gives the
+ * same answer for nearly collinear or nearly touching segments as for any
+ * others. Collinear segments are <em>not</em> considered crossing, even if
+ * they overlap.
+ */
+public final class IsSegmentCrossing implements Check {
+    /** The first endpoint of the first segment. */
+    private final Vector2 p0;
+    /** The second endpoint of the first segment. */
+    private final Vector2 p1;
+    /** The first endpoint of the second segment. */
+    private final Vector2 q0;
+    /** The second endpoint of the second segment. */
+    private final Vector2 q1;
+
+    /**
+     * Creates a new check that tests whether segments {@code p0-p1} and
+     * {@code q0-q1} cross or touch.
+     *
+     * @param p0 the first endpoint of the first segment
+     * @param p1 the second endpoint of the first segment
+     * @param q0 the first endpoint of the second segment
+     * @param q1 the second endpoint of the second segment
+     */
+    public IsSegmentCrossing(
+        final Vector2 p0,
+        final Vector2 p1,
+        final Vector2 q0,
+        final Vector2 q1
+    ) {
+        this.p0 = p0;
+        this.p1 = p1;
+        this.q0 = q0;
+        this.q1 = q1;
+    }
+
+    @Override
+    public boolean check() {
+        int q0Side = new Orientation(p0, p1, q0).intValue();
+        int q1Side = new Orientation(p0, p1, q1).intValue();
+        if (q0Side == q1Side) {
+            // both on the same side, or all four points collinear
+            return false;
+        }
+        int p0Side = new Orientation(q0, q1, p0).intValue();
+        int p1Side = new Orientation(q0, q1, p1).intValue();
+        return p0Side != p1Side;
+    }
+}
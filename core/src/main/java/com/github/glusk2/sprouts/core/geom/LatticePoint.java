@@ -0,0 +1,123 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A point snapped to a fixed-point integer lattice.
+ * <p>
+ * The coordinates are stored as integer multiples of {@link #SPACING}, so
+ * two lattice points are equal exactly when their integer coordinates are,
+ * and they hash without going through {@code float} bits. The spacing is a
+ * power of two and the coordinates of a game board are far below
+ * {@code 2^(24 - FRACTION_BITS)}, so {@link #position()} is exact: a point
+ * that is snapped again stays where it is.
+ * <p>
+ * Positions that are computed in different ways, but are meant to be the
+ * same (for example, an intersection and the end of the stroke that was cut
+ * at it) snap to the same lattice point, unless they straddle a rounding
+ * boundary.
+ * <p>
+ * The lattice is used for vertex identity only (see
+ * {@link com.github.glusk2.sprouts.core.comb.PresetVertex}). Polyline
+ * points, the inputs of the crossing and rotation predicates and their
+ * tolerances stay in raw {@code float}s, so the end point of an edge
+ * polyline may lie up to half a {@link #SPACING} away from the position of
+ * its end vertex.
+ */
+public final class LatticePoint {
+    /** The number of fractional bits of the fixed-point coordinates. */
+    public static final int FRACTION_BITS = 8;
+    /** The distance between neighbouring lattice points. */
+    public static final float SPACING = 1f / (1 << FRACTION_BITS);
+    /** The mask of the low half of a {@code long}. */
+    private static final long LOW_HALF_MASK = (1L << Integer.SIZE) - 1;
+
+    /** The fixed-point x coordinate. */
+    private final int x;
+    /** The fixed-point y coordinate. */
+    private final int y;
+
+    /**
+     * Creates a new lattice point, by snapping {@code position} to the
+     * nearest lattice point.
+     *
+     * @param position the position to snap
+     */
+    public LatticePoint(final Vector2 position) {
+        this(
+            Math.round(position.x * (1 << FRACTION_BITS)),
+            Math.round(position.y * (1 << FRACTION_BITS))
+        );
+    }
+
+    /**
+     * Creates a new lattice point from fixed-point coordinates.
+     *
+     * @param x the fixed-point x coordinate
+     * @param y the fixed-point y coordinate
+     */
+    public LatticePoint(final int x, final int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns the fixed-point x coordinate.
+     *
+     * @return the x coordinate, in multiples of {@link #SPACING}
+     */
+    public int x() {
+        return x;
+    }
+
+    /**
+     * Returns the fixed-point y coordinate.
+     *
+     * @return the y coordinate, in multiples of {@link #SPACING}
+     */
+    public int y() {
+        return y;
+    }
+
+    /**
+     * Returns the position of this lattice point.
+     *
+     * @return a new vector with the exact position of this lattice point
+     */
+    public Vector2 position() {
+        return new Vector2(x * SPACING, y * SPACING);
+    }
+
+    /**
+     * Returns both fixed-point coordinates packed into a single
+     * {@code long}; {@code x} in the high and {@code y} in the low half.
+     *
+     * @return the packed coordinates
+     */
+    public long packed() {
+        return ((long) x << Integer.SIZE) | (y & LOW_HALF_MASK);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        return prime * x + y;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LatticePoint)) {
+            return false;
+        }
+        LatticePoint that = (LatticePoint) obj;
+        return x == that.x && y == that.y;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x * SPACING + ", " + y * SPACING + ")";
+    }
+}
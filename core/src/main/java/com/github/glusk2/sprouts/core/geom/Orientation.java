@@ -0,0 +1,224 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.math.BigDecimal;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * The orientation of three points: the sign of the cross product
+ * {@code (b - a) x (c - a)}.
+ * <p>
+ * The value is {@code 1} if {@code a, b, c} turn counterclockwise,
+ * {@code -1} if they turn clockwise and {@code 0} if they are collinear.
+ * <p>
+ * The sign is exact. The cross product is first evaluated in
+ * {@code double}, which is exact enough for almost every input; only if the
+ * result is within the rounding error bound of that evaluation (the
+ * points are nearly collinear) is it evaluated again in exact arithmetic.
+ * This is a shortened form of Shewchuk's adaptive {@code orient2d}
+ * predicate. Coincident points, which are common (an edge
+ * compared with itself), are told apart up front.
+ */
+public final class Orientation extends Number {
+    /** Half the distance from {@code 1} to the next {@code double}. */
+    private static final double EPSILON = 0x1p-53;
+    /**
+     * The relative error bound of the {@code double} evaluation, as derived
+     * by Shewchuk.
+     */
+    private static final double ERROR_BOUND = (3 + 16 * EPSILON) * EPSILON;
+    /** Splits a {@code double} into two halves of 26 bits, {@code 2^27+1}. */
+    private static final double SPLITTER = 0x1p27 + 1;
+
+    /** The first point. */
+    private final Vector2 a;
+    /** The second point. */
+    private final Vector2 b;
+    /** The third point. */
+    private final Vector2 c;
+
+    /**
+     * Creates a new orientation of three points.
+     *
+     * @param a the first point
+     * @param b the second point
+     * @param c the third point
+     */
+    public Orientation(final Vector2 a, final Vector2 b, final Vector2 c) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    @Override
+    public double doubleValue() {
+        return this.intValue();
+    }
+    @Override
+    public float floatValue() {
+        return this.intValue();
+    }
+    @Override
+    public long longValue() {
+        return this.intValue();
+    }
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code 1} - counterclockwise, {@code -1} - clockwise,
+     *         {@code 0} - collinear
+     */
+    @Override
+    public int intValue() {
+        if (a.equals(b) || b.equals(c) || c.equals(a)) {
+            return 0;
+        }
+        double left = ((double) b.x - a.x) * ((double) c.y - a.y);
+        double right = ((double) b.y - a.y) * ((double) c.x - a.x);
+        double det = left - right;
+        double bound = ERROR_BOUND * (Math.abs(left) + Math.abs(right));
+        if (det > bound || -det > bound) {
+            return (int) Math.signum(det);
+        }
+        return exact();
+    }
+
+    /**
+     * Evaluates the orientation in exact arithmetic.
+     * <p>
+     * The coordinate differences are almost always exact in {@code double},
+     * and then the two products are expanded exactly into pairs of
+     * {@code double}s and subtracted without rounding (Shewchuk's
+     * expansion arithmetic). Otherwise, the orientation is evaluated with
+     * {@link BigDecimal}s.
+     *
+     * @return the exact sign of the cross product
+     */
+    private int exact() {
+        double dx1 = (double) b.x - a.x;
+        double dy1 = (double) b.y - a.y;
+        double dx2 = (double) c.x - a.x;
+        double dy2 = (double) c.y - a.y;
+        if (
+            diffTail(b.x, a.x, dx1) != 0
+         || diffTail(b.y, a.y, dy1) != 0
+         || diffTail(c.x, a.x, dx2) != 0
+         || diffTail(c.y, a.y, dy2) != 0
+        ) {
+            return arbitraryPrecision();
+        }
+        double left = dx1 * dy2;
+        double leftTail = productTail(dx1, dy2, left);
+        double right = dy1 * dx2;
+        double rightTail = productTail(dy1, dx2, right);
+
+        // (left + leftTail) - (right + rightTail), as the nonoverlapping
+        // expansion x3 + x2 + x1 + x0, largest first
+        double i = leftTail - rightTail;
+        double x0 = diffTail(leftTail, rightTail, i);
+        double j = left + i;
+        double jTail = sumTail(left, i, j);
+        double k = jTail - right;
+        double x1 = diffTail(jTail, right, k);
+        double x3 = j + k;
+        double x2 = sumTail(j, k, x3);
+        if (x3 != 0) {
+            return (int) Math.signum(x3);
+        }
+        if (x2 != 0) {
+            return (int) Math.signum(x2);
+        }
+        if (x1 != 0) {
+            return (int) Math.signum(x1);
+        }
+        return (int) Math.signum(x0);
+    }
+
+    /**
+     * Evaluates the orientation with {@link BigDecimal}s.
+     *
+     * @return the exact sign of the cross product
+     */
+    private int arbitraryPrecision() {
+        BigDecimal ax = new BigDecimal(a.x);
+        BigDecimal ay = new BigDecimal(a.y);
+        return
+            new BigDecimal(b.x).subtract(ax)
+                .multiply(new BigDecimal(c.y).subtract(ay))
+                .subtract(
+                    new BigDecimal(b.y).subtract(ay)
+                        .multiply(new BigDecimal(c.x).subtract(ax))
+                ).signum();
+    }
+
+    /**
+     * Returns the rounding error of a {@code double} sum.
+     *
+     * @param x the first summand
+     * @param y the second summand
+     * @param sum {@code x + y}, rounded
+     * @return the exact value of {@code x + y - sum}
+     */
+    private static double sumTail(
+        final double x,
+        final double y,
+        final double sum
+    ) {
+        double yVirtual = sum - x;
+        double xVirtual = sum - yVirtual;
+        return (x - xVirtual) + (y - yVirtual);
+    }
+
+    /**
+     * Returns the rounding error of a {@code double} difference.
+     *
+     * @param x the minuend
+     * @param y the subtrahend
+     * @param diff {@code x - y}, rounded
+     * @return the exact value of {@code x - y - diff}
+     */
+    private static double diffTail(
+        final double x,
+        final double y,
+        final double diff
+    ) {
+        double yVirtual = x - diff;
+        double xVirtual = diff + yVirtual;
+        return (x - xVirtual) + (yVirtual - y);
+    }
+
+    /**
+     * Returns the rounding error of a {@code double} product.
+     *
+     * @param x the first factor
+     * @param y the second factor
+     * @param product {@code x * y}, rounded
+     * @return the exact value of {@code x * y - product}
+     */
+    private static double productTail(
+        final double x,
+        final double y,
+        final double product
+    ) {
+        double xHigh = splitHigh(x);
+        double xLow = x - xHigh;
+        double yHigh = splitHigh(y);
+        double yLow = y - yHigh;
+        double error = product - xHigh * yHigh;
+        error -= xLow * yHigh;
+        error -= xHigh * yLow;
+        return xLow * yLow - error;
+    }
+
+    /**
+     * Returns the high half of {@code x}: its 26 most significant bits.
+     *
+     * @param x the value to split
+     * @return the high half of {@code x}; the low half is
+     *         {@code x - splitHigh(x)}
+     */
+    private static double splitHigh(final double x) {
+        double c = SPLITTER * x;
+        return c - (c - x);
+    }
+}
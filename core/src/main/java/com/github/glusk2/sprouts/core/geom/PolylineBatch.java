@@ -1,14 +1,16 @@
 package com.github.glusk2.sprouts.core.geom;
 
-import java.util.List;
-
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
-import com.badlogic.gdx.math.Vector2;
 import com.github.glusk2.sprouts.core.util.RenderBatch;
 
-/** A Polyline RenderBatch. */
+/**
+ * A Polyline RenderBatch.
+ * <p>
+ * The polyline is drawn as a stroke with round caps and joins, see
+ * {@link TriangleBuffer#polyline(Polyline, float, int)}.
+ */
 public final class PolylineBatch implements RenderBatch {
     /** The Polyline to render. */
     private final Polyline polyline;
@@ -55,20 +57,9 @@ public final class PolylineBatch implements RenderBatch {
             renderer.begin(ShapeType.Filled);
         }
         renderer.setColor(color);
-        List<Vector2> points = polyline.points();
-        for (int i = 0; i < points.size(); i++) {
-            Vector2 p2 = points.get(i);
-            renderer.circle(
-                p2.x,
-                p2.y,
-                lineThickness / 2,
-                circleSegmentCount
-            );
-            if (i > 0) {
-                Vector2 p1 = points.get(i - 1);
-                renderer.rectLine(p1, p2, lineThickness);
-            }
-        }
+        new TriangleBuffer()
+            .polyline(polyline, lineThickness, circleSegmentCount)
+            .draw(renderer);
         if (!isNestedBatch) {
             renderer.end();
         }
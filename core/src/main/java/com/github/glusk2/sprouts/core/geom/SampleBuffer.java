@@ -0,0 +1,129 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * An immutable sample of points that grows at the end without copying.
+ * <p>
+ * All the samples that are built by appending to one another share a
+ * single array, and each of them sees only its own length of it.
+ * {@link #append(Vector2)} writes into the shared array if {@code this} is
+ * the longest sample built so far (the common case of a stroke that is
+ * being drawn), so it costs {@code O(1)} amortized. Appending to a shorter
+ * sample would overwrite a point of a longer one, so the points are copied
+ * to a new array instead.
+ * <p>
+ * Each sample holds on to the array that it was built on, and the array is
+ * never written to below the sample length again: appends go past the end
+ * of the longest sample and a full array is replaced by a grown copy. So
+ * once a sample is handed over to another thread with a happens-before
+ * edge (e.g. submitted to an executor), that thread can read it while this
+ * one keeps appending, without a copy. Appending is <em>not</em>
+ * thread-safe; only the thread that builds the samples may append.
+ * <p>
+ * The sample points are kept as they are (not copied), so that the stages
+ * that reuse the work done on the previous sample, such as
+ * {@link StreamingSimplifier}, can recognize them by identity.
+ */
+public final class SampleBuffer extends AbstractList<Vector2>
+    implements RandomAccess {
+    /** The initial capacity of the shared array. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The shared array. */
+    private final Store store;
+    /**
+     * The array of {@code store} when {@code this} sample was built; its
+     * first {@code size} points never change.
+     */
+    private final Vector2[] points;
+    /** The number of points in {@code this} sample. */
+    private final int size;
+
+    /**
+     * Creates a new sample with a single point.
+     *
+     * @param first the first sample point
+     */
+    public SampleBuffer(final Vector2 first) {
+        this(new Store(new Vector2[INITIAL_CAPACITY], 0).add(first), 1);
+    }
+
+    /**
+     * Creates a new sample that sees the first {@code size} points of
+     * {@code store}.
+     *
+     * @param store the shared array
+     * @param size the number of points in {@code this} sample
+     */
+    private SampleBuffer(final Store store, final int size) {
+        this.store = store;
+        this.points = store.points;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new sample with {@code point} appended to the points of
+     * {@code this} one. {@code this} sample does not change.
+     *
+     * @param point the point to append
+     * @return a new sample
+     */
+    public SampleBuffer append(final Vector2 point) {
+        if (store.size == size) {
+            return new SampleBuffer(store.add(point), size + 1);
+        }
+        Store copy = new Store(Arrays.copyOf(points, size + 1), size);
+        return new SampleBuffer(copy.add(point), size + 1);
+    }
+
+    @Override
+    public Vector2 get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return points[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** The array of points that is shared by the samples. */
+    private static final class Store {
+        /** The points. */
+        private Vector2[] points;
+        /** The number of points written to {@code points}. */
+        private int size;
+
+        /**
+         * Creates a new store.
+         *
+         * @param points the points
+         * @param size the number of points written to {@code points}
+         */
+        Store(final Vector2[] points, final int size) {
+            this.points = points;
+            this.size = size;
+        }
+
+        /**
+         * Appends a point, growing the array if needed.
+         *
+         * @param point the point to append
+         * @return {@code this} store
+         */
+        Store add(final Vector2 point) {
+            if (size == points.length) {
+                points = Arrays.copyOf(points, 2 * points.length);
+            }
+            points[size++] = point;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A streaming polyline simplifier for samples that grow at the end.
+ * <p>
+ * Unlike {@link PerpDistSimpl}, which tests consecutive point triples and
+ * can drop at most every other point, this simplifier keeps extending the
+ * last segment of the simplification over the incoming points (an
+ * "opening window"), for as long as all the points that it spans are within
+ * {@code tolerance} of it. When the next point would violate the tolerance,
+ * the previous point is kept and a new segment starts there. The distance
+ * between any sample point and the simplification is therefore at most
+ * {@code tolerance}.
+ * <p>
+ * Only the points that were appended since the last call are processed, and
+ * the window is bounded to {@value #MAX_WINDOW} points, so a call costs
+ * {@code O(1)} per new point. The kept points never change: successive
+ * simplifications share their prefix, point by point, with the exception of
+ * the last point, which always is the last sample point. This makes the
+ * simplification a suitable input for {@link BSplineFitter}.
+ * <p>
+ * The sample is assumed to only grow at the end; the last processed point is
+ * compared to the sample by identity and if it doesn't match, the whole
+ * sample is simplified again. This class is not <em>thread-safe</em>.
+ */
+public final class StreamingSimplifier {
+    /**
+     * The maximum number of sample points spanned by a single segment of the
+     * simplification.
+     */
+    private static final int MAX_WINDOW = 32;
+
+    /** The maximum distance between a sample point and the simplification. */
+    private final float tolerance;
+    /**
+     * The sample points after the last kept point. The last of these ends
+     * the tentative last segment.
+     */
+    private final Vector2[] window = new Vector2[MAX_WINDOW];
+    /** The number of points in {@code window}. */
+    private int windowSize;
+    /**
+     * The kept points. Only ever appended to; replaced with a new list when
+     * the sample has to be simplified again, so the returned views stay
+     * valid.
+     */
+    private List<Vector2> kept = new ArrayList<>();
+    /** The number of processed sample points. */
+    private int processed;
+    /** The last processed sample point. */
+    private Vector2 lastProcessed;
+
+    /**
+     * Creates a new streaming simplifier.
+     *
+     * @param tolerance the maximum distance between a sample point and the
+     *                  simplification
+     */
+    public StreamingSimplifier(final float tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Simplifies {@code sample}, processing only the points appended to it
+     * since the last call.
+     * <p>
+     * The returned list is an immutable view that is not affected by the
+     * later calls to this method.
+     *
+     * @param sample the sample points
+     * @return the simplified sample
+     */
+    public List<Vector2> simplify(final List<Vector2> sample) {
+        int length = sample.size();
+        ListIterator<Vector2> it;
+        if (
+            processed > 0
+         && processed <= length
+         && sample.get(processed - 1) == lastProcessed
+        ) {
+            it = sample.listIterator(processed);
+        } else {
+            kept = new ArrayList<>();
+            windowSize = 0;
+            processed = 0;
+            lastProcessed = null;
+            it = sample.listIterator();
+        }
+        while (it.hasNext()) {
+            append(it.next());
+        }
+        Vector2 tail = null;
+        if (windowSize > 0) {
+            tail = window[windowSize - 1];
+        }
+        return new View(kept, kept.size(), tail);
+    }
+
+    /**
+     * Processes the next sample point.
+     *
+     * @param point the next sample point
+     */
+    private void append(final Vector2 point) {
+        processed++;
+        lastProcessed = point;
+        if (kept.isEmpty()) {
+            kept.add(point);
+            return;
+        }
+        if (windowSize == MAX_WINDOW || !spans(point)) {
+            kept.add(window[windowSize - 1]);
+            windowSize = 0;
+        }
+        window[windowSize++] = point;
+    }
+
+    /**
+     * Checks whether the segment from the last kept point to {@code end}
+     * is within {@code tolerance} of all the points in {@code window}.
+     *
+     * @param end the end of the segment
+     * @return {@code true} if the segment can replace the window points
+     */
+    private boolean spans(final Vector2 end) {
+        Vector2 start = kept.get(kept.size() - 1);
+        for (int i = 0; i < windowSize; i++) {
+            float distance =
+                Intersector.distanceSegmentPoint(
+                    start.x, start.y,
+                    end.x, end.y,
+                    window[i].x, window[i].y
+                );
+            if (distance > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An immutable view of the first {@code size} kept points, followed by
+     * the tentative last point.
+     */
+    private static final class View extends AbstractList<Vector2>
+        implements RandomAccess {
+        /** The kept points. */
+        private final List<Vector2> kept;
+        /** The number of the kept points in {@code this} view. */
+        private final int size;
+        /** The tentative last point, or {@code null} if none. */
+        private final Vector2 tail;
+
+        /**
+         * Creates a new view.
+         *
+         * @param kept the kept points
+         * @param size the number of the kept points in {@code this} view
+         * @param tail the tentative last point, or {@code null} if none
+         */
+        View(final List<Vector2> kept, final int size, final Vector2 tail) {
+            this.kept = kept;
+            this.size = size;
+            this.tail = tail;
+        }
+
+        @Override
+        public Vector2 get(final int index) {
+            if (index == size && tail != null) {
+                return tail;
+            }
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            return kept.get(index);
+        }
+
+        @Override
+        public int size() {
+            if (tail == null) {
+                return size;
+            }
+            return size + 1;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * A growable buffer of filled, colored triangles.
+ * <p>
+ * The shapes look the same as the filled shapes of
+ * {@link com.badlogic.gdx.graphics.glutils.ShapeRenderer}, so that the
+ * buffer contents can be drawn in place of them, in a single draw call.
+ * Polylines are tessellated as joined strokes rather than as a circle per
+ * point and a rectangle per segment, which takes several times fewer
+ * triangles.
+ * <p>
+ * Each triangle vertex takes up {@link #VERTEX_SIZE} floats: the {@code x}
+ * and {@code y} coordinates, followed by the packed vertex color (see
+ * {@link Color#toFloatBits()}).
+ */
+public final class TriangleBuffer {
+    /** The number of floats per vertex. */
+    public static final int VERTEX_SIZE = 3;
+    /**
+     * The minimum value of {@code cos^2(a / 2)}, where {@code a} is the
+     * polyline turn angle, at which two polyline segments are joined with a
+     * miter instead of a round join.
+     * <p>
+     * The limit corresponds to a turn of about 30 degrees, where a miter
+     * sticks out past the round join by less than 4% of the line thickness.
+     */
+    public static final float MITER_LIMIT = .93f;
+    /** The number of vertices per triangle. */
+    private static final int TRIANGLE_SIZE = 3;
+
+    /** The vertex data. */
+    private final FloatArray vertices = new FloatArray();
+    /** The packed color of the shapes that are added next. */
+    private float color = Color.WHITE.toFloatBits();
+
+    /**
+     * Sets the color of the shapes that are added next.
+     *
+     * @param newColor the color of the shapes that are added next
+     * @return {@code this} buffer
+     */
+    public TriangleBuffer color(final Color newColor) {
+        this.color = newColor.toFloatBits();
+        return this;
+    }
+
+    /**
+     * Adds a filled circle, as a fan of {@code segments} triangles.
+     *
+     * @param center the circle center
+     * @param radius the circle radius
+     * @param segments the number of circle segments
+     * @return {@code this} buffer
+     */
+    public TriangleBuffer circle(
+        final Vector2 center,
+        final float radius,
+        final int segments
+    ) {
+        float angle = MathUtils.PI2 / segments;
+        float cos = MathUtils.cos(angle);
+        float sin = MathUtils.sin(angle);
+        float cx = radius;
+        float cy = 0;
+        for (int i = 0; i < segments; i++) {
+            vertex(center.x, center.y);
+            vertex(center.x + cx, center.y + cy);
+            float temp = cx;
+            cx = cos * cx - sin * cy;
+            cy = sin * temp + cos * cy;
+            vertex(center.x + cx, center.y + cy);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a line segment of {@code width}, as a filled rectangle of two
+     * triangles.
+     *
+     * @param p1 line segment start
+     * @param p2 line segment end
+     * @param width the line segment width
+     * @return {@code this} buffer
+     */
+    public TriangleBuffer rectLine(
+        final Vector2 p1,
+        final Vector2 p2,
+        final float width
+    ) {
+        Vector2 t = new Vector2(p2.y - p1.y, p1.x - p2.x).nor();
+        t.scl(width / 2);
+        vertex(p1.x + t.x, p1.y + t.y);
+        vertex(p1.x - t.x, p1.y - t.y);
+        vertex(p2.x + t.x, p2.y + t.y);
+        vertex(p2.x - t.x, p2.y - t.y);
+        vertex(p2.x + t.x, p2.y + t.y);
+        vertex(p1.x - t.x, p1.y - t.y);
+        return this;
+    }
+
+    /**
+     * Adds {@code polyline} as a single stroke of {@code lineThickness}.
+     * <p>
+     * The stroke looks the same as a circle of {@code lineThickness} at
+     * each polyline point and a rectangle along each segment, that is, it
+     * has round caps and round joins, but it only takes
+     * two triangles per segment: the segments are joined with a miter
+     * wherever the polyline turns by less than the {@link #MITER_LIMIT}
+     * angle, which is practically everywhere along a smooth curve, and the
+     * round joins only fill the outer side of a sharper turn.
+     *
+     * @param polyline the Polyline to add
+     * @param lineThickness the thickness of the polyline line segments
+     * @param circleSegmentCount the number of segments of a full circle;
+     *                           the caps and joins use as many segments as
+     *                           the arc they cover takes up
+     * @return {@code this} buffer
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    public TriangleBuffer polyline(
+        final Polyline polyline,
+        final float lineThickness,
+        final int circleSegmentCount
+    ) {
+        List<Vector2> points = new ArrayList<>();
+        for (Vector2 p : polyline.points()) {
+            if (
+                points.isEmpty()
+             || !p.equals(points.get(points.size() - 1))
+            ) {
+                points.add(p);
+            }
+        }
+        float r = lineThickness / 2;
+        if (points.size() < 2) {
+            for (Vector2 p : points) {
+                circle(p, r, circleSegmentCount);
+            }
+            return this;
+        }
+
+        Vector2 first = points.get(0);
+        Vector2 dir = new Vector2(points.get(1)).sub(first).nor();
+        Vector2 next = new Vector2();
+        arc(first, r, -dir.y, dir.x, MathUtils.PI, circleSegmentCount);
+        Vector2 left = new Vector2(first).add(-dir.y * r, dir.x * r);
+        Vector2 right = new Vector2(first).add(dir.y * r, -dir.x * r);
+        Vector2 nextLeft = new Vector2();
+        Vector2 nextRight = new Vector2();
+        for (int i = 1; i < points.size() - 1; i++) {
+            Vector2 p = points.get(i);
+            next.set(points.get(i + 1)).sub(p);
+            float length = Math.min(next.len(), p.dst(points.get(i - 1)));
+            next.nor();
+            float cross = dir.crs(next);
+            float dot = dir.dot(next);
+            // The inner corner of a miter must not reach past either of the
+            // adjacent segments; its distance along them is r tan(a / 2)
+            if (
+                (1 + dot) / 2 >= MITER_LIMIT
+             && r * Math.abs(cross) <= length * (1 + dot)
+            ) {
+                // The sum of the two normals has the length of
+                // 2 cos(a / 2), where a is the turn angle
+                float mx = -dir.y - next.y;
+                float my = dir.x + next.x;
+                float scale = 2 * r / (mx * mx + my * my);
+                nextLeft.set(p).add(mx * scale, my * scale);
+                nextRight.set(p).sub(mx * scale, my * scale);
+                quad(left, right, nextLeft, nextRight);
+            } else {
+                nextLeft.set(p).add(-dir.y * r, dir.x * r);
+                nextRight.set(p).add(dir.y * r, -dir.x * r);
+                quad(left, right, nextLeft, nextRight);
+                // Fill the outer side of the turn
+                float sweep = (float) Math.atan2(Math.abs(cross), dot);
+                if (cross > 0) {
+                    arc(p, r, dir.y, -dir.x, sweep, circleSegmentCount);
+                } else {
+                    arc(p, r, -dir.y, dir.x, -sweep, circleSegmentCount);
+                }
+                nextLeft.set(p).add(-next.y * r, next.x * r);
+                nextRight.set(p).add(next.y * r, -next.x * r);
+            }
+            left.set(nextLeft);
+            right.set(nextRight);
+            dir.set(next);
+        }
+        Vector2 last = points.get(points.size() - 1);
+        nextLeft.set(last).add(-dir.y * r, dir.x * r);
+        nextRight.set(last).add(dir.y * r, -dir.x * r);
+        quad(left, right, nextLeft, nextRight);
+        arc(last, r, -dir.y, dir.x, -MathUtils.PI, circleSegmentCount);
+        return this;
+    }
+
+    /**
+     * Returns the vertex data.
+     * <p>
+     * The returned array is backed by {@code this} buffer; only the first
+     * {@code vertices().size} items are valid.
+     *
+     * @return the vertex data
+     */
+    public FloatArray vertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the number of vertices in {@code this} buffer.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return vertices.size / VERTEX_SIZE;
+    }
+
+    /**
+     * Draws the triangles of {@code this} buffer with {@code renderer}, in
+     * the current {@code renderer} color.
+     * <p>
+     * The {@code renderer} must already be drawing filled shapes.
+     *
+     * @param renderer the renderer to draw with
+     */
+    public void draw(final ShapeRenderer renderer) {
+        for (int i = 0; i < vertexCount(); i += TRIANGLE_SIZE) {
+            renderer.triangle(
+                x(i),
+                y(i),
+                x(i + 1),
+                y(i + 1),
+                x(i + 2),
+                y(i + 2)
+            );
+        }
+    }
+
+    /** Removes all triangles from {@code this} buffer. */
+    public void clear() {
+        vertices.clear();
+    }
+
+    /**
+     * Returns the x coordinate of the vertex at {@code index}.
+     *
+     * @param index vertex index
+     * @return the x coordinate of the vertex at {@code index}
+     */
+    private float x(final int index) {
+        return vertices.get(index * VERTEX_SIZE);
+    }
+
+    /**
+     * Returns the y coordinate of the vertex at {@code index}.
+     *
+     * @param index vertex index
+     * @return the y coordinate of the vertex at {@code index}
+     */
+    private float y(final int index) {
+        return vertices.get(index * VERTEX_SIZE + 1);
+    }
+
+    /**
+     * Adds a quadrilateral, as two triangles.
+     *
+     * @param l1 the left corner of the first side
+     * @param r1 the right corner of the first side
+     * @param l2 the left corner of the second side
+     * @param r2 the right corner of the second side
+     */
+    private void quad(
+        final Vector2 l1,
+        final Vector2 r1,
+        final Vector2 l2,
+        final Vector2 r2
+    ) {
+        vertex(l1.x, l1.y);
+        vertex(r1.x, r1.y);
+        vertex(l2.x, l2.y);
+        vertex(l2.x, l2.y);
+        vertex(r1.x, r1.y);
+        vertex(r2.x, r2.y);
+    }
+
+    /**
+     * Adds a filled circular sector, as a fan of triangles.
+     * <p>
+     * The number of triangles is proportional to {@code sweep}, with
+     * {@code segments} triangles per full circle, but at least one.
+     *
+     * @param center the sector center
+     * @param radius the sector radius
+     * @param dx the x coordinate of the unit vector that the sector starts
+     *           at
+     * @param dy the y coordinate of the unit vector that the sector starts
+     *           at
+     * @param sweep the sector angle (in radians), positive for the
+     *              counterclockwise direction
+     * @param segments the number of segments of a full circle
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void arc(
+        final Vector2 center,
+        final float radius,
+        final float dx,
+        final float dy,
+        final float sweep,
+        final int segments
+    ) {
+        int count =
+            Math.max(
+                1,
+                (int) Math.ceil(Math.abs(sweep) * segments / MathUtils.PI2)
+            );
+        float cos = (float) Math.cos(sweep / count);
+        float sin = (float) Math.sin(sweep / count);
+        float cx = dx * radius;
+        float cy = dy * radius;
+        for (int i = 0; i < count; i++) {
+            vertex(center.x, center.y);
+            vertex(center.x + cx, center.y + cy);
+            float temp = cx;
+            cx = cos * cx - sin * cy;
+            cy = sin * temp + cos * cy;
+            vertex(center.x + cx, center.y + cy);
+        }
+    }
+
+    /**
+     * Adds a single vertex of the current color.
+     *
+     * @param x vertex x coordinate
+     * @param y vertex y coordinate
+     */
+    private void vertex(final float x, final float y) {
+        vertices.add(x, y, color);
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.glusk2.sprouts.core.moves;
+
+import java.util.Iterator;
+
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+
+/**
+ * A Move whose Submoves have all been evaluated up front.
+ * <p>
+ * The Submoves of a Move are evaluated lazily and {@link Submove#next()}
+ * builds a new Submove on every call, so every iteration of a Move repeats
+ * a part of the evaluation. An {@code EvaluatedMove} walks the wrapped Move
+ * once, in the constructor, and stores the edge and the checks of each
+ * Submove. Its methods don't evaluate anything, so it can be built on one
+ * thread and used on another.
+ */
+public final class EvaluatedMove implements Move {
+    /** The first evaluated Submove. */
+    private final EvaluatedSubmove head;
+    /** The result of {@code isCompleted()} of the wrapped Move. */
+    private final boolean completed;
+    /** The result of {@code isValid()} of the wrapped Move. */
+    private final boolean valid;
+
+    /**
+     * Evaluates all the Submoves of {@code move}.
+     *
+     * @param move the Move to evaluate
+     */
+    public EvaluatedMove(final Move move) {
+        EvaluatedSubmove first = null;
+        EvaluatedSubmove last = null;
+        boolean allCompleted = true;
+        boolean allValid = true;
+        Iterator<Submove> it = move.iterator();
+        while (it.hasNext()) {
+            Submove submove = it.next();
+            EvaluatedSubmove evaluated = new EvaluatedSubmove(submove);
+            allCompleted &= evaluated.isCompleted();
+            allValid &= evaluated.isValid();
+            if (last == null) {
+                first = evaluated;
+            } else {
+                last.next = evaluated;
+            }
+            last = evaluated;
+            it = submove;
+        }
+        this.head = first;
+        this.completed = allCompleted;
+        this.valid = allValid;
+    }
+
+    @Override
+    public Iterator<Submove> iterator() {
+        return
+            new Iterator<Submove>() {
+                @Override
+                public boolean hasNext() {
+                    return head != null;
+                }
+
+                @Override
+                public Submove next() {
+                    return head;
+                }
+            };
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    /** A Submove with precomputed results. */
+    private static final class EvaluatedSubmove implements Submove {
+        /** The edge of the Submove, or {@code null} if not ready to render. */
+        private final SproutsEdge edge;
+        /** The result of {@code isCompleted()}. */
+        private final boolean completed;
+        /** The result of {@code isReadyToRender()}. */
+        private final boolean readyToRender;
+        /** The result of {@code isValid()}. */
+        private final boolean valid;
+        /** The next evaluated Submove, or {@code null} if none. */
+        private EvaluatedSubmove next;
+
+        /**
+         * Evaluates {@code submove}.
+         *
+         * @param submove the Submove to evaluate
+         */
+        EvaluatedSubmove(final Submove submove) {
+            this.readyToRender = submove.isReadyToRender();
+            if (readyToRender) {
+                this.edge = submove.asEdge();
+            } else {
+                this.edge = null;
+            }
+            this.completed = submove.isCompleted();
+            this.valid = submove.isValid();
+        }
+
+        @Override
+        public SproutsEdge asEdge() {
+            if (edge == null) {
+                throw
+                    new IllegalStateException(
+                        "This Submove is not ready to render."
+                    );
+            }
+            return edge;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public boolean isReadyToRender() {
+            return readyToRender;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Submove next() {
+            if (next == null) {
+                throw new IllegalStateException("This is the tail Submove.");
+            }
+            return next;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.github.glusk2.sprouts.core.comb.VoidVertex;
 import com.github.glusk2.sprouts.core.geom.IsPointOnLineSegment;
 import com.github.glusk2.sprouts.core.geom.Polyline;
 import com.github.glusk2.sprouts.core.geom.PolylinePiece;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
 /**
  * A SubmoveElement is a Submove in a sequence of Submoves that comprise a Move.
@@ -131,11 +132,23 @@ public final class SubmoveElement implements Submove {
     }
 
     @Override
-    @SuppressWarnings("checkstyle:methodlength")
     public SproutsEdge asEdge() {
         if (cache != null) {
             return cache;
         }
+        long start = FrameProfiler.start();
+        SproutsEdge edge = evaluate();
+        FrameProfiler.stop(FrameProfiler.Section.MOVE_EVALUATION, start);
+        return edge;
+    }
+
+    /**
+     * Evaluates the stroke and caches the resulting edge.
+     *
+     * @return the edge representation of {@code this} Submove
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    private SproutsEdge evaluate() {
         List<Vector2> strokePoints = stroke.points();
         if (strokePoints.isEmpty()) {
             throw
@@ -144,6 +157,10 @@ public final class SubmoveElement implements Submove {
                      + "direction!"
                 );
         }
+        FrameProfiler.count(
+            FrameProfiler.Counter.STROKE_SAMPLES,
+            strokePoints.size()
+        );
         Set<SproutsEdge> moveFace =
             new SproutsFaces(
                 currentState.edges()
@@ -155,17 +172,20 @@ public final class SubmoveElement implements Submove {
                     Color.BLACK     // to
                 )
             );
+        boolean isPossibleInFace = true;
         for (int i = 0; i < strokePoints.size(); i++) {
             // If move not possible in face, let the user draw a couple of
-            // line segments before aborting
-            if (
-                i > INVALID_WINDOW
-             && !new IsSubmovePossibleInFace(
-                    origin.color().equals(Color.BLACK),
-                    currentState,
-                    moveFace
-                ).check()
-            ) {
+            // line segments before aborting; the face is the same for all
+            // the stroke points, so it is checked once
+            if (i == INVALID_WINDOW + 1) {
+                isPossibleInFace =
+                    new IsSubmovePossibleInFace(
+                        origin.color().equals(Color.BLACK),
+                        currentState,
+                        moveFace
+                    ).check();
+            }
+            if (i > INVALID_WINDOW && !isPossibleInFace) {
                 cache =
                     new SproutsEdge(
                         true,
@@ -0,0 +1,46 @@
+package com.github.glusk2.sprouts.core.net;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An input stream that reads straight from a {@link ByteBuffer}, from its
+ * position up to its limit.
+ */
+final class ByteBufferInputStream extends InputStream {
+    /** The mask of an unsigned byte. */
+    private static final int BYTE_MASK = (1 << Byte.SIZE) - 1;
+
+    /** The buffer to read from. */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new stream over {@code buffer}.
+     *
+     * @param buffer the buffer to read from
+     */
+    ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & BYTE_MASK;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+}
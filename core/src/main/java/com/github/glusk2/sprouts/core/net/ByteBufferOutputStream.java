@@ -0,0 +1,42 @@
+package com.github.glusk2.sprouts.core.net;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An output stream that writes straight into a {@link ByteBuffer}, at its
+ * position.
+ */
+final class ByteBufferOutputStream extends OutputStream {
+    /** The buffer to write to. */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new stream over {@code buffer}.
+     *
+     * @param buffer the buffer to write to
+     */
+    ByteBufferOutputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    @Override
+    public void write(final int b) {
+        buffer.put((byte) b);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.put(b, off, len);
+    }
+}
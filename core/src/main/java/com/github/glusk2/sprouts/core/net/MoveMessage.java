@@ -0,0 +1,103 @@
+package com.github.glusk2.sprouts.core.net;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A move, as sent over the wire: the stroke, the middle sprout and the
+ * hash of the state after the move.
+ * <p>
+ * A decoded message (see {@link WireCodec#readMove(java.nio.ByteBuffer)})
+ * holds the stroke as it was quantized and simplified by the sender, so
+ * all the peers, the sender included, must play the decoded stroke to stay
+ * in sync.
+ */
+public final class MoveMessage {
+    /** The number of the move, counted from {@code 1}. */
+    private final int moveNumber;
+    /** The seat of the player that made the move, {@code 0} or {@code 1}. */
+    private final int seat;
+    /** The stroke sample points; the first one is the move origin. */
+    private final List<Vector2> stroke;
+    /** The middle sprout position. */
+    private final Vector2 middleSprout;
+    /**
+     * The hash of the state after the move (see
+     * {@link com.github.glusk2.sprouts.core.comb.SproutsStateHash}), or
+     * {@code 0} if not known to the sender.
+     */
+    private final long stateHash;
+
+    /**
+     * Creates a new move message.
+     *
+     * @param moveNumber the number of the move, counted from {@code 1}
+     * @param seat the seat of the player that made the move, {@code 0} or
+     *             {@code 1}
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin
+     * @param middleSprout the middle sprout position
+     * @param stateHash the hash of the state after the move, or {@code 0}
+     *                  if not known to the sender
+     */
+    public MoveMessage(
+        final int moveNumber,
+        final int seat,
+        final List<Vector2> stroke,
+        final Vector2 middleSprout,
+        final long stateHash
+    ) {
+        this.moveNumber = moveNumber;
+        this.seat = seat;
+        this.stroke = stroke;
+        this.middleSprout = middleSprout;
+        this.stateHash = stateHash;
+    }
+
+    /**
+     * Returns the number of the move.
+     *
+     * @return the number of the move, counted from {@code 1}
+     */
+    public int moveNumber() {
+        return moveNumber;
+    }
+
+    /**
+     * Returns the seat of the player that made the move.
+     *
+     * @return {@code 0} or {@code 1}
+     */
+    public int seat() {
+        return seat;
+    }
+
+    /**
+     * Returns the stroke sample points.
+     *
+     * @return the stroke sample points; the first one is the move origin
+     */
+    public List<Vector2> stroke() {
+        return stroke;
+    }
+
+    /**
+     * Returns the middle sprout position.
+     *
+     * @return the middle sprout position
+     */
+    public Vector2 middleSprout() {
+        return middleSprout;
+    }
+
+    /**
+     * Returns the hash of the state after the move.
+     *
+     * @return the hash of the state after the move, or {@code 0} if not
+     *         known to the sender
+     */
+    public long stateHash() {
+        return stateHash;
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.glusk2.sprouts.core.net;
+
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+
+/**
+ * A full game state, as sent over the wire to a (re)connecting peer.
+ */
+public final class SnapshotMessage {
+    /** The number of moves played. */
+    private final int movesPlayed;
+    /** The seat of the player on the move, {@code 0} or {@code 1}. */
+    private final int nextSeat;
+    /** The game state. */
+    private final SproutsGameState state;
+
+    /**
+     * Creates a new snapshot message.
+     *
+     * @param movesPlayed the number of moves played
+     * @param nextSeat the seat of the player on the move, {@code 0} or
+     *                 {@code 1}
+     * @param state the game state
+     */
+    public SnapshotMessage(
+        final int movesPlayed,
+        final int nextSeat,
+        final SproutsGameState state
+    ) {
+        this.movesPlayed = movesPlayed;
+        this.nextSeat = nextSeat;
+        this.state = state;
+    }
+
+    /**
+     * Returns the number of moves played.
+     *
+     * @return the number of moves played
+     */
+    public int movesPlayed() {
+        return movesPlayed;
+    }
+
+    /**
+     * Returns the seat of the player on the move.
+     *
+     * @return {@code 0} or {@code 1}
+     */
+    public int nextSeat() {
+        return nextSeat;
+    }
+
+    /**
+     * Returns the game state.
+     *
+     * @return the game state
+     */
+    public SproutsGameState state() {
+        return state;
+    }
+}
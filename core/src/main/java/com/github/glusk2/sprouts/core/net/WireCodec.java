@@ -0,0 +1,463 @@
+package com.github.glusk2.sprouts.core.net;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsSavedState;
+import com.github.glusk2.sprouts.core.comb.SproutsStateHash;
+import com.github.glusk2.sprouts.core.comb.SproutsStateRecord;
+import com.github.glusk2.sprouts.core.sim.SimplifiedStroke;
+
+/**
+ * The binary codec of the messages that keep online peers in sync.
+ * <p>
+ * Messages are written to and read from a {@link ByteBuffer} directly, at
+ * its position; framing the messages is up to the transport. Every message
+ * starts with a {@code byte} type (see {@link #messageType(ByteBuffer)});
+ * {@code float}s, {@code int}s and {@code long}s are big-endian,
+ * {@code varint}s are unsigned 7 bit groups, least significant first, and
+ * {@code zigzag}s are signed {@code varint}s.
+ * <p>
+ * A move message is laid out as follows:
+ * <pre>
+ * byte    1, the type
+ * varint  move number
+ * byte    seat
+ * long    state hash after the move
+ * float   origin x, y, exact
+ * varint  n, the number of stroke points after the origin
+ * zigzag  middle sprout x, y
+ * zigzag  n times: the delta x, y to the previous stroke point
+ * </pre>
+ * The coordinates are grid indices relative to the game bounds origin; the
+ * deltas of the first point are relative to the grid cell of the origin. A move
+ * whose points lie outside of the game bounds, or whose decoded stroke would
+ * have more than {@value #MAX_STROKE_POINTS} points, is rejected as malformed.
+ * The stroke is simplified (see {@link SimplifiedStroke}) before it is
+ * quantized, so a typical move takes well under 200 bytes. The origin is sent
+ * exactly, so a move is decoded without knowing the state it is played in. The
+ * decoded stroke is interpolated back to about the sampling density of a played
+ * stroke in integer grid arithmetic, so all the peers decode the same points.
+ * The decoded stroke is not the drawn one, so every peer, the one that drew the
+ * move included, plays the decoded move; the relay stamps the state hash onto
+ * the move (see {@link #writeStateHash(ByteBuffer, long)}) and the peers
+ * compare it with the hash of their own state, to detect divergence.
+ * <p>
+ * A snapshot message, sent only to (re)connecting peers, is laid out as
+ * follows:
+ * <pre>
+ * byte    2, the type
+ * varint  number of moves played
+ * byte    seat on the move
+ * long    state hash
+ * record  the state, see {@link SproutsStateRecord}
+ * </pre>
+ */
+public final class WireCodec {
+    /** The type of a move message. */
+    public static final int MOVE = 1;
+    /** The type of a snapshot message. */
+    public static final int SNAPSHOT = 2;
+
+    /** The maximum number of points of a decoded stroke. */
+    public static final int MAX_STROKE_POINTS = 16384;
+
+    /** The size of the coordinate grid. */
+    private static final float QUANTUM = 1 / 16f;
+    /**
+     * The stroke simplification tolerance modifier; this is multiplied by
+     * the move thickness.
+     */
+    private static final float TOLERANCE_MODIFIER = .25f;
+    /** The number of value bits in a {@code varint} byte. */
+    private static final int VARINT_BITS = 7;
+    /** The mask of the value bits in a {@code varint} byte. */
+    private static final int VARINT_MASK = (1 << VARINT_BITS) - 1;
+    /** The {@code varint} byte bit that tells that another byte follows. */
+    private static final int VARINT_MORE = 1 << VARINT_BITS;
+    /** The mask of an unsigned byte. */
+    private static final int BYTE_MASK = (1 << Byte.SIZE) - 1;
+
+    /** The game bounds; the origin of the coordinate grid. */
+    private final Rectangle gameBounds;
+    /** The move thickness. */
+    private final float moveThickness;
+
+    /**
+     * Creates a new codec. All the peers must use the same game bounds and
+     * move thickness.
+     *
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     */
+    public WireCodec(final Rectangle gameBounds, final float moveThickness) {
+        this.gameBounds = gameBounds;
+        this.moveThickness = moveThickness;
+    }
+
+    /**
+     * Returns the type of the message at the position of {@code in},
+     * without consuming it.
+     *
+     * @param in the buffer to read from
+     * @return {@link #MOVE}, {@link #SNAPSHOT} or another, unknown, type
+     * @throws IllegalArgumentException if {@code in} is empty
+     */
+    public int messageType(final ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("The message is empty.");
+        }
+        return in.get(in.position()) & BYTE_MASK;
+    }
+
+    /**
+     * Writes a move message to {@code out}.
+     *
+     * @param out the buffer to write to
+     * @param move the move to write
+     * @throws java.nio.BufferOverflowException if {@code out} is full
+     */
+    public void writeMove(final ByteBuffer out, final MoveMessage move) {
+        List<Vector2> stroke = move.stroke();
+        List<Vector2> points =
+            new SimplifiedStroke(
+                stroke,
+                move.middleSprout(),
+                TOLERANCE_MODIFIER * moveThickness
+            ).points();
+        Vector2 origin = points.get(0);
+        out.put((byte) MOVE);
+        writeVarInt(out, move.moveNumber());
+        out.put((byte) move.seat());
+        out.putLong(move.stateHash());
+        out.putFloat(origin.x);
+        out.putFloat(origin.y);
+        writeVarInt(out, points.size() - 1);
+        writeZigZag(out, quantize(move.middleSprout().x, gameBounds.x));
+        writeZigZag(out, quantize(move.middleSprout().y, gameBounds.y));
+        int lastX = quantize(origin.x, gameBounds.x);
+        int lastY = quantize(origin.y, gameBounds.y);
+        for (Vector2 point : points.subList(1, points.size())) {
+            int x = quantize(point.x, gameBounds.x);
+            int y = quantize(point.y, gameBounds.y);
+            writeZigZag(out, x - lastX);
+            writeZigZag(out, y - lastY);
+            lastX = x;
+            lastY = y;
+        }
+    }
+
+    /**
+     * Reads a move message from {@code in}.
+     *
+     * @param in the buffer to read from
+     * @return the decoded move
+     * @throws IllegalArgumentException if the message is not a move, or if
+     *                                  it is malformed
+     */
+    public MoveMessage readMove(final ByteBuffer in) {
+        requireType(in, MOVE);
+        try {
+            in.get();
+            int moveNumber = readVarInt(in);
+            int seat = in.get();
+            long stateHash = in.getLong();
+            Vector2 origin = new Vector2(in.getFloat(), in.getFloat());
+            if (!gameBounds.contains(origin)) {
+                throw
+                    new IllegalArgumentException(
+                        "The move origin is out of bounds."
+                    );
+            }
+            int size = readVarInt(in);
+            // Every stroke point takes at least two bytes
+            if (size >= MAX_STROKE_POINTS || size > in.remaining() / 2) {
+                throw
+                    new IllegalArgumentException(
+                        "Too many stroke points: " + size
+                    );
+            }
+            int maxX = quantize(gameBounds.x + gameBounds.width, gameBounds.x);
+            int maxY =
+                quantize(gameBounds.y + gameBounds.height, gameBounds.y);
+            Vector2 middleSprout =
+                new Vector2(
+                    toWorld(readIndex(in, 0, maxX), gameBounds.x),
+                    toWorld(readIndex(in, 0, maxY), gameBounds.y)
+                );
+            List<Vector2> stroke = new ArrayList<>();
+            stroke.add(origin);
+            int lastX = quantize(origin.x, gameBounds.x);
+            int lastY = quantize(origin.y, gameBounds.y);
+            for (int i = 0; i < size; i++) {
+                int x = readIndex(in, lastX, maxX);
+                int y = readIndex(in, lastY, maxY);
+                interpolate(stroke, lastX, lastY, x, y);
+                lastX = x;
+                lastY = y;
+            }
+            return
+                new MoveMessage(
+                    moveNumber,
+                    seat,
+                    stroke,
+                    middleSprout,
+                    stateHash
+                );
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The message is truncated.", e);
+        }
+    }
+
+    /**
+     * Overwrites the state hash of the move message at the position of
+     * {@code message}, without moving the position.
+     * <p>
+     * This lets a relay (the match server) stamp the hash of the state it
+     * computed onto a move message and forward the message as it was
+     * received, without decoding and encoding the stroke again.
+     *
+     * @param message the buffer that holds the move message
+     * @param stateHash the state hash after the move
+     * @throws IllegalArgumentException if the message is not a move, or if
+     *                                  it is malformed
+     */
+    public void writeStateHash(
+        final ByteBuffer message,
+        final long stateHash
+    ) {
+        requireType(message, MOVE);
+        ByteBuffer header = message.duplicate();
+        try {
+            header.get();
+            readVarInt(header);
+            header.get();
+            header.putLong(stateHash);
+        } catch (BufferUnderflowException | BufferOverflowException e) {
+            throw new IllegalArgumentException("The message is truncated.", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot message to {@code out}.
+     *
+     * @param out the buffer to write to
+     * @param snapshot the snapshot to write
+     * @throws java.nio.BufferOverflowException if {@code out} is full
+     */
+    public void writeSnapshot(
+        final ByteBuffer out,
+        final SnapshotMessage snapshot
+    ) {
+        out.put((byte) SNAPSHOT);
+        writeVarInt(out, snapshot.movesPlayed());
+        out.put((byte) snapshot.nextSeat());
+        out.putLong(new SproutsStateHash(snapshot.state()).longValue());
+        try {
+            new SproutsStateRecord(snapshot.state())
+                .writeTo(new ByteBufferOutputStream(out));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a snapshot message from {@code in}. The state is read eagerly
+     * and checked against the sent state hash.
+     *
+     * @param in the buffer to read from
+     * @return the decoded snapshot
+     * @throws IllegalArgumentException if the message is not a snapshot, if
+     *                                  it is malformed, or if the state
+     *                                  doesn't match the state hash
+     */
+    public SnapshotMessage readSnapshot(final ByteBuffer in) {
+        requireType(in, SNAPSHOT);
+        try {
+            in.get();
+            int movesPlayed = readVarInt(in);
+            int nextSeat = in.get();
+            long stateHash = in.getLong();
+            SproutsGameState state =
+                new SproutsSavedState(new ByteBufferInputStream(in));
+            if (new SproutsStateHash(state).longValue() != stateHash) {
+                throw
+                    new IllegalArgumentException(
+                        "The state doesn't match the state hash."
+                    );
+            }
+            return new SnapshotMessage(movesPlayed, nextSeat, state);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The message is truncated.", e);
+        }
+    }
+
+    /**
+     * Adds the points from grid cell {@code (fromX, fromY)}, exclusive, to
+     * grid cell {@code (toX, toY)}, inclusive, to {@code stroke}, one point
+     * per two move thicknesses.
+     *
+     * @param stroke the stroke to add the points to
+     * @param fromX the grid x index of the last stroke point
+     * @param fromY the grid y index of the last stroke point
+     * @param toX the grid x index of the next stroke point
+     * @param toY the grid y index of the next stroke point
+     * @throws IllegalArgumentException if the stroke would have more than
+     *                                  {@link #MAX_STROKE_POINTS} points
+     */
+    private void interpolate(
+        final List<Vector2> stroke,
+        final int fromX,
+        final int fromY,
+        final int toX,
+        final int toY
+    ) {
+        long dx = toX - fromX;
+        long dy = toY - fromY;
+        int steps =
+            Math.max(
+                1,
+                (int) Math.ceil(
+                    Math.sqrt(dx * dx + dy * dy) * QUANTUM
+                        / (2 * moveThickness)
+                )
+            );
+        if (steps > MAX_STROKE_POINTS - stroke.size()) {
+            throw new IllegalArgumentException("The stroke is too long.");
+        }
+        for (int j = 1; j <= steps; j++) {
+            stroke.add(
+                new Vector2(
+                    toWorld(fromX + (int) (dx * j / steps), gameBounds.x),
+                    toWorld(fromY + (int) (dy * j / steps), gameBounds.y)
+                )
+            );
+        }
+    }
+
+    /**
+     * Checks the type of the message at the position of {@code in}.
+     *
+     * @param in the buffer to read from
+     * @param type the expected type
+     * @throws IllegalArgumentException if the message is of another type
+     */
+    private void requireType(final ByteBuffer in, final int type) {
+        int actual = messageType(in);
+        if (actual != type) {
+            throw
+                new IllegalArgumentException(
+                    "Unexpected message type: " + actual
+                );
+        }
+    }
+
+    /**
+     * Quantizes a coordinate to the grid.
+     *
+     * @param value the coordinate
+     * @param origin the coordinate of the grid origin
+     * @return the grid index of {@code value}
+     */
+    private static int quantize(final float value, final float origin) {
+        return Math.round((value - origin) / QUANTUM);
+    }
+
+    /**
+     * Converts a grid index back to a coordinate.
+     *
+     * @param index the grid index
+     * @param origin the coordinate of the grid origin
+     * @return the coordinate
+     */
+    private static float toWorld(final int index, final float origin) {
+        return origin + index * QUANTUM;
+    }
+
+    /**
+     * Reads a grid index as a zig-zag encoded offset from {@code base} and
+     * checks that it lies within the game bounds.
+     *
+     * @param in the buffer to read from
+     * @param base the grid index that the offset is relative to
+     * @param max the greatest grid index within the game bounds
+     * @return the grid index
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    private static int readIndex(
+        final ByteBuffer in,
+        final int base,
+        final int max
+    ) {
+        long index = (long) base + readZigZag(in);
+        if (index < 0 || index > max) {
+            throw
+                new IllegalArgumentException(
+                    "The stroke point is out of bounds."
+                );
+        }
+        return (int) index;
+    }
+
+    /**
+     * Writes a signed integer as a zig-zag encoded {@code varint}.
+     *
+     * @param out the buffer to write to
+     * @param value the value to write
+     */
+    private static void writeZigZag(final ByteBuffer out, final int value) {
+        writeVarInt(out, (value << 1) ^ (value >> (Integer.SIZE - 1)));
+    }
+
+    /**
+     * Writes an unsigned {@code varint}.
+     *
+     * @param out the buffer to write to
+     * @param value the value to write
+     */
+    private static void writeVarInt(final ByteBuffer out, final int value) {
+        int v = value;
+        while ((v & ~VARINT_MASK) != 0) {
+            out.put((byte) (v & VARINT_MASK | VARINT_MORE));
+            v >>>= VARINT_BITS;
+        }
+        out.put((byte) v);
+    }
+
+    /**
+     * Reads a zig-zag encoded signed {@code varint}.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     */
+    private static int readZigZag(final ByteBuffer in) {
+        int v = readVarInt(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Reads an unsigned {@code varint}.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     * @throws IllegalArgumentException if the value is too long
+     */
+    private static int readVarInt(final ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_BITS) {
+            int b = in.get() & BYTE_MASK;
+            value |= (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the binary wire protocol that keeps the game
+ * states of online peers in sync.
+ */
+package com.github.glusk2.sprouts.core.net;
@@ -0,0 +1,244 @@
+package com.github.glusk2.sprouts.core.perf;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Per-frame timing and counting instrumentation.
+ * <p>
+ * The instrumentation points are static calls, so that they can be placed
+ * anywhere in the code without threading a profiler object through the
+ * (immutable) game objects. When the profiler is disabled, which it is by
+ * default, every instrumentation point is a single branch:
+ * <pre>
+ * long start = FrameProfiler.start();
+ * // ... measured code ...
+ * FrameProfiler.stop(FrameProfiler.Section.FACE_EXTRACTION, start);
+ * FrameProfiler.count(FrameProfiler.Counter.FACES, faces.size());
+ * </pre>
+ * Sections may nest (for example, move evaluation happens while the board is
+ * rendered), so the section times of a frame need not add up to the frame
+ * time.
+ * <p>
+ * {@link #frame()} must be called once per frame; it closes the current
+ * frame and makes its totals available through {@link #millis(Section)} and
+ * {@link #count(Counter)}.
+ * <p>
+ * The instrumentation points may be hit from any thread: the drawn Moves,
+ * for example, are built and evaluated off the render thread. Their times
+ * and counts are added to the frame that is current when they are
+ * recorded. {@link #frame()} and the methods that read the totals are meant
+ * to be called from the render thread.
+ */
+public final class FrameProfiler {
+    /** The measured sections of a frame. */
+    public enum Section {
+        /** Building graph faces from edges. */
+        FACE_EXTRACTION,
+        /** Evaluating submoves from strokes. */
+        MOVE_EVALUATION,
+        /** Computing the sprouts tooltip of the move being drawn. */
+        TOOLTIP,
+        /** Rendering the game board. */
+        RENDERING
+    }
+
+    /** The counted quantities of a frame. */
+    public enum Counter {
+        /** Edges rendered. */
+        EDGES,
+        /** Faces built. */
+        FACES,
+        /** Stroke sample points evaluated. */
+        STROKE_SAMPLES,
+        /** Edges and vertices created. */
+        ALLOCATIONS
+    }
+
+    /** The number of past frame times kept for the percentiles. */
+    private static final int HISTORY = 120;
+    /** The percentile of the whole range. */
+    private static final float PERCENT = 100f;
+    /** Nanoseconds per millisecond. */
+    private static final float NANOS_PER_MILLI = 1e6f;
+
+    /** If {@code true}, the instrumentation points are recorded. */
+    private static volatile boolean enabled;
+
+    /** Section times of the current frame, in nanoseconds. */
+    private static final long[] SECTIONS = new long[Section.values().length];
+    /** Section times of the last closed frame, in nanoseconds. */
+    private static final long[] LAST_SECTIONS =
+        new long[Section.values().length];
+    /** Counts of the current frame. */
+    private static final int[] COUNTERS = new int[Counter.values().length];
+    /** Counts of the last closed frame. */
+    private static final int[] LAST_COUNTERS =
+        new int[Counter.values().length];
+
+    /** Past frame times in milliseconds; a ring buffer. */
+    private static final float[] FRAME_TIMES = new float[HISTORY];
+    /** The number of frame times recorded, up to {@code HISTORY}. */
+    private static int frames;
+    /** The index of the next frame time in {@code FRAME_TIMES}. */
+    private static int nextFrame;
+    /** The start of the current frame, or {@code 0} if not started. */
+    private static long frameStart;
+
+    /** Hidden constructor. */
+    private FrameProfiler() {
+    }
+
+    /**
+     * Checks whether the instrumentation points are recorded.
+     *
+     * @return {@code true} if the profiler is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the profiler.
+     * <p>
+     * Both enabling and disabling the profiler clear all recorded data.
+     *
+     * @param isEnabled if {@code true}, the instrumentation points are
+     *                  recorded
+     */
+    public static synchronized void setEnabled(final boolean isEnabled) {
+        enabled = isEnabled;
+        Arrays.fill(SECTIONS, 0);
+        Arrays.fill(LAST_SECTIONS, 0);
+        Arrays.fill(COUNTERS, 0);
+        Arrays.fill(LAST_COUNTERS, 0);
+        frames = 0;
+        nextFrame = 0;
+        frameStart = 0;
+    }
+
+    /**
+     * Marks the start of a measured section.
+     *
+     * @return the start time to pass to {@link #stop(Section, long)}, or
+     *         {@code 0} if the profiler is disabled
+     */
+    public static long start() {
+        if (!enabled) {
+            return 0;
+        }
+        return TimeUtils.nanoTime();
+    }
+
+    /**
+     * Marks the end of a measured section and adds its time to the current
+     * frame.
+     *
+     * @param section the measured section
+     * @param start the value returned by {@link #start()}
+     */
+    public static void stop(final Section section, final long start) {
+        if (enabled && start != 0) {
+            add(section, TimeUtils.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds a section time to the current frame.
+     *
+     * @param section the measured section
+     * @param nanos the section time, in nanoseconds
+     */
+    private static synchronized void add(
+        final Section section,
+        final long nanos
+    ) {
+        SECTIONS[section.ordinal()] += nanos;
+    }
+
+    /**
+     * Adds {@code amount} to a counter of the current frame.
+     *
+     * @param counter the counter to add to
+     * @param amount the amount to add
+     */
+    public static void count(final Counter counter, final int amount) {
+        if (enabled) {
+            add(counter, amount);
+        }
+    }
+
+    /**
+     * Adds {@code amount} to a counter of the current frame.
+     *
+     * @param counter the counter to add to
+     * @param amount the amount to add
+     */
+    private static synchronized void add(
+        final Counter counter,
+        final int amount
+    ) {
+        COUNTERS[counter.ordinal()] += amount;
+    }
+
+    /**
+     * Closes the current frame and starts a new one.
+     * <p>
+     * The frame time is the time between two consecutive calls.
+     */
+    public static synchronized void frame() {
+        if (!enabled) {
+            return;
+        }
+        long now = TimeUtils.nanoTime();
+        if (frameStart != 0) {
+            FRAME_TIMES[nextFrame] = (now - frameStart) / NANOS_PER_MILLI;
+            nextFrame = (nextFrame + 1) % HISTORY;
+            frames = Math.min(frames + 1, HISTORY);
+        }
+        frameStart = now;
+        System.arraycopy(SECTIONS, 0, LAST_SECTIONS, 0, SECTIONS.length);
+        System.arraycopy(COUNTERS, 0, LAST_COUNTERS, 0, COUNTERS.length);
+        Arrays.fill(SECTIONS, 0);
+        Arrays.fill(COUNTERS, 0);
+    }
+
+    /**
+     * Returns the time spent in {@code section} during the last closed
+     * frame.
+     *
+     * @param section the measured section
+     * @return the section time, in milliseconds
+     */
+    public static synchronized float millis(final Section section) {
+        return LAST_SECTIONS[section.ordinal()] / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the value of {@code counter} in the last closed frame.
+     *
+     * @param counter the counter
+     * @return the counter value
+     */
+    public static synchronized int count(final Counter counter) {
+        return LAST_COUNTERS[counter.ordinal()];
+    }
+
+    /**
+     * Returns the {@code p}-th percentile of the recent frame times.
+     *
+     * @param p the percentile, between {@code 0} and {@code 100}
+     * @return the frame time percentile in milliseconds, or {@code 0} if no
+     *         frames were recorded
+     */
+    public static synchronized float frameTimePercentile(final float p) {
+        if (frames == 0) {
+            return 0;
+        }
+        float[] sorted = Arrays.copyOf(FRAME_TIMES, frames);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p / PERCENT * frames) - 1;
+        return sorted[Math.max(0, Math.min(frames - 1, index))];
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the lightweight instrumentation that feeds the
+ * in-game performance overlay.
+ */
+package com.github.glusk2.sprouts.core.perf;
@@ -0,0 +1,371 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+
+/**
+ * A grid of distances from the obstacles of a game state.
+ * <p>
+ * The obstacles are the black edges and the vertices, that is, the parts
+ * of a state that a move can't cross or pass by. Each vertex is a disk of
+ * {@code vertexRadius}, so that a move can be kept out of the vertex glue
+ * radius while it passes the edges more closely. Cobweb edges are not
+ * obstacles.
+ * <p>
+ * The game bounds are divided into square cells. Each cell stores the
+ * approximate distance between its center and the nearest obstacle (or the
+ * bounds border, whichever is closer). The distances are computed once, on
+ * first use, with a two-pass chamfer distance transform.
+ * <p>
+ * The computed distances can be off by up to one cell size, in either
+ * direction.
+ */
+public final class ClearanceMap {
+    /** The distance between diagonal neighbours, in cell sizes. */
+    private static final float DIAGONAL = (float) Math.sqrt(2);
+    /** The maximum number of neighbour cells. */
+    private static final int DIAGONAL_NEIGHBOURS = 8;
+    /** The offset of a cell center from its corner, in cell sizes. */
+    private static final float HALF_CELL = .5f;
+
+    /** The game state whose obstacles are mapped. */
+    private final SproutsGameState state;
+    /** The mapped area. */
+    private final Rectangle bounds;
+    /** The cell side length. */
+    private final float cellSize;
+    /** The radius of the vertex obstacles. */
+    private final float vertexRadius;
+
+    /** The number of columns. */
+    private final int columns;
+    /** The number of rows. */
+    private final int rows;
+    /** The computed distances, in cell sizes, in row-major order. */
+    private float[] distances;
+    /** The computed regions, by the minimum clearance. */
+    private final Map<Float, int[]> regions = new HashMap<>();
+
+    /**
+     * Creates a new ClearanceMap of {@code state} obstacles.
+     *
+     * @param state the game state whose obstacles are mapped
+     * @param bounds the mapped area
+     * @param cellSize the cell side length
+     * @param vertexRadius the radius of the vertex obstacles
+     */
+    public ClearanceMap(
+        final SproutsGameState state,
+        final Rectangle bounds,
+        final float cellSize,
+        final float vertexRadius
+    ) {
+        this.state = state;
+        this.bounds = bounds;
+        this.cellSize = cellSize;
+        this.vertexRadius = vertexRadius;
+        this.columns = Math.max(1, (int) Math.ceil(bounds.width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(bounds.height / cellSize));
+    }
+
+    /**
+     * Returns the cell side length.
+     *
+     * @return the cell side length
+     */
+    public float cellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the number of cells.
+     *
+     * @return the number of cells
+     */
+    public int size() {
+        return columns * rows;
+    }
+
+    /**
+     * Returns the index of the cell that contains {@code point}, or
+     * {@code -1} if {@code point} is out of bounds.
+     *
+     * @param point a point
+     * @return the index of the cell that contains {@code point}
+     */
+    public int cell(final Vector2 point) {
+        int column = (int) Math.floor((point.x - bounds.x) / cellSize);
+        int row = (int) Math.floor((point.y - bounds.y) / cellSize);
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Returns the center of the cell at {@code index}.
+     *
+     * @param index cell index
+     * @return the center of the cell at {@code index}
+     */
+    public Vector2 center(final int index) {
+        return
+            new Vector2(
+                bounds.x + (index % columns + HALF_CELL) * cellSize,
+                bounds.y + (index / columns + HALF_CELL) * cellSize
+            );
+    }
+
+    /**
+     * Returns the indices of the (up to 8) cells that share a side or a
+     * corner with the cell at {@code index}.
+     * <p>
+     * The result is written to {@code neighbours}; the returned value is
+     * the number of neighbours written.
+     *
+     * @param index cell index
+     * @param neighbours an array of at least 8 elements to write the
+     *                   neighbour indices to
+     * @return the number of neighbours written
+     */
+    public int neighbours(final int index, final int[] neighbours) {
+        int column = index % columns;
+        int row = index / columns;
+        int count = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int c = column + dx;
+                int r = row + dy;
+                if (
+                    (dx != 0 || dy != 0)
+                 && c >= 0 && r >= 0 && c < columns && r < rows
+                ) {
+                    neighbours[count++] = r * columns + c;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the approximate distance between the center of the cell at
+     * {@code index} and the nearest obstacle or the bounds border.
+     *
+     * @param index cell index
+     * @return the approximate distance to the nearest obstacle or the border
+     */
+    public float clearance(final int index) {
+        if (distances == null) {
+            distances = transform();
+        }
+        return distances[index] * cellSize;
+    }
+
+    /**
+     * Returns the approximate distance between {@code point} and the
+     * nearest obstacle or the bounds border.
+     *
+     * @param point a point
+     * @return the approximate distance to the nearest obstacle or the border,
+     *         {@code 0} if {@code point} is out of bounds
+     */
+    public float clearance(final Vector2 point) {
+        int index = cell(point);
+        if (index < 0) {
+            return 0;
+        }
+        return clearance(index);
+    }
+
+    /**
+     * Returns the region of the cell at {@code index}.
+     * <p>
+     * A region is a maximal set of cells with the clearance of at least
+     * {@code minClearance}, where every two cells are connected by a chain
+     * of neighbours in the set. A path that keeps {@code minClearance}
+     * exists between two cells if and only if they are in the same region.
+     * <p>
+     * The regions are computed once per {@code minClearance}.
+     *
+     * @param index cell index
+     * @param minClearance the minimum clearance of the region cells
+     * @return the region label of the cell at {@code index}, or {@code -1}
+     *         if its clearance is less than {@code minClearance}
+     */
+    public int region(final int index, final float minClearance) {
+        int[] labels = regions.get(minClearance);
+        if (labels == null) {
+            labels = label(minClearance);
+            regions.put(minClearance, labels);
+        }
+        return labels[index];
+    }
+
+    /**
+     * Labels the regions of cells with the clearance of at least
+     * {@code minClearance}.
+     *
+     * @param minClearance the minimum clearance of the region cells
+     * @return the region labels, in row-major order
+     */
+    private int[] label(final float minClearance) {
+        int[] labels = new int[size()];
+        Arrays.fill(labels, -1);
+        int[] stack = new int[size()];
+        int[] neighbours = new int[DIAGONAL_NEIGHBOURS];
+        for (int seed = 0; seed < labels.length; seed++) {
+            if (labels[seed] >= 0 || clearance(seed) < minClearance) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = seed;
+            labels[seed] = seed;
+            while (top > 0) {
+                int current = stack[--top];
+                int count = neighbours(current, neighbours);
+                for (int n = 0; n < count; n++) {
+                    int next = neighbours[n];
+                    if (labels[next] < 0 && clearance(next) >= minClearance) {
+                        labels[next] = seed;
+                        stack[top++] = next;
+                    }
+                }
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Computes the distances, in cell sizes.
+     *
+     * @return the distances, in cell sizes, in row-major order
+     */
+    private float[] transform() {
+        float[] d = new float[columns * rows];
+        for (int i = 0; i < d.length; i++) {
+            int column = i % columns;
+            int row = i / columns;
+            d[i] =
+                Math.min(
+                    Math.min(column, columns - 1 - column),
+                    Math.min(row, rows - 1 - row)
+                ) + HALF_CELL;
+        }
+        for (SproutsEdge edge : state.edges()) {
+            if (!edge.isPositive() || edge.color().equals(Color.RED)) {
+                continue;
+            }
+            List<Vector2> points = edge.polyline().points();
+            for (int i = 0; i < points.size() - 1; i++) {
+                seed(d, points.get(i), points.get(i + 1));
+            }
+        }
+        for (Vertex v : state.vertices()) {
+            seed(d, v.position());
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int i = row * columns + column;
+                if (column > 0) {
+                    d[i] = Math.min(d[i], d[i - 1] + 1);
+                }
+                if (row > 0) {
+                    d[i] = Math.min(d[i], d[i - columns] + 1);
+                    if (column > 0) {
+                        d[i] = Math.min(d[i], d[i - columns - 1] + DIAGONAL);
+                    }
+                    if (column < columns - 1) {
+                        d[i] = Math.min(d[i], d[i - columns + 1] + DIAGONAL);
+                    }
+                }
+            }
+        }
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int column = columns - 1; column >= 0; column--) {
+                int i = row * columns + column;
+                if (column < columns - 1) {
+                    d[i] = Math.min(d[i], d[i + 1] + 1);
+                }
+                if (row < rows - 1) {
+                    d[i] = Math.min(d[i], d[i + columns] + 1);
+                    if (column < columns - 1) {
+                        d[i] = Math.min(d[i], d[i + columns + 1] + DIAGONAL);
+                    }
+                    if (column > 0) {
+                        d[i] = Math.min(d[i], d[i + columns - 1] + DIAGONAL);
+                    }
+                }
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Sets the exact distances of the cells that the line segment
+     * {@code p1p2} passes through.
+     *
+     * @param d the distances, in cell sizes
+     * @param p1 line segment start
+     * @param p2 line segment end
+     */
+    private void seed(final float[] d, final Vector2 p1, final Vector2 p2) {
+        float length = p1.dst(p2);
+        int steps = (int) Math.ceil(2 * length / cellSize);
+        Vector2 sample = new Vector2();
+        for (int s = 0; s <= steps; s++) {
+            sample.set(p1);
+            if (steps > 0) {
+                sample.lerp(p2, (float) s / steps);
+            }
+            int index = cell(sample);
+            if (index >= 0) {
+                d[index] =
+                    Math.min(
+                        d[index],
+                        Intersector.distanceSegmentPoint(
+                            p1,
+                            p2,
+                            center(index)
+                        ) / cellSize
+                    );
+            }
+        }
+    }
+
+    /**
+     * Sets the exact distances of the cells around the vertex obstacle at
+     * {@code position}.
+     *
+     * @param d the distances, in cell sizes
+     * @param position vertex position
+     */
+    private void seed(final float[] d, final Vector2 position) {
+        float reach = vertexRadius + cellSize;
+        Vector2 corner = new Vector2();
+        for (float y = -reach; y <= reach; y += cellSize) {
+            for (float x = -reach; x <= reach; x += cellSize) {
+                int index = cell(corner.set(position).add(x, y));
+                if (index >= 0) {
+                    d[index] =
+                        Math.min(
+                            d[index],
+                            Math.max(
+                                0,
+                                center(index).dst(position) - vertexRadius
+                            ) / cellSize
+                        );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * A synthesized stroke between two corners of a face.
+ * <p>
+ * A corner of a face is where the face boundary walk passes through a
+ * vertex; the {@code i}-th corner is the corner at
+ * {@code walk.get(i).from()}, between {@code walk.get(i - 1)} and
+ * {@code walk.get(i)}. The stroke:
+ * <ol>
+ *   <li>leaves the vertex of the {@code from} corner along the corner
+ *       bisector, until it is at least {@code minClearance} away from all
+ *       obstacles,</li>
+ *   <li>follows a {@link GridPath} to the same point of the {@code to}
+ *       corner and</li>
+ *   <li>enters the vertex of the {@code to} corner along the corner
+ *       bisector.</li>
+ * </ol>
+ * If {@code from == to}, the stroke is a loop; it leaves and enters the
+ * corner along the lines that split it in thirds, so that the two ends of
+ * the move don't overlap.
+ * <p>
+ * If such a stroke can't be made, {@link #points()} returns an empty list.
+ * The stroke is not guaranteed to be a legal move and should be validated
+ * as any other stroke.
+ */
+public final class FaceStroke implements Polyline {
+    /**
+     * The maximum length of the path along the corner bisector, in
+     * multiples of {@code minClearance}.
+     */
+    private static final float MAX_SPOKE_SCALE = 8f;
+    /** A full angle (in radians). */
+    private static final double FULL_ANGLE = 2 * Math.PI;
+    /** Corners sharper than this (in radians) are treated as spikes. */
+    private static final double MIN_SWEEP = 1e-3;
+    /** Splits a corner in half. */
+    private static final double HALF = .5;
+    /** Splits a corner in the ratio 1:2. */
+    private static final double ONE_THIRD = 1. / 3;
+    /** Splits a corner in the ratio 2:1. */
+    private static final double TWO_THIRDS = 2. / 3;
+
+    /** The face boundary, ordered as a closed walk. */
+    private final List<SproutsEdge> walk;
+    /** The index of the corner to start at. */
+    private final int from;
+    /** The index of the corner to end at. */
+    private final int to;
+    /** The map of obstacle distances. */
+    private final ClearanceMap map;
+    /** The minimum distance between the stroke and the obstacles. */
+    private final float minClearance;
+    /** Determines the shape of the path between the corners. */
+    private final long salt;
+
+    /** A cached value of {@link #points()}. */
+    private List<Vector2> cache;
+
+    /**
+     * Creates a new stroke between two face corners.
+     *
+     * @param walk the face boundary, ordered as a closed walk (see
+     *             {@code FaceBoundary.walk()})
+     * @param from the index of the corner to start at
+     * @param to the index of the corner to end at
+     * @param map the map of edge distances
+     * @param minClearance the minimum distance between the stroke (apart
+     *                     from its ends) and the obstacles
+     * @param salt determines the shape of the path between the corners
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public FaceStroke(
+        final List<SproutsEdge> walk,
+        final int from,
+        final int to,
+        final ClearanceMap map,
+        final float minClearance,
+        final long salt
+    ) {
+        this.walk = walk;
+        this.from = from;
+        this.to = to;
+        this.map = map;
+        this.minClearance = minClearance;
+        this.salt = salt;
+    }
+
+    @Override
+    public List<Vector2> points() {
+        if (cache != null) {
+            return cache;
+        }
+        cache = Collections.emptyList();
+        double first = HALF;
+        double last = HALF;
+        if (from == to) {
+            first = ONE_THIRD;
+            last = TWO_THIRDS;
+        }
+        List<Vector2> head = spoke(from, first);
+        List<Vector2> tail = spoke(to, last);
+        if (head.isEmpty() || tail.isEmpty()) {
+            return cache;
+        }
+        List<Vector2> path =
+            new GridPath(
+                map,
+                head.get(head.size() - 1),
+                tail.get(tail.size() - 1),
+                minClearance,
+                salt
+            ).points();
+        if (path.isEmpty()) {
+            return cache;
+        }
+        List<Vector2> result = new ArrayList<>(head);
+        result.addAll(path.subList(1, path.size() - 1));
+        Collections.reverse(tail);
+        result.addAll(tail);
+        cache = result;
+        return cache;
+    }
+
+    /**
+     * Returns the points along a line that splits a corner, from the corner
+     * vertex to the first point that is at least {@code minClearance} away
+     * from all obstacles.
+     *
+     * @param corner the index of the corner
+     * @param split the ratio in which the line splits the corner, measured
+     *              from the {@code walk.get(corner)} side
+     * @return the points along the line, or an empty list if the line is
+     *         too long or gets close to another obstacle
+     */
+    private List<Vector2> spoke(final int corner, final double split) {
+        int n = walk.size();
+        List<Vector2> outgoing = oriented(walk.get(corner % n));
+        List<Vector2> incoming = oriented(walk.get((corner + n - 1) % n));
+        Vector2 vertex = outgoing.get(0);
+        Vector2 next = outgoing.get(1);
+        Vector2 prev = incoming.get(incoming.size() - 2);
+
+        double alpha = Math.atan2(next.y - vertex.y, next.x - vertex.x);
+        double beta = Math.atan2(prev.y - vertex.y, prev.x - vertex.x);
+        double sweep = beta - alpha;
+        while (sweep <= 0) {
+            sweep += FULL_ANGLE;
+        }
+        while (sweep > FULL_ANGLE) {
+            sweep -= FULL_ANGLE;
+        }
+        // The walk turns back on itself (within the rounding error)
+        if (sweep < MIN_SWEEP) {
+            sweep = FULL_ANGLE;
+        }
+        double angle = alpha + split * sweep;
+        Vector2 direction =
+            new Vector2((float) Math.cos(angle), (float) Math.sin(angle));
+
+        float step = map.cellSize();
+        float maxClearance = 0;
+        List<Vector2> result = new ArrayList<>();
+        result.add(vertex);
+        for (float d = step; d <= MAX_SPOKE_SCALE * minClearance; d += step) {
+            Vector2 point = direction.cpy().scl(d).add(vertex);
+            float clearance = map.clearance(point);
+            if (clearance >= minClearance) {
+                result.add(point);
+                return result;
+            }
+            // Approaching another obstacle; the line would cross it
+            if (clearance < maxClearance - step) {
+                break;
+            }
+            maxClearance = Math.max(maxClearance, clearance);
+            result.add(point);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the points of {@code edge}, ordered from {@code edge.from()}
+     * to {@code edge.to()}.
+     *
+     * @param edge a directed edge
+     * @return the points of {@code edge}, in the edge direction
+     */
+    private static List<Vector2> oriented(final SproutsEdge edge) {
+        List<Vector2> points = edge.polyline().points();
+        if (edge.isPositive()) {
+            return points;
+        }
+        List<Vector2> reversed = new ArrayList<>(points);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A compact binary record of a played game.
+ * <p>
+ * The record stores the same items as a {@link GameTrace}, but the strokes
+ * are simplified, quantized and delta-encoded (see {@link GameRecordWriter}
+ * and {@link RecordedGame} for the format), so that a game takes a few KB.
+ * The game is played back with {@link RecordedGame}; the played back
+ * strokes differ from the recorded ones by less than a fraction of the move
+ * thickness, so the played back game is topologically the same, but not
+ * bit-exact.
+ */
+public final class GameRecord {
+    /** The game to record. */
+    private final PlayedGame game;
+
+    /**
+     * Creates a new record of {@code game}.
+     *
+     * @param game the game to record
+     */
+    public GameRecord(final PlayedGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Writes this record to {@code out}. The stream is not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if {@code out} can't be written to
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        GameRecordWriter writer =
+            new GameRecordWriter(
+                out,
+                game.numOfSprouts(),
+                game.gameBounds(),
+                game.moveThickness()
+            );
+        for (PlayedMove move : game.moves()) {
+            writer.write(move.stroke(), move.middleSprout());
+        }
+        writer.finish();
+    }
+
+    /**
+     * Returns the bytes of this record.
+     *
+     * @return the record bytes
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+}
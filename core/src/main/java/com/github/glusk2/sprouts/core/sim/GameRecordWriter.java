@@ -0,0 +1,176 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A streaming writer of the compact binary game record.
+ * <p>
+ * The header (the game parameters) is written on construction, every move
+ * is written as soon as it is passed to {@link #write(List, Vector2)} and
+ * {@link #finish()} writes the end marker. See {@link RecordedGame} for
+ * the format and the replay.
+ * <p>
+ * The strokes are simplified (see {@link SimplifiedStroke}), quantized to
+ * a grid of {@code quantum} and delta-encoded, so that a typical stroke
+ * takes a few bytes per kept point.
+ */
+public final class GameRecordWriter {
+    /** The data output to write to. */
+    private final DataOutputStream out;
+    /** The game bounds; coordinates are written relative to the origin. */
+    private final Rectangle gameBounds;
+    /** The size of the coordinate grid. */
+    private final float quantum;
+    /** The maximum distance between the recorded and the played stroke. */
+    private final float tolerance;
+
+    /**
+     * Creates a new writer and writes the record header, using the default
+     * grid size and simplification tolerance.
+     *
+     * @param out the stream to write to
+     * @param numOfSprouts the number of sprouts in the initial state
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @throws IOException if {@code out} can't be written to
+     */
+    public GameRecordWriter(
+        final OutputStream out,
+        final int numOfSprouts,
+        final Rectangle gameBounds,
+        final float moveThickness
+    ) throws IOException {
+        this(
+            out,
+            numOfSprouts,
+            gameBounds,
+            moveThickness,
+            RecordedGame.DEFAULT_QUANTUM,
+            RecordedGame.DEFAULT_TOLERANCE_MODIFIER * moveThickness
+        );
+    }
+
+    /**
+     * Creates a new writer and writes the record header.
+     *
+     * @param out the stream to write to
+     * @param numOfSprouts the number of sprouts in the initial state
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @param quantum the size of the coordinate grid
+     * @param tolerance the maximum distance between the recorded and the
+     *                  played stroke, before quantization; {@code 0} keeps
+     *                  all the stroke points
+     * @throws IOException if {@code out} can't be written to
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public GameRecordWriter(
+        final OutputStream out,
+        final int numOfSprouts,
+        final Rectangle gameBounds,
+        final float moveThickness,
+        final float quantum,
+        final float tolerance
+    ) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.gameBounds = new Rectangle(gameBounds);
+        this.quantum = quantum;
+        this.tolerance = tolerance;
+        this.out.writeInt(RecordedGame.MAGIC);
+        this.out.writeByte(RecordedGame.VERSION);
+        writeVarInt(numOfSprouts);
+        this.out.writeFloat(gameBounds.x);
+        this.out.writeFloat(gameBounds.y);
+        this.out.writeFloat(gameBounds.width);
+        this.out.writeFloat(gameBounds.height);
+        this.out.writeFloat(moveThickness);
+        this.out.writeFloat(quantum);
+    }
+
+    /**
+     * Writes a move.
+     *
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin
+     * @param middleSprout the middle sprout position, on or near one of the
+     *                     stroke points
+     * @throws IOException if the stream can't be written to
+     */
+    public void write(
+        final List<Vector2> stroke,
+        final Vector2 middleSprout
+    ) throws IOException {
+        List<Vector2> points =
+            new SimplifiedStroke(stroke, middleSprout, tolerance).points();
+        writeVarInt(points.size());
+        writeZigZag(quantize(middleSprout.x, gameBounds.x));
+        writeZigZag(quantize(middleSprout.y, gameBounds.y));
+        int lastX = 0;
+        int lastY = 0;
+        for (Vector2 point : points) {
+            int x = quantize(point.x, gameBounds.x);
+            int y = quantize(point.y, gameBounds.y);
+            writeZigZag(x - lastX);
+            writeZigZag(y - lastY);
+            lastX = x;
+            lastY = y;
+        }
+    }
+
+    /**
+     * Writes the end marker and flushes the stream. The stream is not
+     * closed.
+     *
+     * @throws IOException if the stream can't be written to
+     */
+    public void finish() throws IOException {
+        writeVarInt(0);
+        out.flush();
+    }
+
+    /**
+     * Quantizes a coordinate to the grid.
+     *
+     * @param value the coordinate
+     * @param origin the coordinate of the grid origin
+     * @return the grid index of {@code value}
+     */
+    private int quantize(final float value, final float origin) {
+        return Math.round((value - origin) / quantum);
+    }
+
+    /**
+     * Writes a signed integer as a zig-zag encoded variable length integer,
+     * so that small negative values take few bytes as well.
+     *
+     * @param value the value to write
+     * @throws IOException if the stream can't be written to
+     */
+    private void writeZigZag(final int value) throws IOException {
+        writeVarInt((value << 1) ^ (value >> (Integer.SIZE - 1)));
+    }
+
+    /**
+     * Writes an unsigned integer in 7 bit groups, least significant first;
+     * the high bit of each byte tells whether another byte follows.
+     *
+     * @param value the value to write
+     * @throws IOException if the stream can't be written to
+     */
+    private void writeVarInt(final int value) throws IOException {
+        int v = value;
+        while ((v & ~RecordedGame.VARINT_MASK) != 0) {
+            out.writeByte(
+                v & RecordedGame.VARINT_MASK | RecordedGame.VARINT_MORE
+            );
+            v >>>= RecordedGame.VARINT_BITS;
+        }
+        out.writeByte(v);
+    }
+}
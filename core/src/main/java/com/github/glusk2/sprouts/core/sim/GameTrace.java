@@ -0,0 +1,101 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.io.IOException;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A plain text record of a played game.
+ * <p>
+ * The trace stores the game parameters and the stroke and the middle sprout
+ * of every move, one item per line:
+ * <pre>
+ * sprouts 3
+ * bounds 0.0 0.0 400.0 400.0
+ * thickness 2.0
+ * move 181.0 203.0 120.0 200.0 124.0 200.0 ...
+ * move ...
+ * </pre>
+ * A {@code move} line lists the middle sprout position, followed by the
+ * stroke points. All coordinates are written in full precision, so the
+ * game can be played back exactly with {@link ReplayedGame}.
+ */
+public final class GameTrace {
+    /** The game to record. */
+    private final PlayedGame game;
+
+    /**
+     * Creates a new trace of {@code game}.
+     *
+     * @param game the game to record
+     */
+    public GameTrace(final PlayedGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Writes this trace to {@code out}.
+     *
+     * @param out the destination to write to
+     * @throws IOException if {@code out} can't be written to
+     */
+    public void writeTo(final Appendable out) throws IOException {
+        Rectangle bounds = game.gameBounds();
+        out.append(ReplayedGame.SPROUTS)
+            .append(' ')
+            .append(Integer.toString(game.numOfSprouts()))
+            .append('\n');
+        out.append(ReplayedGame.BOUNDS)
+            .append(' ')
+            .append(Float.toString(bounds.x))
+            .append(' ')
+            .append(Float.toString(bounds.y))
+            .append(' ')
+            .append(Float.toString(bounds.width))
+            .append(' ')
+            .append(Float.toString(bounds.height))
+            .append('\n');
+        out.append(ReplayedGame.THICKNESS)
+            .append(' ')
+            .append(Float.toString(game.moveThickness()))
+            .append('\n');
+        for (PlayedMove move : game.moves()) {
+            out.append(ReplayedGame.MOVE);
+            append(out, move.middleSprout());
+            for (Vector2 point : move.stroke()) {
+                append(out, point);
+            }
+            out.append('\n');
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the coordinates of {@code point} to {@code out}, each one
+     * preceded by a space.
+     *
+     * @param out the destination to write to
+     * @param point the point to write
+     * @throws IOException if {@code out} can't be written to
+     */
+    private static void append(
+        final Appendable out,
+        final Vector2 point
+    ) throws IOException {
+        out.append(' ')
+            .append(Float.toString(point.x))
+            .append(' ')
+            .append(Float.toString(point.y));
+    }
+}
@@ -0,0 +1,293 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+/**
+ * A path between two points that keeps a minimum distance from the obstacles of
+ * a {@link ClearanceMap}.
+ * <p>
+ * The path is found with an A* search over the cells of the map, where only
+ * the cells with the clearance of at least {@code minClearance} may be
+ * entered. The cost of a step grows as the path gets closer to the obstacles,
+ * which pulls the path toward the middle of a face. The cost also varies
+ * smoothly across the map, with the pattern determined by {@code salt}, so
+ * that different salts produce differently shaped paths.
+ * <p>
+ * The path points are the centers of every second cell along the path,
+ * starting at {@code from} and ending at {@code to}. If {@code from} and
+ * {@code to} are not connected, {@link #points()} returns an empty list.
+ */
+public final class GridPath implements Polyline {
+    /** Cost noise lattice spacing, in cells. */
+    private static final int NOISE_SPACING = 8;
+    /** The maximum cost noise per unit of path length. */
+    private static final float NOISE_SCALE = 1.5f;
+    /** The cost of passing an obstacle at the minimum clearance. */
+    private static final float WALL_COST = 24f;
+    /**
+     * The weight of the distance to {@code to} in the search priority.
+     * <p>
+     * Values above {@code 1} make the search faster, but the path found is
+     * no longer the cheapest one.
+     */
+    private static final float HEURISTIC_WEIGHT = 8f;
+    /** The number of cells per path point. */
+    private static final int STRIDE = 2;
+    /** The maximum number of neighbour cells. */
+    private static final int MAX_NEIGHBOURS = 8;
+    /** Mixes the noise lattice coordinates. */
+    private static final long NOISE_MIX = 0x9E3779B97F4A7C15L;
+    /** Normalizes the noise lattice values. */
+    private static final float NOISE_NORM = 1f / (1 << Integer.SIZE - 1);
+
+    /** The map of obstacle distances. */
+    private final ClearanceMap map;
+    /** The path start. */
+    private final Vector2 from;
+    /** The path end. */
+    private final Vector2 to;
+    /** The minimum distance between the path and the obstacles. */
+    private final float minClearance;
+    /** Determines the cost noise pattern. */
+    private final long salt;
+
+    /** A cached value of {@link #points()}. */
+    private List<Vector2> cache;
+
+    /**
+     * Creates a new path from {@code from} to {@code to}.
+     *
+     * @param map the map of edge distances
+     * @param from the path start
+     * @param to the path end
+     * @param minClearance the minimum distance between the path and the
+     *                     obstacles
+     * @param salt determines the cost noise pattern
+     */
+    public GridPath(
+        final ClearanceMap map,
+        final Vector2 from,
+        final Vector2 to,
+        final float minClearance,
+        final long salt
+    ) {
+        this.map = map;
+        this.from = from;
+        this.to = to;
+        this.minClearance = minClearance;
+        this.salt = salt;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:methodlength")
+    public List<Vector2> points() {
+        if (cache != null) {
+            return cache;
+        }
+        cache = Collections.emptyList();
+        int start = map.cell(from);
+        int goal = map.cell(to);
+        if (
+            start < 0 || goal < 0
+         || map.region(start, minClearance) < 0
+         || map.region(start, minClearance) != map.region(goal, minClearance)
+        ) {
+            return cache;
+        }
+        float cell = map.cellSize();
+        Vector2 goalCenter = map.center(goal);
+        float[] cost = new float[map.size()];
+        Arrays.fill(cost, Float.POSITIVE_INFINITY);
+        int[] parent = new int[map.size()];
+        boolean[] closed = new boolean[map.size()];
+        CellHeap open = new CellHeap();
+        int[] neighbours = new int[MAX_NEIGHBOURS];
+
+        cost[start] = 0;
+        parent[start] = -1;
+        open.push(
+            start,
+            HEURISTIC_WEIGHT * map.center(start).dst(goalCenter)
+        );
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == goal) {
+                break;
+            }
+            if (closed[current]) {
+                continue;
+            }
+            closed[current] = true;
+            Vector2 currentCenter = map.center(current);
+            int count = map.neighbours(current, neighbours);
+            for (int n = 0; n < count; n++) {
+                int next = neighbours[n];
+                float clearance = map.clearance(next);
+                if (closed[next] || clearance < minClearance) {
+                    continue;
+                }
+                Vector2 nextCenter = map.center(next);
+                float step = currentCenter.dst(nextCenter);
+                float noise =
+                    noise(nextCenter.x / cell, nextCenter.y / cell);
+                float weight =
+                    1
+                  + NOISE_SCALE * noise
+                  + WALL_COST * minClearance / clearance;
+                float nextCost = cost[current] + step * weight;
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = current;
+                    open.push(
+                        next,
+                        nextCost
+                      + HEURISTIC_WEIGHT * nextCenter.dst(goalCenter)
+                    );
+                }
+            }
+        }
+        if (cost[goal] == Float.POSITIVE_INFINITY) {
+            return cache;
+        }
+        List<Vector2> result = new ArrayList<>();
+        result.add(to);
+        int index = 0;
+        for (int c = parent[goal]; c >= 0 && c != start; c = parent[c]) {
+            if (++index % STRIDE == 0) {
+                result.add(map.center(c));
+            }
+        }
+        result.add(from);
+        Collections.reverse(result);
+        cache = result;
+        return cache;
+    }
+
+    /**
+     * Returns smooth noise in {@code [0, 1)} at the specified cell
+     * coordinates.
+     *
+     * @param x cell column (fractional)
+     * @param y cell row (fractional)
+     * @return smooth noise in {@code [0, 1)}
+     */
+    private float noise(final float x, final float y) {
+        float gx = x / NOISE_SPACING;
+        float gy = y / NOISE_SPACING;
+        int ix = (int) Math.floor(gx);
+        int iy = (int) Math.floor(gy);
+        float fx = gx - ix;
+        float fy = gy - iy;
+        float top = lerp(lattice(ix, iy), lattice(ix + 1, iy), fx);
+        float bottom = lerp(lattice(ix, iy + 1), lattice(ix + 1, iy + 1), fx);
+        return lerp(top, bottom, fy);
+    }
+
+    /**
+     * Returns a pseudo-random value in {@code [0, 1)} at the specified
+     * noise lattice point.
+     *
+     * @param ix lattice column
+     * @param iy lattice row
+     * @return a pseudo-random value in {@code [0, 1)}
+     */
+    private float lattice(final int ix, final int iy) {
+        long h = salt ^ ((long) ix << Integer.SIZE ^ iy);
+        h *= NOISE_MIX;
+        h ^= h >>> Integer.SIZE;
+        h *= NOISE_MIX;
+        h ^= h >>> Integer.SIZE;
+        return ((int) h >>> 1) * NOISE_NORM;
+    }
+
+    /**
+     * Linearly interpolates between {@code a} and {@code b}.
+     *
+     * @param a the value at {@code t == 0}
+     * @param b the value at {@code t == 1}
+     * @param t interpolation parameter
+     * @return the interpolated value
+     */
+    private static float lerp(final float a, final float b, final float t) {
+        return a + (b - a) * t;
+    }
+
+    /** A binary min-heap of cell indices, ordered by priority. */
+    private static final class CellHeap {
+        /** The initial heap capacity. */
+        private static final int INITIAL_CAPACITY = 64;
+
+        /** The cell indices. */
+        private int[] cells = new int[INITIAL_CAPACITY];
+        /** The cell priorities. */
+        private float[] priorities = new float[INITIAL_CAPACITY];
+        /** The number of elements. */
+        private int size;
+
+        /**
+         * Checks whether the heap is empty.
+         *
+         * @return {@code true} if the heap is empty
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Adds a cell to the heap.
+         *
+         * @param cell cell index
+         * @param priority cell priority; lower priorities are popped first
+         */
+        void push(final int cell, final float priority) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, 2 * size);
+                priorities = Arrays.copyOf(priorities, 2 * size);
+            }
+            int i = size++;
+            while (i > 0 && priorities[(i - 1) / 2] > priority) {
+                cells[i] = cells[(i - 1) / 2];
+                priorities[i] = priorities[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            cells[i] = cell;
+            priorities[i] = priority;
+        }
+
+        /**
+         * Removes and returns the cell with the lowest priority.
+         *
+         * @return the cell with the lowest priority
+         */
+        int pop() {
+            int top = cells[0];
+            int lastCell = cells[--size];
+            float last = priorities[size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (
+                    child + 1 < size
+                 && priorities[child + 1] < priorities[child]
+                ) {
+                    child++;
+                }
+                if (priorities[child] >= last) {
+                    break;
+                }
+                cells[i] = cells[child];
+                priorities[i] = priorities[child];
+                i = child;
+            }
+            cells[i] = lastCell;
+            priorities[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsInitialState;
+
+/**
+ * A sequence of moves played from a {@link SproutsInitialState}.
+ */
+public interface PlayedGame {
+    /**
+     * Returns the number of sprouts in the initial state.
+     *
+     * @return the number of sprouts in the initial state
+     */
+    int numOfSprouts();
+
+    /**
+     * Returns the game bounds.
+     *
+     * @return the game bounds
+     */
+    Rectangle gameBounds();
+
+    /**
+     * Returns the move thickness.
+     *
+     * @return the move thickness
+     */
+    float moveThickness();
+
+    /**
+     * Returns the moves in the order that they were played.
+     *
+     * @return the moves in the order that they were played
+     */
+    List<PlayedMove> moves();
+
+    /**
+     * Returns the initial state of the game.
+     *
+     * @return the initial state of the game
+     */
+    default SproutsGameState initialState() {
+        return new SproutsInitialState(numOfSprouts(), gameBounds());
+    }
+
+    /**
+     * Returns the state after the last move.
+     *
+     * @return the state after the last move
+     */
+    default SproutsGameState finalState() {
+        List<PlayedMove> moves = moves();
+        if (moves.isEmpty()) {
+            return initialState();
+        }
+        return moves.get(moves.size() - 1).state();
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.PresetVertex;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsStateAfterMove;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.moves.MiddleSprout;
+import com.github.glusk2.sprouts.core.moves.Move;
+import com.github.glusk2.sprouts.core.moves.Submove;
+import com.github.glusk2.sprouts.core.moves.SubmoveElement;
+import com.github.glusk2.sprouts.core.moves.SubmoveHead;
+import com.github.glusk2.sprouts.core.moves.SubmoveSequence;
+
+/**
+ * A move played from a stroke and a middle sprout position.
+ * <p>
+ * The stroke is evaluated the same way as a stroke drawn by a player: it is
+ * split into submoves with {@link SubmoveElement} and the move is applied
+ * with {@link SproutsStateAfterMove}. The stroke is used as-is, without
+ * any smoothing.
+ */
+public final class PlayedMove {
+    /**
+     * The edge compaction tolerance modifier; this is multiplied by the move
+     * thickness.
+     */
+    private static final float COMPACTION_TOLERANCE_MODIFIER = .25f;
+
+    /** The state before the move. */
+    private final SproutsGameState stateBefore;
+    /** The stroke sample points; the first one is the move origin. */
+    private final List<Vector2> stroke;
+    /**
+     * The middle sprout position, or {@code null} to use the point halfway
+     * along the move.
+     */
+    private final Vector2 middleSprout;
+    /** The game bounds. */
+    private final Rectangle gameBounds;
+    /** The move thickness. */
+    private final float moveThickness;
+
+    /** The cached move. */
+    private Move moveCache;
+    /** The cached middle sprout position. */
+    private Vector2 middleSproutCache;
+    /** The cached state after the move. */
+    private SproutsGameState stateCache;
+
+    /**
+     * Creates a new move with the middle sprout placed halfway along the
+     * move.
+     *
+     * @param stateBefore the state before the move
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     */
+    public PlayedMove(
+        final SproutsGameState stateBefore,
+        final List<Vector2> stroke,
+        final Rectangle gameBounds,
+        final float moveThickness
+    ) {
+        this(stateBefore, stroke, null, gameBounds, moveThickness);
+    }
+
+    /**
+     * Creates a new move.
+     *
+     * @param stateBefore the state before the move
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin
+     * @param middleSprout the middle sprout position, or {@code null} to
+     *                     use the point halfway along the move
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     */
+    public PlayedMove(
+        final SproutsGameState stateBefore,
+        final List<Vector2> stroke,
+        final Vector2 middleSprout,
+        final Rectangle gameBounds,
+        final float moveThickness
+    ) {
+        this.stateBefore = stateBefore;
+        this.stroke = stroke;
+        this.middleSprout = middleSprout;
+        this.gameBounds = gameBounds;
+        this.moveThickness = moveThickness;
+    }
+
+    /**
+     * Returns the stroke sample points.
+     *
+     * @return the stroke sample points
+     */
+    public List<Vector2> stroke() {
+        return stroke;
+    }
+
+    /**
+     * Returns the move built from the stroke.
+     *
+     * @return the move built from the stroke
+     */
+    public Move move() {
+        if (moveCache == null) {
+            moveCache =
+                new SubmoveSequence(
+                    new SubmoveHead(
+                        new SubmoveElement(
+                            new PresetVertex(Color.BLACK, stroke.get(0)),
+                            new Polyline.WrappedList(stroke),
+                            stateBefore,
+                            2 * moveThickness,
+                            gameBounds
+                        )
+                    )
+                );
+        }
+        return moveCache;
+    }
+
+    /**
+     * Returns the middle sprout position.
+     *
+     * @return the middle sprout position
+     */
+    public Vector2 middleSprout() {
+        if (middleSproutCache != null) {
+            return middleSproutCache;
+        }
+        if (middleSprout != null) {
+            middleSproutCache = middleSprout;
+            return middleSproutCache;
+        }
+        List<Vector2> points = new ArrayList<>();
+        Iterator<Submove> it = move().iterator();
+        while (it.hasNext()) {
+            Submove submove = it.next();
+            points.addAll(submove.asEdge().polyline().points());
+            it = submove;
+        }
+        float length = 0;
+        for (int i = 1; i < points.size(); i++) {
+            length += points.get(i - 1).dst(points.get(i));
+        }
+        float walked = 0;
+        middleSproutCache = points.get(0);
+        for (int i = 1; i < points.size() && 2 * walked < length; i++) {
+            walked += points.get(i - 1).dst(points.get(i));
+            middleSproutCache = points.get(i);
+        }
+        return middleSproutCache;
+    }
+
+    /**
+     * Checks whether this move is a legal, completed move.
+     *
+     * @return {@code true} if the move is completed and valid, and the
+     *         middle sprout is placed on it
+     */
+    public boolean isValid() {
+        Move move = move();
+        try {
+            return
+                stroke.size() > 1
+             && move.isCompleted()
+             && move.isValid()
+             && middle().submove() != null;
+        } catch (IllegalArgumentException e) {
+            // A stroke that is cut off after its first point can't form
+            // an edge
+            return false;
+        }
+    }
+
+    /**
+     * Returns the state after this move.
+     * <p>
+     * The edges of the returned state are computed once.
+     *
+     * @return the state after this move
+     */
+    public SproutsGameState state() {
+        if (stateCache == null) {
+            Set<SproutsEdge> edges =
+                new SproutsStateAfterMove(
+                    stateBefore,
+                    move(),
+                    middle(),
+                    COMPACTION_TOLERANCE_MODIFIER * moveThickness
+                ).edges();
+            stateCache = () -> edges;
+        }
+        return stateCache;
+    }
+
+    /**
+     * Returns the middle sprout of this move.
+     *
+     * @return the middle sprout of this move
+     */
+    private MiddleSprout middle() {
+        return new MiddleSprout(move(), middleSprout(), moveThickness);
+    }
+}
@@ -0,0 +1,371 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.FaceBoundary;
+import com.github.glusk2.sprouts.core.comb.IsAliveSprout;
+import com.github.glusk2.sprouts.core.comb.IsMovePossible;
+import com.github.glusk2.sprouts.core.comb.IsSubmovePossibleInFace;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsFaces;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.comb.VertexDegree;
+
+/**
+ * A random legal game, played until no more moves are possible.
+ * <p>
+ * Each move joins two living sprouts (or a sprout with itself) that lie on
+ * the boundary of the same face with a {@link FaceStroke}. Candidate pairs
+ * are tried in a random order that prefers sprouts that are close
+ * together, each one with a few different stroke clearances. The first
+ * stroke that makes a legal {@link PlayedMove} is played.
+ * <p>
+ * The game is played once, on the first call to {@link #moves()}, and is
+ * fully determined by its parameters and the {@code seed}.
+ * <p>
+ * A stroke can't be synthesized in every position where a move is still
+ * possible (for example, if the only possible move lies in a face that is
+ * too narrow). In that case the last move is taken back and a different
+ * one is played instead. If that keeps failing, the game stops early and
+ * {@link #isFinished()} returns {@code false}.
+ */
+public final class RandomGame implements PlayedGame {
+    /** Default move thickness. */
+    private static final float DEFAULT_MOVE_THICKNESS = 2f;
+    /** Default game bounds side length per sprout. */
+    private static final float DEFAULT_SIDE_PER_SPROUT = 60f;
+    /** Minimum default game bounds side length. */
+    private static final float DEFAULT_MIN_SIDE = 400f;
+    /** Default maximum number of strokes tried per move. */
+    private static final int DEFAULT_MAX_ATTEMPTS = 48;
+    /** Maximum number of moves taken back per game. */
+    private static final int MAX_BACKTRACKS = 32;
+    /**
+     * The distance assigned to a pair of sprouts that are closer than this
+     * (or to a loop), in multiples of the move thickness.
+     */
+    private static final float MIN_DISTANCE_SCALE = 20f;
+    /** The smallest random factor of a candidate sort key. */
+    private static final float MIN_KEY_FACTOR = .5f;
+    /**
+     * The clearance map cell size, in multiples of the move thickness.
+     */
+    private static final float CELL_SCALE = 1f;
+    /**
+     * The stroke clearances tried, in multiples of the move thickness.
+     * <p>
+     * Each must be larger than the clearance map error (one cell size).
+     * Vertices are mapped as disks of the vertex glue radius, so the
+     * strokes keep out of it in either case.
+     */
+    private static final float[] CLEARANCE_SCALES = {8f, 4f, 2f};
+
+    /** The number of sprouts in the initial state. */
+    private final int numOfSprouts;
+    /** The game bounds. */
+    private final Rectangle gameBounds;
+    /** The move thickness. */
+    private final float moveThickness;
+    /** The random seed. */
+    private final long seed;
+    /** Maximum number of strokes tried per move. */
+    private final int maxAttempts;
+
+    /** The cached moves. */
+    private List<PlayedMove> movesCache;
+    /** The cached value of {@link #isFinished()}. */
+    private boolean finished;
+
+    /**
+     * Creates a new random game with default bounds and move thickness.
+     * <p>
+     * The game bounds are a square, sized proportionally to
+     * {@code numOfSprouts}.
+     *
+     * @param numOfSprouts the number of sprouts in the initial state
+     * @param seed the random seed
+     */
+    public RandomGame(final int numOfSprouts, final long seed) {
+        this(
+            numOfSprouts,
+            new Rectangle(
+                0,
+                0,
+                Math.max(
+                    DEFAULT_MIN_SIDE,
+                    DEFAULT_SIDE_PER_SPROUT * numOfSprouts
+                ),
+                Math.max(
+                    DEFAULT_MIN_SIDE,
+                    DEFAULT_SIDE_PER_SPROUT * numOfSprouts
+                )
+            ),
+            DEFAULT_MOVE_THICKNESS,
+            seed
+        );
+    }
+
+    /**
+     * Creates a new random game.
+     *
+     * @param numOfSprouts the number of sprouts in the initial state
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @param seed the random seed
+     */
+    public RandomGame(
+        final int numOfSprouts,
+        final Rectangle gameBounds,
+        final float moveThickness,
+        final long seed
+    ) {
+        this(
+            numOfSprouts,
+            gameBounds,
+            moveThickness,
+            seed,
+            DEFAULT_MAX_ATTEMPTS
+        );
+    }
+
+    /**
+     * Creates a new random game.
+     *
+     * @param numOfSprouts the number of sprouts in the initial state
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @param seed the random seed
+     * @param maxAttempts maximum number of strokes tried per move, before
+     *                    the game is stopped
+     */
+    public RandomGame(
+        final int numOfSprouts,
+        final Rectangle gameBounds,
+        final float moveThickness,
+        final long seed,
+        final int maxAttempts
+    ) {
+        this.numOfSprouts = numOfSprouts;
+        this.gameBounds = gameBounds;
+        this.moveThickness = moveThickness;
+        this.seed = seed;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public int numOfSprouts() {
+        return numOfSprouts;
+    }
+
+    @Override
+    public Rectangle gameBounds() {
+        return gameBounds;
+    }
+
+    @Override
+    public float moveThickness() {
+        return moveThickness;
+    }
+
+    @Override
+    public List<PlayedMove> moves() {
+        if (movesCache != null) {
+            return movesCache;
+        }
+        Random random = new Random(seed);
+        List<PlayedMove> moves = new ArrayList<>();
+        Set<SproutsEdge> initialEdges = initialState().edges();
+        SproutsGameState state = () -> initialEdges;
+        SproutsGameState initial = state;
+        int backtracks = 0;
+        finished = true;
+        while (new IsMovePossible(state).check()) {
+            PlayedMove move = nextMove(state, random);
+            if (move != null) {
+                moves.add(move);
+                state = move.state();
+                continue;
+            }
+            if (moves.isEmpty() || backtracks++ >= MAX_BACKTRACKS) {
+                finished = false;
+                break;
+            }
+            // Take back the last move and play a different one instead
+            moves.remove(moves.size() - 1);
+            state = initial;
+            if (!moves.isEmpty()) {
+                state = moves.get(moves.size() - 1).state();
+            }
+        }
+        movesCache = Collections.unmodifiableList(moves);
+        return movesCache;
+    }
+
+    /**
+     * Checks whether the game was played until no more moves were
+     * possible.
+     *
+     * @return {@code true} if no more moves are possible after the last
+     *         move, {@code false} if the game was stopped because a legal
+     *         stroke couldn't be found
+     */
+    public boolean isFinished() {
+        moves();
+        return finished;
+    }
+
+    /**
+     * Finds a random legal move in {@code state}.
+     *
+     * @param state the current state
+     * @param random the source of randomness
+     * @return a random legal move, or {@code null} if none was found
+     */
+    private PlayedMove nextMove(
+        final SproutsGameState state,
+        final Random random
+    ) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Set<SproutsEdge> face : new SproutsFaces(state.edges()).faces()) {
+            if (new IsSubmovePossibleInFace(state, face).check()) {
+                addCandidates(
+                    state,
+                    new FaceBoundary(face).walk(),
+                    random,
+                    candidates
+                );
+            }
+        }
+        Collections.sort(candidates);
+
+        ClearanceMap map =
+            new ClearanceMap(
+                state,
+                gameBounds,
+                CELL_SCALE * moveThickness,
+                2 * moveThickness
+            );
+        int attempts = 0;
+        for (Candidate candidate : candidates) {
+            for (float scale : CLEARANCE_SCALES) {
+                if (attempts++ >= maxAttempts) {
+                    return null;
+                }
+                List<Vector2> stroke =
+                    new FaceStroke(
+                        candidate.walk,
+                        candidate.from,
+                        candidate.to,
+                        map,
+                        scale * moveThickness,
+                        random.nextLong()
+                    ).points();
+                if (stroke.isEmpty()) {
+                    continue;
+                }
+                PlayedMove move =
+                    new PlayedMove(state, stroke, gameBounds, moveThickness);
+                if (move.isValid()) {
+                    return move;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds all pairs of living sprouts on the face boundary {@code walk}
+     * to {@code candidates}.
+     * <p>
+     * Each pair is keyed by the distance between its sprouts, scaled by a
+     * random factor. Short moves leave more room for the moves that follow,
+     * so the game is less likely to get stuck in narrow faces.
+     *
+     * @param state the current state
+     * @param walk the face boundary, ordered as a closed walk
+     * @param random the source of randomness, used to order the candidates
+     * @param candidates the list to add the candidates to
+     */
+    private void addCandidates(
+        final SproutsGameState state,
+        final List<SproutsEdge> walk,
+        final Random random,
+        final List<Candidate> candidates
+    ) {
+        List<Integer> sprouts = new ArrayList<>();
+        for (int i = 0; i < walk.size(); i++) {
+            if (new IsAliveSprout(state).test(walk.get(i).from())) {
+                sprouts.add(i);
+            }
+        }
+        for (int from : sprouts) {
+            for (int to : sprouts) {
+                Vertex v = walk.get(from).from();
+                if (
+                    v.equals(walk.get(to).from())
+                 && new VertexDegree(v, state, Color.BLACK).intValue() > 1
+                ) {
+                    continue;
+                }
+                float distance =
+                    Math.max(
+                        MIN_DISTANCE_SCALE * moveThickness,
+                        v.position().dst(walk.get(to).from().position())
+                    );
+                candidates.add(
+                    new Candidate(
+                        walk,
+                        from,
+                        to,
+                        (MIN_KEY_FACTOR + random.nextFloat()) * distance
+                    )
+                );
+            }
+        }
+    }
+
+    /** A pair of sprouts on a face boundary, to be joined by a move. */
+    private static final class Candidate implements Comparable<Candidate> {
+        /** The face boundary, ordered as a closed walk. */
+        private final List<SproutsEdge> walk;
+        /** The index of the corner to start at. */
+        private final int from;
+        /** The index of the corner to end at. */
+        private final int to;
+        /** The sort key; lower keys are tried first. */
+        private final float key;
+
+        /**
+         * Creates a new candidate.
+         *
+         * @param walk the face boundary, ordered as a closed walk
+         * @param from the index of the corner to start at
+         * @param to the index of the corner to end at
+         * @param key the sort key; lower keys are tried first
+         */
+        Candidate(
+            final List<SproutsEdge> walk,
+            final int from,
+            final int to,
+            final float key
+        ) {
+            this.walk = walk;
+            this.from = from;
+            this.to = to;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(final Candidate that) {
+            return Float.compare(this.key, that.key);
+        }
+    }
+}
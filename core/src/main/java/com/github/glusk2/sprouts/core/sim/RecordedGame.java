@@ -0,0 +1,316 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.NearestSproutSearch;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.comb.VoidVertex;
+
+/**
+ * A game played back from a compact binary record, as written by
+ * {@link GameRecordWriter}.
+ * <p>
+ * The record (version 1) is laid out as follows; all {@code float}s and
+ * {@code int}s are big-endian, {@code varint}s are unsigned 7 bit groups,
+ * least significant first, and {@code zigzag}s are signed {@code varint}s:
+ * <pre>
+ * int     magic, "SPRB"
+ * byte    version
+ * varint  number of sprouts
+ * float   game bounds x, y, width, height
+ * float   move thickness
+ * float   quantum, the size of the coordinate grid
+ * move*   the moves
+ * varint  0, the end marker
+ * </pre>
+ * where each move is:
+ * <pre>
+ * varint  n, the number of stroke points
+ * zigzag  middle sprout x, y
+ * zigzag  first stroke point x, y
+ * zigzag  n - 1 times: the delta x, y to the previous stroke point
+ * </pre>
+ * The coordinates are grid indices relative to the game bounds origin.
+ * <p>
+ * The record is read one move at a time, on first use, and every move is
+ * played through the same pipeline as a drawn move. The recorded
+ * coordinates are quantized, so the first stroke point is snapped to the
+ * nearest sprout before the move is played, and the strokes are simplified,
+ * so the decoded points are interpolated back to about the sampling
+ * density of a played stroke (one point per two move thicknesses).
+ */
+public final class RecordedGame implements PlayedGame {
+    /** The record magic number, "SPRB". */
+    static final int MAGIC = 0x53505242;
+    /** The record format version. */
+    static final int VERSION = 1;
+    /** The default size of the coordinate grid. */
+    static final float DEFAULT_QUANTUM = 1 / 16f;
+    /**
+     * The default stroke simplification tolerance modifier; this is
+     * multiplied by the move thickness.
+     */
+    static final float DEFAULT_TOLERANCE_MODIFIER = .25f;
+    /** The number of value bits in a {@code varint} byte. */
+    static final int VARINT_BITS = 7;
+    /** The mask of the value bits in a {@code varint} byte. */
+    static final int VARINT_MASK = (1 << VARINT_BITS) - 1;
+    /** The {@code varint} byte bit that tells that another byte follows. */
+    static final int VARINT_MORE = 1 << VARINT_BITS;
+
+    /** The record data. */
+    private final DataInputStream in;
+
+    /** The number of sprouts, or {@code -1} if the header is not read. */
+    private int numOfSprouts = -1;
+    /** The game bounds. */
+    private Rectangle gameBounds;
+    /** The move thickness. */
+    private float moveThickness;
+    /** The size of the coordinate grid. */
+    private float quantum;
+    /** The cached moves. */
+    private List<PlayedMove> movesCache;
+
+    /**
+     * Creates a new game from a binary record.
+     *
+     * @param record the record bytes
+     */
+    public RecordedGame(final byte[] record) {
+        this(new ByteArrayInputStream(record));
+    }
+
+    /**
+     * Creates a new game from a binary record stream. The stream is read up
+     * to the end marker, on first use, and is not closed.
+     *
+     * @param in the record stream
+     */
+    public RecordedGame(final InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    @Override
+    public int numOfSprouts() {
+        readHeader();
+        return numOfSprouts;
+    }
+
+    @Override
+    public Rectangle gameBounds() {
+        readHeader();
+        return gameBounds;
+    }
+
+    @Override
+    public float moveThickness() {
+        readHeader();
+        return moveThickness;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the record is malformed, or if a
+     *                                  recorded move is not legal
+     * @throws IllegalStateException if the record can't be read
+     */
+    @Override
+    public List<PlayedMove> moves() {
+        if (movesCache != null) {
+            return movesCache;
+        }
+        readHeader();
+        List<PlayedMove> moves = new ArrayList<>();
+        Set<SproutsEdge> initialEdges = initialState().edges();
+        SproutsGameState state = () -> initialEdges;
+        try {
+            int size = readVarInt();
+            while (size != 0) {
+                PlayedMove move = readMove(state, size);
+                if (!move.isValid()) {
+                    throw
+                        new IllegalArgumentException(
+                            "Move " + (moves.size() + 1) + " is not legal."
+                        );
+                }
+                moves.add(move);
+                state = move.state();
+                size = readVarInt();
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("The record is truncated.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read the record.", e);
+        }
+        movesCache = Collections.unmodifiableList(moves);
+        return movesCache;
+    }
+
+    /**
+     * Reads a move.
+     *
+     * @param state the state before the move
+     * @param size the number of stroke points
+     * @return the move
+     * @throws IOException if the record can't be read
+     * @throws IllegalArgumentException if the move doesn't start in a sprout
+     */
+    private PlayedMove readMove(
+        final SproutsGameState state,
+        final int size
+    ) throws IOException {
+        Vector2 middleSprout =
+            new Vector2(
+                readCoordinate(gameBounds.x),
+                readCoordinate(gameBounds.y)
+            );
+        List<Vector2> stroke = new ArrayList<>(size);
+        float lastX = readCoordinate(gameBounds.x);
+        float lastY = readCoordinate(gameBounds.y);
+        stroke.add(origin(state, new Vector2(lastX, lastY)));
+        for (int i = 1; i < size; i++) {
+            lastX = readCoordinate(lastX);
+            lastY = readCoordinate(lastY);
+            Vector2 next = new Vector2(lastX, lastY);
+            Vector2 last = stroke.get(stroke.size() - 1);
+            int steps =
+                (int) Math.ceil(last.dst(next) / (2 * moveThickness));
+            for (int j = 1; j < steps; j++) {
+                stroke.add(last.cpy().lerp(next, (float) j / steps));
+            }
+            stroke.add(next);
+        }
+        return
+            new PlayedMove(
+                state,
+                stroke,
+                middleSprout,
+                gameBounds,
+                moveThickness
+            );
+    }
+
+    /**
+     * Finds the position of the sprout in which a recorded move starts.
+     *
+     * @param state the state before the move
+     * @param position the recorded, quantized position
+     * @return the sprout position
+     * @throws IllegalArgumentException if there is no sprout near
+     *                                  {@code position}
+     */
+    private Vector2 origin(
+        final SproutsGameState state,
+        final Vector2 position
+    ) {
+        Vertex origin =
+            new NearestSproutSearch(
+                state,
+                position,
+                2 * moveThickness,
+                Color.BLACK
+            ).result();
+        if (origin.equals(new VoidVertex())) {
+            throw
+                new IllegalArgumentException(
+                    "A move does not start in a sprout: " + position
+                );
+        }
+        return origin.position().cpy();
+    }
+
+    /**
+     * Reads the record header, once.
+     *
+     * @throws IllegalArgumentException if the header is malformed
+     * @throws IllegalStateException if the record can't be read
+     */
+    private void readHeader() {
+        if (numOfSprouts >= 0) {
+            return;
+        }
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a game record.");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw
+                    new IllegalArgumentException(
+                        "Unsupported record version: " + version
+                    );
+            }
+            int sprouts = readVarInt();
+            gameBounds =
+                new Rectangle(
+                    in.readFloat(),
+                    in.readFloat(),
+                    in.readFloat(),
+                    in.readFloat()
+                );
+            moveThickness = in.readFloat();
+            quantum = in.readFloat();
+            numOfSprouts = sprouts;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("The record is truncated.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read the record.", e);
+        }
+    }
+
+    /**
+     * Reads a coordinate, delta-encoded in grid units.
+     *
+     * @param last the coordinate that the delta is relative to
+     * @return the coordinate
+     * @throws IOException if the record can't be read
+     */
+    private float readCoordinate(final float last) throws IOException {
+        return last + readZigZag() * quantum;
+    }
+
+    /**
+     * Reads a zig-zag encoded signed {@code varint}.
+     *
+     * @return the value
+     * @throws IOException if the record can't be read
+     */
+    private int readZigZag() throws IOException {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Reads an unsigned {@code varint}.
+     *
+     * @return the value
+     * @throws IOException if the record can't be read
+     * @throws IllegalArgumentException if the value is too long
+     */
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_BITS) {
+            int b = in.readUnsignedByte();
+            value |= (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+}
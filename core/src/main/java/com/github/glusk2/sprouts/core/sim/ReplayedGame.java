@@ -0,0 +1,200 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+
+/**
+ * A game played back from a {@link GameTrace}.
+ * <p>
+ * The moves are played through the same pipeline as the recorded game, so
+ * the positions match the recorded ones exactly. The trace is parsed and
+ * the moves are played once, on first use.
+ */
+public final class ReplayedGame implements PlayedGame {
+    /** The keyword of the number of sprouts line. */
+    static final String SPROUTS = "sprouts";
+    /** The keyword of the game bounds line. */
+    static final String BOUNDS = "bounds";
+    /** The keyword of the move thickness line. */
+    static final String THICKNESS = "thickness";
+    /** The keyword of a move line. */
+    static final String MOVE = "move";
+
+    /** The number of game bounds values: x, y, width and height. */
+    private static final int BOUNDS_VALUES = 4;
+    /** The index of the height among the game bounds values. */
+    private static final int HEIGHT = 3;
+    /**
+     * The minimum number of move values: the middle sprout and two stroke
+     * points.
+     */
+    private static final int MIN_MOVE_VALUES = 6;
+
+    /** The trace text. */
+    private final CharSequence trace;
+
+    /** The parsed number of sprouts. */
+    private int numOfSprouts;
+    /** The parsed game bounds. */
+    private Rectangle gameBounds;
+    /** The parsed move thickness. */
+    private float moveThickness;
+    /** The parsed move line values, or {@code null} if not parsed yet. */
+    private List<float[]> moveLines;
+    /** The cached moves. */
+    private List<PlayedMove> movesCache;
+
+    /**
+     * Creates a new game from a trace text, as written by
+     * {@link GameTrace#writeTo(Appendable)}.
+     *
+     * @param trace the trace text
+     */
+    public ReplayedGame(final CharSequence trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public int numOfSprouts() {
+        parse();
+        return numOfSprouts;
+    }
+
+    @Override
+    public Rectangle gameBounds() {
+        parse();
+        return gameBounds;
+    }
+
+    @Override
+    public float moveThickness() {
+        parse();
+        return moveThickness;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the trace is malformed, or if a
+     *                                  recorded move is not legal
+     */
+    @Override
+    public List<PlayedMove> moves() {
+        if (movesCache != null) {
+            return movesCache;
+        }
+        parse();
+        List<PlayedMove> moves = new ArrayList<>();
+        Set<SproutsEdge> initialEdges = initialState().edges();
+        SproutsGameState state = () -> initialEdges;
+        for (float[] values : moveLines) {
+            List<Vector2> stroke = new ArrayList<>();
+            for (int i = 2; i < values.length; i += 2) {
+                stroke.add(new Vector2(values[i], values[i + 1]));
+            }
+            PlayedMove move =
+                new PlayedMove(
+                    state,
+                    stroke,
+                    new Vector2(values[0], values[1]),
+                    gameBounds,
+                    moveThickness
+                );
+            if (!move.isValid()) {
+                throw
+                    new IllegalArgumentException(
+                        "Move " + (moves.size() + 1) + " is not legal."
+                    );
+            }
+            moves.add(move);
+            state = move.state();
+        }
+        movesCache = Collections.unmodifiableList(moves);
+        return movesCache;
+    }
+
+    /**
+     * Parses the trace, once.
+     *
+     * @throws IllegalArgumentException if the trace is malformed
+     */
+    private void parse() {
+        if (moveLines != null) {
+            return;
+        }
+        List<float[]> lines = new ArrayList<>();
+        for (String line : trace.toString().split("\n")) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens[0].isEmpty()) {
+                continue;
+            }
+            float[] values = values(tokens);
+            switch (tokens[0]) {
+                case SPROUTS:
+                    numOfSprouts = Integer.parseInt(tokens[1]);
+                    break;
+                case BOUNDS:
+                    if (values.length != BOUNDS_VALUES) {
+                        throw
+                            new IllegalArgumentException(
+                                "Malformed bounds line: " + line
+                            );
+                    }
+                    gameBounds =
+                        new Rectangle(
+                            values[0],
+                            values[1],
+                            values[2],
+                            values[HEIGHT]
+                        );
+                    break;
+                case THICKNESS:
+                    moveThickness = values[0];
+                    break;
+                case MOVE:
+                    if (
+                        values.length < MIN_MOVE_VALUES
+                     || values.length % 2 != 0
+                    ) {
+                        throw
+                            new IllegalArgumentException(
+                                "Malformed move line: " + line
+                            );
+                    }
+                    lines.add(values);
+                    break;
+                default:
+                    throw
+                        new IllegalArgumentException(
+                            "Unknown trace line: " + line
+                        );
+            }
+        }
+        if (gameBounds == null) {
+            throw new IllegalArgumentException("Game bounds are missing.");
+        }
+        moveLines = lines;
+    }
+
+    /**
+     * Parses all tokens after the first one as floats.
+     *
+     * @param tokens line tokens, the first one being the line keyword
+     * @return the parsed values
+     * @throws IllegalArgumentException if a token is not a number
+     */
+    private static float[] values(final String[] tokens) {
+        float[] values = new float[tokens.length - 1];
+        for (int i = 1; i < tokens.length; i++) {
+            values[i - 1] = Float.parseFloat(tokens[i]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.StreamingSimplifier;
+
+/**
+ * A played stroke, simplified for storage or transfer.
+ * <p>
+ * The stroke is simplified with a {@link StreamingSimplifier} (the same
+ * way as the strokes drawn by players), in two parts that meet at the
+ * stroke point nearest to the middle sprout. The middle sprout is placed
+ * on a stroke point, so this point is always kept.
+ */
+public final class SimplifiedStroke {
+    /** The stroke sample points; the first one is the move origin. */
+    private final List<Vector2> stroke;
+    /** The middle sprout position. */
+    private final Vector2 middleSprout;
+    /** The maximum distance between the simplified and the played stroke. */
+    private final float tolerance;
+
+    /**
+     * Creates a new simplified stroke.
+     *
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin
+     * @param middleSprout the middle sprout position, on or near one of the
+     *                     stroke points
+     * @param tolerance the maximum distance between the simplified and the
+     *                  played stroke; {@code 0} keeps all the stroke points
+     */
+    public SimplifiedStroke(
+        final List<Vector2> stroke,
+        final Vector2 middleSprout,
+        final float tolerance
+    ) {
+        this.stroke = stroke;
+        this.middleSprout = middleSprout;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the points of the simplified stroke.
+     *
+     * @return the points kept; the first one is the move origin
+     */
+    public List<Vector2> points() {
+        if (tolerance <= 0) {
+            return stroke;
+        }
+        int middle = nearestPoint();
+        List<Vector2> points =
+            new ArrayList<>(
+                new StreamingSimplifier(tolerance)
+                    .simplify(stroke.subList(0, middle + 1))
+            );
+        List<Vector2> tail =
+            new StreamingSimplifier(tolerance)
+                .simplify(stroke.subList(middle, stroke.size()));
+        points.addAll(tail.subList(1, tail.size()));
+        return points;
+    }
+
+    /**
+     * Finds the stroke point nearest to the middle sprout.
+     *
+     * @return the index of the stroke point nearest to the middle sprout
+     */
+    private int nearestPoint() {
+        int nearest = 0;
+        for (int i = 1; i < stroke.size(); i++) {
+            if (
+                stroke.get(i).dst2(middleSprout)
+                    < stroke.get(nearest).dst2(middleSprout)
+            ) {
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains classes that play, record and replay whole games
+ * without user input.
+ */
+package com.github.glusk2.sprouts.core.sim;
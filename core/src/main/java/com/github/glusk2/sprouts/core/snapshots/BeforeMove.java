@@ -1,8 +1,5 @@
 package com.github.glusk2.sprouts.core.snapshots;
 
-import java.util.Arrays;
-import java.util.LinkedList;
-
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
@@ -11,13 +8,19 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.github.glusk2.sprouts.core.StateLayer;
 import com.github.glusk2.sprouts.core.ToggleSwitch;
+import com.github.glusk2.sprouts.core.comb.FaceTooltip;
 import com.github.glusk2.sprouts.core.comb.IsAliveSprout;
 import com.github.glusk2.sprouts.core.comb.IsMovePossible;
 import com.github.glusk2.sprouts.core.comb.NearestSproutSearch;
 import com.github.glusk2.sprouts.core.comb.SproutsGameState;
 import com.github.glusk2.sprouts.core.comb.SproutsInitialState;
 import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.BSplineFitter;
+import com.github.glusk2.sprouts.core.geom.SampleBuffer;
+import com.github.glusk2.sprouts.core.geom.StreamingSimplifier;
 
 /**
  * This Snapshot represents the game board <em>before</em> a Move is being
@@ -44,6 +47,13 @@ public final class BeforeMove implements Snapshot {
     private final ToggleSwitch playerTurn;
     /** A reference to the UI label to update player turns. */
     private final Label playerTurnLabel;
+    /** The cached rendering of the committed game state. */
+    private final StateLayer stateLayer;
+    /** The single-threaded executor that evaluates the drawn Moves. */
+    private final AsyncExecutor moveExecutor;
+
+    /** A cached result of {@link #isMovePossible()}. */
+    private Boolean movePossible;
 
     /**
      * Creates a new Snapshot, using the default initial state.
@@ -59,7 +69,11 @@ public final class BeforeMove implements Snapshot {
      * @param playerTurn A switch that tracks the player turn. If ON, it's
      *                   "Player 1"'s turn, else it is "Player 2"'s'.
      * @param playerTurnLabel a reference to the UI label to update player turns
+     * @param stateLayer the cached rendering of the committed game state
+     * @param moveExecutor the single-threaded executor that evaluates the
+     *                     drawn Moves
      */
+    @SuppressWarnings("checkstyle:parameternumber")
     public BeforeMove(
         final float moveThickness,
         final int circleSegmentCount,
@@ -67,7 +81,9 @@ public final class BeforeMove implements Snapshot {
         final Rectangle gameBounds,
         final ToggleSwitch displayCobweb,
         final ToggleSwitch playerTurn,
-        final Label playerTurnLabel
+        final Label playerTurnLabel,
+        final StateLayer stateLayer,
+        final AsyncExecutor moveExecutor
     ) {
         this(
             new SproutsInitialState(
@@ -79,7 +95,9 @@ public final class BeforeMove implements Snapshot {
             gameBounds,
             displayCobweb,
             playerTurn,
-            playerTurnLabel
+            playerTurnLabel,
+            stateLayer,
+            moveExecutor
         );
     }
 
@@ -97,7 +115,11 @@ public final class BeforeMove implements Snapshot {
      * @param playerTurn A switch that tracks the player turn. If ON, it's
      *                   "Player 1"'s turn, else it is "Player 2"'s'.
      * @param playerTurnLabel a reference to the UI label to update player turns
+     * @param stateLayer the cached rendering of the committed game state
+     * @param moveExecutor the single-threaded executor that evaluates the
+     *                     drawn Moves
      */
+    @SuppressWarnings("checkstyle:parameternumber")
     public BeforeMove(
         final SproutsGameState gameState,
         final float moveThickness,
@@ -105,7 +127,9 @@ public final class BeforeMove implements Snapshot {
         final Rectangle gameBounds,
         final ToggleSwitch displayCobweb,
         final ToggleSwitch playerTurn,
-        final Label playerTurnLabel
+        final Label playerTurnLabel,
+        final StateLayer stateLayer,
+        final AsyncExecutor moveExecutor
     ) {
         this.gameState = gameState;
         this.moveThickness = moveThickness;
@@ -114,11 +138,30 @@ public final class BeforeMove implements Snapshot {
         this.displayCobweb = displayCobweb;
         this.playerTurn = playerTurn;
         this.playerTurnLabel = playerTurnLabel;
+        this.stateLayer = stateLayer;
+        this.moveExecutor = moveExecutor;
+    }
+
+    /**
+     * Checks whether any move is possible in {@code gameState}.
+     * <p>
+     * The faces are told apart by a triangulation of the Move edges, so a
+     * face that the cobweb happens to split still counts as one. The check
+     * is done once; the result is cached, so that the redraws of
+     * {@code this} Snapshot don't repeat it.
+     *
+     * @return {@code true} if any move is possible in {@code gameState}
+     */
+    private boolean isMovePossible() {
+        if (movePossible == null) {
+            movePossible = new IsMovePossible(gameState, gameBounds).check();
+        }
+        return movePossible;
     }
 
     @Override
     public Snapshot touchDown(final Vector2 position) {
-        if (!new IsMovePossible(gameState).check()) {
+        if (!isMovePossible()) {
             return this;
         }
 
@@ -137,11 +180,18 @@ public final class BeforeMove implements Snapshot {
                     moveThickness,
                     circleSegmentCount,
                     nearest,
-                    new LinkedList<Vector2>(Arrays.asList(nearest.position())),
+                    new SampleBuffer(nearest.position()),
+                    new StreamingSimplifier(
+                        MoveDrawing.PERP_DISTANCE_MODIFIER * moveThickness
+                    ),
+                    new BSplineFitter(),
+                    new MoveEvaluation(moveExecutor),
+                    new FaceTooltip(gameState, nearest),
                     gameBounds,
                     displayCobweb,
                     playerTurn,
-                    playerTurnLabel
+                    playerTurnLabel,
+                    stateLayer
                 );
         }
         return this;
@@ -160,13 +210,14 @@ public final class BeforeMove implements Snapshot {
     @Override
     @SuppressWarnings("checkstyle:avoidinlineconditionals")
     public void render(final ShapeRenderer renderer) {
-        gameState.render(
+        stateLayer.render(
             renderer,
+            gameState,
             moveThickness,
             circleSegmentCount,
             displayCobweb.state()
         );
-        if (!new IsMovePossible(gameState).check()) {
+        if (!isMovePossible()) {
             Gdx.gl.glEnable(GL20.GL_BLEND);
             Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
@@ -1,31 +1,39 @@
 package com.github.glusk2.sprouts.core.snapshots;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.github.glusk2.sprouts.core.StateLayer;
 import com.github.glusk2.sprouts.core.ToggleSwitch;
-import com.github.glusk2.sprouts.core.comb.SproutsFaces;
+import com.github.glusk2.sprouts.core.comb.FaceTooltip;
 import com.github.glusk2.sprouts.core.comb.SproutsGameState;
-import com.github.glusk2.sprouts.core.comb.SproutsTooltip;
 import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.AdaptiveCurveApproximation;
+import com.github.glusk2.sprouts.core.geom.BSplineFitter;
 import com.github.glusk2.sprouts.core.geom.BezierCurve;
-import com.github.glusk2.sprouts.core.geom.CurveApproximation;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.geom.SampleBuffer;
+import com.github.glusk2.sprouts.core.geom.StreamingSimplifier;
 import com.github.glusk2.sprouts.core.moves.Move;
 import com.github.glusk2.sprouts.core.moves.RenderedMove;
 import com.github.glusk2.sprouts.core.moves.Submove;
 import com.github.glusk2.sprouts.core.moves.SubmoveElement;
 import com.github.glusk2.sprouts.core.moves.SubmoveHead;
 import com.github.glusk2.sprouts.core.moves.SubmoveSequence;
+import com.github.glusk2.sprouts.core.perf.FrameProfiler;
 
 /**
  * This Snapshot represents the game board <em>while</em> a Move is being drawn.
  * <p>
+ * The Move is evaluated off the render thread (see {@link MoveEvaluation});
+ * the Snapshot renders the newest evaluated Move.
+ * <p>
  * A "touch dragged" event detects the current touch position and returns a new
  * {@code MoveDrawing} Snapshot with one additional Move sample point.
  * <p>
@@ -37,23 +45,30 @@ import com.github.glusk2.sprouts.core.moves.SubmoveSequence;
  */
 public final class MoveDrawing implements Snapshot {
     /**
-     * Spline segment count.
+     * The maximum distance (in world units, roughly pixels) between the
+     * drawn curve and its polyline approximation.
+     */
+    private static final float FLATNESS_TOLERANCE = .5f;
+    /**
+     * Maximum segment length modifier.
      * <p>
-     * Defines the number of discrete points on interval: {@code 0 <= t <= 1}
-     * for spline rendering.
+     * This is multiplied by {@code lineThickness} to compute the
+     * {@code maxSegmentLength} in
+     * {@link AdaptiveCurveApproximation#AdaptiveCurveApproximation(
+     *     com.github.glusk2.sprouts.core.geom.Curve,
+     *     float,
+     *     float
+     * )}; twice the sprout glue radius.
      */
-    private static final int SPLINE_SEGMENT_COUNT = 5;
+    private static final float MAX_SEGMENT_MODIFIER = 4f;
     /**
      * Perpendicular distance modifier.
      * <p>
      * This is multiplied by {@code lineThickness} to compute the
      * {@code tolerance} in
-     * {@link com.github.glusk2.sprouts.core.geom.PerpDistSimpl#PerpDistSimpl(
-     *     java.util.List,
-     *     float
-     * )}.
+     * {@link StreamingSimplifier#StreamingSimplifier(float)}.
      */
-    private static final float PERP_DISTANCE_MODIFIER = 3f;
+    static final float PERP_DISTANCE_MODIFIER = 3f;
 
 
     /** The graph that a Move is being drawn to. */
@@ -71,7 +86,27 @@ public final class MoveDrawing implements Snapshot {
      * The sample points of the Move that is being drawn in {@code this}
      * Snapshot.
      */
-    private final List<Vector2> moveSample;
+    private final SampleBuffer moveSample;
+    /**
+     * Simplifies {@code moveSample}, shared by all the MoveDrawing Snapshots
+     * of the same Move.
+     */
+    private final StreamingSimplifier simplifier;
+    /**
+     * Fits the B-Spline control points of {@code moveSample}, shared by all
+     * the MoveDrawing Snapshots of the same Move.
+     */
+    private final BSplineFitter fitter;
+    /**
+     * Evaluates the Moves off the render thread, shared by all the
+     * MoveDrawing Snapshots of the same Move.
+     */
+    private final MoveEvaluation evaluation;
+    /**
+     * The tooltip of the face in which the Move is drawn, shared by all the
+     * MoveDrawing Snapshots of the same Move.
+     */
+    private final FaceTooltip tooltip;
     /** Any Submove that is drawn outside of {@code gameBounds} is invalid. */
     private final Rectangle gameBounds;
     /** A switch that tracks whether the player wishes to display cobweb. */
@@ -83,6 +118,11 @@ public final class MoveDrawing implements Snapshot {
     private final ToggleSwitch playerTurn;
     /** A reference to the UI label to update player turns. */
     private final Label playerTurnLabel;
+    /** The cached rendering of the committed game state. */
+    private final StateLayer stateLayer;
+
+    /** The evaluation of the Move of {@code this} Snapshot, once submitted. */
+    private AsyncResult<Move> evaluatedMove;
 
     /**
      * Creates a new MoveDrawing Snapshot from the {@code currentState},
@@ -96,6 +136,15 @@ public final class MoveDrawing implements Snapshot {
      *                   in {@code this} Snapshot
      * @param moveSample the sample points of the Move that is being drawn
      *                   in {@code this} Snapshot
+     * @param simplifier simplifies {@code moveSample}, shared by all the
+     *                   MoveDrawing Snapshots of the same Move
+     * @param fitter fits the B-Spline control points of
+     *               {@code moveSample}, shared by all the MoveDrawing
+     *               Snapshots of the same Move
+     * @param evaluation evaluates the Moves off the render thread, shared by
+     *                   all the MoveDrawing Snapshots of the same Move
+     * @param tooltip the tooltip of the face in which the Move is drawn,
+     *                shared by all the MoveDrawing Snapshots of the same Move
      * @param gameBounds any Submove that is drawn outside of
      *                   {@code gameBounds} is invalid
      * @param displayCobweb a switch that tracks whether the player wishes to
@@ -103,6 +152,7 @@ public final class MoveDrawing implements Snapshot {
      * @param playerTurn A switch that tracks the player turn. If ON, it's
      *                   "Player 1"'s turn, else it is "Player 2"'s'.
      * @param playerTurnLabel a reference to the UI label to update player turns
+     * @param stateLayer the cached rendering of the committed game state
      */
     @SuppressWarnings("checkstyle:parameternumber")
     public MoveDrawing(
@@ -110,41 +160,57 @@ public final class MoveDrawing implements Snapshot {
         final float moveThickness,
         final int circleSegmentCount,
         final Vertex moveOrigin,
-        final List<Vector2> moveSample,
+        final SampleBuffer moveSample,
+        final StreamingSimplifier simplifier,
+        final BSplineFitter fitter,
+        final MoveEvaluation evaluation,
+        final FaceTooltip tooltip,
         final Rectangle gameBounds,
         final ToggleSwitch displayCobweb,
         final ToggleSwitch playerTurn,
-        final Label playerTurnLabel
+        final Label playerTurnLabel,
+        final StateLayer stateLayer
     ) {
         this.gameState = gameState;
         this.moveThickness = moveThickness;
         this.circleSegmentCount = circleSegmentCount;
         this.moveOrigin = moveOrigin;
         this.moveSample = moveSample;
+        this.simplifier = simplifier;
+        this.fitter = fitter;
+        this.evaluation = evaluation;
+        this.tooltip = tooltip;
         this.gameBounds = gameBounds;
         this.displayCobweb = displayCobweb;
         this.playerTurn = playerTurn;
         this.playerTurnLabel = playerTurnLabel;
+        this.stateLayer = stateLayer;
     }
 
     /**
      * Builds and returns a new Move from {@code moveOrigin} and
-     * {@code moveSample}.
+     * {@code sample}.
+     * <p>
+     * Called on the evaluation thread only, see {@link MoveEvaluation}.
      *
+     * @param sample the points of {@code moveSample}
      * @return a new Move
      */
-    private Move moveFromSampleAndOrigin() {
+    private Move moveFromSampleAndOrigin(final List<Vector2> sample) {
+        Polyline simplified =
+            new Polyline.WrappedList(simplifier.simplify(sample));
         return
             new SubmoveSequence(
                 new SubmoveHead(
                     new SubmoveElement(
                         moveOrigin,
-                        new CurveApproximation(
+                        new AdaptiveCurveApproximation(
                             new BezierCurve(
-                                new ArrayList<Vector2>(moveSample),
-                                PERP_DISTANCE_MODIFIER * moveThickness
+                                simplified,
+                                () -> fitter.fit(simplified.points())
                             ),
-                            SPLINE_SEGMENT_COUNT
+                            FLATNESS_TOLERANCE,
+                            MAX_SEGMENT_MODIFIER * moveThickness
                         ),
                         gameState,
                         moveThickness * 2,
@@ -154,6 +220,25 @@ public final class MoveDrawing implements Snapshot {
             );
     }
 
+    /**
+     * Submits the Move of {@code this} Snapshot for evaluation, unless it
+     * has already been submitted.
+     * <p>
+     * The render thread keeps appending to the samples that come after
+     * {@code moveSample}, but never changes the points that
+     * {@code moveSample} sees (see {@link SampleBuffer}), so the evaluation
+     * reads it as it is, without a copy.
+     *
+     * @return the evaluation of the Move of {@code this} Snapshot
+     */
+    private AsyncResult<Move> submitMove() {
+        if (evaluatedMove == null) {
+            evaluatedMove =
+                evaluation.submit(() -> moveFromSampleAndOrigin(moveSample));
+        }
+        return evaluatedMove;
+    }
+
     @Override
     public Snapshot touchDown(final Vector2 position) {
         return this;
@@ -161,7 +246,12 @@ public final class MoveDrawing implements Snapshot {
 
     @Override
     public Snapshot touchUp(final Vector2 position) {
-        Move nextMove = moveFromSampleAndOrigin();
+        Move nextMove = submitMove().get();
+        while (nextMove == null) {
+            // Superseded by a Snapshot that was never touched up; resubmit
+            evaluatedMove = null;
+            nextMove = submitMove().get();
+        }
         if (nextMove.isValid() && nextMove.isCompleted()) {
             return
                 new SproutAdd(
@@ -172,7 +262,9 @@ public final class MoveDrawing implements Snapshot {
                     gameBounds,
                     displayCobweb,
                     playerTurn,
-                    playerTurnLabel
+                    playerTurnLabel,
+                    stateLayer,
+                    evaluation.executor()
                 );
         }
 
@@ -184,60 +276,98 @@ public final class MoveDrawing implements Snapshot {
                 gameBounds,
                 displayCobweb,
                 playerTurn,
-                playerTurnLabel
+                playerTurnLabel,
+                stateLayer,
+                evaluation.executor()
             );
     }
 
     @Override
     public Snapshot touchDragged(final Vector2 position) {
-        Vector2 lastElement = moveSample.get(moveSample.size() - 1);
-        if (position.dst(lastElement) > 2 * moveThickness) {
-            List<Vector2> newSample = new LinkedList<Vector2>(moveSample);
-            newSample.add(position);
-            return
-                new MoveDrawing(
-                    gameState,
-                    moveThickness,
-                    circleSegmentCount,
-                    moveOrigin,
-                    newSample,
-                    gameBounds,
-                    displayCobweb,
-                    playerTurn,
-                    playerTurnLabel
-                );
+        return touchDragged(Collections.singletonList(position));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All the positions that are far enough from the previous sample point
+     * are appended to the Move sample at once and a single new
+     * {@code MoveDrawing} Snapshot is returned.
+     */
+    @Override
+    public Snapshot touchDragged(final List<Vector2> positions) {
+        SampleBuffer newSample = moveSample;
+        for (Vector2 position : positions) {
+            Vector2 lastElement = newSample.get(newSample.size() - 1);
+            if (position.dst(lastElement) > 2 * moveThickness) {
+                newSample = newSample.append(position);
+            }
         }
-        return this;
+        if (newSample == moveSample) {
+            return this;
+        }
+        return
+            new MoveDrawing(
+                gameState,
+                moveThickness,
+                circleSegmentCount,
+                moveOrigin,
+                newSample,
+                simplifier,
+                fitter,
+                evaluation,
+                tooltip,
+                gameBounds,
+                displayCobweb,
+                playerTurn,
+                playerTurnLabel,
+                stateLayer
+            );
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Renders the newest evaluated Move of the Move that is being drawn,
+     * which may lag a few sample points behind {@code this} Snapshot while
+     * the evaluation of its Move is in progress.
+     */
     @Override
     public void render(final ShapeRenderer renderer) {
-        Move move = moveFromSampleAndOrigin();
+        submitMove();
+        Move move = evaluation.latest();
 
-        new RenderedMove(
-            move,
-            moveThickness,
-            circleSegmentCount
-        ).render(renderer);
+        if (move != null) {
+            new RenderedMove(
+                move,
+                moveThickness,
+                circleSegmentCount
+            ).render(renderer);
+        }
 
-        gameState.render(
+        stateLayer.render(
             renderer,
+            gameState,
             moveThickness,
             circleSegmentCount,
             displayCobweb.state()
         );
 
+        if (move == null) {
+            return;
+        }
         Iterator<Submove> submoves = move.iterator();
         if (submoves.hasNext()) {
             Submove s = submoves.next();
             if (s.isReadyToRender()) {
-                new SproutsTooltip(
-                    gameState,
-                    () -> new SproutsFaces(
-                        gameState.edges()
-                    ).drawnIn(s.asEdge()),
-                    moveOrigin
-                ).render(renderer, moveThickness, circleSegmentCount, false);
+                long start = FrameProfiler.start();
+                tooltip.of(s.asEdge()).render(
+                    renderer,
+                    moveThickness,
+                    circleSegmentCount,
+                    false
+                );
+                FrameProfiler.stop(FrameProfiler.Section.TOOLTIP, start);
             }
         }
     }
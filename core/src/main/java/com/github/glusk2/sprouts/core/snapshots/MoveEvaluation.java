@@ -0,0 +1,87 @@
+package com.github.glusk2.sprouts.core.snapshots;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.github.glusk2.sprouts.core.moves.EvaluatedMove;
+import com.github.glusk2.sprouts.core.moves.Move;
+
+/**
+ * Evaluates the Moves of a single Move drawing off the render thread.
+ * <p>
+ * Every {@code MoveDrawing} Snapshot of the same Move submits its Move
+ * here. The Moves are evaluated one at a time, on the thread of
+ * {@code executor}, into {@link EvaluatedMove}s. A Move that was superseded
+ * by a newer one before its evaluation started is skipped. The render
+ * thread shows the {@link #latest()} evaluated Move and only the final
+ * "touch up" event waits for a result. A new frame is requested as soon as
+ * a Move is evaluated, so the latest one shows up even if no input event
+ * follows it.
+ * <p>
+ * The Moves are built on the thread of {@code executor} as well, so the
+ * objects that they share between the Snapshots of the same Move, such as
+ * the spline fitter, are only ever used by that one thread. The
+ * {@code executor} must have a single thread.
+ */
+final class MoveEvaluation {
+    /** The single-threaded executor that evaluates the Moves. */
+    private final AsyncExecutor executor;
+    /** The number of the newest submitted Move. */
+    private volatile int newest;
+    /** The newest evaluated Move, or {@code null} if none yet. */
+    private volatile Move latest;
+
+    /**
+     * Creates a new MoveEvaluation.
+     *
+     * @param executor the single-threaded executor that evaluates the Moves
+     */
+    MoveEvaluation(final AsyncExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submits a Move for evaluation, superseding all the previously
+     * submitted ones.
+     *
+     * @param move builds the Move to evaluate, on the evaluation thread
+     * @return the evaluated Move, or {@code null} if it was skipped because
+     *         a newer Move was submitted before its evaluation started
+     */
+    AsyncResult<Move> submit(final AsyncTask<Move> move) {
+        final int number = ++newest;
+        return executor.submit(
+            () -> {
+                if (number != newest) {
+                    return null;
+                }
+                Move evaluated = new EvaluatedMove(move.call());
+                latest = evaluated;
+                if (Gdx.graphics != null) {
+                    Gdx.graphics.requestRendering();
+                }
+                return evaluated;
+            }
+        );
+    }
+
+    /**
+     * Returns the executor that evaluates the Moves.
+     *
+     * @return the single-threaded executor that evaluates the Moves
+     */
+    AsyncExecutor executor() {
+        return executor;
+    }
+
+    /**
+     * Returns the newest evaluated Move.
+     *
+     * @return the newest evaluated Move, or {@code null} if none of the
+     *         submitted Moves has been evaluated yet
+     */
+    Move latest() {
+        return latest;
+    }
+}
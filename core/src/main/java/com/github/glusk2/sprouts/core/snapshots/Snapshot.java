@@ -1,5 +1,7 @@
 package com.github.glusk2.sprouts.core.snapshots;
 
+import java.util.List;
+
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
 import com.github.glusk2.sprouts.core.comb.SproutsGameState;
@@ -42,6 +44,27 @@ public interface Snapshot {
      *         {@code position}, considering the "touch dragged" event
      */
     Snapshot touchDragged(Vector2 position);
+    /**
+     * Creates and returns a new Snapshot by updating {@code this} with the
+     * {@code positions} of all the "touch dragged" events that arrived within
+     * a single frame, in order.
+     * <p>
+     * The default implementation applies {@link #touchDragged(Vector2)} to
+     * each position in turn. Snapshots that would build a new Snapshot per
+     * position can build just one instead.
+     *
+     * @param positions the positions detected on the "touch dragged" events
+     *                  in screen coordinates, in order
+     * @return a new Snapshot created by updating {@code this} with
+     *         {@code positions}, considering the "touch dragged" events
+     */
+    default Snapshot touchDragged(final List<Vector2> positions) {
+        Snapshot result = this;
+        for (Vector2 position : positions) {
+            result = result.touchDragged(position);
+        }
+        return result;
+    }
     /**
      * Renders {@code this} "picture" (Snapshot) with {@code renderer}.
      *
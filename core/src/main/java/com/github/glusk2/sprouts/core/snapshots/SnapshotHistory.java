@@ -0,0 +1,127 @@
+package com.github.glusk2.sprouts.core.snapshots;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.glusk2.sprouts.core.ToggleSwitch;
+
+/**
+ * The undo/redo history of the committed game board Snapshots.
+ * <p>
+ * The history keeps the Snapshots themselves, so undo and redo are
+ * {@code O(1)}: the recorded Snapshot is reused as it is, with its game
+ * state already computed. The game states of the consecutive Snapshots
+ * share their structure (see
+ * {@link com.github.glusk2.sprouts.core.comb.SproutsPersistentState}), so
+ * the history takes memory in proportion to the Moves played, not to the
+ * number of Moves times the board size.
+ * <p>
+ * The player turn is recorded with each Snapshot and restored on undo and
+ * redo.
+ */
+public final class SnapshotHistory {
+    /** The recorded Snapshots, oldest first. */
+    private final List<Snapshot> snapshots = new ArrayList<>();
+    /** The player turn recorded with each Snapshot. */
+    private final List<Boolean> turns = new ArrayList<>();
+    /** A switch that tracks the player turn. */
+    private final ToggleSwitch playerTurn;
+    /** The index of the current Snapshot, or {@code -1} if none. */
+    private int current = -1;
+
+    /**
+     * Creates a new, empty history.
+     *
+     * @param playerTurn A switch that tracks the player turn. If ON, it's
+     *                   "Player 1"'s turn, else it is "Player 2"'s'.
+     */
+    public SnapshotHistory(final ToggleSwitch playerTurn) {
+        this.playerTurn = playerTurn;
+    }
+
+    /**
+     * Records a new committed Snapshot and the current player turn. The
+     * Snapshots that were undone are discarded.
+     *
+     * @param snapshot the committed Snapshot
+     */
+    public void record(final Snapshot snapshot) {
+        while (snapshots.size() > current + 1) {
+            snapshots.remove(snapshots.size() - 1);
+            turns.remove(turns.size() - 1);
+        }
+        snapshots.add(snapshot);
+        turns.add(playerTurn.state());
+        current++;
+    }
+
+    /**
+     * Returns the current committed Snapshot.
+     *
+     * @return the current committed Snapshot, or {@code null} if none
+     */
+    public Snapshot current() {
+        if (current < 0) {
+            return null;
+        }
+        return snapshots.get(current);
+    }
+
+    /**
+     * Checks whether there is a Snapshot to go back to.
+     *
+     * @return {@code true} if {@link #undo()} is possible
+     */
+    public boolean canUndo() {
+        return current > 0;
+    }
+
+    /**
+     * Checks whether there is an undone Snapshot to go forward to.
+     *
+     * @return {@code true} if {@link #redo()} is possible
+     */
+    public boolean canRedo() {
+        return current < snapshots.size() - 1;
+    }
+
+    /**
+     * Goes back to the previous Snapshot and restores its player turn.
+     *
+     * @return the previous Snapshot
+     * @throws IllegalStateException if there is no previous Snapshot
+     */
+    public Snapshot undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo.");
+        }
+        current--;
+        return restore();
+    }
+
+    /**
+     * Goes forward to the next undone Snapshot and restores its player turn.
+     *
+     * @return the next Snapshot
+     * @throws IllegalStateException if there is no undone Snapshot
+     */
+    public Snapshot redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo.");
+        }
+        current++;
+        return restore();
+    }
+
+    /**
+     * Restores the player turn of the current Snapshot and returns it.
+     *
+     * @return the current Snapshot
+     */
+    private Snapshot restore() {
+        if (playerTurn.state() != turns.get(current)) {
+            playerTurn.toggle();
+        }
+        return snapshots.get(current);
+    }
+}
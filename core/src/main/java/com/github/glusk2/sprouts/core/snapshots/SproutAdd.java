@@ -5,8 +5,11 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.github.glusk2.sprouts.core.StateLayer;
 import com.github.glusk2.sprouts.core.ToggleSwitch;
 import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsPersistentState;
 import com.github.glusk2.sprouts.core.comb.SproutsStateAfterMove;
 import com.github.glusk2.sprouts.core.moves.MiddleSprout;
 import com.github.glusk2.sprouts.core.moves.Move;
@@ -17,9 +20,16 @@ import com.github.glusk2.sprouts.core.moves.RenderedMove;
  * indicating that a sprout can be added anywhere on the Move.
  * <p>
  * A "touch up" event detects the position of a new sprout and adds it to the
- * last drawn Move.
+ * last drawn Move. If there is no room for the sprout where the event
+ * lands, the Move is dropped and the game state stays as it was.
  */
 public final class SproutAdd implements Snapshot {
+    /**
+     * The edge compaction tolerance modifier; this is multiplied by the move
+     * thickness.
+     */
+    private static final float COMPACTION_TOLERANCE_MODIFIER = .25f;
+
     /** The graph that a Move is being drawn to. */
     private final SproutsGameState currentState;
     /** The move to place the middle sprout on. */
@@ -39,6 +49,10 @@ public final class SproutAdd implements Snapshot {
     private final ToggleSwitch playerTurn;
     /** A reference to the UI label to update player turns. */
     private final Label playerTurnLabel;
+    /** The cached rendering of the committed game state. */
+    private final StateLayer stateLayer;
+    /** The single-threaded executor that evaluates the drawn Moves. */
+    private final AsyncExecutor moveExecutor;
 
     /**
      * Creates a new SproutAdd Snapshot from the {@code currentState},
@@ -56,6 +70,9 @@ public final class SproutAdd implements Snapshot {
      * @param playerTurn A switch that tracks the player turn. If ON, it's
      *                   "Player 1"'s turn, else it is "Player 2"'s'.
      * @param playerTurnLabel a reference to the UI label to update player turns
+     * @param stateLayer the cached rendering of the committed game state
+     * @param moveExecutor the single-threaded executor that evaluates the
+     *                     drawn Moves
      */
     @SuppressWarnings("checkstyle:parameternumber")
     public SproutAdd(
@@ -66,7 +83,9 @@ public final class SproutAdd implements Snapshot {
         final Rectangle gameBounds,
         final ToggleSwitch displayCobweb,
         final ToggleSwitch playerTurn,
-        final Label playerTurnLabel
+        final Label playerTurnLabel,
+        final StateLayer stateLayer,
+        final AsyncExecutor moveExecutor
     ) {
         this.currentState = currentState;
         this.move = move;
@@ -76,6 +95,8 @@ public final class SproutAdd implements Snapshot {
         this.displayCobweb = displayCobweb;
         this.playerTurn = playerTurn;
         this.playerTurnLabel = playerTurnLabel;
+        this.stateLayer = stateLayer;
+        this.moveExecutor = moveExecutor;
     }
 
     @Override
@@ -89,7 +110,20 @@ public final class SproutAdd implements Snapshot {
         MiddleSprout middleSprout =
             new MiddleSprout(move, position, moveThickness);
 
+        // A misplaced middle sprout leaves the committed state as it is,
+        // so that no Move is recorded in the history
+        SproutsGameState nextState = currentState;
         if (middleSprout.submove() != null) {
+            nextState =
+                new SproutsPersistentState(
+                    currentState,
+                    new SproutsStateAfterMove(
+                        currentState,
+                        move,
+                        middleSprout,
+                        COMPACTION_TOLERANCE_MODIFIER * moveThickness
+                    )
+                );
             playerTurn.toggle();
             if (playerTurnLabel != null) {
                 playerTurnLabel.setText(
@@ -100,17 +134,15 @@ public final class SproutAdd implements Snapshot {
         }
         return
             new BeforeMove(
-                new SproutsStateAfterMove(
-                    currentState,
-                    move,
-                    middleSprout
-                ),
+                nextState,
                 moveThickness,
                 circleSegmentCount,
                 gameBounds,
                 displayCobweb,
                 playerTurn,
-                playerTurnLabel
+                playerTurnLabel,
+                stateLayer,
+                moveExecutor
             );
 }
 
@@ -126,8 +158,9 @@ public final class SproutAdd implements Snapshot {
             moveThickness,
             circleSegmentCount
         ).render(renderer);
-        currentState.render(
+        stateLayer.render(
             renderer,
+            currentState,
             moveThickness,
             circleSegmentCount,
             displayCobweb.state()
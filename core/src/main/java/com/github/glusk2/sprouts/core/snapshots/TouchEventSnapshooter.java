@@ -1,8 +1,14 @@
 package com.github.glusk2.sprouts.core.snapshots;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.github.glusk2.sprouts.core.ToggleSwitch;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
 
 /**
  * A TouchEventSnapshooter is a special kind of "camera" that takes "pictures"
@@ -13,28 +19,150 @@ import com.badlogic.gdx.scenes.scene2d.InputListener;
  * <p>
  * {@code snapshot()} returns the updated {@code initialSnapshot} after zero
  * or more {@code touch} events.
+ * <p>
+ * "Touch dragged" events are not applied as they arrive. Their positions are
+ * collected and applied as a single batch (see
+ * {@link Snapshot#touchDragged(List)}) when the next Snapshot is requested,
+ * that is, once per frame, or before the next "touch down" or "touch up"
+ * event, so that the order of the events is preserved.
+ * <p>
+ * Every "touch up" event that changes the game state commits a Move; the
+ * resulting Snapshot is recorded in the {@code history}, which allows to
+ * {@link #undo()} and {@link #redo()} the committed Moves.
+ * <p>
+ * The touch positions are mapped from the stage to the game world (which
+ * differs from the stage when the game board is zoomed or panned) before
+ * they are applied.
  */
 public final class TouchEventSnapshooter
     extends InputListener implements Snapshooter {
 
     /** The updated {@code initialSnapshot} after zero or more touch events. */
     private Snapshot currentSnapshot;
+    /** The positions of the "touch dragged" events not yet applied. */
+    private final List<Vector2> pendingDrags = new ArrayList<Vector2>();
+    /** The history of the committed Snapshots. */
+    private final SnapshotHistory history;
+    /** Maps the touch positions from the stage to the game world. */
+    private final UnaryOperator<Vector2> toWorld;
 
     /**
      * Creates a new TouchEventSnapshooter by specifying the
-     * {@code initialSnapshot}.
+     * {@code initialSnapshot}, with a history that doesn't track the player
+     * turn.
      *
      * @param initialSnapshot the initial Snapshot
      */
     public TouchEventSnapshooter(final Snapshot initialSnapshot) {
+        this(initialSnapshot, new SnapshotHistory(new ToggleSwitch(false)));
+    }
+
+    /**
+     * Creates a new TouchEventSnapshooter by specifying the
+     * {@code initialSnapshot} and the {@code history}. The
+     * {@code initialSnapshot} is recorded as the first committed Snapshot.
+     *
+     * @param initialSnapshot the initial Snapshot
+     * @param history the history of the committed Snapshots
+     */
+    public TouchEventSnapshooter(
+        final Snapshot initialSnapshot,
+        final SnapshotHistory history
+    ) {
+        this(initialSnapshot, history, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a new TouchEventSnapshooter by specifying the
+     * {@code initialSnapshot}, the {@code history} and the mapping of the
+     * touch positions to the game world. The {@code initialSnapshot} is
+     * recorded as the first committed Snapshot.
+     *
+     * @param initialSnapshot the initial Snapshot
+     * @param history the history of the committed Snapshots
+     * @param toWorld maps the touch positions from the stage to the game
+     *                world
+     */
+    public TouchEventSnapshooter(
+        final Snapshot initialSnapshot,
+        final SnapshotHistory history,
+        final UnaryOperator<Vector2> toWorld
+    ) {
         this.currentSnapshot = initialSnapshot;
+        this.history = history;
+        this.toWorld = toWorld;
+        history.record(initialSnapshot);
+    }
+
+    /**
+     * Discards the Move that is being drawn or has not been committed yet,
+     * if any, and restores the current committed Snapshot.
+     *
+     * @return {@code true} if the Snapshot has changed
+     */
+    public boolean cancel() {
+        pendingDrags.clear();
+        if (currentSnapshot != history.current()) {
+            currentSnapshot = history.current();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Goes back to the previous committed Snapshot, if any.
+     * <p>
+     * If a Move is being drawn or has not been committed yet, it is
+     * discarded instead and the current committed Snapshot is restored.
+     *
+     * @return {@code true} if the Snapshot has changed
+     */
+    public boolean undo() {
+        if (cancel()) {
+            return true;
+        }
+        if (!history.canUndo()) {
+            return false;
+        }
+        currentSnapshot = history.undo();
+        return true;
+    }
+
+    /**
+     * Goes forward to the next undone Snapshot, if any. A Move that is
+     * being drawn is discarded.
+     *
+     * @return {@code true} if the Snapshot has changed
+     */
+    public boolean redo() {
+        if (!history.canRedo()) {
+            return false;
+        }
+        pendingDrags.clear();
+        currentSnapshot = history.redo();
+        return true;
     }
 
     @Override
     public Snapshot snapshot() {
+        applyPendingDrags();
         return currentSnapshot;
     }
 
+    /**
+     * Applies the positions of the pending "touch dragged" events to
+     * {@code currentSnapshot} as a single batch.
+     */
+    private void applyPendingDrags() {
+        if (!pendingDrags.isEmpty()) {
+            currentSnapshot =
+                currentSnapshot.touchDragged(
+                    new ArrayList<Vector2>(pendingDrags)
+                );
+            pendingDrags.clear();
+        }
+    }
+
     @Override
     public boolean touchDown(
         final InputEvent event,
@@ -43,10 +171,8 @@ public final class TouchEventSnapshooter
         final int pointer,
         final int button
     ) {
-        currentSnapshot =
-            currentSnapshot.touchDown(
-                event.getTarget().localToStageCoordinates(new Vector2(x, y))
-            );
+        applyPendingDrags();
+        currentSnapshot = currentSnapshot.touchDown(toWorld(event, x, y));
         return true;
     }
 
@@ -58,10 +184,12 @@ public final class TouchEventSnapshooter
         final int pointer,
         final int button
     ) {
-        currentSnapshot =
-            currentSnapshot.touchUp(
-                event.getTarget().localToStageCoordinates(new Vector2(x, y))
-            );
+        applyPendingDrags();
+        SproutsGameState before = currentSnapshot.gameState();
+        currentSnapshot = currentSnapshot.touchUp(toWorld(event, x, y));
+        if (currentSnapshot.gameState() != before) {
+            history.record(currentSnapshot);
+        }
     }
 
     @Override
@@ -71,8 +199,24 @@ public final class TouchEventSnapshooter
         final float y,
         final int pointer
     ) {
-        currentSnapshot =
-            currentSnapshot.touchDragged(
+        pendingDrags.add(toWorld(event, x, y));
+    }
+
+    /**
+     * Maps a touch position to the game world.
+     *
+     * @param event the touch event
+     * @param x the x coordinate, local to the event target
+     * @param y the y coordinate, local to the event target
+     * @return the touch position in the game world
+     */
+    private Vector2 toWorld(
+        final InputEvent event,
+        final float x,
+        final float y
+    ) {
+        return
+            toWorld.apply(
                 event.getTarget().localToStageCoordinates(new Vector2(x, y))
             );
     }
@@ -0,0 +1,86 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+import org.junit.Test;
+
+public final class FaceLocationTest {
+    @Test
+    public void locatesInnerAndOuterFace() {
+        SproutsEdge e1 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                Vector2.Zero,
+                new Vector2(-3, 2),
+                new Vector2(-3, 6),
+                new Vector2(0, 8)
+            ), Color.BLACK, Color.BLACK
+        );
+        SproutsEdge e2 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                new Vector2(0, 8),
+                new Vector2(3, 6),
+                new Vector2(3, 2),
+                Vector2.Zero
+            ), Color.BLACK, Color.BLACK
+        );
+        SproutsEdge pendant = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(new Vector2(0, 8), new Vector2(0, 5)),
+            Color.BLACK, Color.BLACK
+        );
+        Set<SproutsEdge> edges =
+            new HashSet<SproutsEdge>(
+                Arrays.asList(
+                    e1, e1.reversed(),
+                    e2, e2.reversed(),
+                    pendant, pendant.reversed()
+                )
+            );
+        SproutsFaces faces = new SproutsFaces(edges);
+        Set<SproutsEdge> inner =
+            faces.drawnIn(
+                new SproutsEdge(
+                    new Polyline.WrappedList(Vector2.Zero, new Vector2(0, 2)),
+                    Color.BLACK, Color.BLACK
+                )
+            );
+        Set<SproutsEdge> outer =
+            faces.drawnIn(
+                new SproutsEdge(
+                    new Polyline.WrappedList(Vector2.Zero, new Vector2(0, -2)),
+                    Color.BLACK, Color.BLACK
+                )
+            );
+        assertNotEquals(inner, outer);
+
+        FaceLocation location = new FaceLocation(() -> edges);
+        assertEquals(inner, location.faceAt(new Vector2(0, 2)));
+        assertEquals(inner, location.faceAt(new Vector2(-1, 6)));
+        assertEquals(inner, location.faceAt(new Vector2(1, 6)));
+        assertEquals(outer, location.faceAt(new Vector2(0, -1)));
+        assertEquals(outer, location.faceAt(new Vector2(0, 9)));
+        assertEquals(outer, location.faceAt(new Vector2(-4, 4)));
+        assertEquals(outer, location.faceAt(new Vector2(4, 4)));
+    }
+
+    @Test
+    public void findsNoFaceWithoutEdges() {
+        assertTrue(
+            new FaceLocation(
+                () -> new HashSet<SproutsEdge>()
+            ).faceAt(Vector2.Zero).isEmpty()
+        );
+    }
+}
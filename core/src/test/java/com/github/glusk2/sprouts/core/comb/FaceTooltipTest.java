@@ -0,0 +1,79 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+import org.junit.Test;
+
+public final class FaceTooltipTest {
+    @Test
+    public void reusesTooltipUntilSubmoveLeavesFace() {
+        SproutsEdge e1 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                Vector2.Zero,
+                new Vector2(-3, 2),
+                new Vector2(-3, 6),
+                new Vector2(0, 8)
+            ), Color.BLACK, Color.BLACK
+        );
+        SproutsEdge e2 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                new Vector2(0, 8),
+                new Vector2(3, 6),
+                new Vector2(3, 2),
+                Vector2.Zero
+            ), Color.BLACK, Color.BLACK
+        );
+        SproutsGameState state =
+            () -> new HashSet<SproutsEdge>(
+                Arrays.asList(e1, e1.reversed(), e2, e2.reversed())
+            );
+        FaceTooltip tooltip =
+            new FaceTooltip(state, new PresetVertex(Color.BLACK, Vector2.Zero));
+
+        SproutsGameState inside =
+            tooltip.of(
+                new SproutsEdge(
+                    new Polyline.WrappedList(Vector2.Zero, new Vector2(0, 2)),
+                    Color.BLACK, Color.BLACK
+                )
+            );
+        assertTrue(
+            inside.vertices().contains(
+                new PresetVertex(Color.BLACK, new Vector2(0, 8))
+            )
+        );
+        assertSame(
+            inside,
+            tooltip.of(
+                new SproutsEdge(
+                    new Polyline.WrappedList(
+                        Vector2.Zero,
+                        new Vector2(1, 2),
+                        new Vector2(0, 4)
+                    ),
+                    Color.BLACK, Color.BLACK
+                )
+            )
+        );
+        assertNotSame(
+            inside,
+            tooltip.of(
+                new SproutsEdge(
+                    new Polyline.WrappedList(Vector2.Zero, new Vector2(0, -2)),
+                    Color.BLACK, Color.BLACK
+                )
+            )
+        );
+    }
+}
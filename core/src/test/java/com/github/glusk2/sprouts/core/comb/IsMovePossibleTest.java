@@ -1,6 +1,7 @@
 package com.github.glusk2.sprouts.core.comb;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -8,6 +9,8 @@ import java.util.HashSet;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
 import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.sim.PlayedMove;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
 
 import org.junit.Test;
 
@@ -57,4 +60,29 @@ public final class IsMovePossibleTest {
             ).check()
         );
     }
+
+    @Test
+    public void triangulatedFacesFindEveryMoveThatTheCobwebFinds() {
+        for (long seed = 1; seed <= 4; seed++) {
+            RandomGame game = new RandomGame(4, seed);
+            for (PlayedMove move : game.moves()) {
+                SproutsGameState state = move.state();
+                assertTrue(
+                    !new IsMovePossible(state).check()
+                 || new IsMovePossible(state, game.gameBounds()).check()
+                );
+            }
+        }
+    }
+
+    @Test
+    public void triangulatedFacesJoinFacesThatTheCobwebSplits() {
+        // The game ends when the cobweb splits the outer face in two; the
+        // sprouts with one life left on either side can still be joined
+        RandomGame game = new RandomGame(4, 1L);
+        assertFalse(new IsMovePossible(game.finalState()).check());
+        assertTrue(
+            new IsMovePossible(game.finalState(), game.gameBounds()).check()
+        );
+    }
 }
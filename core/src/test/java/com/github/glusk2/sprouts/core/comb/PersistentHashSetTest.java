@@ -0,0 +1,80 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/** A test class for {@code PersistentHashSet}. */
+public final class PersistentHashSetTest {
+    /**
+     * Tests that random additions and removals give the same sets as with a
+     * {@code HashSet}, and that the earlier versions don't change.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void matchesHashSetAndKeepsOldVersions() {
+        Random random = new Random(1);
+        PersistentHashSet<Key> set = PersistentHashSet.empty();
+        Set<Key> expected = new HashSet<>();
+        PersistentHashSet<Key> old = set;
+        Set<Key> oldExpected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            // A narrow hash range forces deep tries and collisions
+            Key key = new Key(random.nextInt(600));
+            if (random.nextInt(3) == 0) {
+                set = set.minus(key);
+                expected.remove(key);
+            } else {
+                set = set.plus(key);
+                expected.add(key);
+            }
+            if (i == 2500) {
+                old = set;
+                oldExpected = new HashSet<>(expected);
+            }
+            assertThat(set.size(), is(expected.size()));
+        }
+        assertThat(set, is(expected));
+        assertThat(expected.equals(set), is(true));
+        assertThat(old, is(oldExpected));
+        for (Key key : expected) {
+            set = set.minus(key);
+        }
+        assertThat(set.isEmpty(), is(true));
+        assertThat(set.iterator().hasNext(), is(false));
+    }
+
+    /** A set element with a chosen hash code. */
+    private static final class Key {
+        /** The identity of {@code this} key. */
+        private final int id;
+        /** The hash code of {@code this} key. */
+        private final int hash;
+
+        /**
+         * Creates a new key. Every 120th key has the same hash code.
+         *
+         * @param id the identity of the key
+         */
+        @SuppressWarnings("checkstyle:magicnumber")
+        Key(final int id) {
+            this.id = id;
+            this.hash = (id % 3) << 30 | id % 40;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+    }
+}
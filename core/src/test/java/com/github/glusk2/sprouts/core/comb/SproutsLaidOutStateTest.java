@@ -0,0 +1,77 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.Test;
+
+public final class SproutsLaidOutStateTest {
+    /** The game bounds. */
+    private static final Rectangle BOUNDS = new Rectangle(0, 0, 400, 400);
+
+    @Test
+    public void drawsTheGivenPosition() {
+        assertEquals(
+            "1 2}-2 -1.0",
+            new SproutsPositionString(
+                new SproutsLaidOutState("1 2}-2 -1.0", BOUNDS)
+            ).toString()
+        );
+    }
+
+    @Test
+    public void drawsSproutsThatStandAlone() {
+        assertEquals(
+            "0.0.0",
+            new SproutsPositionString(
+                new SproutsLaidOutState("0.0.0", BOUNDS)
+            ).toString()
+        );
+    }
+
+    @Test
+    public void drawsTheRegionsOfAPlayedGameInsideOfTheBounds() {
+        String position =
+            new SproutsPositionString(
+                new RandomGame(6, 3L).finalState()
+            ).toString();
+        SproutsLaidOutState state =
+            new SproutsLaidOutState(position, BOUNDS);
+        String drawn = new SproutsPositionString(state).toString();
+        assertEquals(count(position, '}'), count(drawn, '}'));
+        assertEquals(count(position, '.'), count(drawn, '.'));
+        assertEquals(count(position, ' '), count(drawn, ' '));
+        for (SproutsEdge edge : state.edges()) {
+            List<Vector2> points = edge.polyline().points();
+            for (Vector2 point : points) {
+                assertTrue(BOUNDS.contains(point));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEdgeListedOnlyOnce() {
+        new SproutsLaidOutState("1 2", BOUNDS).edges();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRegionsThatDontNest() {
+        new SproutsLaidOutState("1 2}-2 -1}0", BOUNDS).edges();
+    }
+
+    private static int count(final String text, final char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.sim.PlayedMove;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.Test;
+
+public final class SproutsPersistentStateTest {
+    @Test
+    public void keepsTheEdgesOfEveryMoveOfPlayedGames() {
+        for (int sprouts = 2; sprouts <= 5; sprouts++) {
+            for (long seed = 0; seed < 10; seed++) {
+                RandomGame game = new RandomGame(sprouts, seed);
+                SproutsGameState state =
+                    new SproutsPersistentState(game.initialState());
+                for (PlayedMove played : game.moves()) {
+                    PlayedMove replayed =
+                        new PlayedMove(
+                            state,
+                            played.stroke(),
+                            played.middleSprout(),
+                            game.gameBounds(),
+                            game.moveThickness()
+                        );
+                    SproutsGameState next = replayed.state();
+                    state = new SproutsPersistentState(state, next);
+                    assertEquals(drawn(next), drawn(state));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the edges of {@code state} as their end points and polyline
+     * points, since edges that differ only past their first segment are
+     * equal.
+     *
+     * @param state the state
+     * @return the end points and the polyline points of every edge
+     */
+    private static Set<List<Vector2>> drawn(final SproutsGameState state) {
+        Set<List<Vector2>> result = new HashSet<>();
+        for (SproutsEdge edge : state.edges()) {
+            List<Vector2> points = new ArrayList<>();
+            points.add(edge.from().position());
+            points.add(edge.to().position());
+            points.addAll(edge.polyline().points());
+            result.add(points);
+        }
+        return result;
+    }
+}
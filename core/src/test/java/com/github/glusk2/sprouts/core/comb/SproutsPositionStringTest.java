@@ -0,0 +1,41 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.Test;
+
+public final class SproutsPositionStringTest {
+    @Test
+    public void writesSproutsThatStandAloneInTheOuterRegion() {
+        assertEquals(
+            "0.0.0",
+            new SproutsPositionString(
+                new SproutsInitialState(3, new Rectangle(0, 0, 400, 400))
+            ).toString()
+        );
+    }
+
+    @Test
+    public void writesEveryEdgeOnceInEachDirection() {
+        String position =
+            new SproutsPositionString(
+                new RandomGame(4, 5L).finalState()
+            ).toString();
+        int edges = 0;
+        int darts = 0;
+        int sum = 0;
+        for (String token : position.split("[ .}]")) {
+            int number = Integer.parseInt(token);
+            if (number != 0) {
+                edges = Math.max(edges, number);
+                darts++;
+                sum += number;
+            }
+        }
+        assertEquals(2 * edges, darts);
+        assertEquals(0, sum);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public final class SproutsSavedStateTest {
+    /** The final state of a random game, shared by the tests. */
+    private static SproutsGameState state;
+
+    @BeforeClass
+    public static void playGame() {
+        state = new RandomGame(3, 2L).finalState();
+    }
+
+    @Test
+    public void readsBackRecordedEdgesAndVertices() {
+        SproutsGameState saved =
+            new SproutsSavedState(
+                new SproutsStateRecord(state).toByteArray()
+            );
+        assertEquals(state.edges(), saved.edges());
+        assertEquals(state.vertices(), saved.vertices());
+        assertEquals(
+            new IsMovePossible(state).check(),
+            new IsMovePossible(saved).check()
+        );
+    }
+
+    @Test
+    public void edgeAndItsReverseShareThePolyline() {
+        SproutsGameState saved =
+            new SproutsSavedState(
+                new SproutsStateRecord(state).toByteArray()
+            );
+        Map<SproutsEdge, SproutsEdge> edges = new HashMap<>();
+        for (SproutsEdge edge : saved.edges()) {
+            edges.put(edge, edge);
+        }
+        for (SproutsEdge edge : saved.edges()) {
+            assertSame(
+                edge.polyline(),
+                edges.get(edge.reversed()).polyline()
+            );
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsForeignData() {
+        new SproutsSavedState(new byte[] {1, 2, 3, 4, 5}).edges();
+    }
+}
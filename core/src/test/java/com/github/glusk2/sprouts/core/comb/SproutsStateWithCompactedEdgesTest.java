@@ -0,0 +1,156 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+
+import org.junit.Test;
+
+public final class SproutsStateWithCompactedEdgesTest {
+    /** An edge whose inner points are all within .1 of a straight line. */
+    private static final SproutsEdge ZIGZAG =
+        new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                new Vector2(0, 0),
+                new Vector2(1, .1f),
+                new Vector2(2, 0),
+                new Vector2(3, .1f),
+                new Vector2(4, 0),
+                new Vector2(5, .1f),
+                new Vector2(6, 0)
+            ),
+            Color.BLACK, Color.BLACK
+        );
+
+    @Test
+    public void removesPointsWithinTolerance() {
+        Set<SproutsEdge> edges =
+            new HashSet<>(Arrays.asList(ZIGZAG, ZIGZAG.reversed()));
+        assertEquals(
+            Arrays.asList(
+                new Vector2(0, 0),
+                new Vector2(1, .1f),
+                new Vector2(5, .1f),
+                new Vector2(6, 0)
+            ),
+            points(
+                new SproutsStateWithCompactedEdges(
+                    () -> Collections.emptySet(),
+                    () -> edges,
+                    .5f
+                ).edges()
+            )
+        );
+    }
+
+    @Test
+    public void keepsPointsThatOtherEdgesPassBy() {
+        SproutsEdge pendant =
+            new SproutsEdge(
+                new Polyline.WrappedList(
+                    new Vector2(2, .09f),
+                    new Vector2(2, 2)
+                ),
+                Color.BLACK, Color.RED
+            );
+        Set<SproutsEdge> edges =
+            new HashSet<>(
+                Arrays.asList(
+                    ZIGZAG, ZIGZAG.reversed(), pendant, pendant.reversed()
+                )
+            );
+        Set<SproutsEdge> compacted =
+            new SproutsStateWithCompactedEdges(
+                () -> Collections.emptySet(),
+                () -> edges,
+                .5f
+            ).edges();
+        compacted.remove(pendant);
+        compacted.remove(pendant.reversed());
+        assertEquals(
+            Arrays.asList(
+                new Vector2(0, 0),
+                new Vector2(1, .1f),
+                new Vector2(2, 0),
+                new Vector2(5, .1f),
+                new Vector2(6, 0)
+            ),
+            points(compacted)
+        );
+    }
+
+    @Test
+    public void leavesPreviousEdgesAsTheyAre() {
+        Set<SproutsEdge> edges =
+            new HashSet<>(Arrays.asList(ZIGZAG, ZIGZAG.reversed()));
+        assertEquals(
+            ZIGZAG.polyline().points(),
+            points(
+                new SproutsStateWithCompactedEdges(
+                    () -> edges,
+                    () -> edges,
+                    .5f
+                ).edges()
+            )
+        );
+    }
+
+    @Test
+    public void replacesAnEqualEdgeOfAPersistentState() {
+        // The first part of ZIGZAG, as it was before it was joined at a
+        // cobweb vertex; it equals ZIGZAG
+        SproutsEdge part =
+            new SproutsEdge(
+                true,
+                new Polyline.WrappedList(
+                    new Vector2(0, 0),
+                    new Vector2(1, .1f),
+                    new Vector2(2, 0),
+                    new Vector2(3, .1f)
+                ),
+                Color.BLACK, Color.RED
+            );
+        SproutsGameState previous =
+            new SproutsPersistentState(
+                () -> new HashSet<>(Arrays.asList(part, part.reversed()))
+            );
+        Set<SproutsEdge> edges =
+            new HashSet<>(Arrays.asList(ZIGZAG, ZIGZAG.reversed()));
+        assertEquals(
+            Arrays.asList(
+                new Vector2(0, 0),
+                new Vector2(1, .1f),
+                new Vector2(5, .1f),
+                new Vector2(6, 0)
+            ),
+            points(
+                new SproutsPersistentState(
+                    previous,
+                    new SproutsStateWithCompactedEdges(
+                        previous,
+                        () -> edges,
+                        .5f
+                    )
+                ).edges()
+            )
+        );
+    }
+
+    private static List<Vector2> points(final Set<SproutsEdge> edges) {
+        for (SproutsEdge edge : edges) {
+            if (edge.isPositive()) {
+                return edge.polyline().points();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.glusk2.sprouts.core.comb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.Test;
+
+public final class TriangulatedFacesTest {
+    @Test
+    public void tellsInnerAndOuterFaceApart() {
+        SproutsEdge e1 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                new Vector2(5, 1),
+                new Vector2(2, 3),
+                new Vector2(2, 7),
+                new Vector2(5, 9)
+            ), Color.BLACK, Color.BLACK
+        );
+        SproutsEdge e2 = new SproutsEdge(
+            true,
+            new Polyline.WrappedList(
+                new Vector2(5, 9),
+                new Vector2(8, 7),
+                new Vector2(8, 3),
+                new Vector2(5, 1)
+            ), Color.BLACK, Color.BLACK
+        );
+        // Cobweb edges, that tie the lone sprouts to the lens
+        SproutsEdge c1 = new SproutsEdge(
+            new Polyline.WrappedList(new Vector2(5, 5), new Vector2(5, 1)),
+            Color.BLACK, Color.BLACK
+        );
+        SproutsEdge c2 = new SproutsEdge(
+            new Polyline.WrappedList(new Vector2(9, 1), new Vector2(5, 1)),
+            Color.BLACK, Color.BLACK
+        );
+        Set<SproutsEdge> edges =
+            new HashSet<SproutsEdge>(
+                Arrays.asList(
+                    e1, e1.reversed(),
+                    e2, e2.reversed(),
+                    c1, c1.reversed(),
+                    c2, c2.reversed()
+                )
+            );
+        TriangulatedFaces faces =
+            new TriangulatedFaces(() -> edges, new Rectangle(0, 0, 10, 10));
+
+        assertTrue(faces.isInSameFace(new Vector2(3, 5), new Vector2(7, 4)));
+        assertFalse(faces.isInSameFace(new Vector2(3, 5), new Vector2(1, 5)));
+        assertTrue(faces.isInSameFace(new Vector2(1, 5), new Vector2(9, 9)));
+
+        Set<Vector2> inner = new HashSet<>();
+        for (Vertex sprout : faces.sprouts(new Vector2(4, 4))) {
+            inner.add(sprout.position());
+        }
+        assertEquals(
+            new HashSet<>(
+                Arrays.asList(
+                    new Vector2(5, 1), new Vector2(5, 9), new Vector2(5, 5)
+                )
+            ),
+            inner
+        );
+        Set<Vector2> outer = new HashSet<>();
+        for (Vertex sprout : faces.sprouts(new Vector2(1, 1))) {
+            outer.add(sprout.position());
+        }
+        assertEquals(
+            new HashSet<>(
+                Arrays.asList(
+                    new Vector2(5, 1), new Vector2(5, 9), new Vector2(9, 1)
+                )
+            ),
+            outer
+        );
+    }
+
+    @Test
+    public void putsEdgeEndsIntoBothFacesOfAPlayedGame() {
+        for (long seed = 1; seed <= 4; seed++) {
+            RandomGame game = new RandomGame(4, seed);
+            SproutsGameState state = game.finalState();
+            TriangulatedFaces faces =
+                new TriangulatedFaces(state, game.gameBounds());
+            for (SproutsEdge edge : state.edges()) {
+                if (!edge.isPositive() || !edge.color().equals(Color.BLACK)) {
+                    continue;
+                }
+                List<Vector2> points = edge.polyline().points();
+                int i = points.size() / 2 - 1;
+                Vector2 middle =
+                    points.get(i).cpy().lerp(points.get(i + 1), .5f);
+                Vector2 side =
+                    points.get(i + 1).cpy().sub(points.get(i)).nor()
+                        .rotate90(1).scl(game.moveThickness() / 4);
+                for (Vector2 point : Arrays.asList(
+                    middle.cpy().add(side), middle.cpy().sub(side)
+                )) {
+                    Set<Vertex> sprouts = faces.sprouts(point);
+                    // An end that is not a sprout is a cobweb crossing
+                    for (Vertex end : Arrays.asList(edge.from(), edge.to())) {
+                        assertTrue(
+                            !end.color().equals(Color.BLACK)
+                         || sprouts.contains(end)
+                        );
+                    }
+                }
+            }
+        }
+    }
+}
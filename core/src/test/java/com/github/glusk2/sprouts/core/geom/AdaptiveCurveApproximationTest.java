@@ -0,0 +1,79 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.math.Bezier;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Path;
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code AdaptiveCurveApproximation}. */
+public final class AdaptiveCurveApproximationTest {
+    /** Tests that a straight spline is approximated by its two ends. */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void approximatesStraightSplineWithSingleSegment() {
+        Curve<Path<Vector2>> curve =
+            () -> Arrays.asList(
+                new Bezier<Vector2>(
+                    new Vector2(0, 0),
+                    new Vector2(10, 0),
+                    new Vector2(20, 0),
+                    new Vector2(30, 0)
+                )
+            );
+        assertThat(
+            new AdaptiveCurveApproximation(curve, .5f).points(),
+            is(Arrays.asList(new Vector2(0, 0), new Vector2(30, 0)))
+        );
+    }
+
+    /**
+     * Tests that every point of a curved spline is within the tolerance of
+     * the approximation and that no segment exceeds the length limit.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void staysWithinToleranceAndLengthLimit() {
+        Bezier<Vector2> spline =
+            new Bezier<Vector2>(
+                new Vector2(0, 0),
+                new Vector2(0, 100),
+                new Vector2(100, 100),
+                new Vector2(100, 0)
+            );
+        List<Vector2> points =
+            new AdaptiveCurveApproximation(
+                () -> Arrays.asList((Path<Vector2>) spline),
+                .5f,
+                20
+            ).points();
+        assertThat(points.get(points.size() - 1), is(new Vector2(100, 0)));
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i - 1).dst(points.get(i)) <= 20);
+        }
+        for (int i = 0; i <= 1000; i++) {
+            Vector2 p = spline.valueAt(new Vector2(), i / 1000f);
+            float distance = Float.POSITIVE_INFINITY;
+            for (int j = 1; j < points.size(); j++) {
+                distance =
+                    Math.min(
+                        distance,
+                        Intersector.distanceSegmentPoint(
+                            points.get(j - 1),
+                            points.get(j),
+                            p
+                        )
+                    );
+            }
+            assertTrue(distance <= .5f);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code BSplineFitter}. */
+public final class BSplineFitterTest {
+    /**
+     * Tests that fitting a growing sample, whose tail is also replaced from
+     * time to time, gives the same control points as solving the whole
+     * system for every sample with {@code BSplineControlPoints}.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void matchesFullFitOfGrowingSample() {
+        Random random = new Random(1);
+        BSplineFitter fitter = new BSplineFitter();
+        List<Vector2> sample = new ArrayList<>();
+        for (int step = 0; step < 300; step++) {
+            if (sample.size() > 3 && random.nextInt(4) == 0) {
+                sample.remove(sample.size() - 1);
+                sample.remove(sample.size() - 1);
+            }
+            sample.add(
+                new Vector2(
+                    step * 10 + random.nextFloat() * 5,
+                    random.nextFloat() * 100
+                )
+            );
+            List<Vector2> actual = fitter.fit(new ArrayList<>(sample));
+            List<Vector2> expected =
+                new BSplineControlPoints(new ArrayList<>(sample)).points();
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(
+                    "Incrementally fitted point is too far off!",
+                    expected.get(i).epsilonEquals(actual.get(i), 1e-3f)
+                );
+            }
+        }
+    }
+
+    /**
+     * Tests the fitter with the hand-computed case from this paper:
+     * <a href="http://www.math.ucla.edu/%7Ebaker/149.1.02w/handouts/dd_splines.pdf">UCLA splines handout</a>,
+     * fitted one sample point at a time.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void fitsUclaPaperIncrementally() {
+        List<Vector2> sample =
+            Arrays.<Vector2>asList(
+                new Vector2(1, -1),
+                new Vector2(-1, 2),
+                new Vector2(1, 4),
+                new Vector2(4, 3),
+                new Vector2(7, 5)
+            );
+        BSplineFitter fitter = new BSplineFitter();
+        List<Vector2> actual = null;
+        for (int i = 1; i <= sample.size(); i++) {
+            actual = fitter.fit(new ArrayList<>(sample.subList(0, i)));
+        }
+
+        List<Vector2> expected =
+            Arrays.<Vector2>asList(
+                new Vector2(1, -1),
+                new Vector2(-2, 2),
+                new Vector2(1, 5),
+                new Vector2(4, 2),
+                new Vector2(7, 5)
+            );
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(
+                "Computed point is too far off!",
+                expected.get(i).epsilonEquals(actual.get(i), 1e-5f)
+            );
+        }
+    }
+}
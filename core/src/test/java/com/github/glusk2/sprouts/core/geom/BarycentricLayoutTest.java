@@ -0,0 +1,51 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+import org.junit.Test;
+
+public final class BarycentricLayoutTest {
+    @Test
+    public void drawsTrianglesCounterclockwiseInsideOfTheBounds() {
+        // A tetrahedron: the outer face and the three faces around node 3
+        IntArray triangles = new IntArray();
+        triangles.addAll(0, 1, 2);
+        triangles.addAll(2, 1, 3);
+        triangles.addAll(1, 0, 3);
+        triangles.addAll(0, 2, 3);
+        BarycentricLayout layout = new BarycentricLayout(4, triangles);
+        Rectangle bounds = new Rectangle(0, 0, 100, 100);
+        layout.layOut(0, bounds);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(bounds.contains(layout.position(i)));
+        }
+        for (int t = 3; t < triangles.size; t += 3) {
+            assertEquals(
+                1,
+                new Orientation(
+                    layout.position(triangles.get(t)),
+                    layout.position(triangles.get(t + 1)),
+                    layout.position(triangles.get(t + 2))
+                ).intValue()
+            );
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBoundsBelowTheLatticeResolution() {
+        IntArray triangles = new IntArray();
+        triangles.addAll(0, 1, 2);
+        triangles.addAll(2, 1, 3);
+        triangles.addAll(1, 0, 3);
+        triangles.addAll(0, 2, 3);
+        new BarycentricLayout(4, triangles).layOut(
+            0,
+            new Rectangle(0, 0, LatticePoint.SPACING, LatticePoint.SPACING)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+public final class ConstrainedTriangulationTest {
+    @Test
+    public void splitsRegionsAtClosedConstraintLoops() {
+        ConstrainedTriangulation triangulation =
+            new ConstrainedTriangulation(new Rectangle(0, 0, 10, 10));
+        Vector2 a = new Vector2(2, 2);
+        Vector2 b = new Vector2(8, 2);
+        Vector2 c = new Vector2(8, 8);
+        Vector2 d = new Vector2(2, 8);
+        triangulation.insert(a, b);
+        triangulation.insert(b, c);
+        triangulation.insert(c, d);
+        assertEquals(
+            triangulation.region(new Vector2(5, 5)),
+            triangulation.region(new Vector2(1, 1))
+        );
+        triangulation.insert(d, a);
+        int inside = triangulation.region(new Vector2(5, 5));
+        assertNotEquals(inside, triangulation.region(new Vector2(1, 1)));
+        assertEquals(inside, triangulation.region(new Vector2(3, 7)));
+        assertEquals(0, triangulation.region(new Vector2(9, 5)));
+
+        List<Vector2> vertices = triangulation.vertices(inside);
+        assertEquals(4, vertices.size());
+        assertTrue(vertices.contains(a));
+        assertTrue(vertices.contains(c));
+    }
+
+    @Test
+    public void splitsConstraintsAtCollinearVertices() {
+        ConstrainedTriangulation triangulation =
+            new ConstrainedTriangulation(new Rectangle(0, 0, 10, 10));
+        triangulation.insert(new Vector2(5, 5));
+        triangulation.insert(new Vector2(1, 1), new Vector2(9, 9));
+        triangulation.insert(new Vector2(9, 9), new Vector2(9, 1));
+        triangulation.insert(new Vector2(9, 1), new Vector2(1, 1));
+        assertEquals(4, triangulation.size());
+        int inside = triangulation.region(new Vector2(8, 3));
+        assertNotEquals(inside, triangulation.region(new Vector2(3, 8)));
+        assertTrue(
+            triangulation.vertices(inside).contains(new Vector2(5, 5))
+        );
+    }
+
+    @Test
+    public void insertsEachPointOnce() {
+        ConstrainedTriangulation triangulation =
+            new ConstrainedTriangulation(new Rectangle(0, 0, 10, 10));
+        int index = triangulation.insert(new Vector2(3, 4));
+        assertEquals(index, triangulation.insert(new Vector2(3, 4)));
+        assertEquals(1, triangulation.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCrossingConstraints() {
+        ConstrainedTriangulation triangulation =
+            new ConstrainedTriangulation(new Rectangle(0, 0, 10, 10));
+        triangulation.insert(new Vector2(1, 1), new Vector2(9, 9));
+        triangulation.insert(new Vector2(1, 9), new Vector2(9, 1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import org.junit.Test;
+
+public final class ForceDirectedLayoutTest {
+    @Test
+    public void keepsTheEdgeOrderAroundTheNodes() {
+        // A wheel around node 4, with a bend (node 5) on its first side
+        Vector2[] positions = {
+            new Vector2(10, 10),
+            new Vector2(30, 10),
+            new Vector2(30, 30),
+            new Vector2(10, 30),
+            new Vector2(20, 20),
+            new Vector2(20, 10)
+        };
+        IntArray segments = new IntArray();
+        segments.addAll(0, 5, 5, 1, 1, 2, 2, 3, 3, 0);
+        segments.addAll(4, 0, 4, 1, 4, 2, 4, 3);
+        boolean[] polyline = new boolean[positions.length];
+        polyline[5] = true;
+        ForceDirectedLayout layout =
+            new ForceDirectedLayout(positions, segments, polyline);
+        Rectangle bounds = new Rectangle(0, 0, 100, 100);
+        layout.layOut(bounds);
+
+        int[] around = {0, 5, 1, 2, 3};
+        for (int i = 0; i < around.length; i++) {
+            assertEquals(
+                1,
+                new Orientation(
+                    layout.position(4),
+                    layout.position(around[i]),
+                    layout.position(around[(i + 1) % around.length])
+                ).intValue()
+            );
+        }
+        for (int i = 0; i < positions.length; i++) {
+            assertTrue(bounds.contains(layout.position(i)));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code LatticePoint}. */
+public final class LatticePointTest {
+    /** Tests that a snapped point snaps to itself. */
+    @Test
+    public void snappingIsIdempotent() {
+        LatticePoint p = new LatticePoint(new Vector2(140.0023f, 303.9230f));
+        assertEquals(p.position(), new LatticePoint(p.position()).position());
+        assertEquals(p, new LatticePoint(p.position()));
+    }
+
+    /**
+     * Tests that positions which differ only by {@code float} rounding are
+     * equal once snapped.
+     */
+    @Test
+    public void roundingErrorsSnapToTheSamePoint() {
+        Vector2 exact = new Vector2(.1f, .7f);
+        Vector2 computed = new Vector2(.3f, 2.1f).scl(1 / 3f);
+        assertNotEquals(exact, computed);
+        assertEquals(new LatticePoint(exact), new LatticePoint(computed));
+        assertEquals(
+            new LatticePoint(exact).hashCode(),
+            new LatticePoint(computed).hashCode()
+        );
+    }
+
+    /** Tests that neighbouring lattice points are not equal. */
+    @Test
+    public void distinctPointsStayDistinct() {
+        assertNotEquals(
+            new LatticePoint(new Vector2(1, 1)),
+            new LatticePoint(new Vector2(1 + LatticePoint.SPACING, 1))
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code Orientation} and {@code IsSegmentCrossing}. */
+public final class OrientationTest {
+    /** Tests the orientation of well separated points. */
+    @Test
+    public void ordersSimpleTriangles() {
+        Vector2 a = new Vector2(0, 0);
+        Vector2 b = new Vector2(1, 0);
+        Vector2 c = new Vector2(0, 1);
+        assertEquals(1, new Orientation(a, b, c).intValue());
+        assertEquals(-1, new Orientation(a, c, b).intValue());
+        assertEquals(0, new Orientation(a, b, new Vector2(2, 0)).intValue());
+    }
+
+    /**
+     * Tests that the orientation of nearly collinear points is exact and
+     * consistent under every permutation of the points.
+     */
+    @Test
+    public void isExactForNearlyCollinearPoints() {
+        Vector2 a = new Vector2(.5f, .5f);
+        Vector2 b = new Vector2(12f, 12f);
+        Vector2 c = new Vector2(24f, 24f);
+        for (int i = 0; i < 64; i++) {
+            Vector2 p = new Vector2(a.x + Math.ulp(a.x) * i, a.y);
+            int sign = new Orientation(p, b, c).intValue();
+            assertEquals(sign, new Orientation(b, c, p).intValue());
+            assertEquals(sign, new Orientation(c, p, b).intValue());
+            assertEquals(-sign, new Orientation(b, p, c).intValue());
+            if (i == 0) {
+                assertEquals(0, sign);
+            } else {
+                assertEquals(-1, sign);
+            }
+        }
+    }
+
+    /** Tests crossing, touching and disjoint segments. */
+    @Test
+    public void detectsSegmentCrossings() {
+        Vector2 p0 = new Vector2(0, 0);
+        Vector2 p1 = new Vector2(2, 2);
+        assertTrue(
+            new IsSegmentCrossing(
+                p0, p1, new Vector2(0, 2), new Vector2(2, 0)
+            ).check()
+        );
+        assertTrue(
+            new IsSegmentCrossing(
+                p0, p1, new Vector2(1, 1), new Vector2(2, 0)
+            ).check()
+        );
+        assertFalse(
+            new IsSegmentCrossing(
+                p0, p1, new Vector2(3, 0), new Vector2(2, -1)
+            ).check()
+        );
+        assertFalse(
+            new IsSegmentCrossing(
+                p0, p1, new Vector2(1, 1), new Vector2(3, 3)
+            ).check()
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code SampleBuffer}. */
+public final class SampleBufferTest {
+    /** Tests that appending does not change the earlier samples. */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void appendLeavesEarlierSamplesUnchanged() {
+        SampleBuffer first = new SampleBuffer(new Vector2(0, 0));
+        SampleBuffer second = first;
+        for (int i = 1; i < 40; i++) {
+            second = second.append(new Vector2(i, 0));
+        }
+        SampleBuffer branch = first.append(new Vector2(0, 1));
+        SampleBuffer third = second.append(new Vector2(40, 0));
+
+        assertThat(first, is(Arrays.asList(new Vector2(0, 0))));
+        assertThat(
+            branch,
+            is(Arrays.asList(new Vector2(0, 0), new Vector2(0, 1)))
+        );
+        assertThat(second.size(), is(40));
+        assertThat(third.size(), is(41));
+        assertThat(second.get(39), is(new Vector2(39, 0)));
+        assertThat(third.get(1), is(new Vector2(1, 0)));
+    }
+
+    /**
+     * Tests that a sample handed over to another thread reads its points
+     * while this thread keeps appending and growing the shared array.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void readsWhileTheSharedArrayGrows()
+        throws InterruptedException {
+        SampleBuffer sample = new SampleBuffer(new Vector2(0, 0));
+        for (int i = 1; i < 1000; i++) {
+            sample = sample.append(new Vector2(i, 0));
+        }
+        final SampleBuffer handedOver = sample;
+        final boolean[] intact = new boolean[1];
+        Thread reader = new Thread(() -> {
+            boolean result = true;
+            for (int round = 0; round < 100; round++) {
+                for (int i = 0; i < handedOver.size(); i++) {
+                    result &= handedOver.get(i).x == i;
+                }
+            }
+            intact[0] = result;
+        });
+        reader.start();
+        for (int i = 1000; i < 100000; i++) {
+            sample = sample.append(new Vector2(i, 0));
+        }
+        reader.join();
+        assertThat(intact[0], is(true));
+        assertThat(handedOver.size(), is(1000));
+    }
+}
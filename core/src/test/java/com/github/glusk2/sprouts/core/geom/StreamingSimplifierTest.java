@@ -0,0 +1,82 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Vector2;
+
+import org.junit.Test;
+
+/** A test class for {@code StreamingSimplifier}. */
+public final class StreamingSimplifierTest {
+    /** Tests that a straight sample is simplified to its two ends. */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void simplifiesStraightSampleToItsEnds() {
+        List<Vector2> sample = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sample.add(new Vector2(i * 10, 0));
+        }
+        assertThat(
+            new StreamingSimplifier(1).simplify(sample),
+            is(Arrays.asList(new Vector2(0, 0), new Vector2(90, 0)))
+        );
+    }
+
+    /**
+     * Tests that simplifying a growing sample keeps the previously kept
+     * points, that every sample point stays within the tolerance and that
+     * the result is the same as simplifying the whole sample at once.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void keepsStablePrefixWithinTolerance() {
+        StreamingSimplifier simplifier = new StreamingSimplifier(2);
+        List<Vector2> sample = new ArrayList<>();
+        List<Vector2> previous = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sample.add(
+                new Vector2(i * 3, 40 * (float) Math.sin(i / 4.0))
+            );
+            List<Vector2> simplified = simplifier.simplify(sample);
+            for (int j = 0; j < previous.size() - 1; j++) {
+                assertThat(
+                    simplified.get(j),
+                    is(sameInstance(previous.get(j)))
+                );
+            }
+            assertThat(
+                simplified.get(simplified.size() - 1),
+                is(sameInstance(sample.get(sample.size() - 1)))
+            );
+            previous = new ArrayList<>(simplified);
+        }
+        assertThat(
+            new StreamingSimplifier(2).simplify(sample),
+            is(previous)
+        );
+        assertTrue(previous.size() < sample.size() / 2);
+        for (Vector2 p : sample) {
+            float distance = Float.POSITIVE_INFINITY;
+            for (int j = 1; j < previous.size(); j++) {
+                distance =
+                    Math.min(
+                        distance,
+                        Intersector.distanceSegmentPoint(
+                            previous.get(j - 1),
+                            previous.get(j),
+                            p
+                        )
+                    );
+            }
+            assertTrue(distance <= 2);
+        }
+    }
+}
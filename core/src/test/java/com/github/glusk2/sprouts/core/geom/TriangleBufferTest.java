@@ -0,0 +1,94 @@
+package com.github.glusk2.sprouts.core.geom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+
+import org.junit.Test;
+
+/** A test class for {@code TriangleBuffer}. */
+public final class TriangleBufferTest {
+    /** Tests that a circle is tessellated into a fan on its rim. */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void tessellatesCircleAsTriangleFan() {
+        Vector2 center = new Vector2(3, 4);
+        TriangleBuffer buffer =
+            new TriangleBuffer().color(Color.RED).circle(center, 2, 8);
+        assertThat(buffer.vertexCount(), is(3 * 8));
+        FloatArray vertices = buffer.vertices();
+        for (int i = 0; i < buffer.vertexCount(); i++) {
+            float x = vertices.get(i * TriangleBuffer.VERTEX_SIZE);
+            float y = vertices.get(i * TriangleBuffer.VERTEX_SIZE + 1);
+            float expected = 2;
+            if (i % 3 == 0) {
+                expected = 0;
+            }
+            assertEquals(expected, center.dst(x, y), 1e-4f);
+            assertEquals(
+                Color.RED.toFloatBits(),
+                vertices.get(i * TriangleBuffer.VERTEX_SIZE + 2),
+                0
+            );
+        }
+    }
+
+    /**
+     * Tests that a gently curving polyline is tessellated into two
+     * triangles per segment and two round caps.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void tessellatesSmoothPolylineWithMiterJoins() {
+        TriangleBuffer buffer =
+            new TriangleBuffer().polyline(
+                new Polyline.WrappedList(
+                    new Vector2(0, 0),
+                    new Vector2(10, 0),
+                    new Vector2(20, 1),
+                    new Vector2(30, 3)
+                ),
+                2,
+                16
+            );
+        assertThat(buffer.vertexCount(), is(3 * (3 * 2 + 2 * 8)));
+        buffer.clear();
+        assertThat(buffer.vertexCount(), is(0));
+    }
+
+    /**
+     * Tests that the outer side of a sharp turn is covered by a round join,
+     * while the inner side is left to the segments.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void coversOuterSideOfSharpTurnWithRoundJoin() {
+        TriangleBuffer buffer =
+            new TriangleBuffer().polyline(
+                new Polyline.WrappedList(
+                    new Vector2(0, 0),
+                    new Vector2(10, 0),
+                    new Vector2(10, 10)
+                ),
+                2,
+                16
+            );
+        // Two segments, two half circle caps and a quarter circle join
+        assertThat(buffer.vertexCount(), is(3 * (2 * 2 + 2 * 8 + 4)));
+        FloatArray vertices = buffer.vertices();
+        boolean outerCorner = false;
+        for (int i = 0; i < buffer.vertexCount(); i++) {
+            float x = vertices.get(i * TriangleBuffer.VERTEX_SIZE);
+            float y = vertices.get(i * TriangleBuffer.VERTEX_SIZE + 1);
+            float dst = new Vector2(10, 0).dst(x, y);
+            if (x > 10 && y < 0 && Math.abs(dst - 1) < 1e-4f) {
+                outerCorner = true;
+            }
+        }
+        assertThat(outerCorner, is(true));
+    }
+}
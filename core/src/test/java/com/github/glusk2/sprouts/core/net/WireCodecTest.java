@@ -0,0 +1,185 @@
+package com.github.glusk2.sprouts.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsStateHash;
+import com.github.glusk2.sprouts.core.sim.PlayedMove;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.Test;
+
+public final class WireCodecTest {
+    /** The size of the message buffer. */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** The maximum size of a move message. */
+    private static final int MAX_MOVE_SIZE = 200;
+
+    @Test
+    public void peersStayInSyncThroughTheRelay() {
+        RandomGame game = new RandomGame(3, 2L);
+        WireCodec codec =
+            new WireCodec(game.gameBounds(), game.moveThickness());
+        SproutsGameState relay = game.initialState();
+        SproutsGameState peer = game.initialState();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int moveNumber = 0;
+        for (PlayedMove drawn : game.moves()) {
+            moveNumber++;
+            buffer.clear();
+            codec.writeMove(
+                buffer,
+                new MoveMessage(
+                    moveNumber,
+                    moveNumber % 2,
+                    drawn.stroke(),
+                    drawn.middleSprout(),
+                    0
+                )
+            );
+            buffer.flip();
+            assertTrue(
+                "A move message is less than 200 bytes",
+                buffer.remaining() < MAX_MOVE_SIZE
+            );
+
+            PlayedMove relayed = play(codec, relay, buffer.duplicate(), game);
+            assertTrue(relayed.isValid());
+            relay = relayed.state();
+            long relayHash = new SproutsStateHash(relay).longValue();
+            codec.writeStateHash(buffer, relayHash);
+
+            MoveMessage received = codec.readMove(buffer.duplicate());
+            assertEquals(moveNumber, received.moveNumber());
+            assertEquals(relayHash, received.stateHash());
+            peer = play(codec, peer, buffer.duplicate(), game).state();
+            assertEquals(
+                received.stateHash(),
+                new SproutsStateHash(peer).longValue()
+            );
+        }
+    }
+
+    @Test
+    public void snapshotRestoresTheState() {
+        RandomGame game = new RandomGame(3, 2L);
+        WireCodec codec =
+            new WireCodec(game.gameBounds(), game.moveThickness());
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        codec.writeSnapshot(
+            buffer,
+            new SnapshotMessage(game.moves().size(), 1, game.finalState())
+        );
+        buffer.flip();
+        assertEquals(WireCodec.SNAPSHOT, codec.messageType(buffer));
+        SnapshotMessage snapshot = codec.readSnapshot(buffer);
+        assertEquals(game.moves().size(), snapshot.movesPlayed());
+        assertEquals(1, snapshot.nextSeat());
+        assertEquals(
+            new SproutsStateHash(game.finalState()).longValue(),
+            new SproutsStateHash(snapshot.state()).longValue()
+        );
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedMoves() {
+        RandomGame game = new RandomGame(3, 2L);
+        WireCodec codec =
+            new WireCodec(game.gameBounds(), game.moveThickness());
+        PlayedMove drawn = game.moves().get(0);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        codec.writeMove(
+            buffer,
+            new MoveMessage(1, 0, drawn.stroke(), drawn.middleSprout(), 0)
+        );
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+        codec.readMove(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsStrokePointsOutOfBounds() {
+        RandomGame game = new RandomGame(3, 2L);
+        WireCodec codec =
+            new WireCodec(game.gameBounds(), game.moveThickness());
+        ByteBuffer buffer = header(game, 1);
+        // The middle sprout in the origin cell, then a step off the bounds
+        putVarInt(buffer, 0);
+        putVarInt(buffer, 0);
+        putVarInt(buffer, 1);
+        putVarInt(buffer, 0);
+        buffer.flip();
+        codec.readMove(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooManyStrokePoints() {
+        RandomGame game = new RandomGame(3, 2L);
+        WireCodec codec =
+            new WireCodec(game.gameBounds(), game.moveThickness());
+        ByteBuffer buffer = header(game, WireCodec.MAX_STROKE_POINTS);
+        // Zero deltas for every point, so only the count is out of range
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        buffer.flip();
+        codec.readMove(buffer);
+    }
+
+    /**
+     * Writes the header of a move message whose origin is the lower left
+     * corner of the game bounds.
+     *
+     * @param game the game to take the game bounds from
+     * @param size the number of stroke points after the origin
+     * @return the buffer, positioned after the number of stroke points
+     */
+    private static ByteBuffer header(final RandomGame game, final int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.put((byte) WireCodec.MOVE);
+        putVarInt(buffer, 1);
+        buffer.put((byte) 0);
+        buffer.putLong(0);
+        buffer.putFloat(game.gameBounds().x);
+        buffer.putFloat(game.gameBounds().y);
+        putVarInt(buffer, size);
+        return buffer;
+    }
+
+    /**
+     * Writes an unsigned {@code varint}.
+     *
+     * @param out the buffer to write to
+     * @param value the value to write
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static void putVarInt(final ByteBuffer out, final int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    private static PlayedMove play(
+        final WireCodec codec,
+        final SproutsGameState state,
+        final ByteBuffer message,
+        final RandomGame game
+    ) {
+        MoveMessage move = codec.readMove(message);
+        return
+            new PlayedMove(
+                state,
+                move.stroke(),
+                move.middleSprout(),
+                game.gameBounds(),
+                game.moveThickness()
+            );
+    }
+}
@@ -0,0 +1,2 @@
+/** Wire protocol test package. */
+package com.github.glusk2.sprouts.core.net;
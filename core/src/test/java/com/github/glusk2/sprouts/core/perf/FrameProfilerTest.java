@@ -0,0 +1,37 @@
+package com.github.glusk2.sprouts.core.perf;
+
+import static org.junit.Assert.assertEquals;
+
+import com.github.glusk2.sprouts.core.perf.FrameProfiler.Counter;
+
+import org.junit.After;
+import org.junit.Test;
+
+public final class FrameProfilerTest {
+    @After
+    public void disableProfiler() {
+        FrameProfiler.setEnabled(false);
+    }
+
+    @Test
+    public void ignoresInstrumentationPointsWhenDisabled() {
+        FrameProfiler.setEnabled(false);
+        assertEquals(0, FrameProfiler.start());
+        FrameProfiler.count(Counter.FACES, 2);
+        FrameProfiler.frame();
+        assertEquals(0, FrameProfiler.count(Counter.FACES));
+        assertEquals(0, FrameProfiler.frameTimePercentile(50), 0);
+    }
+
+    @Test
+    public void reportsCountsOfTheLastClosedFrame() {
+        FrameProfiler.setEnabled(true);
+        FrameProfiler.count(Counter.EDGES, 2);
+        FrameProfiler.count(Counter.EDGES, 3);
+        FrameProfiler.frame();
+        FrameProfiler.count(Counter.EDGES, 1);
+        assertEquals(5, FrameProfiler.count(Counter.EDGES));
+        FrameProfiler.frame();
+        assertEquals(1, FrameProfiler.count(Counter.EDGES));
+    }
+}
@@ -0,0 +1,2 @@
+/** Instrumentation test package. */
+package com.github.glusk2.sprouts.core.perf;
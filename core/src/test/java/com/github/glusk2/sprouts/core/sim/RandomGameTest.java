@@ -0,0 +1,48 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.glusk2.sprouts.core.comb.IsMovePossible;
+
+import org.junit.Test;
+
+public final class RandomGameTest {
+    @Test
+    public void playsGameToCompletionWithinMoveCountBounds() {
+        final int sprouts = 4;
+        RandomGame game = new RandomGame(sprouts, 1L);
+        int moves = game.moves().size();
+        assertTrue(game.isFinished());
+        assertFalse(new IsMovePossible(game.finalState()).check());
+        assertTrue(
+            "A game with n sprouts lasts at least 2n moves",
+            moves >= 2 * sprouts
+        );
+        assertTrue(
+            "A game with n sprouts lasts at most 3n - 1 moves",
+            moves <= 3 * sprouts - 1
+        );
+    }
+
+    @Test
+    public void sameSeedPlaysSameGame() {
+        assertEquals(
+            new GameTrace(new RandomGame(3, 7L)).toString(),
+            new GameTrace(new RandomGame(3, 7L)).toString()
+        );
+    }
+
+    @Test
+    public void replayedTraceReachesSameFinalPosition() {
+        RandomGame game = new RandomGame(3, 2L);
+        PlayedGame replayed =
+            new ReplayedGame(new GameTrace(game).toString());
+        assertEquals(game.moves().size(), replayed.moves().size());
+        assertEquals(
+            game.finalState().edges(),
+            replayed.finalState().edges()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.glusk2.sprouts.core.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.glusk2.sprouts.core.comb.IsMovePossible;
+
+import org.junit.Test;
+
+public final class RecordedGameTest {
+    @Test
+    public void replayedRecordReachesEquivalentFinalPosition() {
+        RandomGame game = new RandomGame(3, 2L);
+        PlayedGame replayed =
+            new RecordedGame(new GameRecord(game).toByteArray());
+        assertEquals(game.numOfSprouts(), replayed.numOfSprouts());
+        assertEquals(game.gameBounds(), replayed.gameBounds());
+        assertEquals(game.moves().size(), replayed.moves().size());
+        assertEquals(
+            game.finalState().edges().size(),
+            replayed.finalState().edges().size()
+        );
+        assertFalse(new IsMovePossible(replayed.finalState()).check());
+    }
+
+    @Test
+    public void recordIsSmallerThanTrace() {
+        RandomGame game = new RandomGame(3, 2L);
+        int recordSize = new GameRecord(game).toByteArray().length;
+        int traceSize = new GameTrace(game).toString().length();
+        assertTrue(
+            "The record is at most half the size of the trace",
+            2 * recordSize <= traceSize
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsForeignData() {
+        new RecordedGame("sprouts 3\n".getBytes()).numOfSprouts();
+    }
+}
@@ -0,0 +1,2 @@
+/** Game simulation test package. */
+package com.github.glusk2.sprouts.core.sim;
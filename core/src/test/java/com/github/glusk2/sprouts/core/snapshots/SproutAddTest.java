@@ -10,6 +10,7 @@ import java.util.HashSet;
 
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.github.glusk2.sprouts.core.StateMesh;
 import com.github.glusk2.sprouts.core.ToggleSwitch;
 import com.github.glusk2.sprouts.core.comb.PresetVertex;
 import com.github.glusk2.sprouts.core.comb.SproutsEdge;
@@ -88,6 +89,8 @@ public class SproutAddTest {
             gameBounds,
             new ToggleSwitch(true),
             new ToggleSwitch(false),
+            null,
+            new StateMesh(),
             null
         ).touchUp(new Vector2(7, 0)).gameState();
 
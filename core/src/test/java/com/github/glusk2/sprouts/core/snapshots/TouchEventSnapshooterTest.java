@@ -0,0 +1,389 @@
+package com.github.glusk2.sprouts.core.snapshots;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.github.glusk2.sprouts.core.StateMesh;
+import com.github.glusk2.sprouts.core.ToggleSwitch;
+import com.github.glusk2.sprouts.core.comb.PresetVertex;
+import com.github.glusk2.sprouts.core.comb.SproutsEdge;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.comb.SproutsPersistentState;
+import com.github.glusk2.sprouts.core.comb.Vertex;
+import com.github.glusk2.sprouts.core.geom.BezierCurve;
+import com.github.glusk2.sprouts.core.geom.CurveApproximation;
+import com.github.glusk2.sprouts.core.geom.Polyline;
+import com.github.glusk2.sprouts.core.moves.SubmoveElement;
+import com.github.glusk2.sprouts.core.moves.SubmoveHead;
+import com.github.glusk2.sprouts.core.moves.SubmoveSequence;
+
+import org.junit.Test;
+
+/** A test class for {@code TouchEventSnapshooter}. */
+public final class TouchEventSnapshooterTest {
+    /**
+     * Tests that the "touch dragged" events are applied as a single batch,
+     * before the following "touch up" event.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void batchesDragsAndPreservesOrder() {
+        List<String> log = new ArrayList<>();
+        TouchEventSnapshooter snapshooter =
+            new TouchEventSnapshooter(new LoggingSnapshot(log));
+        InputEvent event = new InputEvent();
+        event.setTarget(new Actor());
+
+        snapshooter.touchDown(event, 0, 0, 0, 0);
+        snapshooter.touchDragged(event, 1, 0, 0);
+        snapshooter.touchDragged(event, 2, 0, 0);
+        snapshooter.snapshot();
+        snapshooter.touchDragged(event, 3, 0, 0);
+        snapshooter.touchUp(event, 3, 0, 0, 0);
+        snapshooter.snapshot();
+
+        List<String> expected = new ArrayList<>();
+        expected.add("down");
+        expected.add("drag 2");
+        expected.add("drag 1");
+        expected.add("up");
+        assertThat(log, is(expected));
+    }
+
+    /**
+     * Tests that undo and redo go through the committed Snapshots and
+     * restore the player turn of each.
+     */
+    @Test
+    public void undoesAndRedoesCommittedMoves() {
+        ToggleSwitch playerTurn = new ToggleSwitch(false);
+        Snapshot initial = new CommittingSnapshot(playerTurn);
+        TouchEventSnapshooter snapshooter =
+            new TouchEventSnapshooter(
+                initial,
+                new SnapshotHistory(playerTurn)
+            );
+        InputEvent event = new InputEvent();
+        event.setTarget(new Actor());
+
+        snapshooter.touchUp(event, 0, 0, 0, 0);
+        Snapshot first = snapshooter.snapshot();
+        snapshooter.touchUp(event, 0, 0, 0, 0);
+        Snapshot second = snapshooter.snapshot();
+        assertThat(playerTurn.state(), is(false));
+
+        assertTrue(snapshooter.undo());
+        assertThat(snapshooter.snapshot(), is(first));
+        assertThat(snapshooter.snapshot().gameState().edges().size(), is(1));
+        assertThat(playerTurn.state(), is(true));
+        assertTrue(snapshooter.undo());
+        assertThat(snapshooter.snapshot(), is(initial));
+        assertThat(snapshooter.snapshot().gameState().edges().size(), is(0));
+        assertThat(playerTurn.state(), is(false));
+        assertFalse(snapshooter.undo());
+
+        assertTrue(snapshooter.redo());
+        assertTrue(snapshooter.redo());
+        assertThat(snapshooter.snapshot(), is(second));
+        assertThat(snapshooter.snapshot().gameState().edges().size(), is(2));
+        assertThat(playerTurn.state(), is(false));
+        assertFalse(snapshooter.redo());
+    }
+
+    /** Tests that a new Move discards the undone ones. */
+    @Test
+    public void newMoveDiscardsUndoneMoves() {
+        ToggleSwitch playerTurn = new ToggleSwitch(false);
+        TouchEventSnapshooter snapshooter =
+            new TouchEventSnapshooter(
+                new CommittingSnapshot(playerTurn),
+                new SnapshotHistory(playerTurn)
+            );
+        InputEvent event = new InputEvent();
+        event.setTarget(new Actor());
+
+        snapshooter.touchUp(event, 0, 0, 0, 0);
+        snapshooter.undo();
+        snapshooter.touchUp(event, 0, 0, 0, 0);
+        assertFalse(snapshooter.redo());
+        assertTrue(snapshooter.undo());
+        assertFalse(snapshooter.undo());
+    }
+
+    /**
+     * Tests that undo first discards a Move in progress, without going back
+     * in the history.
+     */
+    @Test
+    public void undoDiscardsMoveInProgress() {
+        ToggleSwitch playerTurn = new ToggleSwitch(false);
+        TouchEventSnapshooter snapshooter =
+            new TouchEventSnapshooter(
+                new CommittingSnapshot(playerTurn),
+                new SnapshotHistory(playerTurn)
+            );
+        InputEvent event = new InputEvent();
+        event.setTarget(new Actor());
+
+        snapshooter.touchUp(event, 0, 0, 0, 0);
+        Snapshot committed = snapshooter.snapshot();
+        snapshooter.touchDown(event, 0, 0, 0, 0);
+        assertThat(snapshooter.snapshot(), is(not(committed)));
+
+        assertTrue(snapshooter.undo());
+        assertThat(snapshooter.snapshot(), is(committed));
+        assertThat(playerTurn.state(), is(true));
+        assertTrue(snapshooter.undo());
+        assertFalse(snapshooter.undo());
+    }
+
+    /**
+     * Tests that a middle sprout placed off the Move commits nothing: the
+     * game state and the player turn stay as they were and nothing is
+     * recorded in the history.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void misplacedMiddleSproutRecordsNothing() {
+        Vertex v1 = new PresetVertex(new Vector2(-50, 0));
+        Vertex v2 = new PresetVertex(new Vector2(50, 0));
+        SproutsEdge cobweb =
+            new SproutsEdge(
+                new Polyline.WrappedList(v1.position(), v2.position()),
+                v1.color(), v2.color()
+            );
+        SproutsGameState before =
+            () -> new HashSet<>(Arrays.asList(cobweb, cobweb.reversed()));
+        float moveThickness = 10;
+        Rectangle gameBounds = new Rectangle(-100, -100, 1000, 1000);
+        ToggleSwitch playerTurn = new ToggleSwitch(false);
+        Snapshot sproutAdd =
+            new SproutAdd(
+                before,
+                new SubmoveSequence(
+                    new SubmoveHead(
+                        new SubmoveElement(
+                            v1,
+                            new CurveApproximation(
+                                new BezierCurve(
+                                    Arrays.asList(
+                                        v1.position(),
+                                        new Vector2(-20, 20),
+                                        new Vector2(0, 40),
+                                        new Vector2(20, 1),
+                                        new Vector2(0, -40),
+                                        new Vector2(-20, -20),
+                                        v1.position()
+                                    ),
+                                    3f * moveThickness
+                                ),
+                                5
+                            ),
+                            before,
+                            moveThickness * 2f,
+                            gameBounds
+                        )
+                    )
+                ),
+                moveThickness,
+                16,
+                gameBounds,
+                new ToggleSwitch(true),
+                playerTurn,
+                null,
+                new StateMesh(),
+                null
+            );
+        TouchEventSnapshooter snapshooter =
+            new TouchEventSnapshooter(
+                sproutAdd,
+                new SnapshotHistory(playerTurn)
+            );
+        InputEvent event = new InputEvent();
+        event.setTarget(new Actor());
+
+        snapshooter.touchUp(event, 500, 500, 0, 0);
+        assertThat(snapshooter.snapshot().gameState(), is(before));
+        assertThat(playerTurn.state(), is(false));
+        // The first undo discards the dropped Move, there is nothing more
+        assertTrue(snapshooter.undo());
+        assertFalse(snapshooter.undo());
+    }
+
+    /**
+     * A Snapshot that commits a new game state with one more edge and
+     * toggles the player turn on every "touch up" event, and starts drawing
+     * on "touch down".
+     */
+    private static final class CommittingSnapshot implements Snapshot {
+        /** A switch that tracks the player turn. */
+        private final ToggleSwitch playerTurn;
+        /** The game state of this Snapshot. */
+        private final SproutsGameState state;
+
+        /**
+         * Creates a new CommittingSnapshot with no edges.
+         *
+         * @param playerTurn a switch that tracks the player turn
+         */
+        CommittingSnapshot(final ToggleSwitch playerTurn) {
+            this(
+                playerTurn,
+                new SproutsPersistentState(() -> new HashSet<>())
+            );
+        }
+
+        /**
+         * Creates a new CommittingSnapshot.
+         *
+         * @param playerTurn a switch that tracks the player turn
+         * @param state the game state of this Snapshot
+         */
+        CommittingSnapshot(
+            final ToggleSwitch playerTurn,
+            final SproutsGameState state
+        ) {
+            this.playerTurn = playerTurn;
+            this.state = state;
+        }
+
+        @Override
+        public Snapshot touchDown(final Vector2 position) {
+            return new DrawingSnapshot(state);
+        }
+
+        @Override
+        public Snapshot touchUp(final Vector2 position) {
+            Set<SproutsEdge> edges = new HashSet<>(state.edges());
+            Vertex from = new PresetVertex(new Vector2(edges.size(), 0));
+            Vertex to = new PresetVertex(new Vector2(edges.size(), 1));
+            edges.add(
+                new SproutsEdge(
+                    new Polyline.WrappedList(from.position(), to.position()),
+                    from.color(), to.color()
+                )
+            );
+            playerTurn.toggle();
+            return
+                new CommittingSnapshot(
+                    playerTurn,
+                    new SproutsPersistentState(state, () -> edges)
+                );
+        }
+
+        @Override
+        public Snapshot touchDragged(final Vector2 position) {
+            return this;
+        }
+
+        @Override
+        public void render(final ShapeRenderer renderer) {
+        }
+
+        @Override
+        public SproutsGameState gameState() {
+            return state;
+        }
+    }
+
+    /** A Snapshot of a Move in progress, on top of a committed state. */
+    private static final class DrawingSnapshot implements Snapshot {
+        /** The committed game state. */
+        private final SproutsGameState state;
+
+        /**
+         * Creates a new DrawingSnapshot.
+         *
+         * @param state the committed game state
+         */
+        DrawingSnapshot(final SproutsGameState state) {
+            this.state = state;
+        }
+
+        @Override
+        public Snapshot touchDown(final Vector2 position) {
+            return this;
+        }
+
+        @Override
+        public Snapshot touchUp(final Vector2 position) {
+            return this;
+        }
+
+        @Override
+        public Snapshot touchDragged(final Vector2 position) {
+            return this;
+        }
+
+        @Override
+        public void render(final ShapeRenderer renderer) {
+        }
+
+        @Override
+        public SproutsGameState gameState() {
+            return state;
+        }
+    }
+
+    /** A Snapshot that logs the events that it receives. */
+    private static final class LoggingSnapshot implements Snapshot {
+        /** The event log. */
+        private final List<String> log;
+
+        /**
+         * Creates a new LoggingSnapshot.
+         *
+         * @param log the event log
+         */
+        LoggingSnapshot(final List<String> log) {
+            this.log = log;
+        }
+
+        @Override
+        public Snapshot touchDown(final Vector2 position) {
+            log.add("down");
+            return this;
+        }
+
+        @Override
+        public Snapshot touchUp(final Vector2 position) {
+            log.add("up");
+            return this;
+        }
+
+        @Override
+        public Snapshot touchDragged(final Vector2 position) {
+            log.add("drag");
+            return this;
+        }
+
+        @Override
+        public Snapshot touchDragged(final List<Vector2> positions) {
+            log.add("drag " + positions.size());
+            return this;
+        }
+
+        @Override
+        public void render(final ShapeRenderer renderer) {
+        }
+
+        @Override
+        public SproutsGameState gameState() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.glusk2.sprouts.server;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-process client that plays its moves from a script.
+ * <p>
+ * The script lists the moves of both players, in order; this player
+ * submits the moves of its own seat whenever it is on the move. Loopback
+ * players stand in for networked clients in tests and load runs.
+ */
+public final class LoopbackPlayer implements Player {
+    /** The seat of this player. */
+    private final int seat;
+    /** The moves of both players, in order. */
+    private final List<MoveSubmission> script;
+    /** Counted down when the match is over. */
+    private final CountDownLatch finish = new CountDownLatch(1);
+
+    /** The index of the next move in the script. */
+    private int nextMove;
+    /** The number of moves rejected by the match. */
+    private volatile int rejections;
+    /** The seat of the winner, or {@code -1} while the match is on. */
+    private volatile int winnerSeat = -1;
+
+    /**
+     * Creates a new loopback player.
+     *
+     * @param seat the seat of this player, {@code 0} or {@code 1}
+     * @param script the moves of both players, in order
+     */
+    public LoopbackPlayer(final int seat, final List<MoveSubmission> script) {
+        this.seat = seat;
+        this.script = script;
+    }
+
+    /**
+     * Submits the first move of the script, if this player is on the move
+     * first. Must be called before any other move is submitted to
+     * {@code match}.
+     *
+     * @param match the match to play
+     */
+    public void start(final Match match) {
+        if (seat == 0) {
+            submitNext(match);
+        }
+    }
+
+    @Override
+    public void accepted(
+        final Match match,
+        final MoveSubmission move,
+        final int nextSeat
+    ) {
+        nextMove++;
+        if (nextSeat == seat) {
+            submitNext(match);
+        }
+    }
+
+    @Override
+    public void rejected(
+        final Match match,
+        final MoveSubmission move,
+        final String reason
+    ) {
+        rejections++;
+    }
+
+    @Override
+    public void finished(final Match match, final int winner) {
+        winnerSeat = winner;
+        finish.countDown();
+    }
+
+    /**
+     * Waits for the match to finish.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return the seat of the winner, or {@code -1} if the match is not
+     *         over in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int awaitWinner(
+        final long timeout,
+        final TimeUnit unit
+    ) throws InterruptedException {
+        finish.await(timeout, unit);
+        return winnerSeat;
+    }
+
+    /**
+     * Returns the number of moves rejected by the match so far, of both
+     * players.
+     *
+     * @return the number of rejected moves
+     */
+    public int rejections() {
+        return rejections;
+    }
+
+    /**
+     * Submits the next move of the script, if any.
+     *
+     * @param match the match to play
+     */
+    private void submitNext(final Match match) {
+        if (nextMove < script.size()) {
+            match.submit(script.get(nextMove));
+        }
+    }
+}
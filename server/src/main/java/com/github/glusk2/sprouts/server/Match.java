@@ -0,0 +1,240 @@
+package com.github.glusk2.sprouts.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.github.glusk2.sprouts.core.comb.IsMovePossible;
+import com.github.glusk2.sprouts.core.comb.PresetVertex;
+import com.github.glusk2.sprouts.core.comb.SproutsGameState;
+import com.github.glusk2.sprouts.core.sim.PlayedMove;
+
+/**
+ * A match between two players, hosted by a {@link MatchServer}.
+ * <p>
+ * A match is a lightweight task, not a thread: the submitted moves are
+ * queued in a mailbox and the match is scheduled on one of the server
+ * workers only while the mailbox is not empty. At most one worker runs a
+ * match at a time, so the match state needs no locking, and a worker runs
+ * a limited batch of moves before it moves on, so that busy matches don't
+ * starve the others.
+ * <p>
+ * Every move is validated by the same code as a move drawn on the game
+ * board (see {@link PlayedMove}); the move origin must be a sprout of the
+ * current state. The match is over when no face has two lives left, with
+ * the faces told apart by a triangulation of the Move edges, like on the
+ * game board.
+ */
+public final class Match {
+    /** The maximum number of moves processed in one run of the match. */
+    private static final int BATCH_SIZE = 16;
+
+    /** The executor that runs the match. */
+    private final Executor executor;
+    /** The server metrics to record the validated moves to. */
+    private final ServerMetrics metrics;
+    /** The game bounds. */
+    private final Rectangle gameBounds;
+    /** The move thickness. */
+    private final float moveThickness;
+    /** The players, by seat. */
+    private final Player[] players;
+    /** The submitted moves, not yet processed. */
+    private final Queue<MoveSubmission> mailbox =
+        new ConcurrentLinkedQueue<>();
+    /** Whether the match is scheduled to run, or running. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** The current state; only accessed by the running match. */
+    private SproutsGameState state;
+    /** The seat on the move; only accessed by the running match. */
+    private int nextSeat;
+    /** Whether no more moves are possible. */
+    private volatile boolean finished;
+
+    /**
+     * Creates a new match.
+     *
+     * @param executor the executor that runs the match
+     * @param metrics the server metrics to record the validated moves to
+     * @param initialState the initial state
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @param first the player in seat {@code 0}, on the move first
+     * @param second the player in seat {@code 1}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    Match(
+        final Executor executor,
+        final ServerMetrics metrics,
+        final SproutsGameState initialState,
+        final Rectangle gameBounds,
+        final float moveThickness,
+        final Player first,
+        final Player second
+    ) {
+        this.executor = executor;
+        this.metrics = metrics;
+        this.state = initialState;
+        this.gameBounds = gameBounds;
+        this.moveThickness = moveThickness;
+        this.players = new Player[] {first, second};
+    }
+
+    /**
+     * Submits a move. The move is validated asynchronously and both players
+     * are notified of the outcome.
+     *
+     * @param move the move to submit
+     */
+    public void submit(final MoveSubmission move) {
+        mailbox.add(move);
+        schedule();
+    }
+
+    /**
+     * Checks whether no more moves are possible.
+     *
+     * @return {@code true} if the match is over
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Schedules the match to run, unless it is already scheduled. */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    /**
+     * Processes a batch of the submitted moves and reschedules the match if
+     * there are any moves left.
+     * <p>
+     * The match is released even if a player callback throws, so that the
+     * moves submitted afterwards are still processed.
+     */
+    private void run() {
+        try {
+            MoveSubmission move = mailbox.poll();
+            for (int i = 0; move != null; i++) {
+                play(move);
+                if (i + 1 == BATCH_SIZE) {
+                    break;
+                }
+                move = mailbox.poll();
+            }
+        } finally {
+            scheduled.set(false);
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Validates and plays a move, and notifies the players.
+     *
+     * @param move the move to play
+     */
+    private void play(final MoveSubmission move) {
+        if (finished) {
+            reject(move, "The match is over.");
+            return;
+        }
+        if (move.seat() != nextSeat) {
+            reject(move, "It's not your turn.");
+            return;
+        }
+        long start = System.nanoTime();
+        SproutsGameState next = validate(move);
+        boolean isOver =
+            next != null && !new IsMovePossible(next, gameBounds).check();
+        metrics.record(next != null, System.nanoTime() - start);
+        if (next == null) {
+            notifyRejected(move, "Illegal move.");
+            return;
+        }
+        state = next;
+        nextSeat = 1 - nextSeat;
+        finished = isOver;
+        for (Player player : players) {
+            player.accepted(this, move, nextSeat);
+        }
+        if (isOver) {
+            for (Player player : players) {
+                player.finished(this, move.seat());
+            }
+        }
+    }
+
+    /**
+     * Validates a move.
+     * <p>
+     * The stroke comes from the client as it is, so a move that the
+     * geometry code fails on in any way is rejected as illegal, instead of
+     * breaking the match.
+     *
+     * @param move the move to validate
+     * @return the state after the move, or {@code null} if the move is not
+     *         legal
+     */
+    private SproutsGameState validate(final MoveSubmission move) {
+        if (
+            move.stroke().size() < 2
+         || !state.vertices().contains(
+                new PresetVertex(Color.BLACK, move.stroke().get(0))
+            )
+        ) {
+            return null;
+        }
+        try {
+            PlayedMove played =
+                new PlayedMove(
+                    state,
+                    move.stroke(),
+                    move.middleSprout(),
+                    gameBounds,
+                    moveThickness
+                );
+            if (!played.isValid()) {
+                return null;
+            }
+            SproutsGameState next = played.state();
+            next.edges();
+            return next;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rejects a move without validating it.
+     *
+     * @param move the rejected move
+     * @param reason a human readable reason
+     */
+    private void reject(final MoveSubmission move, final String reason) {
+        metrics.record(false, 0);
+        notifyRejected(move, reason);
+    }
+
+    /**
+     * Notifies both players of a rejected move.
+     *
+     * @param move the rejected move
+     * @param reason a human readable reason
+     */
+    private void notifyRejected(
+        final MoveSubmission move,
+        final String reason
+    ) {
+        for (Player player : players) {
+            player.rejected(this, move, reason);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.glusk2.sprouts.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.github.glusk2.sprouts.core.comb.SproutsInitialState;
+
+/**
+ * An authoritative, headless Sprouts game server.
+ * <p>
+ * The server hosts any number of concurrent {@link Match}es on a fixed
+ * pool of worker threads, one per core by default. A match takes a worker
+ * only while it has moves to validate, so thousands of mostly idle matches
+ * cost no more than their game states.
+ * <p>
+ * The clients are {@link Player}s; the server doesn't deal with the
+ * network, so it can be driven in-process (see {@link LoopbackPlayer}) as
+ * well as by a network front end.
+ */
+public final class MatchServer implements AutoCloseable {
+    /** The worker threads that run the matches. */
+    private final ExecutorService workers;
+    /** The move validation metrics. */
+    private final ServerMetrics metrics = new ServerMetrics();
+
+    /** Creates a new server with one worker per available core. */
+    public MatchServer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new server.
+     *
+     * @param workerCount the number of worker threads
+     */
+    public MatchServer(final int workerCount) {
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.workers =
+            Executors.newFixedThreadPool(
+                workerCount,
+                task -> {
+                    Thread worker =
+                        new Thread(
+                            task,
+                            "match-worker-" + workerNumber.incrementAndGet()
+                        );
+                    worker.setDaemon(true);
+                    return worker;
+                }
+            );
+    }
+
+    /**
+     * Opens a new match in the initial state with {@code numOfSprouts}
+     * sprouts.
+     *
+     * @param numOfSprouts the number of starting sprouts
+     * @param gameBounds the game bounds
+     * @param moveThickness the move thickness
+     * @param first the player in seat {@code 0}, on the move first
+     * @param second the player in seat {@code 1}
+     * @return the new match
+     */
+    public Match open(
+        final int numOfSprouts,
+        final Rectangle gameBounds,
+        final float moveThickness,
+        final Player first,
+        final Player second
+    ) {
+        return
+            new Match(
+                workers,
+                metrics,
+                new SproutsInitialState(numOfSprouts, gameBounds),
+                gameBounds,
+                moveThickness,
+                first,
+                second
+            );
+    }
+
+    /**
+     * Returns the move validation metrics of this server.
+     *
+     * @return the move validation metrics
+     */
+    public ServerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting work and waits for the submitted moves to be
+     * validated.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if all the submitted moves were validated
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(
+        final long timeout,
+        final TimeUnit unit
+    ) throws InterruptedException {
+        workers.shutdown();
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    /** Stops the workers; the moves not yet validated are dropped. */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
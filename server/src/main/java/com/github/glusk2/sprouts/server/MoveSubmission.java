@@ -0,0 +1,73 @@
+package com.github.glusk2.sprouts.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * A move, as submitted by a client: the stroke drawn by the player and the
+ * position of the middle sprout.
+ * <p>
+ * The points are copied on construction, so a submission can't be changed
+ * by the client after it is sent.
+ */
+public final class MoveSubmission {
+    /** The seat of the player that submits the move, {@code 0} or {@code 1}. */
+    private final int seat;
+    /** The stroke sample points; the first one is the move origin. */
+    private final List<Vector2> stroke;
+    /** The middle sprout position. */
+    private final Vector2 middleSprout;
+
+    /**
+     * Creates a new move submission.
+     *
+     * @param seat the seat of the player that submits the move, {@code 0}
+     *             or {@code 1}
+     * @param stroke the stroke sample points; the first one is the move
+     *               origin and must be the exact position of a sprout
+     * @param middleSprout the middle sprout position
+     */
+    public MoveSubmission(
+        final int seat,
+        final List<Vector2> stroke,
+        final Vector2 middleSprout
+    ) {
+        List<Vector2> points = new ArrayList<>(stroke.size());
+        for (Vector2 point : stroke) {
+            points.add(point.cpy());
+        }
+        this.seat = seat;
+        this.stroke = Collections.unmodifiableList(points);
+        this.middleSprout = middleSprout.cpy();
+    }
+
+    /**
+     * Returns the seat of the player that submits the move.
+     *
+     * @return {@code 0} or {@code 1}
+     */
+    public int seat() {
+        return seat;
+    }
+
+    /**
+     * Returns the stroke sample points.
+     *
+     * @return the stroke sample points; the first one is the move origin
+     */
+    public List<Vector2> stroke() {
+        return stroke;
+    }
+
+    /**
+     * Returns the middle sprout position.
+     *
+     * @return the middle sprout position
+     */
+    public Vector2 middleSprout() {
+        return middleSprout;
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.glusk2.sprouts.server;
+
+/**
+ * A client seated at a {@link Match}.
+ * <p>
+ * The match notifies both of its players of every submitted move, from the
+ * server worker thread that validated it. The notifications of one match
+ * are never concurrent and arrive in the order the moves were validated;
+ * implementations must not block.
+ */
+public interface Player {
+    /**
+     * Called when a move is validated and played.
+     *
+     * @param match the match
+     * @param move the played move
+     * @param nextSeat the seat of the player on the move next
+     */
+    void accepted(Match match, MoveSubmission move, int nextSeat);
+
+    /**
+     * Called when a move is rejected. The match state doesn't change.
+     *
+     * @param match the match
+     * @param move the rejected move
+     * @param reason a human readable reason
+     */
+    void rejected(Match match, MoveSubmission move, String reason);
+
+    /**
+     * Called once, when no more moves are possible.
+     *
+     * @param match the match
+     * @param winnerSeat the seat of the player that made the last move
+     */
+    void finished(Match match, int winnerSeat);
+}
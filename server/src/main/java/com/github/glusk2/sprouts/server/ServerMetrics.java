@@ -0,0 +1,84 @@
+package com.github.glusk2.sprouts.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The move validation metrics of a {@link MatchServer}.
+ * <p>
+ * The throughput is reported as validated moves per second per core: the
+ * number of validated moves divided by the time the workers spent
+ * validating them, summed over all workers. It doesn't depend on how busy
+ * the server is, so it can be compared between runs and machines.
+ */
+public final class ServerMetrics {
+    /** The number of accepted moves. */
+    private final LongAdder accepted = new LongAdder();
+    /** The number of rejected moves. */
+    private final LongAdder rejected = new LongAdder();
+    /** The time spent validating moves, in nanoseconds. */
+    private final LongAdder busyNanos = new LongAdder();
+
+    /**
+     * Records a validated move.
+     *
+     * @param isAccepted {@code true} if the move was accepted
+     * @param nanos the time spent validating the move, in nanoseconds
+     */
+    void record(final boolean isAccepted, final long nanos) {
+        if (isAccepted) {
+            accepted.increment();
+        } else {
+            rejected.increment();
+        }
+        busyNanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of accepted moves.
+     *
+     * @return the number of accepted moves
+     */
+    public long acceptedMoves() {
+        return accepted.sum();
+    }
+
+    /**
+     * Returns the number of rejected moves.
+     *
+     * @return the number of rejected moves
+     */
+    public long rejectedMoves() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of validated moves per second per core.
+     *
+     * @return the validated moves per second per core, or {@code 0} if no
+     *         moves were validated yet
+     */
+    public double movesPerSecondPerCore() {
+        long nanos = busyNanos.sum();
+        if (nanos == 0) {
+            return 0;
+        }
+        return
+            (acceptedMoves() + rejectedMoves())
+          * (double) TimeUnit.SECONDS.toNanos(1)
+          / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return
+            String.format(
+                "%d moves validated (%d accepted, %d rejected), "
+              + "%.1f moves/s per core",
+                acceptedMoves() + rejectedMoves(),
+                acceptedMoves(),
+                rejectedMoves(),
+                movesPerSecondPerCore()
+            );
+    }
+}
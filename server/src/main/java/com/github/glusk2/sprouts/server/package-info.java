@@ -0,0 +1,5 @@
+/**
+ * This package contains the headless game server that hosts online matches
+ * and validates the moves submitted by the clients.
+ */
+package com.github.glusk2.sprouts.server;
@@ -0,0 +1,186 @@
+package com.github.glusk2.sprouts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.github.glusk2.sprouts.core.sim.PlayedGame;
+import com.github.glusk2.sprouts.core.sim.PlayedMove;
+import com.github.glusk2.sprouts.core.sim.RandomGame;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public final class MatchServerTest {
+    /** The maximum time to wait for the matches to finish, in seconds. */
+    private static final long TIMEOUT = 60;
+
+    /** A random game, shared by the tests. */
+    private static PlayedGame game;
+    /** The moves of {@code game}, as submitted by the players. */
+    private static List<MoveSubmission> script;
+
+    @BeforeClass
+    public static void playGame() {
+        game = new RandomGame(3, 2L);
+        script = new ArrayList<>();
+        for (PlayedMove move : game.moves()) {
+            script.add(
+                new MoveSubmission(
+                    script.size() % 2,
+                    move.stroke(),
+                    move.middleSprout()
+                )
+            );
+        }
+    }
+
+    @Test
+    public void playsScriptedMatchToTheEnd() throws InterruptedException {
+        try (MatchServer server = new MatchServer(2)) {
+            LoopbackPlayer first = new LoopbackPlayer(0, script);
+            LoopbackPlayer second = new LoopbackPlayer(1, script);
+            Match match = open(server, first, second);
+            first.start(match);
+
+            int winner = first.awaitWinner(TIMEOUT, TimeUnit.SECONDS);
+            assertEquals((script.size() - 1) % 2, winner);
+            assertEquals(
+                winner,
+                second.awaitWinner(TIMEOUT, TimeUnit.SECONDS)
+            );
+            assertTrue(match.isFinished());
+            assertEquals(0, first.rejections());
+            assertEquals(script.size(), server.metrics().acceptedMoves());
+        }
+    }
+
+    @Test
+    public void rejectsOutOfTurnAndIllegalMoves() throws InterruptedException {
+        try (MatchServer server = new MatchServer(1)) {
+            LoopbackPlayer first =
+                new LoopbackPlayer(0, new ArrayList<MoveSubmission>());
+            Match match = open(server, first, first);
+            MoveSubmission move = script.get(0);
+            match.submit(
+                new MoveSubmission(1, move.stroke(), move.middleSprout())
+            );
+            match.submit(
+                new MoveSubmission(
+                    0,
+                    move.stroke().subList(1, move.stroke().size()),
+                    move.middleSprout()
+                )
+            );
+            match.submit(move);
+            match.submit(move);
+            assertTrue(server.shutdown(TIMEOUT, TimeUnit.SECONDS));
+
+            // The second player is the same as the first, so every
+            // rejection is counted twice
+            assertEquals(2 * 3, first.rejections());
+            assertEquals(1, server.metrics().acceptedMoves());
+            assertEquals(3, server.metrics().rejectedMoves());
+        }
+    }
+
+    @Test
+    public void keepsPlayingAfterAPlayerCallbackThrows()
+        throws InterruptedException {
+        final CountDownLatch accepted = new CountDownLatch(1);
+        Player player = new Player() {
+            @Override
+            public void accepted(
+                final Match match,
+                final MoveSubmission move,
+                final int nextSeat
+            ) {
+                accepted.countDown();
+            }
+
+            @Override
+            public void rejected(
+                final Match match,
+                final MoveSubmission move,
+                final String reason
+            ) {
+                throw new IllegalStateException(reason);
+            }
+
+            @Override
+            public void finished(final Match match, final int winnerSeat) {
+            }
+        };
+        try (MatchServer server = new MatchServer(1)) {
+            Match match = open(server, player, player);
+            MoveSubmission move = script.get(0);
+            match.submit(
+                new MoveSubmission(1, move.stroke(), move.middleSprout())
+            );
+            match.submit(move);
+            assertTrue(accepted.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void hostsManyConcurrentMatches() throws InterruptedException {
+        final int matches = 500;
+        try (MatchServer server = new MatchServer()) {
+            LoopbackPlayer[] firsts = new LoopbackPlayer[matches];
+            for (int i = 0; i < matches; i++) {
+                firsts[i] = new LoopbackPlayer(0, script);
+                Match match =
+                    open(server, firsts[i], new LoopbackPlayer(1, script));
+                firsts[i].start(match);
+            }
+            for (LoopbackPlayer first : firsts) {
+                assertEquals(
+                    (script.size() - 1) % 2,
+                    first.awaitWinner(TIMEOUT, TimeUnit.SECONDS)
+                );
+            }
+            assertEquals(
+                (long) matches * script.size(),
+                server.metrics().acceptedMoves()
+            );
+            assertTrue(server.metrics().movesPerSecondPerCore() > 0);
+        }
+    }
+
+    /**
+     * Opens a match with the parameters of the shared game.
+     *
+     * @param server the server to open the match on
+     * @param players the players, by seat
+     * @return the new match
+     */
+    private static Match open(
+        final MatchServer server,
+        final Player... players
+    ) {
+        return
+            server.open(
+                game.numOfSprouts(),
+                game.gameBounds(),
+                game.moveThickness(),
+                players[0],
+                players[1]
+            );
+    }
+
+    @Test
+    public void reportsValidatedMoves() {
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.record(true, TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.record(false, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(1000, metrics.movesPerSecondPerCore(), 1e-6);
+        assertTrue(
+            Arrays.asList(metrics.toString().split(" ")).contains("1000.0")
+        );
+    }
+}
@@ -0,0 +1,2 @@
+/** Game server test package. */
+package com.github.glusk2.sprouts.server;